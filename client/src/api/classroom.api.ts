@@ -5,6 +5,7 @@ import type {
 import type { ApiResponse } from '@/types/api.types';
 import { API_ENDPOINTS } from '@/constants/api-endpoints';
 import apiClient from './client';
+import { getAllPages } from './pagination';
 
 /**
  * Classroom API Service
@@ -21,11 +22,7 @@ export const classroomApi = {
 		specializationCode?: string;
 		cohortCode?: string;
 	}): Promise<Classroom[]> => {
-		const response = await apiClient.get<ApiResponse<Classroom[]>>(
-			API_ENDPOINTS.CLASSROOM.BASE,
-			{ params }
-		);
-		return response.data.data;
+		return getAllPages<Classroom>(API_ENDPOINTS.CLASSROOM.BASE, params);
 	},
 
 	/**
@@ -2,19 +2,20 @@ import type { Comment, CreateCommentRequest, UpdateCommentRequest } from '@/type
 import type { ApiResponse } from '@/types/api.types';
 import { API_ENDPOINTS } from '@/constants/api-endpoints';
 import apiClient from './client';
+import { getPage, type CursorPage } from './pagination';
 
 /**
  * Comment API Service
  */
 export const commentApi = {
 	/**
-	 * Get comments by resource ID
+	 * Get one page of comments by resource ID
 	 */
-	getByResource: async (resourceId: string | number): Promise<Comment[]> => {
-		const response = await apiClient.get<ApiResponse<Comment[]>>(
-			API_ENDPOINTS.COMMENT.BY_RESOURCE(resourceId)
-		);
-		return response.data.data;
+	getByResource: async (
+		resourceId: string | number,
+		cursor?: string
+	): Promise<CursorPage<Comment>> => {
+		return getPage<Comment>(API_ENDPOINTS.COMMENT.BY_RESOURCE(resourceId), undefined, cursor);
 	},
 
 	/**
@@ -2,6 +2,7 @@ import type { Course, CreateCourseRequest } from '@/types/department.types';
 import type { ApiResponse } from '@/types/api.types';
 import { API_ENDPOINTS } from '@/constants/api-endpoints';
 import apiClient from './client';
+import { getAllPages } from './pagination';
 
 /**
  * Course API Service
@@ -18,11 +19,7 @@ export const courseApi = {
 		title?: string;
 		departmentCode?: string;
 	}): Promise<Course[]> => {
-		const response = await apiClient.get<ApiResponse<Course[]>>(
-			API_ENDPOINTS.COURSE.BASE,
-			{ params }
-		);
-		return response.data.data;
+		return getAllPages<Course>(API_ENDPOINTS.COURSE.BASE, params);
 	},
 
 	/**
@@ -1,30 +1,23 @@
 import type { History } from '@/types/history.types';
-import type { ApiResponse } from '@/types/api.types';
 import { API_ENDPOINTS } from '@/constants/api-endpoints';
-import apiClient from './client';
+import { getPage, type CursorPage } from './pagination';
 
 /**
  * History API Service
  */
 export const historyApi = {
 	/**
-	 * Get view history for current user
+	 * Get one page of view history for current user
 	 */
-	getViews: async (): Promise<History[]> => {
-		const response = await apiClient.get<ApiResponse<History[]>>(
-			API_ENDPOINTS.HISTORY.VIEWS
-		);
-		return response.data.data;
+	getViews: async (cursor?: string): Promise<CursorPage<History>> => {
+		return getPage<History>(API_ENDPOINTS.HISTORY.VIEWS, undefined, cursor);
 	},
 
 	/**
-	 * Get download history for current user
+	 * Get one page of download history for current user
 	 */
-	getDownloads: async (): Promise<History[]> => {
-		const response = await apiClient.get<ApiResponse<History[]>>(
-			API_ENDPOINTS.HISTORY.DOWNLOADS
-		);
-		return response.data.data;
+	getDownloads: async (cursor?: string): Promise<CursorPage<History>> => {
+		return getPage<History>(API_ENDPOINTS.HISTORY.DOWNLOADS, undefined, cursor);
 	},
 };
 
@@ -0,0 +1,49 @@
+import type { ApiResponse } from '@/types/api.types';
+import apiClient from './client';
+
+// Largest page the server accepts (PageCursor.MAX_LIMIT)
+const PAGE_LIMIT = 100;
+
+/**
+ * One page of a cursor-paginated list; nextCursor is absent on the last page
+ */
+export interface CursorPage<T> {
+	items: T[];
+	nextCursor?: string;
+}
+
+/**
+ * Get one page of a cursor-paginated list endpoint; pass nextCursor back as cursor for the next one
+ */
+export const getPage = async <T>(
+	url: string,
+	params?: object,
+	cursor?: string
+): Promise<CursorPage<T>> => {
+	const response = await apiClient.get<ApiResponse<T[]>>(url, {
+		params: { ...params, cursor },
+	});
+	return {
+		items: response.data.data || [],
+		nextCursor: response.data.pagination?.nextCursor || undefined,
+	};
+};
+
+/**
+ * Get every item of a cursor-paginated list endpoint, following nextCursor until the last page.
+ * Only for small catalog lists (course and classroom dropdowns); user-facing lists load page by
+ * page with useCursorList
+ */
+export const getAllPages = async <T>(
+	url: string,
+	params?: object
+): Promise<T[]> => {
+	const items: T[] = [];
+	let cursor: string | undefined;
+	do {
+		const page = await getPage<T>(url, { ...params, limit: PAGE_LIMIT }, cursor);
+		items.push(...page.items);
+		cursor = page.nextCursor;
+	} while (cursor);
+	return items;
+};
@@ -8,6 +8,7 @@ import type {
 import type { ApiResponse } from '@/types/api.types';
 import { API_ENDPOINTS } from '@/constants/api-endpoints';
 import apiClient from './client';
+import { getPage, type CursorPage } from './pagination';
 
 /**
  * Resource API Service
@@ -207,29 +208,26 @@ export const resourceApi = {
 	},
 
 	/**
-	 * Get all resources (role-based visibility)
+	 * Get one page of resources (role-based visibility)
 	 * @param typeId - Filter by resource type ID (optional)
 	 * @param keyword - Search keyword (optional)
+	 * @param cursor - nextCursor of the previous page (optional)
 	 */
-	getAll: async (params?: {
-		typeId?: string;
-		keyword?: string;
-	}): Promise<Resource[]> => {
-		const response = await apiClient.get<ApiResponse<Resource[]>>(
-			API_ENDPOINTS.RESOURCE.BASE,
-			{ params }
-		);
-		return response.data.data;
+	getAll: async (
+		params?: {
+			typeId?: string;
+			keyword?: string;
+		},
+		cursor?: string
+	): Promise<CursorPage<Resource>> => {
+		return getPage<Resource>(API_ENDPOINTS.RESOURCE.BASE, params, cursor);
 	},
 
 	/**
-	 * Get my uploaded resources
+	 * Get one page of my uploaded resources
 	 */
-	getMyUploads: async (): Promise<Resource[]> => {
-		const response = await apiClient.get<ApiResponse<Resource[]>>(
-			API_ENDPOINTS.RESOURCE.MY_UPLOADS
-		);
-		return response.data.data;
+	getMyUploads: async (cursor?: string): Promise<CursorPage<Resource>> => {
+		return getPage<Resource>(API_ENDPOINTS.RESOURCE.MY_UPLOADS, undefined, cursor);
 	},
 
 	/**
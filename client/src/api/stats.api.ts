@@ -6,6 +6,7 @@ import type {
   TopResourceResponse,
 } from '@/types/stats.types';
 import type { Resource } from '@/types/resource.types';
+import type { User } from '@/types/user.types';
 
 export const statsApi = {
   /**
@@ -63,5 +64,14 @@ export const statsApi = {
     );
     return response.data.data;
   },
-};
 
+  /**
+   * Lấy số người dùng theo loại (ADMIN: toàn hệ thống, SUB_ADMIN: trong khoa của mình)
+   */
+  getUserCounts: async (): Promise<Record<User['type'], number>> => {
+    const response = await apiClient.get<ApiResponse<Record<User['type'], number>>>(
+      API_ENDPOINTS.STATS.USER_COUNTS
+    );
+    return response.data.data;
+  },
+};
@@ -2,40 +2,28 @@ import type {
 	User,
 	CreateUserRequest,
 	UpdateUserRequest,
-	UserFilterParams,
 } from "@/types/user.types";
 import type { ChangePasswordRequest } from "@/types/auth.types";
-import type { ApiResponse, PaginatedResponse } from "@/types/api.types";
+import type { ApiResponse } from "@/types/api.types";
 import { API_ENDPOINTS } from "@/constants/api-endpoints";
 import apiClient from "./client";
+import { getPage, type CursorPage } from "./pagination";
 
 /**
  * User Management API Service
  */
 export const userApi = {
 	/**
-	 * Get all users with filters and pagination
-	 * Backend returns List<PublicUser>, not PaginatedResponse
+	 * Get one page of users (ADMIN: all, SUB_ADMIN: own department)
+	 * Backend returns cursor pages of PublicUser
+	 * @param limit - Page size (optional, server default otherwise)
+	 * @param cursor - nextCursor of the previous page (optional)
 	 */
-	getAll: async (
-		params?: UserFilterParams
-	): Promise<PaginatedResponse<User>> => {
-		const response = await apiClient.get<ApiResponse<User[]>>(
-			API_ENDPOINTS.USER.BASE,
-			{ params }
-		);
-		// Backend returns array directly, convert to PaginatedResponse format
-		const users = response.data.data || [];
-		return {
-			content: users,
-			totalElements: users.length,
-			totalPages: 1,
-			size: params?.size || users.length,
-			number: params?.page || 0,
-			first: true,
-			last: true,
-			empty: users.length === 0,
-		};
+	getPage: async (
+		limit?: number,
+		cursor?: string
+	): Promise<CursorPage<User>> => {
+		return getPage<User>(API_ENDPOINTS.USER.BASE, { limit }, cursor);
 	},
 
 	/**
@@ -0,0 +1,29 @@
+import { Button } from 'antd';
+
+export interface LoadMoreProps {
+	hasMore: boolean;
+	loading?: boolean;
+	onLoadMore: () => void;
+}
+
+/**
+ * Load more button under a cursor-paginated list
+ * Renders nothing once the last page is loaded
+ */
+export const LoadMore: React.FC<LoadMoreProps> = ({
+	hasMore,
+	loading = false,
+	onLoadMore,
+}) => {
+	if (!hasMore) {
+		return null;
+	}
+
+	return (
+		<div className="flex justify-center py-4">
+			<Button onClick={onLoadMore} loading={loading}>
+				Tải thêm
+			</Button>
+		</div>
+	);
+};
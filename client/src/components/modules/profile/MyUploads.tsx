@@ -1,9 +1,9 @@
-import { useMemo } from 'react';
 import { Card, Statistic } from 'antd';
 import { FileTextOutlined } from '@ant-design/icons';
-import { useQuery } from '@tanstack/react-query';
 import { resourceApi } from '@/api/resource.api';
 import { ResourceList } from '@/components/modules/resource/ResourceList';
+import { LoadMore } from '@/components/common/LoadMore';
+import { useCursorList } from '@/hooks/useCursorList';
 import type { Resource } from '@/types/resource.types';
 import { toast } from 'sonner';
 
@@ -13,22 +13,23 @@ interface MyUploadsProps {
 
 /**
  * My Uploads Component - Display resources uploaded by current user
- * Shows total count of uploaded files
+ * Shows the count of loaded files ('+' while more pages remain)
  */
 export const MyUploads: React.FC<MyUploadsProps> = ({
 	onView,
 }) => {
 	const {
-		data: resources = [],
+		items: resources,
 		isLoading,
-	} = useQuery({
+		hasMore,
+		loadingMore,
+		loadMore,
+	} = useCursorList({
 		queryKey: ['my-uploads'],
-		queryFn: () => resourceApi.getMyUploads(),
+		fetchPage: (cursor) => resourceApi.getMyUploads(cursor),
 		refetchOnMount: 'always', // Always refetch when component mounts to get latest data
 	});
 
-	const totalCount = useMemo(() => resources.length, [resources]);
-
 	const handleView = (resource: Resource) => {
 		onView?.(resource);
 	};
@@ -65,7 +66,8 @@ export const MyUploads: React.FC<MyUploadsProps> = ({
 			<Card>
 				<Statistic
 					title="Tổng số học liệu đã tải lên"
-					value={totalCount}
+					value={resources.length}
+					suffix={hasMore ? '+' : undefined}
 					prefix={<FileTextOutlined />}
 					valueStyle={{ color: '#1890ff' }}
 				/>
@@ -87,6 +89,7 @@ export const MyUploads: React.FC<MyUploadsProps> = ({
 					showUploadButton={true}
 				/>
 			)}
+			<LoadMore hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />
 		</div>
 	);
 };
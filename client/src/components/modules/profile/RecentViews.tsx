@@ -1,8 +1,9 @@
 import { useMemo } from 'react';
-import { useQuery } from '@tanstack/react-query';
 import { historyApi } from '@/api/history.api';
 import { resourceApi } from '@/api/resource.api';
 import { ResourceList } from '@/components/modules/resource/ResourceList';
+import { LoadMore } from '@/components/common/LoadMore';
+import { useCursorList } from '@/hooks/useCursorList';
 import type { Resource } from '@/types/resource.types';
 import { toast } from 'sonner';
 
@@ -17,18 +18,21 @@ export const RecentViews: React.FC<RecentViewsProps> = ({
 	onView,
 }) => {
 	const {
-		data: history = [],
+		items: history,
 		isLoading,
-	} = useQuery({
+		hasMore,
+		loadingMore,
+		loadMore,
+	} = useCursorList({
 		queryKey: ['history-views'],
-		queryFn: () => historyApi.getViews(),
+		fetchPage: (cursor) => historyApi.getViews(cursor),
 		refetchOnMount: 'always', // Always refetch when component mounts to get latest data
 	});
 
 	// Process history: 
 	// 1. Sort by time (newest first)
 	// 2. Remove duplicates by resource.id - each file appears only once
-	// 3. Show ALL different files that have been viewed, sorted by most recent view time
+	// 3. Show every different file in the loaded pages, sorted by most recent view time
 	const resources: Resource[] = useMemo(() => {
 		if (!history || history.length === 0) {
 			return [];
@@ -109,6 +113,7 @@ export const RecentViews: React.FC<RecentViewsProps> = ({
 				onView={handleView}
 				onDownload={handleDownload}
 			/>
+			<LoadMore hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />
 		</div>
 	);
 };
@@ -7,6 +7,7 @@ import { specializationApi } from "@/api/specialization.api";
 import { cohortApi } from "@/api/cohort.api";
 import { classroomApi } from "@/api/classroom.api";
 import { userApi } from "@/api/user.api";
+import type { CursorPage } from "@/api/pagination";
 import { resourceTypeApi } from "@/api/resource-type.api";
 import { useAuthStore } from "@/stores/auth.store";
 import type { ResourceSearchParams } from "@/types/resource.types";
@@ -15,6 +16,7 @@ import type {
 	Cohort,
 	Classroom,
 } from "@/types/department.types";
+import type { User } from "@/types/user.types";
 import clsx from "clsx";
 
 const { Option } = Select;
@@ -74,39 +76,22 @@ export const ResourceFilterBar: React.FC<ResourceFilterBarProps> = ({
 	const classrooms = allClassrooms;
 
 	// Fetch lecturers (only in same department for LECTURER/SUB_ADMIN)
-	const { data: lecturersData } = useQuery({
+	// First page only: the dropdown lists up to 100 users instead of walking the whole user table
+	const { data: lecturersData } = useQuery<CursorPage<User>>({
 		queryKey: ["lecturers", user?.department?.id],
 		queryFn: () => {
-			// For LECTURER/SUB_ADMIN: only get lecturers in same department
-			// For ADMIN: get all lecturers
-			if (user?.type === "ADMIN") {
-				return userApi.getAll({ page: 0, size: 1000 });
-			} else if (user?.department?.id) {
-				return userApi.getAll({
-					departmentId:
-						typeof user.department.id === "string"
-							? parseInt(user.department.id)
-							: user.department.id,
-					page: 0,
-					size: 1000,
-				});
+			// For LECTURER/SUB_ADMIN: the backend scopes the list to the same department
+			// For ADMIN: all users
+			if (user?.type === "ADMIN" || user?.department?.id) {
+				return userApi.getPage(100);
 			}
-			return Promise.resolve({
-				content: [],
-				totalElements: 0,
-				totalPages: 0,
-				size: 0,
-				number: 0,
-				first: true,
-				last: true,
-				empty: true,
-			});
+			return Promise.resolve({ items: [] });
 		},
 		enabled: !!user?.id,
 		retry: false,
 	});
 
-	const lecturers = (lecturersData?.content || []).filter(
+	const lecturers = (lecturersData?.items || []).filter(
 		(u) => u.type === "LECTURER"
 	);
 
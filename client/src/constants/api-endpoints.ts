@@ -114,6 +114,7 @@ export const API_ENDPOINTS = {
 		TOP_RESOURCES: "/stats/top-resources",
 		RECENT_UPLOADS: "/stats/recent-uploads",
 		STORAGE_USAGE: "/stats/storage-usage",
+		USER_COUNTS: "/stats/user-counts",
 	},
 
 	// History
@@ -1,4 +1,5 @@
 // Export all hooks
 export * from "./useAuth";
+export * from "./useCursorList";
 export * from "./useDebounce";
 export * from "./usePagination";
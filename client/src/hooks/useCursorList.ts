@@ -0,0 +1,51 @@
+import { useMemo } from 'react';
+import { useInfiniteQuery, type QueryKey } from '@tanstack/react-query';
+import type { CursorPage } from '@/api/pagination';
+
+interface UseCursorListProps<T> {
+  queryKey: QueryKey;
+  fetchPage: (cursor?: string) => Promise<CursorPage<T>>;
+  enabled?: boolean;
+  refetchOnMount?: boolean | 'always';
+}
+
+interface UseCursorListReturn<T> {
+  items: T[];
+  isLoading: boolean;
+  hasMore: boolean;
+  loadingMore: boolean;
+  loadMore: () => void;
+}
+
+/**
+ * Cursor-paginated list loaded one page at a time; loadMore fetches the page after the last one
+ */
+export const useCursorList = <T>({
+  queryKey,
+  fetchPage,
+  enabled = true,
+  refetchOnMount,
+}: UseCursorListProps<T>): UseCursorListReturn<T> => {
+  const { data, isLoading, hasNextPage, isFetchingNextPage, fetchNextPage } = useInfiniteQuery({
+    queryKey,
+    queryFn: ({ pageParam }) => fetchPage(pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor,
+    enabled,
+    refetchOnMount,
+  });
+
+  const items = useMemo(() => data?.pages.flatMap((page) => page.items) ?? [], [data]);
+
+  return {
+    items,
+    isLoading,
+    hasMore: hasNextPage,
+    loadingMore: isFetchingNextPage,
+    loadMore: () => {
+      if (hasNextPage && !isFetchingNextPage) {
+        fetchNextPage();
+      }
+    },
+  };
+};
@@ -6,7 +6,6 @@ import {
 	DatabaseOutlined,
 } from '@ant-design/icons';
 import { useQuery } from '@tanstack/react-query';
-import { userApi } from '@/api/user.api';
 import { statsApi } from '@/api/stats.api';
 import { TopUploaders } from '@/components/modules/admin/StatsPanel/TopUploaders';
 import { TopResources } from '@/components/modules/admin/StatsPanel/TopResources';
@@ -19,14 +18,10 @@ import { formatFileSize } from '@/utils/format.utils';
  * Trang tổng quan với thống kê và bảng điều khiển
  */
 const AdminDashboardPage: React.FC = () => {
-	// Fetch total users
-	const { data: usersData } = useQuery({
-		queryKey: ['users', 'total'],
-		queryFn: () =>
-			userApi.getAll({
-				page: 0,
-				size: 1,
-			}),
+	// Fetch user counts per type
+	const { data: userCounts } = useQuery({
+		queryKey: ['stats', 'user-counts'],
+		queryFn: () => statsApi.getUserCounts(),
 	});
 
 	// Fetch recent uploads để lấy tổng số (tạm thời)
@@ -41,7 +36,9 @@ const AdminDashboardPage: React.FC = () => {
 		queryFn: () => statsApi.getStorageUsage(),
 	});
 
-	const totalUsers = usersData?.totalElements || 0;
+	const totalUsers = userCounts
+		? Object.values(userCounts).reduce((sum, count) => sum + count, 0)
+		: 0;
 	const totalResources = recentUploads.length; // Tạm thời, có thể cải thiện sau
 
 	return (
@@ -4,6 +4,8 @@ import { PlusOutlined, SearchOutlined, UploadOutlined } from "@ant-design/icons"
 import { useQuery, useMutation, useQueryClient } from "@tanstack/react-query";
 import { toast } from "sonner";
 import { useDebounce } from "@/hooks/useDebounce";
+import { useCursorList } from "@/hooks/useCursorList";
+import { LoadMore } from "@/components/common/LoadMore";
 import { UserTable } from "@/components/modules/admin/UserManagement/UserTable";
 import { UserCreateModal } from "@/components/modules/admin/UserManagement/UserCreateModal";
 import { UserEditModal } from "@/components/modules/admin/UserManagement/UserEditModal";
@@ -48,21 +50,21 @@ const UserManagementPage: React.FC = () => {
 		queryFn: () => departmentApi.getAll(),
 	});
 
-	// Fetch all users (backend doesn't support filter parameters)
-	const { data: usersData, isLoading } = useQuery({
+	// Fetch users page by page (backend doesn't support filter parameters)
+	const {
+		items: loadedUsers,
+		isLoading,
+		hasMore,
+		loadingMore,
+		loadMore,
+	} = useCursorList({
 		queryKey: ["users"],
-		queryFn: () =>
-			userApi.getAll({
-				page: 0,
-				size: 1000, // Get all users for frontend filtering
-			}),
+		fetchPage: (cursor) => userApi.getPage(undefined, cursor),
 	});
 
-	// Filter users on frontend
+	// Filter the loaded users on frontend
 	const users = useMemo(() => {
-		if (!usersData?.content) return [];
-
-		let filtered = usersData.content;
+		let filtered = loadedUsers;
 
 		// Filter by search keyword
 		if (debouncedSearchKeyword) {
@@ -106,7 +108,7 @@ const UserManagementPage: React.FC = () => {
 
 		return filtered;
 	}, [
-		usersData?.content,
+		loadedUsers,
 		debouncedSearchKeyword,
 		departmentFilter,
 		roleFilter,
@@ -345,6 +347,7 @@ const UserManagementPage: React.FC = () => {
 					onDelete={handleDelete}
 					onResetPassword={handleResetPassword}
 				/>
+				<LoadMore hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />
 			</Card>
 
 			<UserCreateModal
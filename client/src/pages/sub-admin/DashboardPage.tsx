@@ -1,7 +1,7 @@
 import { Card, Row, Col, Statistic } from 'antd';
 import { UserOutlined, BookOutlined, FileTextOutlined } from '@ant-design/icons';
 import { useQuery } from '@tanstack/react-query';
-import { userApi } from '@/api/user.api';
+import { statsApi } from '@/api/stats.api';
 import { courseApi } from '@/api/course.api';
 import { useAuth } from '@/hooks/useAuth';
 
@@ -13,14 +13,10 @@ const SubAdminDashboardPage: React.FC = () => {
 	const departmentId = user?.department?.id;
 	const departmentCode = user?.department?.code;
 
-	// Fetch users in department
-	const { data: usersData } = useQuery({
-		queryKey: ['users', 'department', departmentId],
-		queryFn: () =>
-			userApi.getAll({
-				page: 0,
-				size: 1000, // Get all users to filter LECTURER only
-			}),
+	// Fetch user counts per type in department (backend scopes SUB_ADMIN to own department)
+	const { data: userCounts } = useQuery({
+		queryKey: ['stats', 'user-counts', departmentId],
+		queryFn: () => statsApi.getUserCounts(),
 		enabled: !!departmentId,
 	});
 
@@ -32,9 +28,7 @@ const SubAdminDashboardPage: React.FC = () => {
 	});
 
 	// Count only LECTURER users (exclude SUB_ADMIN and ADMIN)
-	const totalLecturers = usersData?.content?.filter(
-		(user) => user.type === 'LECTURER' || user.role === 'LECTURER'
-	).length || 0;
+	const totalLecturers = userCounts?.LECTURER || 0;
 	const totalCourses = courses.length;
 
 	return (
@@ -1,9 +1,11 @@
 import { useState, useMemo } from 'react';
 import { Button, Space, Input, Select, Card } from 'antd';
 import { PlusOutlined, SearchOutlined } from '@ant-design/icons';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useMutation, useQueryClient } from '@tanstack/react-query';
 import { toast } from 'sonner';
 import { useDebounce } from '@/hooks/useDebounce';
+import { useCursorList } from '@/hooks/useCursorList';
+import { LoadMore } from '@/components/common/LoadMore';
 import { UserTable } from '@/components/modules/admin/UserManagement/UserTable';
 import { UserCreateModal } from '@/components/modules/admin/UserManagement/UserCreateModal';
 import { UserEditModal } from '@/components/modules/admin/UserManagement/UserEditModal';
@@ -34,23 +36,20 @@ const SubAdminUserManagementPage: React.FC = () => {
 
 	// Fetch users in department only (backend filters by department automatically for SUB_ADMIN)
 	const {
-		data: usersData,
+		items: loadedUsers,
 		isLoading,
-	} = useQuery({
+		hasMore,
+		loadingMore,
+		loadMore,
+	} = useCursorList({
 		queryKey: ['users', 'department', departmentId],
-		queryFn: () =>
-			userApi.getAll({
-				page: 0,
-				size: 1000, // Get all users for frontend filtering
-			}),
+		fetchPage: (cursor) => userApi.getPage(undefined, cursor),
 		enabled: !!departmentId,
 	});
 
-	// Filter users on frontend
+	// Filter the loaded users on frontend
 	const users = useMemo(() => {
-		if (!usersData?.content) return [];
-
-		let filtered = usersData.content;
+		let filtered = loadedUsers;
 
 		// Filter by search keyword
 		if (debouncedSearchKeyword) {
@@ -70,7 +69,7 @@ const SubAdminUserManagementPage: React.FC = () => {
 		}
 
 		return filtered;
-	}, [usersData?.content, debouncedSearchKeyword, statusFilter]);
+	}, [loadedUsers, debouncedSearchKeyword, statusFilter]);
 
 	// Create user mutation (only LECTURER role in same department)
 	const createMutation = useMutation({
@@ -261,6 +260,7 @@ const SubAdminUserManagementPage: React.FC = () => {
 					onDelete={handleDelete}
 					onResetPassword={handleResetPassword}
 				/>
+				<LoadMore hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />
 			</Card>
 
 			<UserCreateModal
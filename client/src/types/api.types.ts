@@ -3,6 +3,13 @@ export interface ApiResponse<T> {
 	data: T;
 	message?: string;
 	status: number;
+	pagination?: PaginationInfo;
+}
+
+// Cursor-paginated lists: nextCursor is sent back as ?cursor= and absent on the last page
+export interface PaginationInfo {
+	size?: number;
+	nextCursor?: string | null;
 }
 
 export interface ApiError {
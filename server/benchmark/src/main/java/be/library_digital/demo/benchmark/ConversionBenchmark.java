@@ -0,0 +1,90 @@
+package be.library_digital.demo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import be.library_digital.demo.service.conversion.DocumentConverter;
+import be.library_digital.demo.service.conversion.DocumentConverters;
+import be.library_digital.demo.service.conversion.MimeTypes;
+
+/**
+ * End-to-end conversion cost of each registered converter, exactly as the worker
+ * processes run it (file in, file out).
+ *
+ * SampleTime gives the latency distribution (p50/p99 are in the report); Throughput gives ops/s.
+ * Run with {@code -prof gc} to get the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.SampleTime, Mode.Throughput })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Djava.awt.headless=true" })
+public class ConversionBenchmark {
+
+    @Param({ "small", "medium" })
+    public String size;
+
+    private Path docx;
+    private Path pptx;
+    private Path xlsx;
+    private Path outDir;
+    private Path out;
+
+    private DocumentConverter docxConverter;
+    private DocumentConverter pptxConverter;
+    private DocumentConverter xlsxConverter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        docx = Corpus.docx(size);
+        pptx = Corpus.pptx(size);
+        xlsx = Corpus.xlsx(size);
+        outDir = Files.createTempDirectory("conversion-bench");
+        out = outDir.resolve("out.pdf");
+
+        docxConverter = DocumentConverters.forMimeType(MimeTypes.DOCX);
+        pptxConverter = DocumentConverters.forMimeType(MimeTypes.PPTX);
+        xlsxConverter = DocumentConverters.forMimeType(MimeTypes.XLSX);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(out);
+        Files.deleteIfExists(outDir);
+    }
+
+    @Benchmark
+    public long docxToPdf() throws Exception {
+        docxConverter.convert(docx, out);
+        return Files.size(out);
+    }
+
+    @Benchmark
+    public long pptxToPdf() throws Exception {
+        pptxConverter.convert(pptx, out);
+        return Files.size(out);
+    }
+
+    @Benchmark
+    public long xlsxToPdf() throws Exception {
+        xlsxConverter.convert(xlsx, out);
+        return Files.size(out);
+    }
+}
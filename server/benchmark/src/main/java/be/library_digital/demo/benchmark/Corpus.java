@@ -0,0 +1,206 @@
+package be.library_digital.demo.benchmark;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.sl.usermodel.ShapeType;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFAutoShape;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+
+/**
+ * Benchmark input files.
+ *
+ * A file checked in under {@code corpus/} (or the directory given by {@code -Dcorpus.dir})
+ * named {@code <size>.<ext>} always wins, so real lecture material can be benchmarked. When
+ * it is missing, a synthetic file is generated from a fixed seed into {@code target/corpus};
+ * the same size always produces byte-for-byte comparable content across runs.
+ */
+public final class Corpus {
+
+    private static final long SEED = 20240901L;
+
+    private static final String[] WORDS = {
+            "giáo", "trình", "cơ", "sở", "dữ", "liệu", "lập", "trình", "hướng", "đối", "tượng",
+            "thuật", "toán", "mạng", "máy", "tính", "hệ", "điều", "hành", "chương", "bài", "tập",
+            "database", "index", "query", "thread", "memory", "latency", "throughput", "cache"
+    };
+
+    private Corpus() {
+    }
+
+    /** Number of pages/slides/rows-of-50 produced for a size name. */
+    static int units(String size) {
+        return switch (size) {
+            case "small" -> 3;
+            case "medium" -> 20;
+            case "large" -> 80;
+            default -> throw new IllegalArgumentException("Unknown corpus size: " + size);
+        };
+    }
+
+    public static Path docx(String size) throws IOException {
+        return resolve(size, "docx", Corpus::writeDocx);
+    }
+
+    public static Path pptx(String size) throws IOException {
+        return resolve(size, "pptx", Corpus::writePptx);
+    }
+
+    public static Path xlsx(String size) throws IOException {
+        return resolve(size, "xlsx", Corpus::writeXlsx);
+    }
+
+    public static Path pdf(String size) throws IOException {
+        return resolve(size, "pdf", Corpus::writePdf);
+    }
+
+    private static Path resolve(String size, String ext, Generator generator) throws IOException {
+        Path checkedIn = Paths.get(System.getProperty("corpus.dir", "corpus"), size + "." + ext);
+        if (Files.isRegularFile(checkedIn)) {
+            return checkedIn;
+        }
+
+        Path generated = Paths.get("target", "corpus", size + "." + ext);
+        if (!Files.exists(generated)) {
+            Files.createDirectories(generated.getParent());
+            try (OutputStream os = Files.newOutputStream(generated)) {
+                generator.write(size, new Random(SEED + ext.hashCode()), os);
+            }
+        }
+        return generated;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static void writeDocx(String size, Random random, OutputStream os) throws IOException {
+        try (XWPFDocument doc = new XWPFDocument()) {
+            for (int page = 0; page < units(size); page++) {
+                XWPFParagraph title = doc.createParagraph();
+                XWPFRun titleRun = title.createRun();
+                titleRun.setBold(true);
+                titleRun.setFontSize(16);
+                titleRun.setText("Chương " + (page + 1) + ": " + sentence(random, 4));
+
+                for (int p = 0; p < 6; p++) {
+                    XWPFRun run = doc.createParagraph().createRun();
+                    run.setText(sentence(random, 60 + random.nextInt(40)));
+                }
+
+                XWPFTable table = doc.createTable(6, 4);
+                for (int r = 0; r < 6; r++) {
+                    for (int c = 0; c < 4; c++) {
+                        table.getRow(r).getCell(c).setText(sentence(random, 2));
+                    }
+                }
+                doc.createParagraph().setPageBreak(true);
+            }
+            doc.write(os);
+        }
+    }
+
+    private static void writePptx(String size, Random random, OutputStream os) throws IOException {
+        try (XMLSlideShow ppt = new XMLSlideShow()) {
+            for (int s = 0; s < units(size); s++) {
+                XSLFSlide slide = ppt.createSlide();
+
+                XSLFTextBox title = slide.createTextBox();
+                title.setAnchor(new Rectangle(40, 30, 640, 60));
+                title.setText("Bài " + (s + 1) + ": " + sentence(random, 4)).setFontSize(28.0);
+
+                XSLFTextBox body = slide.createTextBox();
+                body.setAnchor(new Rectangle(40, 110, 400, 380));
+                for (int b = 0; b < 5; b++) {
+                    body.addNewTextParagraph().addNewTextRun().setText("• " + sentence(random, 8));
+                }
+
+                for (int shape = 0; shape < 3; shape++) {
+                    XSLFAutoShape box = slide.createAutoShape();
+                    box.setShapeType(shape % 2 == 0 ? ShapeType.RECT : ShapeType.ELLIPSE);
+                    box.setAnchor(new Rectangle(470 + shape * 20, 120 + shape * 110, 200, 90));
+                    box.setFillColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+                }
+            }
+            ppt.write(os);
+        }
+    }
+
+    private static void writeXlsx(String size, Random random, OutputStream os) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            XSSFSheet sheet = workbook.createSheet("Data");
+            int rows = units(size) * 50;
+            for (int r = 0; r < rows; r++) {
+                XSSFRow row = sheet.createRow(r);
+                row.createCell(0).setCellValue("SV" + (100000 + r));
+                row.createCell(1).setCellValue(sentence(random, 3));
+                row.createCell(2).setCellValue(random.nextInt(11));
+                row.createCell(3).setCellValue(random.nextDouble() * 10);
+                row.createCell(4).setCellFormula("C" + (r + 1) + "*D" + (r + 1));
+            }
+            workbook.write(os);
+        }
+    }
+
+    private static void writePdf(String size, Random random, OutputStream os) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            for (int p = 0; p < units(size); p++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.setNonStrokingColor(new Color(random.nextInt(256), 200, 220));
+                    content.addRect(50, 650, 200, 120);
+                    content.fill();
+
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.setLeading(13f);
+                    content.newLineAtOffset(50, 620);
+                    for (int line = 0; line < 40; line++) {
+                        // Type1 Helvetica has no Vietnamese glyphs; keep the ASCII half of the word list
+                        content.showText(asciiOnly(sentence(random, 12)));
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            doc.save(os);
+        }
+    }
+
+    private static String asciiOnly(String text) {
+        return text.replaceAll("[^\\x20-\\x7E]", "");
+    }
+
+    @FunctionalInterface
+    private interface Generator {
+        void write(String size, Random random, OutputStream os) throws IOException;
+    }
+}
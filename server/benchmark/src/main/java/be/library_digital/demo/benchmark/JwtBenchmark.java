@@ -0,0 +1,115 @@
+package be.library_digital.demo.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import be.library_digital.demo.common.TokenType;
+import be.library_digital.demo.service.JwtService;
+import be.library_digital.demo.service.revocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request access token verification: the previous JwtService (key decoded and parser
+ * built for every parse, token parsed once per extracted claim) against the current one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.SampleTime, Mode.Throughput })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(4)
+public class JwtBenchmark {
+
+    private static final String ACCESS_KEY = "fPEZIjt0xHDMP/TlLjuXBuXCyN9HuB498CEQXZ39oiQ=";
+    private static final String REFRESH_KEY = "TN13ztj3wnw/DC9qiDz+pU/DaxztO6ZF1x33kqbvdhM=";
+    private static final String USERNAME = "lecturer@stu.t08.vn";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        // Revocation check with an empty filter: the common "not revoked" path, no database
+        TokenRevocationService revocation = new TokenRevocationService(null);
+        Constructor<?> bloom = Class.forName("be.library_digital.demo.service.revocation.BloomFilter")
+                .getDeclaredConstructor(long.class, double.class);
+        bloom.setAccessible(true);
+        set(revocation, "filter", bloom.newInstance(100_000L, 0.001));
+
+        jwtService = new JwtService(revocation);
+        set(jwtService, "EXPIRY_MINUTES", 14400L);
+        set(jwtService, "EXPIRY_DAY", 3L);
+        set(jwtService, "ACCESS_KEY", ACCESS_KEY);
+        set(jwtService, "REFRESH_KEY", REFRESH_KEY);
+        Method init = JwtService.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(jwtService);
+
+        token = jwtService.generateAccessToken("b3f1c2d4-0000-4000-8000-000000000001", USERNAME,
+                List.of(new SimpleGrantedAuthority("LECTURER")));
+    }
+
+    /** Filter path before: fresh key + parser, one parse for the username. */
+    @Benchmark
+    public String legacyExtractUsername() {
+        return legacyParse(token).getSubject();
+    }
+
+    /** isTokenValid before: one parse for the subject, another for the expiration. */
+    @Benchmark
+    public boolean legacyUsernameAndExpiry() {
+        String username = legacyParse(token).getSubject();
+        Date expiration = legacyParse(token).getExpiration();
+        return USERNAME.equals(username) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token, TokenType.ACCESS_TOKEN);
+    }
+
+    @Benchmark
+    public boolean usernameAndExpiry() {
+        Claims claims = jwtService.parse(token, TokenType.ACCESS_TOKEN);
+        return USERNAME.equals(jwtService.extractUsername(claims)) && !claims.getExpiration().before(new Date());
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(ACCESS_KEY));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,64 @@
+package be.library_digital.demo.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of rasterizing one PDF page at different DPI (preview/thumbnail work).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.SampleTime, Mode.Throughput })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Djava.awt.headless=true" })
+public class PdfRenderBenchmark {
+
+    @Param({ "medium" })
+    public String size;
+
+    @Param({ "72", "96", "150" })
+    public float dpi;
+
+    private PDDocument document;
+    private PDFRenderer renderer;
+    private int pageIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path pdf = Corpus.pdf(size);
+        document = PDDocument.load(pdf.toFile());
+        renderer = new PDFRenderer(document);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        document.close();
+    }
+
+    @Benchmark
+    public BufferedImage renderPage() throws IOException {
+        // Cycle through pages so a single cached page does not dominate
+        pageIndex = (pageIndex + 1) % document.getNumberOfPages();
+        return renderer.renderImageWithDPI(pageIndex, dpi, ImageType.RGB);
+    }
+}
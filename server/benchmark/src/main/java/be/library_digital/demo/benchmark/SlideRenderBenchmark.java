@@ -0,0 +1,69 @@
+package be.library_digital.demo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import be.library_digital.demo.service.conversion.SlideShowConverter;
+
+/**
+ * PPTX conversion cost per render setting: slide image scale and how the image is
+ * embedded in the PDF. The output size is returned so it shows up next to the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.SampleTime, Mode.Throughput })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Djava.awt.headless=true" })
+public class SlideRenderBenchmark {
+
+    @Param({ "medium" })
+    public String size;
+
+    @Param({ "1.0", "1.5", "2.0" })
+    public float scale;
+
+    @Param({ "true", "false" })
+    public boolean lossless;
+
+    private Path pptx;
+    private Path outDir;
+    private Path out;
+    private SlideShowConverter converter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pptx = Corpus.pptx(size);
+        outDir = Files.createTempDirectory("slide-bench");
+        out = outDir.resolve("out.pdf");
+        converter = new SlideShowConverter(scale, lossless);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(out);
+        Files.deleteIfExists(outDir);
+    }
+
+    @Benchmark
+    public long render() throws Exception {
+        converter.convert(pptx, out);
+        return Files.size(out);
+    }
+}
@@ -0,0 +1,6 @@
+package be.library_digital.demo.common;
+
+public enum ExportFormat {
+    XLSX,
+    CSV
+}
@@ -0,0 +1,71 @@
+package be.library_digital.demo.common;
+
+import be.library_digital.demo.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated list: the sort key of the last row of the previous page.
+ * Clients get it as an opaque string ({@code nextCursor}) and send it back unchanged.
+ *
+ * Lists ordered newest first use ({@code createdAt}, {@code id}), so the next page is
+ * {@code (created_at, id) < (cursor.createdAt, cursor.id)}; lists ordered by a unique key
+ * (catalog codes) only use {@link #key()}.
+ */
+public record PageCursor(LocalDateTime createdAt, String key) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final char SEPARATOR = '\n';
+
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1 || requested > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return requested;
+    }
+
+    public static String encode(LocalDateTime createdAt, Object key) {
+        String raw = (createdAt != null ? createdAt.toString() : "") + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(String key) {
+        return encode(null, key);
+    }
+
+    /**
+     * The decoded cursor, or {@code null} for the first page (no cursor sent).
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            String time = raw.substring(0, separator);
+            return new PageCursor(time.isEmpty() ? null : LocalDateTime.parse(time), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public Long keyAsLong() {
+        try {
+            return Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package be.library_digital.demo.config;
 
 import be.library_digital.demo.service.UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
@@ -51,6 +52,8 @@ public class AppConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests
                         (request -> request
+                                // re-dispatch of SSE/async responses: already authorized on the original request
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers(whitelistUrls).permitAll()
                                 .requestMatchers(HttpMethod.GET, "/course/**").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/resource").permitAll()
@@ -98,6 +101,8 @@ public class AppConfig {
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userService.userDetailsService());
+        // re-hashes one-time passwords from imports with BCrypt on first sign-in
+        provider.setUserDetailsPasswordService(userService);
         provider.setPasswordEncoder(passwordConfig.passwordEncoder());
 
         return provider;
@@ -0,0 +1,40 @@
+package be.library_digital.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "conversion")
+public class ConversionProperties {
+
+    /**
+     * Run conversions in child JVM worker processes. When false, conversions run
+     * inside the API JVM (only intended for local debugging).
+     */
+    private boolean isolated = true;
+
+    /** Number of worker processes kept alive. */
+    private int workers = 2;
+
+    /**
+     * Worker processes full-text extraction may use at once, on top of {@link #workers},
+     * which stay reserved for conversions requested by viewers.
+     */
+    private int extractionWorkers = 1;
+
+    /** -Xmx passed to each worker process. */
+    private String workerMaxHeap = "512m";
+
+    /** Hard limit for a single conversion job; the worker is killed when exceeded. */
+    private long jobTimeoutSeconds = 120;
+
+    /** How long a request waits for a free worker before giving up. */
+    private long acquireTimeoutSeconds = 30;
+
+    /** Java executable used to launch workers; defaults to the one running the API. */
+    private String javaCommand;
+}
@@ -1,12 +1,19 @@
 package be.library_digital.demo.config;
 
 import be.library_digital.demo.common.TokenType;
+import be.library_digital.demo.common.UserStatus;
+import be.library_digital.demo.model.Classroom;
+import be.library_digital.demo.model.Department;
+import be.library_digital.demo.model.Role;
+import be.library_digital.demo.model.UserHasRole;
 import be.library_digital.demo.service.JwtService;
+import be.library_digital.demo.service.PrincipalCache;
 import be.library_digital.demo.service.UserServiceImpl;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.common.UserType;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +22,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
@@ -26,6 +34,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -34,6 +45,10 @@ public class CustomizeRequestFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserServiceImpl userService;
+    private final PrincipalCache principalCache;
+
+    @Value("${security.stateless.enabled:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -41,13 +56,14 @@ public class CustomizeRequestFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
         if(authHeader != null && authHeader.startsWith("Bearer ")){
             authHeader = authHeader.substring("Bearer ".length());
-            log.info("Bearer authHeader: {}", authHeader);
 
+            Claims claims;
             String username = "";
 
             try {
-                username = jwtService.extractUsername(authHeader, TokenType.ACCESS_TOKEN);
-                log.info("username: {}", username);
+                claims = jwtService.parse(authHeader, TokenType.ACCESS_TOKEN);
+                username = jwtService.extractUsername(claims);
+                log.debug("username: {}", username);
             } catch (AccessDeniedException e){
                 log.error(e.getMessage());
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
@@ -57,7 +73,26 @@ public class CustomizeRequestFilter extends OncePerRequestFilter {
                 return;
             }
 
-            UserDetails userDetails = userService.loadUserByUsername(username);
+            UserDetails userDetails;
+            if (stateless && claims.get(JwtService.CLAIM_TYPE) != null) {
+                userDetails = principalFromClaims(claims);
+                if (userDetails == null) {
+                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                    response.setContentType("application/json");
+                    response.setCharacterEncoding("UTF-8");
+                    response.getWriter().write(buildErrorResponse("Token is no longer valid, please sign in again"));
+                    return;
+                }
+            } else {
+                userDetails = principalCache.get(username);
+                if (userDetails == null) {
+                    long generation = principalCache.generation();
+                    userDetails = userService.loadUserByUsername(username);
+                    if (userDetails instanceof User user) {
+                        principalCache.put(user, generation);
+                    }
+                }
+            }
 
             // Enforce must-change-password for non-admin accounts
             if (userDetails instanceof User user) {
@@ -86,6 +121,49 @@ public class CustomizeRequestFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Lightweight principal rebuilt from the token's scope claims: id, email, type, roles,
+     * department id and classroom id. The claims are checked against the user's current
+     * state (cached for security.stateless.recheck-seconds and evicted on every change made
+     * through the application), so locked, deleted or re-scoped users are refused; returns
+     * null in that case.
+     */
+    private User principalFromClaims(Claims claims) {
+        String userId = claims.get(JwtService.CLAIM_USER_ID, String.class);
+        if (userId == null) {
+            return null;
+        }
+        PrincipalCache.AuthorizationState state = userService.getAuthorizationState(userId);
+        if (state == null || !UserStatus.ACTIVE.equals(state.status())) {
+            return null;
+        }
+
+        UserType type = state.type();
+        Long departmentId = claims.get(JwtService.CLAIM_DEPARTMENT_ID, Long.class);
+        String classroomId = claims.get(JwtService.CLAIM_CLASSROOM_ID, String.class);
+        if (type == null || !type.name().equals(claims.get(JwtService.CLAIM_TYPE, String.class))
+                || !Objects.equals(departmentId, state.departmentId())
+                || !Objects.equals(classroomId, state.classroomId())) {
+            log.info("Claims of user {} are out of date", userId);
+            return null;
+        }
+
+        Set<UserHasRole> roles = new HashSet<>();
+        for (String role : jwtService.extractRole(claims)) {
+            roles.add(UserHasRole.builder().role(Role.builder().name(role).build()).build());
+        }
+        return User.builder()
+                .id(userId)
+                .email(claims.getSubject())
+                .type(type)
+                .status(state.status())
+                .mustChangePassword(state.mustChangePassword())
+                .department(departmentId != null ? Department.builder().id(departmentId).build() : null)
+                .classroom(classroomId != null ? Classroom.builder().id(classroomId).build() : null)
+                .roles(roles)
+                .build();
+    }
+
     private boolean isAllowedWhileMustChange(HttpServletRequest request) {
         String path = request.getRequestURI();
         String method = request.getMethod();
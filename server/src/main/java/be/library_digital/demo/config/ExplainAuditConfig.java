@@ -0,0 +1,35 @@
+package be.library_digital.demo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Profile {@code explain-audit}: every distinct SELECT Hibernate sends is EXPLAINed once and
+ * full table scans are reported. Meant for smoke and load runs against a realistically sized
+ * database, not for production.
+ */
+@Configuration
+@Profile("explain-audit")
+public class ExplainAuditConfig {
+
+    @Bean
+    public ExplainAuditInspector explainAuditInspector(DataSource dataSource,
+                                                       @Value("${explain-audit.min-rows:1000}") long minRows,
+                                                       @Value("${explain-audit.fail-on-full-scan:false}") boolean failOnFullScan,
+                                                       @Value("${explain-audit.allowed-tables:}") String[] allowedTables) {
+        return new ExplainAuditInspector(dataSource, minRows, failOnFullScan, Set.copyOf(Arrays.asList(allowedTables)));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer explainAuditHibernateCustomizer(ExplainAuditInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
@@ -0,0 +1,159 @@
+package be.library_digital.demo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs {@code EXPLAIN} for each distinct SELECT (on its own connection, once per SQL string)
+ * and reports tables read with {@code type=ALL} whose estimated row count reaches
+ * {@code minRows}. On H2 (local and test profiles) the plan is one text column where a full scan
+ * shows as {@code schema.table.tableScan}, sized by the table's row estimate instead.
+ * Placeholders are bound as {@code '0'}, or {@code 1} after LIMIT/OFFSET; the plan is about
+ * access paths, not about the actual values.
+ *
+ * With {@code failOnFullScan} the offending statement throws instead of running, which fails
+ * the request that issued it.
+ */
+@Slf4j(topic = "EXPLAIN-AUDIT")
+public class ExplainAuditInspector implements StatementInspector {
+
+    // Hibernate aliases every table ("from resources r1_0", "join `user` u1_0"); EXPLAIN reports the alias
+    private static final Pattern TABLE_ALIAS = Pattern.compile(
+            "\\b(?:from|join)\\s+`?(\\w+)`?\\s+(?:as\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\*\\s*\\w+\\.(\\w+)\\.tableScan\\b");
+
+    private final DataSource dataSource;
+    private final long minRows;
+    private final boolean failOnFullScan;
+    private final Set<String> allowedTables;
+
+    // SQL -> full scans found in its plan (empty when clean)
+    private final Map<String, List<String>> audited = new ConcurrentHashMap<>();
+
+    public ExplainAuditInspector(DataSource dataSource, long minRows, boolean failOnFullScan, Set<String> allowedTables) {
+        this.dataSource = dataSource;
+        this.minRows = minRows;
+        this.failOnFullScan = failOnFullScan;
+        this.allowedTables = allowedTables;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (!sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            return sql;
+        }
+        List<String> fullScans = audited.get(sql);
+        if (fullScans == null) {
+            fullScans = explain(sql);
+            if (audited.putIfAbsent(sql, fullScans) == null && !fullScans.isEmpty()) {
+                log.warn("Full scan of {} in: {}", fullScans, sql);
+            }
+        }
+        if (failOnFullScan && !fullScans.isEmpty()) {
+            throw new IllegalStateException("Full table scan of " + fullScans + " in: " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Distinct SELECTs audited so far, with the tables each one scans fully.
+     */
+    public Map<String, List<String>> findings() {
+        Map<String, List<String>> result = new HashMap<>();
+        audited.forEach((sql, scans) -> {
+            if (!scans.isEmpty()) {
+                result.put(sql, scans);
+            }
+        });
+        return result;
+    }
+
+    private List<String> explain(String sql) {
+        Map<String, String> tables = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            tables.put(matcher.group(2), matcher.group(1));
+        }
+
+        List<String> fullScans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            bindPlaceholders(statement, sql);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.getMetaData().getColumnCount() == 1) {
+                    while (rs.next()) {
+                        addH2FullScans(connection, rs.getString(1), fullScans);
+                    }
+                    return fullScans;
+                }
+                while (rs.next()) {
+                    String alias = rs.getString("table");
+                    String table = tables.getOrDefault(alias, alias);
+                    if ("ALL".equals(rs.getString("type")) && rs.getLong("rows") >= minRows
+                            && table != null && !allowedTables.contains(table)) {
+                        fullScans.add(table + " (~" + rs.getLong("rows") + " rows)");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("EXPLAIN failed ({}) for: {}", e.getMessage(), sql);
+        }
+        return fullScans;
+    }
+
+    private void addH2FullScans(Connection connection, String plan, List<String> fullScans) throws SQLException {
+        Matcher matcher = H2_TABLE_SCAN.matcher(plan);
+        while (matcher.find()) {
+            String table = matcher.group(1);
+            if (allowedTables.contains(table)) {
+                continue;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT row_count_estimate FROM information_schema.tables WHERE LOWER(table_name) = LOWER(?)")) {
+                statement.setString(1, table);
+                try (ResultSet rs = statement.executeQuery()) {
+                    long rows = rs.next() ? rs.getLong(1) : 0;
+                    if (rows >= minRows) {
+                        fullScans.add(table + " (~" + rows + " rows)");
+                    }
+                }
+            }
+        }
+    }
+
+    private static void bindPlaceholders(PreparedStatement statement, String sql) throws SQLException {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        int limitAt = lower.lastIndexOf(" limit ");
+        boolean quoted = false;
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                index++;
+                if (limitAt >= 0 && i > limitAt) {
+                    statement.setInt(index, 1);
+                } else {
+                    statement.setString(index, "0");
+                }
+            }
+        }
+    }
+}
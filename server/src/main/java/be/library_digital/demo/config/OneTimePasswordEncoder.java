@@ -0,0 +1,105 @@
+package be.library_digital.demo.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * BCrypt for everything, plus cheap salted SHA-256 hashes for one-time passwords generated
+ * by bulk imports ({@code {otp}issuedEpochSecond$salt$digest}).
+ *
+ * Those are only meant to live until first sign-in: {@link #upgradeEncoding} reports them,
+ * so DaoAuthenticationProvider re-hashes the password with BCrypt on the first successful
+ * login, and the accounts are created with must-change-password set. A one-time password
+ * not used within {@code ttl} no longer matches; an admin has to reset it.
+ */
+public class OneTimePasswordEncoder implements PasswordEncoder {
+
+    public static final String PREFIX = "{otp}";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final char[] ALPHABET = "ABCDEFGHJKMNPQRSTUVWXYZabcdefghjkmnpqrstuvwxyz23456789".toCharArray();
+
+    private final PasswordEncoder delegate;
+    private final Duration ttl;
+
+    public OneTimePasswordEncoder(PasswordEncoder delegate, Duration ttl) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword != null && encodedPassword.startsWith(PREFIX)) {
+            // issued$salt$digest; hashes written before expiry existed have no issued part
+            String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+            if (rawPassword == null || parts.length < 2 || parts.length > 3) {
+                return false;
+            }
+            if (parts.length == 3 && isExpired(parts[0])) {
+                return false;
+            }
+            byte[] salt = Base64.getDecoder().decode(parts[parts.length - 2]);
+            byte[] expected = Base64.getDecoder().decode(parts[parts.length - 1]);
+            return MessageDigest.isEqual(expected, digest(salt, rawPassword));
+        }
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return (encodedPassword != null && encodedPassword.startsWith(PREFIX))
+                || delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Cheap hash for a password that will be re-hashed with BCrypt at first sign-in.
+     */
+    public static String encodeOneTime(CharSequence rawPassword) {
+        byte[] salt = new byte[16];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return PREFIX + Instant.now().getEpochSecond() + "$" + base64.encodeToString(salt)
+                + "$" + base64.encodeToString(digest(salt, rawPassword));
+    }
+
+    /**
+     * Random password without look-alike characters, for accounts imported without one.
+     */
+    public static String generate(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET[RANDOM.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+
+    private boolean isExpired(String issuedEpochSecond) {
+        try {
+            return Instant.ofEpochSecond(Long.parseLong(issuedEpochSecond)).plus(ttl).isBefore(Instant.now());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] digest(byte[] salt, CharSequence rawPassword) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            return digest.digest(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package be.library_digital.demo.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class PasswordEncoderConfig {
 
+    @Value("${import.one-time-password-ttl-days:14}")
+    private long oneTimePasswordTtlDays;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new OneTimePasswordEncoder(new BCryptPasswordEncoder(), Duration.ofDays(oneTimePasswordTtlDays));
     }
 }
@@ -0,0 +1,80 @@
+package be.library_digital.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write split, active when {@code datasource.replica.url} is set. Without it the
+ * application runs on the single {@code spring.datasource} pool as before.
+ *
+ * Beans: the primary pool ({@code spring.datasource}, also used by Flyway), the replica pool
+ * ({@code datasource.replica}) and, as the {@code @Primary} data source used by JPA, a
+ * {@link ReadReplicaRoutingDataSource} over both behind a lazy connection proxy.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+@Slf4j(topic = "READ-REPLICA")
+public class ReadReplicaConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:}") String username,
+                                              @Value("${datasource.replica.password:}") String password,
+                                              @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+                                              @Value("${datasource.replica.migrate:false}") boolean migrate) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        if (migrate) {
+            // only for two independent local databases; a real replica gets its schema through replication
+            Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).load().migrate();
+        }
+        log.info("Read-only service transactions use replica {}", url);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 @Value("${datasource.replica.service-package:be.library_digital.demo.service}") String servicePackage,
+                                 @Value("${datasource.replica.sticky-seconds:5}") long stickySeconds) {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(servicePackage, stickySeconds * 1000);
+        routing.setTargetDataSources(Map.<Object, Object>of(
+                ReadReplicaRoutingDataSource.Target.PRIMARY, primaryDataSource,
+                ReadReplicaRoutingDataSource.Target.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,98 @@
+package be.library_digital.demo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends the connection of a read-only transaction opened by a service method (a method of a
+ * class under {@code servicePackage}) to the replica, everything else to the primary. The
+ * read-only defaults of Spring Data repositories stay on the primary: the lookups done in
+ * write paths (login, password reset, principal loading) must never see replication lag.
+ *
+ * After a user's write transaction commits, that user's reads stay on the primary for
+ * {@code stickyMillis}, so they read their own upload, comment or profile change even when
+ * the replica is behind. The window should exceed the usual replica lag.
+ *
+ * The decision is taken when the connection is first used, so this data source must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction's read-only flag is only published after the transaction has begun.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final String servicePackage;
+    private final long stickyMillis;
+
+    // user name -> time until which the user's reads go to the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadReplicaRoutingDataSource(String servicePackage, long stickyMillis) {
+        this.servicePackage = servicePackage.endsWith(".") ? servicePackage : servicePackage + ".";
+        this.stickyMillis = stickyMillis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && stickyMillis > 0 && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        markWrite(user);
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name == null || !name.startsWith(servicePackage) || isSticky(user)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private void markWrite(String user) {
+        long now = System.currentTimeMillis();
+        if (stickyUntil.size() >= PRUNE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until < now);
+        }
+        stickyUntil.put(user, now + stickyMillis);
+    }
+
+    private boolean isSticky(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            stickyUntil.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -5,9 +5,11 @@ import be.library_digital.demo.dto.request.ForgotPasswordRequest;
 import be.library_digital.demo.dto.request.ResetForgotPasswordRequest;
 import be.library_digital.demo.dto.request.SignInRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
+import be.library_digital.demo.model.User;
 import be.library_digital.demo.service.AuthenticationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import lombok.RequiredArgsConstructor;
@@ -31,13 +33,14 @@ public class AuthenticationController {
     @Operation(summary = "Sign In", description = "Get session id and otp code in email by username and password")
     @PostMapping("/sign-in")
     public ResponseEntity<?> signIn(
-            @RequestBody @Valid SignInRequest request
+            @RequestBody @Valid SignInRequest request,
+            HttpServletRequest httpRequest
     ) throws Exception {
         log.info("Sign in request");
         ApiResponse<?> apiResponse = ApiResponse.builder()
                 .status(HttpStatus.OK.value())
                 .message("Sign in successful")
-                .data(authenticationService.signIn(request))
+                .data(authenticationService.signIn(request, httpRequest.getRemoteAddr()))
                 .build();
         return new ResponseEntity<>(apiResponse, HttpStatus.OK);
     }
@@ -123,25 +126,25 @@ public class AuthenticationController {
 //
 //        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
 //    }
-//
-//    @PostMapping("/sign-out")
-//    @Operation(
-//            summary = "Sign out user",
-//            description = "This API allows users to log out by providing an Access Token and Refresh Token. " +
-//                    "The access token should be sent in the Authorization header, prefixed with 'Bearer '."
-//    )
-//    public ResponseEntity<?> signOut(
-//            @RequestHeader("Authorization") String authHeader,
-//            @RequestParam String refreshToken,
-//            @AuthenticationPrincipal User user
-//    ){
-//        String accessToken = authHeader.substring("Bearer ".length());
-//        authenticationService.signOut(accessToken, refreshToken, user);
-//        ApiResponse<?> apiResponse = ApiResponse.builder()
-//                .status(HttpStatus.OK.value())
-//                .message("Successfully logged out")
-//                .build();
-//
-//        return ResponseEntity.ok(apiResponse);
-//    }
+
+    @PostMapping("/sign-out")
+    @Operation(
+            summary = "Sign out user",
+            description = "Thu hồi access token hiện tại (và refresh token nếu có). " +
+                    "The access token should be sent in the Authorization header, prefixed with 'Bearer '."
+    )
+    public ResponseEntity<?> signOut(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String refreshToken,
+            @AuthenticationPrincipal User user
+    ){
+        String accessToken = authHeader.substring("Bearer ".length());
+        authenticationService.signOut(accessToken, refreshToken, user);
+        ApiResponse<?> apiResponse = ApiResponse.builder()
+                .status(HttpStatus.OK.value())
+                .message("Successfully logged out")
+                .build();
+
+        return ResponseEntity.ok(apiResponse);
+    }
 }
@@ -1,9 +1,14 @@
 package be.library_digital.demo.controller;
 
+import be.library_digital.demo.common.PageCursor;
+import be.library_digital.demo.dto.request.ClassroomBulkRequest;
 import be.library_digital.demo.dto.request.ClassroomRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
 import be.library_digital.demo.dto.response.ClassroomResponse;
+import be.library_digital.demo.dto.response.CursorPage;
+import be.library_digital.demo.dto.response.PaginationResponse;
 import be.library_digital.demo.service.ClassroomService;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,6 +31,7 @@ import java.util.List;
 public class ClassroomController {
 
     private final ClassroomService classroomService;
+    private final CatalogCache catalogCache;
 
     @Operation(summary = "Create classroom", description = "ADMIN only")
     @PostMapping
@@ -41,6 +47,20 @@ public class ClassroomController {
         return new ResponseEntity<>(api, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Bulk create/update classrooms", description = "ADMIN only; items without id are created, with id updated, up to 500 in one transaction")
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> bulkSave(@RequestBody @Valid ClassroomBulkRequest request) {
+        List<ClassroomResponse> resp = classroomService.bulkSave(request.getItems());
+        ApiResponse<List<ClassroomResponse>> api = ApiResponse.<List<ClassroomResponse>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Classrooms saved")
+                .data(resp)
+                .build();
+
+        return ResponseEntity.ok(api);
+    }
+
     @Operation(summary = "Update classroom", description = "ADMIN only")
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -69,21 +89,26 @@ public class ClassroomController {
         return ResponseEntity.ok(api);
     }
 
-    @Operation(summary = "List classrooms", description = "ADMIN/SUB_ADMIN/LECTURER; optional filter by code, specializationCode, cohortCode")
+    @Operation(summary = "List classrooms", description = "ADMIN/SUB_ADMIN/LECTURER; optional filter by code, specializationCode, cohortCode; ordered by code, paged with cursor/limit")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN', 'SUB_ADMIN', 'LECTURER')")
     public ResponseEntity<?> list(
             @RequestParam(required = false) String code,
             @RequestParam(required = false) String specializationCode,
-            @RequestParam(required = false) String cohortCode) {
-        List<ClassroomResponse> list = classroomService.getAll(code, specializationCode, cohortCode);
+            @RequestParam(required = false) String cohortCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        String etag = catalogCache.etag(null);
+        CursorPage<ClassroomResponse> page = classroomService.getAll(code, specializationCode, cohortCode,
+                cursor, PageCursor.limit(limit));
         ApiResponse<List<ClassroomResponse>> api = ApiResponse.<List<ClassroomResponse>>builder()
                 .status(HttpStatus.OK.value())
                 .message("Success")
-                .data(list)
+                .data(page.getItems())
+                .pagination(PaginationResponse.of(page))
                 .build();
 
-        return ResponseEntity.ok(api);
+        return ResponseEntity.ok().eTag(etag).body(api);
     }
 
     @Operation(summary = "Delete classroom", description = "ADMIN only")
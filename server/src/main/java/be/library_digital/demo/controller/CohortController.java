@@ -4,6 +4,7 @@ import be.library_digital.demo.dto.request.CohortRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
 import be.library_digital.demo.dto.response.CohortResponse;
 import be.library_digital.demo.service.CohortService;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,6 +27,7 @@ import java.util.List;
 public class CohortController {
 
     private final CohortService cohortService;
+    private final CatalogCache catalogCache;
 
     @Operation(summary = "Create cohort", description = "ADMIN only")
     @PostMapping
@@ -77,6 +79,7 @@ public class CohortController {
             @RequestParam(required = false) String programCode,
             @RequestParam(required = false) Integer startYear,
             @RequestParam(required = false) Integer endYear) {
+        String etag = catalogCache.etag(null);
         List<CohortResponse> list = cohortService.getAll(code, programCode, startYear, endYear);
         ApiResponse<List<CohortResponse>> api = ApiResponse.<List<CohortResponse>>builder()
                 .status(HttpStatus.OK.value())
@@ -84,7 +87,7 @@ public class CohortController {
                 .data(list)
                 .build();
 
-        return ResponseEntity.ok(api);
+        return ResponseEntity.ok().eTag(etag).body(api);
     }
 
     @Operation(summary = "Delete cohort", description = "ADMIN only")
@@ -1,8 +1,11 @@
 package be.library_digital.demo.controller;
 
+import be.library_digital.demo.common.PageCursor;
 import be.library_digital.demo.dto.request.CommentRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
 import be.library_digital.demo.dto.response.CommentResponse;
+import be.library_digital.demo.dto.response.CursorPage;
+import be.library_digital.demo.dto.response.PaginationResponse;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +20,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Validated
 @RestController
 @RequestMapping("/comment")
@@ -43,6 +48,24 @@ public class CommentController {
         return new ResponseEntity<>(api, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "List comments of a resource", description = "Mới nhất trước, phân trang bằng cursor (limit mặc định 20, tối đa 100)")
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> list(@RequestParam String resourceId,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer limit) {
+        CursorPage<CommentResponse> page = commentService.listByResource(resourceId, cursor, PageCursor.limit(limit));
+
+        ApiResponse<List<CommentResponse>> api = ApiResponse.<List<CommentResponse>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Success")
+                .data(page.getItems())
+                .pagination(PaginationResponse.of(page))
+                .build();
+
+        return ResponseEntity.ok(api);
+    }
+
     @Operation(summary = "Update own comment", description = "Only comment owner can update")
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
@@ -1,9 +1,14 @@
 package be.library_digital.demo.controller;
 
+import be.library_digital.demo.common.PageCursor;
+import be.library_digital.demo.dto.request.CourseBulkRequest;
 import be.library_digital.demo.dto.request.CourseRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
 import be.library_digital.demo.dto.response.CourseResponse;
+import be.library_digital.demo.dto.response.CursorPage;
+import be.library_digital.demo.dto.response.PaginationResponse;
 import be.library_digital.demo.service.CourseService;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import be.library_digital.demo.model.User;
 import org.springframework.security.core.Authentication;
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,6 +33,7 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CatalogCache catalogCache;
 
     @Operation(summary = "Create course", description = "Create a new course (ADMIN or SUB_ADMIN)")
     @PostMapping
@@ -44,6 +50,21 @@ public class CourseController {
         return new ResponseEntity<>(api, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Bulk create/update courses", description = "ADMIN or SUB_ADMIN (own department); items without id are created, with id updated, up to 500 in one transaction")
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'SUB_ADMIN')")
+    public ResponseEntity<?> bulkSave(@RequestBody @Valid CourseBulkRequest request, Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        List<CourseResponse> resp = courseService.bulkSave(request.getItems(), currentUser);
+        ApiResponse<List<CourseResponse>> api = ApiResponse.<List<CourseResponse>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Courses saved")
+                .data(resp)
+                .build();
+
+        return ResponseEntity.ok(api);
+    }
+
     @Operation(summary = "Get course by id", description = "Get a course by id")
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'SUB_ADMIN', 'LECTURER')")
@@ -59,24 +80,29 @@ public class CourseController {
         return ResponseEntity.ok(api);
     }
 
-    @Operation(summary = "List courses", description = "List all courses")
+    @Operation(summary = "List courses", description = "List courses ordered by code; pass nextCursor back as cursor for the next page")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN', 'SUB_ADMIN', 'LECTURER')")
     public ResponseEntity<?> list(
             @RequestParam(required = false) String code,
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String departmentCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             Authentication authentication
     ) {
         User currentUser = (User) authentication.getPrincipal();
-        List<CourseResponse> list = courseService.getAll(currentUser, code, title, departmentCode);
+        String etag = catalogCache.etag(courseScope(currentUser));
+        CursorPage<CourseResponse> page = courseService.getAll(currentUser, code, title, departmentCode,
+                cursor, PageCursor.limit(limit));
         ApiResponse<List<CourseResponse>> api = ApiResponse.<List<CourseResponse>>builder()
                 .status(HttpStatus.OK.value())
                 .message("Success")
-                .data(list)
+                .data(page.getItems())
+                .pagination(PaginationResponse.of(page))
                 .build();
 
-        return ResponseEntity.ok(api);
+        return ResponseEntity.ok().eTag(etag).body(api);
     }
 
     @Operation(summary = "Update course", description = "Update a course by id (ADMIN or SUB_ADMIN of same department)")
@@ -107,4 +133,10 @@ public class CourseController {
 
         return new ResponseEntity<>(api, HttpStatus.NO_CONTENT);
     }
+
+    // the list depends on the caller's role and department, so both go into the ETag
+    private String courseScope(User user) {
+        String type = user.getType() != null ? user.getType().name() : "NONE";
+        return user.getDepartment() != null ? type + "-" + user.getDepartment().getId() : type;
+    }
 }
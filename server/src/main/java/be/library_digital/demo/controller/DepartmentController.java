@@ -4,6 +4,7 @@ import be.library_digital.demo.dto.request.DepartmentRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
 import be.library_digital.demo.dto.response.DepartmentResponse;
 import be.library_digital.demo.service.DepartmentService;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,6 +27,7 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final CatalogCache catalogCache;
 
     @Operation(summary = "Create department", description = "Create a new department (ADMIN only)")
     @PostMapping
@@ -62,6 +64,7 @@ public class DepartmentController {
             @RequestParam(required = false) String code,
             @RequestParam(required = false) String name
     ) {
+        String etag = catalogCache.etag(null);
         List<DepartmentResponse> list = departmentService.getAll(code, name);
         ApiResponse<List<DepartmentResponse>> api = ApiResponse.<List<DepartmentResponse>>builder()
                 .status(HttpStatus.OK.value())
@@ -69,7 +72,7 @@ public class DepartmentController {
                 .data(list)
                 .build();
 
-        return ResponseEntity.ok(api);
+        return ResponseEntity.ok().eTag(etag).body(api);
     }
 
     @Operation(summary = "Update department", description = "Update a department by id (ADMIN only)")
@@ -0,0 +1,70 @@
+package be.library_digital.demo.controller;
+
+import be.library_digital.demo.common.ExportFormat;
+import be.library_digital.demo.common.UserType;
+import be.library_digital.demo.model.User;
+import be.library_digital.demo.service.export.ExportService;
+import be.library_digital.demo.service.export.ExportWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/exports")
+@RequiredArgsConstructor
+@Tag(name = "Export Controller")
+@Slf4j(topic = "EXPORT-CONTROLLER")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @Operation(summary = "Export users", description = "ADMIN only. format=XLSX|CSV; type lọc theo loại người dùng (bỏ trống = tất cả)")
+    @GetMapping("/users")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "XLSX") ExportFormat format,
+                                                             @RequestParam(required = false) UserType type,
+                                                             Authentication authentication) {
+        exportService.checkCanExport((User) authentication.getPrincipal());
+        return stream("users", format, out -> exportService.exportUsers(type, format, out));
+    }
+
+    @Operation(summary = "Export students", description = "ADMIN only. format=XLSX|CSV; classroomId lọc theo lớp (bỏ trống = tất cả)")
+    @GetMapping("/students")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "XLSX") ExportFormat format,
+                                                                @RequestParam(required = false) String classroomId,
+                                                                Authentication authentication) {
+        exportService.checkCanExport((User) authentication.getPrincipal());
+        exportService.checkClassroom(classroomId);
+        return stream("students", format, out -> exportService.exportStudents(classroomId, format, out));
+    }
+
+    @Operation(summary = "Export resources with stats", description = "ADMIN only. format=XLSX|CSV; views, downloads, ratings, comments per resource")
+    @GetMapping("/resources")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportResources(@RequestParam(defaultValue = "XLSX") ExportFormat format,
+                                                                 @RequestParam(required = false) Long departmentId,
+                                                                 Authentication authentication) {
+        exportService.checkCanExport((User) authentication.getPrincipal());
+        return stream("resources", format, out -> exportService.exportResources(departmentId, format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + ExportWriter.extension(format) + "\"")
+                .contentType(MediaType.parseMediaType(ExportWriter.contentType(format)))
+                .body(body);
+    }
+}
@@ -1,7 +1,10 @@
 package be.library_digital.demo.controller;
 
+import be.library_digital.demo.common.PageCursor;
 import be.library_digital.demo.dto.response.ApiResponse;
+import be.library_digital.demo.dto.response.CursorPage;
 import be.library_digital.demo.dto.response.HistoryResponse;
+import be.library_digital.demo.dto.response.PaginationResponse;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.service.HistoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +18,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -29,33 +33,39 @@ public class HistoryController {
 
     private final HistoryService historyService;
 
-    @Operation(summary = "Get view history for current user")
+    @Operation(summary = "Get view history for current user", description = "Mới nhất trước, phân trang bằng cursor (limit mặc định 20, tối đa 100)")
     @GetMapping("/views")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getViews(Authentication authentication) {
+    public ResponseEntity<?> getViews(@RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit,
+                                      Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        List<HistoryResponse> resp = historyService.getViewHistory(currentUser);
+        CursorPage<HistoryResponse> page = historyService.getViewHistory(currentUser, cursor, PageCursor.limit(limit));
 
         ApiResponse<List<HistoryResponse>> api = ApiResponse.<List<HistoryResponse>>builder()
                 .status(HttpStatus.OK.value())
                 .message("Success")
-                .data(resp)
+                .data(page.getItems())
+                .pagination(PaginationResponse.of(page))
                 .build();
 
         return ResponseEntity.ok(api);
     }
 
-    @Operation(summary = "Get download history for current user")
+    @Operation(summary = "Get download history for current user", description = "Mới nhất trước, phân trang bằng cursor (limit mặc định 20, tối đa 100)")
     @GetMapping("/downloads")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getDownloads(Authentication authentication) {
+    public ResponseEntity<?> getDownloads(@RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit,
+                                      Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        List<HistoryResponse> resp = historyService.getDownloadHistory(currentUser);
+        CursorPage<HistoryResponse> page = historyService.getDownloadHistory(currentUser, cursor, PageCursor.limit(limit));
 
         ApiResponse<List<HistoryResponse>> api = ApiResponse.<List<HistoryResponse>>builder()
                 .status(HttpStatus.OK.value())
                 .message("Success")
-                .data(resp)
+                .data(page.getItems())
+                .pagination(PaginationResponse.of(page))
                 .build();
 
         return ResponseEntity.ok(api);
@@ -0,0 +1,98 @@
+package be.library_digital.demo.controller;
+
+import be.library_digital.demo.dto.response.ApiResponse;
+import be.library_digital.demo.dto.response.ImportJobResponse;
+import be.library_digital.demo.model.User;
+import be.library_digital.demo.service.imports.ImportJob;
+import be.library_digital.demo.service.imports.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/imports")
+@RequiredArgsConstructor
+@Tag(name = "Import Job Controller")
+@Slf4j(topic = "IMPORT-JOB-CONTROLLER")
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @Operation(summary = "Start a background user import",
+            description = "ADMIN only. Same file format as /users/import; trả về job id ngay, theo dõi tiến độ qua /imports/{jobId}")
+    @PostMapping("/users")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> importUsers(@RequestPart("file") MultipartFile file,
+                                         @RequestParam(defaultValue = "false") boolean deferHashing,
+                                         Authentication authentication) {
+        return accepted(importJobService.submit(ImportJob.Kind.USERS, file,
+                (User) authentication.getPrincipal(), deferHashing));
+    }
+
+    @Operation(summary = "Start a background student import",
+            description = "ADMIN only. Same file format as /students/import; trả về job id ngay, theo dõi tiến độ qua /imports/{jobId}")
+    @PostMapping("/students")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> importStudents(@RequestPart("file") MultipartFile file,
+                                            @RequestParam(defaultValue = "false") boolean deferHashing,
+                                            Authentication authentication) {
+        return accepted(importJobService.submit(ImportJob.Kind.STUDENTS, file,
+                (User) authentication.getPrincipal(), deferHashing));
+    }
+
+    @Operation(summary = "Get import job progress", description = "Rows processed, inserted and rejected so far")
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> getJob(@PathVariable String jobId, Authentication authentication) {
+        ImportJobResponse resp = importJobService.getJob(jobId, (User) authentication.getPrincipal());
+
+        ApiResponse<ImportJobResponse> api = ApiResponse.<ImportJobResponse>builder()
+                .status(HttpStatus.OK.value())
+                .message("Success")
+                .data(resp)
+                .build();
+
+        return ResponseEntity.ok(api);
+    }
+
+    @Operation(summary = "Stream import job progress (SSE)",
+            description = "Events: progress (after each batch), done (final state, then the stream closes)")
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public SseEmitter streamJob(@PathVariable String jobId, Authentication authentication) {
+        return importJobService.subscribe(jobId, (User) authentication.getPrincipal());
+    }
+
+    @Operation(summary = "Download rejected rows of an import job", description = "CSV: row, email, reason")
+    @GetMapping("/{jobId}/rejections")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<FileSystemResource> downloadRejections(@PathVariable String jobId,
+                                                                 Authentication authentication) {
+        FileSystemResource report = importJobService.getRejectionReport(jobId, (User) authentication.getPrincipal());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + jobId + "-rejections.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(report);
+    }
+
+    private ResponseEntity<?> accepted(ImportJobResponse job) {
+        ApiResponse<ImportJobResponse> api = ApiResponse.<ImportJobResponse>builder()
+                .status(HttpStatus.ACCEPTED.value())
+                .message("Import job started")
+                .data(job)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(api);
+    }
+}
@@ -1,12 +1,23 @@
 package be.library_digital.demo.controller;
 
+import be.library_digital.demo.common.PageCursor;
 import be.library_digital.demo.dto.request.ResourceUploadRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
+import be.library_digital.demo.dto.response.BulkResultResponse;
+import be.library_digital.demo.dto.response.CursorPage;
+import be.library_digital.demo.dto.response.DuplicatePairResponse;
+import be.library_digital.demo.dto.response.PaginationResponse;
 import be.library_digital.demo.dto.response.ResourceFolderResponse;
 import be.library_digital.demo.dto.response.ResourceResponse;
+import be.library_digital.demo.dto.response.SimilarResourceResponse;
 import be.library_digital.demo.model.User;
+import be.library_digital.demo.service.FileConversionService;
 import be.library_digital.demo.service.ResourceService;
+import be.library_digital.demo.service.conversion.ConvertedFile;
+import be.library_digital.demo.service.similarity.SimilarityService;
 import be.library_digital.demo.dto.request.ResourceApprovalStatusRequest;
+import be.library_digital.demo.dto.request.ResourceBulkApprovalRequest;
+import be.library_digital.demo.dto.request.ResourceBulkDeleteRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,7 +35,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -37,7 +47,8 @@ import java.util.List;
 public class ResourceController {
 
         private final ResourceService resourceService;
-        private final be.library_digital.demo.service.FileConversionService fileConversionService;
+        private final FileConversionService fileConversionService;
+        private final SimilarityService similarityService;
 
         @Operation(summary = "Upload resource", description = "Upload a resource file with metadata (LECTURER only)")
         @PostMapping("/upload")
@@ -70,22 +81,16 @@ public class ResourceController {
 
                 Path filePath = file.getFile().toPath();
                 String filename = file.getFilename();
-                String contentType;
-
-                String lowerFilename = filename.toLowerCase();
-                if (lowerFilename.endsWith(".docx") || lowerFilename.endsWith(".pptx")) {
-                        // Convert to PDF for viewing
-                        Path pdfPath = fileConversionService.getConvertedPdf(filePath);
-                        file = new FileSystemResource(pdfPath);
-                        filename = filename.substring(0, filename.lastIndexOf('.')) + ".pdf";
-                        contentType = MediaType.APPLICATION_PDF_VALUE;
-                } else {
-                        contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-                        try {
-                                contentType = Files.probeContentType(filePath);
-                        } catch (IOException ignored) {
-                        }
+
+                // Convert to a browser-viewable format when a converter is registered for the type
+                ConvertedFile viewable = fileConversionService.getViewable(filePath);
+                if (!viewable.path().equals(filePath)) {
+                        file = new FileSystemResource(viewable.path());
+                }
+                if (viewable.extension() != null && filename.contains(".")) {
+                        filename = filename.substring(0, filename.lastIndexOf('.')) + "." + viewable.extension();
                 }
+                String contentType = viewable.contentType();
 
                 return ResponseEntity.ok()
                                 .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
@@ -168,34 +173,81 @@ public class ResourceController {
                 return ResponseEntity.ok(api);
         }
 
-        @Operation(summary = "Get all resources", description = "Role-based visibility for ADMIN/SUB_ADMIN/LECTURER/public")
+        @Operation(summary = "Bulk update approval status", description = "ADMIN/SUB_ADMIN only; duyệt/từ chối tối đa 1000 tài liệu trong một lần, SUB_ADMIN chỉ trong khoa của mình (một id không hợp lệ thì không thay đổi gì)")
+        @PutMapping("/bulk/approval-status")
+        @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('SUB_ADMIN')")
+        public ResponseEntity<?> bulkUpdateApprovalStatus(
+                        @RequestBody @Valid ResourceBulkApprovalRequest request,
+                        Authentication authentication) {
+
+                User currentUser = (User) authentication.getPrincipal();
+                BulkResultResponse resp = resourceService.bulkUpdateApprovalStatus(request.getIds(),
+                                request.getStatus(), currentUser);
+
+                ApiResponse<BulkResultResponse> api = ApiResponse.<BulkResultResponse>builder()
+                                .status(HttpStatus.OK.value())
+                                .message("Approval status updated")
+                                .data(resp)
+                                .build();
+
+                return ResponseEntity.ok(api);
+        }
+
+        @Operation(summary = "Bulk delete resources", description = "ADMIN any, SUB_ADMIN same department, LECTURER own uploads; xoá tối đa 1000 tài liệu trong một lần, file được xoá sau khi commit")
+        @PostMapping("/bulk/delete")
+        @PreAuthorize("hasAnyAuthority('ADMIN','SUB_ADMIN','LECTURER')")
+        public ResponseEntity<?> bulkDelete(
+                        @RequestBody @Valid ResourceBulkDeleteRequest request,
+                        Authentication authentication) {
+
+                User currentUser = (User) authentication.getPrincipal();
+                BulkResultResponse resp = resourceService.bulkDelete(request.getIds(), currentUser);
+
+                ApiResponse<BulkResultResponse> api = ApiResponse.<BulkResultResponse>builder()
+                                .status(HttpStatus.OK.value())
+                                .message("Resources deleted")
+                                .data(resp)
+                                .build();
+
+                return ResponseEntity.ok(api);
+        }
+
+        @Operation(summary = "Get all resources", description = "Role-based visibility for ADMIN/SUB_ADMIN/LECTURER/public; mới nhất trước, phân trang bằng cursor (limit mặc định 20, tối đa 100)")
         @GetMapping
         @PreAuthorize("permitAll()")
         public ResponseEntity<?> getAll(
                         @RequestParam(name = "typeId", required = false) String typeId,
                         @RequestParam(name = "keyword", required = false) String keyword,
+                        @RequestParam(name = "cursor", required = false) String cursor,
+                        @RequestParam(name = "limit", required = false) Integer limit,
                         Authentication authentication) {
                 User currentUser = authentication != null ? (User) authentication.getPrincipal() : null;
-                List<ResourceResponse> resp = resourceService.getAll(currentUser, typeId, keyword);
+                CursorPage<ResourceResponse> page = resourceService.getAll(currentUser, typeId, keyword,
+                                cursor, PageCursor.limit(limit));
                 ApiResponse<List<ResourceResponse>> api = ApiResponse.<List<ResourceResponse>>builder()
                                 .status(HttpStatus.OK.value())
                                 .message("Success")
-                                .data(resp)
+                                .data(page.getItems())
+                                .pagination(PaginationResponse.of(page))
                                 .build();
 
                 return ResponseEntity.ok(api);
         }
 
-        @Operation(summary = "Get my uploaded resources", description = "Authenticated users: list resources they uploaded")
+        @Operation(summary = "Get my uploaded resources", description = "Authenticated users: list resources they uploaded; phân trang bằng cursor")
         @GetMapping("/my-uploads")
         @PreAuthorize("isAuthenticated()")
-        public ResponseEntity<?> getMyUploads(Authentication authentication) {
+        public ResponseEntity<?> getMyUploads(@RequestParam(name = "cursor", required = false) String cursor,
+                        @RequestParam(name = "limit", required = false) Integer limit,
+                        Authentication authentication) {
                 User currentUser = (User) authentication.getPrincipal();
-                List<ResourceResponse> resp = resourceService.getMyUploads(currentUser);
+                CursorPage<ResourceResponse> page = resourceService.getMyUploads(currentUser, cursor,
+                                PageCursor.limit(limit));
                 ApiResponse<List<ResourceResponse>> api = ApiResponse.<List<ResourceResponse>>builder()
                                 .status(HttpStatus.OK.value())
                                 .message("Success")
-                                .data(resp)
+                                .data(page.getItems())
+                                .pagination(PaginationResponse.of(page))
                                 .build();
 
                 return ResponseEntity.ok(api);
@@ -333,4 +385,35 @@ public class ResourceController {
 
                 return ResponseEntity.ok(api);
         }
+
+        @Operation(summary = "Similar resources", description = "Near-duplicates of a resource (MinHash) within its department; ADMIN any, SUB_ADMIN/LECTURER same department")
+        @GetMapping("/{id}/similar")
+        @PreAuthorize("hasAnyAuthority('ADMIN','SUB_ADMIN','LECTURER')")
+        public ResponseEntity<?> similar(@PathVariable String id, Authentication authentication) {
+                User currentUser = (User) authentication.getPrincipal();
+                List<SimilarResourceResponse> resp = similarityService.similarTo(id, currentUser);
+                ApiResponse<List<SimilarResourceResponse>> api = ApiResponse.<List<SimilarResourceResponse>>builder()
+                                .status(HttpStatus.OK.value())
+                                .message(resp.isEmpty() ? "Success" : "Similar resources already exist")
+                                .data(resp)
+                                .build();
+
+                return ResponseEntity.ok(api);
+        }
+
+        @Operation(summary = "Near-duplicate report", description = "SUB_ADMIN: trong khoa của mình; ADMIN: toàn hệ thống hoặc theo departmentId")
+        @GetMapping("/duplicates")
+        @PreAuthorize("hasAnyAuthority('ADMIN','SUB_ADMIN')")
+        public ResponseEntity<?> duplicates(@RequestParam(required = false) Long departmentId,
+                        Authentication authentication) {
+                User currentUser = (User) authentication.getPrincipal();
+                List<DuplicatePairResponse> resp = similarityService.duplicateReport(currentUser, departmentId);
+                ApiResponse<List<DuplicatePairResponse>> api = ApiResponse.<List<DuplicatePairResponse>>builder()
+                                .status(HttpStatus.OK.value())
+                                .message("Success")
+                                .data(resp)
+                                .build();
+
+                return ResponseEntity.ok(api);
+        }
 }
@@ -4,6 +4,7 @@ import be.library_digital.demo.dto.request.ResourceTypeRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
 import be.library_digital.demo.dto.response.ResourceTypeResponse;
 import be.library_digital.demo.service.ResourceTypeService;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,6 +27,7 @@ import java.util.List;
 public class ResourceTypeController {
 
     private final ResourceTypeService resourceTypeService;
+    private final CatalogCache catalogCache;
 
     @Operation(summary = "Create resource type", description = "ADMIN only")
     @PostMapping
@@ -71,6 +73,7 @@ public class ResourceTypeController {
     @Operation(summary = "List resource types", description = "PUBLIC")
     @GetMapping
     public ResponseEntity<?> list() {
+        String etag = catalogCache.etag(null);
         List<ResourceTypeResponse> list = resourceTypeService.getAll();
         ApiResponse<List<ResourceTypeResponse>> api = ApiResponse.<List<ResourceTypeResponse>>builder()
                 .status(HttpStatus.OK.value())
@@ -78,7 +81,7 @@ public class ResourceTypeController {
                 .data(list)
                 .build();
 
-        return ResponseEntity.ok(api);
+        return ResponseEntity.ok().eTag(etag).body(api);
     }
 
     @Operation(summary = "Delete resource type", description = "ADMIN only")
@@ -5,6 +5,7 @@ import be.library_digital.demo.dto.response.ApiResponse;
 import be.library_digital.demo.dto.response.SpecializationResponse;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.service.SpecializationService;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -28,6 +29,7 @@ import java.util.List;
 public class SpecializationController {
 
     private final SpecializationService specializationService;
+    private final CatalogCache catalogCache;
 
     @Operation(summary = "Create specialization", description = "ADMIN only")
     @PostMapping
@@ -83,6 +85,7 @@ public class SpecializationController {
             Authentication authentication
     ) {
         User currentUser = (User) authentication.getPrincipal();
+        String etag = catalogCache.etag(currentUser.getType() != null ? currentUser.getType().name() : null);
         List<SpecializationResponse> list = specializationService.getAll(currentUser, programId, programCode, code, name);
         ApiResponse<List<SpecializationResponse>> api = ApiResponse.<List<SpecializationResponse>>builder()
                 .status(HttpStatus.OK.value())
@@ -90,7 +93,7 @@ public class SpecializationController {
                 .data(list)
                 .build();
 
-        return ResponseEntity.ok(api);
+        return ResponseEntity.ok().eTag(etag).body(api);
     }
 
     @Operation(summary = "Delete specialization", description = "ADMIN only")
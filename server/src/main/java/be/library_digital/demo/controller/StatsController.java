@@ -1,11 +1,16 @@
 package be.library_digital.demo.controller;
 
+import be.library_digital.demo.common.UserType;
 import be.library_digital.demo.dto.response.ApiResponse;
+import be.library_digital.demo.dto.response.CacheStatsResponse;
+import be.library_digital.demo.dto.response.ConversionStatsResponse;
 import be.library_digital.demo.dto.response.ResourceResponse;
 import be.library_digital.demo.dto.response.TopResourceResponse;
 import be.library_digital.demo.dto.response.TopUploaderResponse;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.service.StatsService;
+import be.library_digital.demo.service.catalog.SecondLevelCacheStats;
+import be.library_digital.demo.service.conversion.ConversionMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @Validated
 @RestController
@@ -31,6 +37,8 @@ import java.util.List;
 public class StatsController {
 
     private final StatsService statsService;
+    private final ConversionMetrics conversionMetrics;
+    private final SecondLevelCacheStats secondLevelCacheStats;
 
     @Operation(summary = "Top uploaders", description = "ADMIN: toàn hệ thống; SUB_ADMIN: trong khoa của mình")
     @GetMapping("/top-uploaders")
@@ -78,6 +86,20 @@ public class StatsController {
         return ResponseEntity.ok(api);
     }
 
+    @Operation(summary = "User counts by type", description = "Số người dùng theo loại (ADMIN, SUB_ADMIN, LECTURER, STUDENT); ADMIN: toàn hệ thống; SUB_ADMIN: trong khoa của mình")
+    @GetMapping("/user-counts")
+    @PreAuthorize("hasAnyAuthority('ADMIN','SUB_ADMIN')")
+    public ResponseEntity<?> userCounts(Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        Map<UserType, Long> counts = statsService.userCounts(currentUser);
+        ApiResponse<Map<UserType, Long>> api = ApiResponse.<Map<UserType, Long>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Success")
+                .data(counts)
+                .build();
+        return ResponseEntity.ok(api);
+    }
+
     @Operation(summary = "Storage usage", description = "Tổng dung lượng đã sử dụng; chỉ ADMIN")
     @GetMapping("/storage-usage")
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -91,4 +113,30 @@ public class StatsController {
                 .build();
         return ResponseEntity.ok(api);
     }
+
+    @Operation(summary = "File conversion metrics", description = "Cache hits, conversions, failures theo định dạng; chỉ ADMIN")
+    @GetMapping("/conversions")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> conversions() {
+        List<ConversionStatsResponse> resp = conversionMetrics.snapshot();
+        ApiResponse<List<ConversionStatsResponse>> api = ApiResponse.<List<ConversionStatsResponse>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Success")
+                .data(resp)
+                .build();
+        return ResponseEntity.ok(api);
+    }
+
+    @Operation(summary = "Second-level cache metrics", description = "Hits, misses, puts, hit ratio của cache Hibernate (tổng và theo region); chỉ ADMIN; cần bật HIBERNATE_STATISTICS=true (hoặc profile perf)")
+    @GetMapping("/cache")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> cache() {
+        List<CacheStatsResponse> resp = secondLevelCacheStats.snapshot();
+        ApiResponse<List<CacheStatsResponse>> api = ApiResponse.<List<CacheStatsResponse>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Success")
+                .data(resp)
+                .build();
+        return ResponseEntity.ok(api);
+    }
 }
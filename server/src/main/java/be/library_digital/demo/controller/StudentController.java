@@ -17,6 +17,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.bind.annotation.RequestPart;
@@ -32,13 +33,15 @@ public class StudentController {
     private final UserManagementService userManagementService;
 
     @Operation(summary = "Admin import students from Excel",
-            description = "ADMIN only. Columns: email, password, fullName, birthYear, address, phone, classroomCode, status")
+            description = "ADMIN only. Columns: email, password, fullName, birthYear, address, phone, classroomCode, status. " +
+                    "deferHashing=true: dòng không có password được sinh mật khẩu một lần (gửi email, BCrypt khi đăng nhập lần đầu, hết hạn nếu không dùng); password trong file luôn dùng BCrypt")
     @PostMapping("/import")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<?> importStudents(@RequestPart("file") MultipartFile file,
+                                            @RequestParam(defaultValue = "false") boolean deferHashing,
                                             Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        int created = userManagementService.importStudents(file, currentUser);
+        int created = userManagementService.importStudents(file, currentUser, deferHashing);
 
         ApiResponse<Integer> api = ApiResponse.<Integer>builder()
                 .status(HttpStatus.CREATED.value())
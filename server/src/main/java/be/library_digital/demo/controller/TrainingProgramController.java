@@ -4,6 +4,7 @@ import be.library_digital.demo.dto.request.TrainingProgramRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
 import be.library_digital.demo.dto.response.TrainingProgramResponse;
 import be.library_digital.demo.service.TrainingProgramService;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,6 +27,7 @@ import java.util.List;
 public class TrainingProgramController {
 
     private final TrainingProgramService trainingProgramService;
+    private final CatalogCache catalogCache;
 
     @Operation(summary = "Create training program", description = "ADMIN only")
     @PostMapping
@@ -75,6 +77,7 @@ public class TrainingProgramController {
     public ResponseEntity<?> list(
             @RequestParam(required = false) String code,
             @RequestParam(required = false) String name) {
+        String etag = catalogCache.etag(null);
         List<TrainingProgramResponse> list = trainingProgramService.getAll(code, name);
         ApiResponse<List<TrainingProgramResponse>> api = ApiResponse.<List<TrainingProgramResponse>>builder()
                 .status(HttpStatus.OK.value())
@@ -82,7 +85,7 @@ public class TrainingProgramController {
                 .data(list)
                 .build();
 
-        return ResponseEntity.ok(api);
+        return ResponseEntity.ok().eTag(etag).body(api);
     }
 
     @Operation(summary = "Delete training program", description = "ADMIN only")
@@ -1,10 +1,13 @@
 package be.library_digital.demo.controller;
 
+import be.library_digital.demo.common.PageCursor;
 import be.library_digital.demo.dto.request.ChangePasswordRequest;
 import be.library_digital.demo.dto.request.CreateUserRequest;
 import be.library_digital.demo.dto.request.ResetPasswordRequest;
 import be.library_digital.demo.dto.request.UpdateUserRequest;
 import be.library_digital.demo.dto.response.ApiResponse;
+import be.library_digital.demo.dto.response.CursorPage;
+import be.library_digital.demo.dto.response.PaginationResponse;
 import be.library_digital.demo.dto.response.PublicUser;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.service.UserManagementService;
@@ -69,21 +72,22 @@ public class UserController {
         return ResponseEntity.ok(api);
     }
 
-    @Operation(summary = "List users", description = "ADMIN: all users; SUB_ADMIN/LECTURER: users in same department")
+    @Operation(summary = "List users", description = "ADMIN: all users; SUB_ADMIN/LECTURER: users in same department; mới nhất trước, phân trang bằng cursor (limit mặc định 20, tối đa 100)")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN','SUB_ADMIN','LECTURER')")
     public ResponseEntity<?> listUsers(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             Authentication authentication) {
 
         User currentUser = (User) authentication.getPrincipal();
-        List<PublicUser> users = userManagementService.listUsers(currentUser, page, size);
+        CursorPage<PublicUser> page = userManagementService.listUsers(currentUser, cursor, PageCursor.limit(limit));
 
         ApiResponse<List<PublicUser>> api = ApiResponse.<List<PublicUser>>builder()
                 .status(HttpStatus.OK.value())
                 .message("Success")
-                .data(users)
+                .data(page.getItems())
+                .pagination(PaginationResponse.of(page))
                 .build();
 
         return ResponseEntity.ok(api);
@@ -123,12 +127,15 @@ public class UserController {
         return ResponseEntity.ok(api);
     }
 
-    @Operation(summary = "Admin import users from Excel", description = "ADMIN only. Columns: email, password, gender, fullName, userType, departmentCode (userIdentifier auto-generated)")
+    @Operation(summary = "Admin import users from Excel", description = "ADMIN only. Columns: email, password, gender, fullName, userType, departmentCode (userIdentifier auto-generated). " +
+            "deferHashing=true: dòng không có password được sinh mật khẩu một lần (gửi email, BCrypt khi đăng nhập lần đầu, hết hạn nếu không dùng); password trong file luôn dùng BCrypt")
     @PostMapping("/import")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<?> importUsers(@RequestPart("file") MultipartFile file, Authentication authentication) {
+    public ResponseEntity<?> importUsers(@RequestPart("file") MultipartFile file,
+                                         @RequestParam(defaultValue = "false") boolean deferHashing,
+                                         Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        int created = userManagementService.importUsers(file, currentUser);
+        int created = userManagementService.importUsers(file, currentUser, deferHashing);
 
         ApiResponse<Integer> api = ApiResponse.<Integer>builder()
                 .status(HttpStatus.CREATED.value())
@@ -0,0 +1,41 @@
+package be.library_digital.demo.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+public class ClassroomBulkRequest implements Serializable {
+
+    @NotEmpty(message = "items must not be empty")
+    @Size(max = 500, message = "at most 500 items per request")
+    private List<@Valid Item> items;
+
+    /**
+     * A classroom to create (no {@code id}) or to update (existing {@code id}).
+     */
+    @Getter
+    public static class Item implements Serializable {
+
+        private String id;
+
+        @NotBlank(message = "code must not be blank")
+        private String code;
+
+        @NotBlank(message = "name must not be blank")
+        private String name;
+
+        @NotBlank(message = "specializationCode must not be blank")
+        private String specializationCode;
+
+        @NotBlank(message = "cohortCode must not be blank")
+        private String cohortCode;
+
+        private String description;
+    }
+}
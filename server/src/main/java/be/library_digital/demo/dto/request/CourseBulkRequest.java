@@ -0,0 +1,36 @@
+package be.library_digital.demo.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+public class CourseBulkRequest implements Serializable {
+
+    @NotEmpty(message = "items must not be empty")
+    @Size(max = 500, message = "at most 500 items per request")
+    private List<@Valid Item> items;
+
+    /**
+     * A course to create (no {@code id}) or to update (existing {@code id}).
+     */
+    @Getter
+    public static class Item implements Serializable {
+
+        private String id;
+
+        @NotBlank(message = "code must be not blank")
+        private String code;
+
+        @NotBlank(message = "title must be not blank")
+        private String title;
+
+        @NotBlank(message = "departmentCode must not be blank")
+        private String departmentCode;
+    }
+}
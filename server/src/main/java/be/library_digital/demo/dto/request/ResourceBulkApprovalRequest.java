@@ -0,0 +1,24 @@
+package be.library_digital.demo.dto.request;
+
+import be.library_digital.demo.common.ApprovalStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResourceBulkApprovalRequest {
+    @NotEmpty(message = "ids phải được cung cấp")
+    @Size(max = 1000, message = "tối đa 1000 ids mỗi lần")
+    private List<@NotBlank String> ids;
+
+    @NotNull(message = "status phải được cung cấp")
+    private ApprovalStatus status;
+}
@@ -0,0 +1,19 @@
+package be.library_digital.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResultResponse {
+    // distinct ids in the request
+    private Integer requested;
+    // rows the bulk statement changed
+    private Integer affected;
+}
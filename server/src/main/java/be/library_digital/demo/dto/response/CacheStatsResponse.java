@@ -0,0 +1,21 @@
+package be.library_digital.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsResponse {
+    private String region;
+    private Long hits;
+    private Long misses;
+    private Long puts;
+    // hits / (hits + misses), null before the first lookup
+    private Double hitRatio;
+}
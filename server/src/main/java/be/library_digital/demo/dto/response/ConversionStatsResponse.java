@@ -0,0 +1,21 @@
+package be.library_digital.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConversionStatsResponse {
+    private String mimeType;
+    private Long cacheHits;
+    private Long passthrough;
+    private Long conversions;
+    private Long failures;
+    private Long averageConversionMillis;
+}
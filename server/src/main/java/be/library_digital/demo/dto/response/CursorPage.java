@@ -0,0 +1,59 @@
+package be.library_digital.demo.dto.response;
+
+import be.library_digital.demo.common.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final int limit;
+    private final String nextCursor;
+
+    /**
+     * Page from rows queried with {@code limit + 1}: the extra row only tells that a next page
+     * exists, the cursor points at the last row kept.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, limit, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new CursorPage<>(items, limit, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Page of an in-memory list sorted by {@code key}, ascending and case-insensitive (catalog
+     * codes, unique regardless of case). The start is found by binary search.
+     */
+    public static <T> CursorPage<T> slice(List<T> sorted, PageCursor cursor, int limit, Function<T, String> key) {
+        int from = 0;
+        if (cursor != null) {
+            // first row whose key is after the cursor's
+            int high = sorted.size();
+            while (from < high) {
+                int mid = (from + high) >>> 1;
+                if (String.CASE_INSENSITIVE_ORDER.compare(key.apply(sorted.get(mid)), cursor.key()) <= 0) {
+                    from = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        int to = Math.min(sorted.size(), from + limit + 1);
+        return of(sorted.subList(from, to), limit, row -> PageCursor.encode(key.apply(row)));
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(items), limit, nextCursor);
+    }
+}
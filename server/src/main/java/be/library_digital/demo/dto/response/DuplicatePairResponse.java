@@ -0,0 +1,18 @@
+package be.library_digital.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicatePairResponse {
+    private SimilarResourceResponse first;
+    private SimilarResourceResponse second;
+    private Double similarity;
+}
@@ -2,6 +2,7 @@ package be.library_digital.demo.dto.response;
 
 import be.library_digital.demo.common.HistoryAction;
 import be.library_digital.demo.model.History;
+import be.library_digital.demo.repository.projection.HistoryRowProjection;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -32,4 +33,15 @@ public class HistoryResponse {
                 .createdAt(history.getCreatedAt())
                 .build();
     }
+
+    public static HistoryResponse fromProjection(HistoryRowProjection history, ResourceResponse resource) {
+        if (history == null) return null;
+
+        return HistoryResponse.builder()
+                .id(history.getId())
+                .action(history.getAction())
+                .resource(resource)
+                .createdAt(history.getCreatedAt())
+                .build();
+    }
 }
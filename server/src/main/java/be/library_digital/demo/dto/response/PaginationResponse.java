@@ -16,4 +16,13 @@ public class PaginationResponse implements Serializable {
     private Integer size;
     private Integer totalPages;
     private Long totalElements;
+    // keyset-paginated lists: pass back as ?cursor= for the next page; absent on the last page
+    private String nextCursor;
+
+    public static PaginationResponse of(CursorPage<?> page) {
+        return PaginationResponse.builder()
+                .size(page.getLimit())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
 }
@@ -4,6 +4,7 @@ import be.library_digital.demo.common.Gender;
 import be.library_digital.demo.common.UserStatus;
 import be.library_digital.demo.common.UserType;
 import be.library_digital.demo.model.User;
+import be.library_digital.demo.repository.projection.PublicUserProjection;
 import lombok.*;
 
 import java.io.Serializable;
@@ -53,4 +54,26 @@ public class PublicUser implements Serializable {
                 .classroom(classroomResp)
                 .build();
     }
+
+    public static PublicUser fromProjection(PublicUserProjection user, DepartmentResponse department,
+                                            ClassroomResponse classroom) {
+        if (user == null) return null;
+
+        return PublicUser.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .fullName(user.getFullName())
+                .role(user.getType() != null ? user.getType().toString() : null)
+                .userIdentifier(user.getUserIdentifier())
+                .gender(user.getGender())
+                .dateOfBirth(user.getDateOfBirth())
+                .phone(user.getPhone())
+                .address(user.getAddress())
+                .type(user.getType())
+                .status(user.getStatus())
+                .avatarUrl(user.getAvatarUrl())
+                .department(department)
+                .classroom(classroom)
+                .build();
+    }
 }
@@ -2,6 +2,7 @@ package be.library_digital.demo.dto.response;
 
 import be.library_digital.demo.common.ApprovalStatus;
 import be.library_digital.demo.model.Resource;
+import be.library_digital.demo.repository.projection.ResourceListProjection;
 import lombok.*;
 
 import java.io.Serializable;
@@ -25,6 +26,8 @@ public class ResourceResponse implements Serializable {
     private ResourceStats stats;
     private String classroomId;
     private String classroomName;
+    // Body-text excerpt around the search keyword; only set for full-text hits
+    private String snippet;
 
     public static ResourceResponse fromResource(Resource resource) {
         if (resource == null)
@@ -45,4 +48,25 @@ public class ResourceResponse implements Serializable {
                 .classroomName(resource.getClassroom() != null ? resource.getClassroom().getName() : null)
                 .build();
     }
+
+    public static ResourceResponse fromProjection(ResourceListProjection resource, ResourceTypeResponse type,
+                                                  PublicUser uploadedBy, String classroomName) {
+        if (resource == null)
+            return null;
+
+        return ResourceResponse.builder()
+                .id(resource.getId())
+                .title(resource.getTitle())
+                .description(resource.getDescription())
+                .courseId(resource.getCourseId())
+                .type(type)
+                .fileUrl(resource.getFileUrl())
+                .sizeBytes(resource.getSizeBytes())
+                .createdAt(resource.getCreatedAt())
+                .uploadedBy(uploadedBy)
+                .approvalStatus(resource.getApprovalStatus())
+                .classroomId(resource.getClassroomId())
+                .classroomName(classroomName)
+                .build();
+    }
 }
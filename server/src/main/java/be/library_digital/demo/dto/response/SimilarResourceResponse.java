@@ -0,0 +1,40 @@
+package be.library_digital.demo.dto.response;
+
+import be.library_digital.demo.model.Resource;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarResourceResponse {
+    private String id;
+    private String title;
+    private String courseId;
+    private String classroomName;
+    private String uploadedById;
+    private String uploadedByName;
+    private LocalDateTime createdAt;
+    private Double similarity;
+
+    public static SimilarResourceResponse fromResource(Resource resource, Double similarity) {
+        if (resource == null) return null;
+        return SimilarResourceResponse.builder()
+                .id(resource.getId())
+                .title(resource.getTitle())
+                .courseId(resource.getCourse() != null ? resource.getCourse().getId() : null)
+                .classroomName(resource.getClassroom() != null ? resource.getClassroom().getName() : null)
+                .uploadedById(resource.getUploadedBy() != null ? resource.getUploadedBy().getId() : null)
+                .uploadedByName(resource.getUploadedBy() != null ? resource.getUploadedBy().getFullName() : null)
+                .createdAt(resource.getCreatedAt())
+                .similarity(similarity)
+                .build();
+    }
+}
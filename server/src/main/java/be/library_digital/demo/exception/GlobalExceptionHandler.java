@@ -1,6 +1,9 @@
 package be.library_digital.demo.exception;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -58,6 +61,21 @@ public class GlobalExceptionHandler {
                 .build();
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(TOO_MANY_REQUESTS)
+    public ErrorResponse handleTooManyRequestsException(TooManyRequestsException e, WebRequest request,
+                                                        HttpServletResponse response){
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+
+        return ErrorResponse.builder()
+                .timestamp(new Date())
+                .status(TOO_MANY_REQUESTS.value())
+                .error(TOO_MANY_REQUESTS.getReasonPhrase())
+                .path(request.getDescription(false).replace("uri=",""))
+                .message(e.getMessage())
+                .build();
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     @ResponseStatus(NOT_FOUND)
     public ErrorResponse handleResourceNotFoundException(ResourceNotFoundException e, WebRequest request){
@@ -167,6 +185,21 @@ public class GlobalExceptionHandler {
         return errorResponse;
     }
 
+    // concurrent edit of the same row (JPA @Version) that the service retries did not resolve
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException e,
+                                                                 WebRequest request){
+
+        return ErrorResponse.builder()
+                .timestamp(new Date())
+                .status(CONFLICT.value())
+                .error(CONFLICT.getReasonPhrase())
+                .path(request.getDescription(false).replace("uri=",""))
+                .message("The record was changed by another request, please reload and try again")
+                .build();
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(INTERNAL_SERVER_ERROR)
     public ErrorResponse handleException(Exception e, WebRequest request){
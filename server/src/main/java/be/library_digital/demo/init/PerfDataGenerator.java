@@ -0,0 +1,482 @@
+package be.library_digital.demo.init;
+
+import be.library_digital.demo.common.ApprovalStatus;
+import be.library_digital.demo.common.Gender;
+import be.library_digital.demo.common.HistoryAction;
+import be.library_digital.demo.common.UserStatus;
+import be.library_digital.demo.common.UserType;
+import be.library_digital.demo.service.catalog.CatalogCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Fills the {@code perf} profile's database with a production-sized data set: the catalog,
+ * {@code perf.data.users} users and {@code perf.data.resources} resources with their
+ * view/download history, comments and ratings.
+ *
+ * Deterministic: ids, codes, timestamps and every random choice derive from
+ * {@code perf.data.seed}, so two runs with the same settings produce the same rows and timings
+ * can be compared between runs and machines. Activity is skewed like real usage: a few
+ * lecturers upload most resources, a few resources get most of the views, downloads, comments
+ * and ratings, and uploads grow towards the end of the two simulated school years.
+ *
+ * Rows are written with JDBC batches, one transaction per batch. A database that already has
+ * resources is left alone, so the data is generated once per database.
+ */
+@Component
+@Profile("perf")
+@RequiredArgsConstructor
+@Slf4j(topic = "PERF-DATA-GENERATOR")
+public class PerfDataGenerator implements CommandLineRunner {
+
+    // simulated time range: two school years
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2023, 9, 1, 7, 0);
+    private static final long SPAN_SECONDS = 730L * 24 * 3600;
+
+    // higher = more of the activity piles onto the first (most popular) items, see skewed()
+    private static final double UPLOADER_SKEW = 2.5;
+    private static final double POPULARITY_SKEW = 4.0;
+    private static final double USER_ACTIVITY_SKEW = 2.0;
+
+    private static final String[] DEPARTMENT_NAMES = {
+            "Công nghệ thông tin", "Kinh tế", "Ngoại ngữ", "Điện - Điện tử", "Cơ khí", "Xây dựng",
+            "Quản trị kinh doanh", "Kế toán", "Luật", "Môi trường", "Hóa học", "Toán - Tin"
+    };
+    private static final String[][] RESOURCE_TYPES = {
+            {"GT", "Giáo trình"}, {"BG", "Bài giảng"}, {"DT", "Đề thi"}, {"BT", "Bài tập"},
+            {"TK", "Tài liệu tham khảo"}, {"LV", "Luận văn"}, {"SL", "Slide"}, {"DC", "Đề cương"}
+    };
+    private static final String[] SUBJECTS = {
+            "Cơ sở dữ liệu", "Lập trình Java", "Mạng máy tính", "Kinh tế vi mô", "Kinh tế vĩ mô",
+            "Tiếng Anh chuyên ngành", "Giải tích", "Đại số tuyến tính", "Xác suất thống kê",
+            "Nguyên lý kế toán", "Luật dân sự", "Cấu trúc dữ liệu", "Hệ điều hành", "Trí tuệ nhân tạo",
+            "Marketing căn bản", "Quản trị học", "Vật lý đại cương", "Hóa học đại cương", "Sức bền vật liệu",
+            "Kỹ thuật điện", "Phân tích thiết kế hệ thống", "An toàn thông tin", "Học máy", "Tài chính doanh nghiệp"
+    };
+    private static final String[] FILE_EXTENSIONS = {"pdf", "pdf", "pdf", "docx", "docx", "pptx", "xlsx"};
+    private static final String[] COMMENTS = {
+            "Tài liệu rất hữu ích, cảm ơn thầy/cô.", "Cho em hỏi có bản cập nhật mới không ạ?",
+            "Phần bài tập cuối chương hơi khó.", "File bị lỗi font ở trang 12.", "Rất dễ hiểu.",
+            "Mong thầy/cô bổ sung lời giải.", "Tài liệu đầy đủ, trình bày rõ ràng.", "Cảm ơn!"
+    };
+    private static final String[] FAMILY_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng"};
+    private static final String[] GIVEN_NAMES = {"An", "Bình", "Chi", "Dũng", "Giang", "Hà", "Hải", "Hùng", "Lan", "Linh",
+            "Minh", "Nam", "Ngọc", "Phương", "Quân", "Tâm", "Thảo", "Trang", "Tuấn", "Vy"};
+    // rating values 1..5 by cumulative share
+    private static final double[] RATING_CUMULATIVE = {0.05, 0.12, 0.30, 0.65, 1.0};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PasswordEncoder passwordEncoder;
+    private final InitService initService;
+    private final CatalogCache catalogCache;
+
+    @Value("${perf.data.seed:42}")
+    private long seed;
+
+    @Value("${perf.data.departments:12}")
+    private int departmentCount;
+
+    @Value("${perf.data.programs:24}")
+    private int programCount;
+
+    @Value("${perf.data.specializations:60}")
+    private int specializationCount;
+
+    @Value("${perf.data.cohort-years:5}")
+    private int cohortYears;
+
+    @Value("${perf.data.classrooms-per-cohort:5}")
+    private int classroomsPerCohort;
+
+    @Value("${perf.data.courses:1200}")
+    private int courseCount;
+
+    @Value("${perf.data.users:10000}")
+    private int userCount;
+
+    @Value("${perf.data.lecturers:800}")
+    private int lecturerCount;
+
+    @Value("${perf.data.resources:1000000}")
+    private int resourceCount;
+
+    @Value("${perf.data.history-per-resource:3.0}")
+    private double historyPerResource;
+
+    @Value("${perf.data.comments-per-resource:0.5}")
+    private double commentsPerResource;
+
+    @Value("${perf.data.ratings-per-resource:1.0}")
+    private double ratingsPerResource;
+
+    @Value("${perf.data.password:Perf@123456}")
+    private String password;
+
+    @Value("${perf.data.batch-size:5000}")
+    private int batchSize;
+
+    private TransactionTemplate transaction;
+
+    @Override
+    public void run(String... args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM resources", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Database already has {} resources, skipping generation", existing);
+            return;
+        }
+        if (userCount <= departmentCount + lecturerCount) {
+            throw new IllegalStateException("perf.data.users must exceed departments + lecturers");
+        }
+
+        transaction = new TransactionTemplate(transactionManager);
+        long started = System.currentTimeMillis();
+        initService.initializeRole();
+
+        Catalog catalog = generateCatalog();
+        generateUsers(catalog);
+        generateActivity(catalog);
+
+        catalogCache.invalidate();
+        log.info("Generated perf data set (seed={}) in {} s", seed, (System.currentTimeMillis() - started) / 1000);
+    }
+
+    // ids, codes and per-department course lists the later steps pick from
+    private static final class Catalog {
+        long[] departmentIds;
+        String[] programIds;
+        String[] classroomIds;
+        String[] typeIds;
+        String[] typeNames;
+        String[] courseIds;
+        String[] courseCodes;
+        int[][] coursesByDepartment;
+    }
+
+    private Catalog generateCatalog() {
+        SplittableRandom rng = stream(1);
+        Catalog catalog = new Catalog();
+        LocalDateTime created = EPOCH.minusMonths(1);
+
+        insert("department", "INSERT INTO department (code, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                departmentCount, i -> new Object[]{
+                        String.format("K%02d", i + 1), departmentName(i), null, created, created});
+        Map<String, Long> departmentIdsByCode = new HashMap<>();
+        jdbcTemplate.query("SELECT id, code FROM department",
+                rs -> { departmentIdsByCode.put(rs.getString("code"), rs.getLong("id")); });
+        catalog.departmentIds = new long[departmentCount];
+        for (int i = 0; i < departmentCount; i++) {
+            catalog.departmentIds[i] = departmentIdsByCode.get(String.format("K%02d", i + 1));
+        }
+
+        catalog.programIds = new String[programCount];
+        insert("training_programs", "INSERT INTO training_programs (id, code, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                programCount, i -> new Object[]{
+                        catalog.programIds[i] = uuid("program", i), String.format("CT%02d", i + 1),
+                        String.format("Chương trình đào tạo %02d", i + 1), null, created, created});
+
+        // every specialization belongs to one program, every third one to the next program as well
+        String[] specializationIds = new String[specializationCount];
+        List<List<Integer>> specializationsByProgram = new ArrayList<>();
+        for (int p = 0; p < programCount; p++) {
+            specializationsByProgram.add(new ArrayList<>());
+        }
+        insert("specializations", "INSERT INTO specializations (id, code, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                specializationCount, i -> new Object[]{
+                        specializationIds[i] = uuid("specialization", i), String.format("CN%03d", i + 1),
+                        SUBJECTS[i % SUBJECTS.length] + " " + (i / SUBJECTS.length + 1), null, created, created});
+        List<Object[]> links = new ArrayList<>();
+        for (int s = 0; s < specializationCount; s++) {
+            int program = s % programCount;
+            links.add(new Object[]{specializationIds[s], catalog.programIds[program]});
+            specializationsByProgram.get(program).add(s);
+            if (s % 3 == 0 && programCount > 1) {
+                int next = (program + 1) % programCount;
+                links.add(new Object[]{specializationIds[s], catalog.programIds[next]});
+                specializationsByProgram.get(next).add(s);
+            }
+        }
+        insert("specialization_programs", "INSERT INTO specialization_programs (specialization_id, program_id) VALUES (?, ?)",
+                links.size(), links::get);
+
+        int cohortCount = programCount * cohortYears;
+        String[] cohortIds = new String[cohortCount];
+        String[] cohortCodes = new String[cohortCount];
+        insert("cohorts", "INSERT INTO cohorts (id, code, description, program_id, start_year, end_year, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                cohortCount, i -> {
+                    int program = i / cohortYears;
+                    int startYear = EPOCH.getYear() - cohortYears + 1 + i % cohortYears;
+                    cohortIds[i] = uuid("cohort", i);
+                    cohortCodes[i] = String.format("CT%02d-%d", program + 1, startYear);
+                    return new Object[]{cohortIds[i], cohortCodes[i], null, catalog.programIds[program],
+                            startYear, startYear + 4, created, created};
+                });
+
+        // a classroom's specialization is one of its cohort's program
+        int classroomCount = cohortCount * classroomsPerCohort;
+        catalog.classroomIds = new String[classroomCount];
+        insert("classrooms", "INSERT INTO classrooms (id, code, name, specialization_id, cohort_id, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                classroomCount, i -> {
+                    int cohort = i / classroomsPerCohort;
+                    List<Integer> candidates = specializationsByProgram.get(cohort / cohortYears);
+                    String specialization = candidates.isEmpty() ? null
+                            : specializationIds[candidates.get(rng.nextInt(candidates.size()))];
+                    String code = String.format("%s-L%02d", cohortCodes[cohort], i % classroomsPerCohort + 1);
+                    return new Object[]{catalog.classroomIds[i] = uuid("classroom", i), code, "Lớp " + code,
+                            specialization, cohortIds[cohort], null, created, created};
+                });
+
+        catalog.typeIds = new String[RESOURCE_TYPES.length];
+        catalog.typeNames = new String[RESOURCE_TYPES.length];
+        insert("resource_types", "INSERT INTO resource_types (id, code, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                RESOURCE_TYPES.length, i -> new Object[]{
+                        catalog.typeIds[i] = uuid("type", i), RESOURCE_TYPES[i][0],
+                        catalog.typeNames[i] = RESOURCE_TYPES[i][1], null, created, created});
+
+        catalog.courseIds = new String[courseCount];
+        catalog.courseCodes = new String[courseCount];
+        List<List<Integer>> coursesByDepartment = new ArrayList<>();
+        for (int d = 0; d < departmentCount; d++) {
+            coursesByDepartment.add(new ArrayList<>());
+        }
+        insert("courses", "INSERT INTO courses (id, code, title, department_id, classroom_id, instructor_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                courseCount, i -> {
+                    int department = i % departmentCount;
+                    coursesByDepartment.get(department).add(i);
+                    catalog.courseCodes[i] = String.format("HP%04d", i + 1);
+                    return new Object[]{catalog.courseIds[i] = uuid("course", i), catalog.courseCodes[i],
+                            SUBJECTS[i % SUBJECTS.length] + " " + (i / SUBJECTS.length + 1),
+                            catalog.departmentIds[department], null, null, created, created};
+                });
+        catalog.coursesByDepartment = coursesByDepartment.stream()
+                .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+        return catalog;
+    }
+
+    /**
+     * Users by index: sub-admins (one per department) first, then lecturers, then students.
+     * All share one password so load tests can sign in as anyone.
+     */
+    private void generateUsers(Catalog catalog) {
+        SplittableRandom rng = stream(2);
+        String passwordHash = passwordEncoder.encode(password);
+        Map<String, Long> roleIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM tbl_role", rs -> { roleIds.put(rs.getString("name"), rs.getLong("id")); });
+
+        insert("user", "INSERT INTO `user` (id, full_name, gender, user_identifier, date_of_birth, email, created_at, updated_at, "
+                        + "password, type, status, must_change_password, failed_login_attempts, department_id, classroom_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                userCount, i -> {
+                    UserType type = userType(i);
+                    String prefix = type.name().toLowerCase().replace("_", "");
+                    LocalDateTime created = UserType.STUDENT.equals(type)
+                            ? EPOCH.plusSeconds((long) (rng.nextDouble() * SPAN_SECONDS))
+                            : EPOCH.minusDays(30);
+                    String classroom = UserType.STUDENT.equals(type)
+                            ? catalog.classroomIds[rng.nextInt(catalog.classroomIds.length)] : null;
+                    return new Object[]{userId(i),
+                            FAMILY_NAMES[rng.nextInt(FAMILY_NAMES.length)] + " " + GIVEN_NAMES[rng.nextInt(GIVEN_NAMES.length)],
+                            Gender.values()[rng.nextInt(2)].name(), String.format("PF%06d", i + 1),
+                            LocalDate.of(1970 + rng.nextInt(36), 1 + rng.nextInt(12), 1 + rng.nextInt(28)),
+                            String.format("%s%05d@perf.library.local", prefix, i + 1), created, created,
+                            passwordHash, type.name(), UserStatus.ACTIVE.name(), false, 0,
+                            catalog.departmentIds[i % departmentCount], classroom};
+                });
+
+        LocalDateTime assigned = EPOCH.minusDays(30);
+        insert("user_has_role", "INSERT INTO user_has_role (created_at, updated_at, user_id, role_id) VALUES (?, ?, ?, ?)",
+                userCount, i -> new Object[]{assigned, assigned, userId(i), roleIds.get(userType(i).name())});
+    }
+
+    /**
+     * Resources, then history, comments and ratings. The history is drawn twice from the same
+     * random stream: first only to count views and downloads per resource (stored on the
+     * resource row), then to write the rows once the resources exist.
+     */
+    private void generateActivity(Catalog catalog) {
+        // upload times grow towards the end of the range (sqrt of a uniform draw)
+        SplittableRandom timeRng = stream(3);
+        long[] createdOffset = new long[resourceCount];
+        for (int i = 0; i < resourceCount; i++) {
+            createdOffset[i] = (long) (Math.sqrt(timeRng.nextDouble()) * SPAN_SECONDS);
+        }
+        // popularity rank -> resource index, and activity rank -> user index
+        int[] popular = permutation(resourceCount, stream(4));
+        int[] active = permutation(userCount, stream(5));
+
+        int historyCount = (int) Math.round(resourceCount * historyPerResource);
+        int[] views = new int[resourceCount];
+        int[] downloads = new int[resourceCount];
+        SplittableRandom countRng = stream(6);
+        for (int i = 0; i < historyCount; i++) {
+            HistoryRow row = historyRow(countRng, popular, active, createdOffset);
+            if (HistoryAction.VIEW.equals(row.action)) {
+                views[row.resource]++;
+            } else {
+                downloads[row.resource]++;
+            }
+        }
+
+        SplittableRandom rng = stream(7);
+        insert("resources", "INSERT INTO resources (id, title, description, course_id, classroom_id, type_id, file_url, size_byte, "
+                        + "created_at, uploaded_by, approval_status, views, downloads) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                resourceCount, i -> {
+                    int lecturer = skewed(rng, lecturerCount, UPLOADER_SKEW);
+                    int department = (departmentCount + lecturer) % departmentCount;
+                    int[] courses = catalog.coursesByDepartment[department];
+                    int course = courses.length > 0 ? courses[rng.nextInt(courses.length)] : rng.nextInt(courseCount);
+                    int type = rng.nextInt(catalog.typeIds.length);
+                    String id = uuid("resource", i);
+                    double status = rng.nextDouble();
+                    long size = Math.max(10_000L, Math.min(200_000_000L, (long) Math.exp(13.5 + 1.5 * rng.nextGaussian())));
+                    return new Object[]{id,
+                            catalog.typeNames[type] + " " + SUBJECTS[rng.nextInt(SUBJECTS.length)] + " - phần " + (1 + rng.nextInt(12)),
+                            rng.nextInt(2) == 0 ? null : "Học phần " + catalog.courseCodes[course],
+                            catalog.courseIds[course], catalog.classroomIds[rng.nextInt(catalog.classroomIds.length)],
+                            catalog.typeIds[type],
+                            "target/perf-db/files/" + catalog.courseIds[course] + "/" + id + "."
+                                    + FILE_EXTENSIONS[rng.nextInt(FILE_EXTENSIONS.length)],
+                            size, EPOCH.plusSeconds(createdOffset[i]), userId(departmentCount + lecturer),
+                            (status < 0.85 ? ApprovalStatus.APPROVED : status < 0.95 ? ApprovalStatus.PENDING : ApprovalStatus.REJECTED).name(),
+                            views[i], downloads[i]};
+                });
+
+        SplittableRandom historyRng = stream(6);
+        insert("history", "INSERT INTO history (action, user_id, resource_id, created_at) VALUES (?, ?, ?, ?)",
+                historyCount, i -> {
+                    HistoryRow row = historyRow(historyRng, popular, active, createdOffset);
+                    return new Object[]{row.action.name(), userId(row.user), uuid("resource", row.resource),
+                            EPOCH.plusSeconds(row.offset)};
+                });
+
+        SplittableRandom commentRng = stream(8);
+        insert("comments", "INSERT INTO comments (id, content, resource_id, author_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                (int) Math.round(resourceCount * commentsPerResource), i -> {
+                    int resource = popular[skewed(commentRng, resourceCount, POPULARITY_SKEW)];
+                    LocalDateTime created = EPOCH.plusSeconds(after(commentRng, createdOffset[resource]));
+                    return new Object[]{uuid("comment", i), COMMENTS[commentRng.nextInt(COMMENTS.length)],
+                            uuid("resource", resource), userId(active[skewed(commentRng, userCount, USER_ACTIVITY_SKEW)]),
+                            created, created};
+                });
+
+        SplittableRandom ratingRng = stream(9);
+        insert("ratings", "INSERT INTO ratings (rate, resource_id, rater, created_at) VALUES (?, ?, ?, ?)",
+                (int) Math.round(resourceCount * ratingsPerResource), i -> {
+                    int resource = popular[skewed(ratingRng, resourceCount, POPULARITY_SKEW)];
+                    double draw = ratingRng.nextDouble();
+                    int rate = 1;
+                    while (draw > RATING_CUMULATIVE[rate - 1]) {
+                        rate++;
+                    }
+                    return new Object[]{rate, uuid("resource", resource),
+                            userId(active[skewed(ratingRng, userCount, USER_ACTIVITY_SKEW)]),
+                            EPOCH.plusSeconds(after(ratingRng, createdOffset[resource]))};
+                });
+    }
+
+    private record HistoryRow(int resource, int user, HistoryAction action, long offset) {
+    }
+
+    private HistoryRow historyRow(SplittableRandom rng, int[] popular, int[] active, long[] createdOffset) {
+        int resource = popular[skewed(rng, resourceCount, POPULARITY_SKEW)];
+        int user = active[skewed(rng, userCount, USER_ACTIVITY_SKEW)];
+        HistoryAction action = rng.nextDouble() < 0.7 ? HistoryAction.VIEW : HistoryAction.DOWNLOAD;
+        return new HistoryRow(resource, user, action, after(rng, createdOffset[resource]));
+    }
+
+    private void insert(String table, String sql, int total, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(Math.min(total, batchSize));
+        for (int i = 0; i < total; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == batchSize) {
+                flush(sql, batch);
+                if ((i + 1) % 100_000 == 0) {
+                    log.info("{}: {} / {} rows", table, i + 1, total);
+                }
+            }
+        }
+        flush(sql, batch);
+        log.info("Inserted {} rows into {}", total, table);
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        batch.clear();
+    }
+
+    private UserType userType(int index) {
+        if (index < departmentCount) {
+            return UserType.SUB_ADMIN;
+        }
+        return index < departmentCount + lecturerCount ? UserType.LECTURER : UserType.STUDENT;
+    }
+
+    private String userId(int index) {
+        return uuid("user", index);
+    }
+
+    private String departmentName(int index) {
+        String name = DEPARTMENT_NAMES[index % DEPARTMENT_NAMES.length];
+        return index < DEPARTMENT_NAMES.length ? name : name + " " + (index / DEPARTMENT_NAMES.length + 1);
+    }
+
+    // stable per seed, kind and index, so reruns produce the same ids
+    private String uuid(String kind, int index) {
+        return UUID.nameUUIDFromBytes((seed + ":" + kind + ":" + index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    // an independent random stream per generation step, so one step's draws never shift another's
+    private SplittableRandom stream(int step) {
+        return new SplittableRandom(seed * 1_000_003L + step);
+    }
+
+    /**
+     * Index in [0, n) with P(index < x * n) = x^(1 / exponent): 1 is uniform, larger values
+     * pile the draws onto the low indexes (at 4 the top 1% gets about a third of them).
+     */
+    private static int skewed(SplittableRandom rng, int n, double exponent) {
+        return Math.min(n - 1, (int) (n * Math.pow(rng.nextDouble(), exponent)));
+    }
+
+    // a moment between the given offset and the end of the simulated range
+    private static long after(SplittableRandom rng, long offset) {
+        return offset + (long) (rng.nextDouble() * (SPAN_SECONDS - offset));
+    }
+
+    private static int[] permutation(int n, SplittableRandom rng) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+}
@@ -2,6 +2,8 @@ package be.library_digital.demo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.NotFound;
@@ -18,6 +20,8 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "classrooms")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Classroom implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
@@ -32,12 +36,12 @@ public class Classroom implements Serializable {
     @Column(name = "name", nullable = false)
     private String name;
 
-    @ManyToOne(optional = true)
+    @ManyToOne(fetch = FetchType.LAZY, optional = true)
     @JoinColumn(name = "specialization_id")
     @NotFound(action = NotFoundAction.IGNORE)
     private Specialization specialization;
 
-    @ManyToOne(optional = true)
+    @ManyToOne(fetch = FetchType.LAZY, optional = true)
     @JoinColumn(name = "cohort_id")
     @NotFound(action = NotFoundAction.IGNORE)
     private Cohort cohort;
@@ -52,4 +56,7 @@ public class Classroom implements Serializable {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
@@ -2,6 +2,8 @@ package be.library_digital.demo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +18,8 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "cohorts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Cohort implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
@@ -30,7 +34,7 @@ public class Cohort implements Serializable {
     @Column(name = "description")
     private String description;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "program_id")
     private TrainingProgram program;
 
@@ -47,4 +51,7 @@ public class Cohort implements Serializable {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
@@ -2,6 +2,8 @@ package be.library_digital.demo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +18,8 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "department")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Department implements Serializable {
     @Serial
     private static final long serialVersionUID = 2405172041950251807L;
@@ -40,4 +44,7 @@ public class Department implements Serializable {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
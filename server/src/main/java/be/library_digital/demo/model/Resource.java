@@ -5,18 +5,25 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.hibernate.annotations.CreationTimestamp;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.ToString;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -25,8 +32,72 @@ import lombok.Setter;
 @Data
 @Table(name = "resources")
 @Entity
+@NamedEntityGraph(name = Resource.GRAPH_LIST,
+        attributeNodes = {
+                @NamedAttributeNode("type"),
+                @NamedAttributeNode("course"),
+                @NamedAttributeNode("classroom"),
+                @NamedAttributeNode(value = "uploadedBy", subgraph = "uploader")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "uploader", attributeNodes = {
+                        @NamedAttributeNode("department"),
+                        @NamedAttributeNode(value = "classroom", subgraph = "classroom")
+                }),
+                @NamedSubgraph(name = "classroom", attributeNodes = {
+                        @NamedAttributeNode("specialization"),
+                        @NamedAttributeNode(value = "cohort", subgraph = "cohort")
+                }),
+                @NamedSubgraph(name = "cohort", attributeNodes = @NamedAttributeNode("program"))
+        })
+@NamedEntityGraph(name = Resource.GRAPH_BROWSE,
+        attributeNodes = {
+                @NamedAttributeNode("type"),
+                @NamedAttributeNode(value = "course", subgraph = "course"),
+                @NamedAttributeNode(value = "classroom", subgraph = "classroom"),
+                @NamedAttributeNode(value = "uploadedBy", subgraph = "uploader")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "course", attributeNodes = @NamedAttributeNode(value = "classroom", subgraph = "classroom")),
+                @NamedSubgraph(name = "classroom", attributeNodes = {
+                        @NamedAttributeNode("specialization"),
+                        @NamedAttributeNode("cohort")
+                }),
+                @NamedSubgraph(name = "uploader", attributeNodes = {
+                        @NamedAttributeNode("department"),
+                        @NamedAttributeNode("classroom")
+                })
+        })
+@NamedEntityGraph(name = Resource.GRAPH_ACCESS,
+        attributeNodes = {
+                @NamedAttributeNode("classroom"),
+                @NamedAttributeNode(value = "course", subgraph = "course"),
+                @NamedAttributeNode(value = "uploadedBy", subgraph = "uploader")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "course", attributeNodes = @NamedAttributeNode("classroom")),
+                @NamedSubgraph(name = "uploader", attributeNodes = @NamedAttributeNode("department"))
+        })
+@NamedEntityGraph(name = Resource.GRAPH_SUMMARY,
+        attributeNodes = {
+                @NamedAttributeNode("course"),
+                @NamedAttributeNode("classroom"),
+                @NamedAttributeNode("uploadedBy")
+        })
 public class Resource {
 
+    /*
+     * Fetch plans; every association is lazy and a read loads only what it renders or checks.
+     *  list    - ResourceResponse: type, course id, classroom name, uploader card (list and detail views)
+     *  browse  - folder tree: course/classroom -> specialization, cohort; uploader department
+     *  access  - download/view authorization: uploader department, classroom, course classroom
+     *  summary - similarity results: course id, classroom name, uploader name
+     */
+    public static final String GRAPH_LIST = "Resource.list";
+    public static final String GRAPH_BROWSE = "Resource.browse";
+    public static final String GRAPH_ACCESS = "Resource.access";
+    public static final String GRAPH_SUMMARY = "Resource.summary";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -36,15 +107,21 @@ public class Resource {
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "course_id")
     private Course course;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "classroom_id")
     private Classroom classroom;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "type_id")
     private ResourceTypeEntity type;
 
@@ -58,7 +135,9 @@ public class Resource {
     @Column(name = "created_at", updatable = false)
     private java.time.LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "uploaded_by")
     private User uploadedBy;
 
@@ -69,4 +148,13 @@ public class Resource {
     private Integer views;
 
     private Integer downloads;
+
+    // MinHash signature of the extracted text (see MinHash), null until extraction ran
+    @Column(name = "minhash_signature", columnDefinition = "VARBINARY(512)")
+    private byte[] minhashSignature;
+
+    // bumped by entity saves and status transitions; the views/downloads counters are
+    // incremented in place and leave it alone, so they never conflict with an edit
+    @Version
+    private Long version;
 }
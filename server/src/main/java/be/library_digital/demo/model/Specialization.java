@@ -2,6 +2,8 @@ package be.library_digital.demo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.io.Serial;
@@ -17,6 +19,8 @@ import java.util.Set;
 @Builder
 @Entity
 @Table(name = "specializations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Specialization implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
@@ -32,6 +36,7 @@ public class Specialization implements Serializable {
     private String name;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name = "specialization_programs",
             joinColumns = @JoinColumn(name = "specialization_id"),
@@ -49,4 +54,7 @@ public class Specialization implements Serializable {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
@@ -100,15 +100,17 @@ public class User implements UserDetails, Serializable {
     @Column(name = "last_failed_login_date")
     private LocalDate lastFailedLoginDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "department_id")
     private Department department;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "classroom_id")
     private Classroom classroom;
 
-    @OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @ToString.Exclude
     private Set<UserHasRole> roles = new HashSet<>();
 
@@ -132,7 +134,7 @@ public class User implements UserDetails, Serializable {
 
     @Override
     public boolean isAccountNonLocked() {
-        return UserDetails.super.isAccountNonLocked();
+        return !UserStatus.LOCK.equals(this.status);
     }
 
     @Override
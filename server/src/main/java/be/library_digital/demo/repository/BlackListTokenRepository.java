@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
+import java.util.List;
 
 @Repository
 public interface BlackListTokenRepository extends CrudRepository<BlackListToken, String> {
@@ -17,4 +18,7 @@ public interface BlackListTokenRepository extends CrudRepository<BlackListToken,
     @Modifying
     @Query("DELETE FROM BlackListToken b WHERE b.expiredAt < :now")
     int deleteExpiredTokens(Date now);
+
+    @Query("SELECT b.id FROM BlackListToken b WHERE b.expiredAt >= :now")
+    List<String> findUnexpiredIds(Date now);
 }
@@ -1,20 +1,35 @@
 package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.Classroom;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ClassroomRepository extends JpaRepository<Classroom, String> {
 
+    @Override
+    @EntityGraph(attributePaths = {"specialization", "cohort", "cohort.program"})
+    List<Classroom> findAll();
+
     boolean existsByCodeIgnoreCase(String code);
 
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     java.util.Optional<Classroom> findByCodeIgnoreCase(String code);
 
+    @Query("SELECT c FROM Classroom c LEFT JOIN FETCH c.cohort LEFT JOIN FETCH c.specialization " +
+            "WHERE LOWER(c.code) IN :codes")
+    List<Classroom> findByLowerCodeIn(Collection<String> codes);
+
     List<Classroom> findBySpecialization_CodeIgnoreCase(String specializationCode);
 
     List<Classroom> findByCohort_CodeIgnoreCase(String cohortCode);
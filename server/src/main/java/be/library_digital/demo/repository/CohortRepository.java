@@ -1,15 +1,31 @@
 package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.Cohort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CohortRepository extends JpaRepository<Cohort, String> {
 
+    @Override
+    @EntityGraph(attributePaths = "program")
+    List<Cohort> findAll();
+
     boolean existsByCodeIgnoreCase(String code);
 
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     java.util.Optional<Cohort> findByCodeIgnoreCase(String code);
+
+    @Query("SELECT c FROM Cohort c LEFT JOIN FETCH c.program WHERE LOWER(c.code) IN :codes")
+    List<Cohort> findWithProgramByLowerCodeIn(Collection<String> codes);
 }
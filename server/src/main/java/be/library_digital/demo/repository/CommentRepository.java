@@ -2,14 +2,38 @@ package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, String> {
-    List<Comment> findByResource_IdOrderByCreatedAtDesc(String resourceId);
+    // comments render their author's card
+    // all comments of a page of resources in one select; filtered on the foreign key so the
+    // (resource_id, created_at) index applies (a derived Resource_Id filter joins resources first)
+    @EntityGraph(attributePaths = {"author", "author.department", "author.classroom",
+            "author.classroom.specialization", "author.classroom.cohort", "author.classroom.cohort.program"})
+    @Query("SELECT c FROM Comment c WHERE c.resource.id IN :resourceIds ORDER BY c.createdAt DESC")
+    List<Comment> findByResourceIdIn(Collection<String> resourceIds);
 
-    void deleteByResource_Id(String resourceId);
+    // keyset page on (resource_id, created_at): (createdAt, id) < (:afterCreatedAt, :afterId)
+    @EntityGraph(attributePaths = {"author", "author.department", "author.classroom",
+            "author.classroom.specialization", "author.classroom.cohort", "author.classroom.cohort.program"})
+    @Query("SELECT c FROM Comment c WHERE c.resource.id = :resourceId " +
+            "AND (:afterCreatedAt IS NULL OR c.createdAt < :afterCreatedAt " +
+            "OR (c.createdAt = :afterCreatedAt AND c.id < :afterId)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageByResourceId(String resourceId, LocalDateTime afterCreatedAt, String afterId,
+                                       Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.resource.id IN :resourceIds")
+    int deleteByResourceIdIn(Collection<String> resourceIds);
 }
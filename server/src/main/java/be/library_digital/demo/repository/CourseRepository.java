@@ -1,13 +1,29 @@
 package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.Course;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CourseRepository extends JpaRepository<Course, String> {
 
+    // course lists render the department; the browse tree walks classroom -> specialization
+    @Override
+    @EntityGraph(attributePaths = {"department", "classroom", "classroom.specialization"})
+    List<Course> findAll();
+
     boolean existsByCodeIgnoreCase(String code);
 
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
+
+    @Query("SELECT c FROM Course c WHERE LOWER(c.code) IN :codes")
+    List<Course> findByLowerCodeIn(Collection<String> codes);
+
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.department WHERE c.id IN :ids")
+    List<Course> findWithDepartmentByIdIn(Collection<String> ids);
 }
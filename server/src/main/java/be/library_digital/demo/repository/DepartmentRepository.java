@@ -1,11 +1,16 @@
 package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -21,8 +26,12 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
     Optional<Department> findByName(String name);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Department> findByCodeIgnoreCase(String code);
 
+    @Query("SELECT d FROM Department d WHERE LOWER(d.code) IN :codes")
+    List<Department> findByLowerCodeIn(Collection<String> codes);
+
     List<Department> findByCodeContainingIgnoreCaseOrNameContainingIgnoreCase(String code, String name);
 
     List<Department> findByCodeContainingIgnoreCase(String code);
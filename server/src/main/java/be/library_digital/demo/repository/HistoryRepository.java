@@ -2,17 +2,40 @@ package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.History;
 import be.library_digital.demo.common.HistoryAction;
+import be.library_digital.demo.repository.projection.HistoryRowProjection;
+import be.library_digital.demo.repository.projection.ResourceCountProjection;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface HistoryRepository extends JpaRepository<History, Long> {
     List<History> findByUser_IdAndActionOrderByCreatedAtDesc(String userId, HistoryAction action);
 
-    void deleteByResource_Id(String resourceId);
+    // keyset page on (user_id, action, created_at): (createdAt, id) < (:afterCreatedAt, :afterId)
+    @Query("SELECT h.id AS id, h.action AS action, h.createdAt AS createdAt, h.resource.id AS resourceId " +
+            "FROM History h WHERE h.user.id = :userId AND h.action = :action " +
+            "AND (:afterCreatedAt IS NULL OR h.createdAt < :afterCreatedAt " +
+            "OR (h.createdAt = :afterCreatedAt AND h.id < :afterId)) " +
+            "ORDER BY h.createdAt DESC, h.id DESC")
+    List<HistoryRowProjection> findRowPage(String userId, HistoryAction action,
+                                           LocalDateTime afterCreatedAt, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM History h WHERE h.resource.id IN :resourceIds")
+    int deleteByResourceIdIn(Collection<String> resourceIds);
 
     long countByResource_IdAndAction(String resourceId, HistoryAction action);
+
+    // per-resource counts for a whole resource page, on the (resource_id, action) index
+    @Query("SELECT h.resource.id AS resourceId, COUNT(h.id) AS count FROM History h " +
+            "WHERE h.resource.id IN :resourceIds AND h.action = :action GROUP BY h.resource.id")
+    List<ResourceCountProjection> countByResourceIdInAndAction(Collection<String> resourceIds, HistoryAction action);
 }
@@ -1,9 +1,13 @@
 package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.Rating;
+import be.library_digital.demo.repository.projection.RatingSummaryProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -13,5 +17,12 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     List<Rating> findByResource_Id(String resourceId);
     long countByResource_Id(String resourceId);
 
-    void deleteByResource_Id(String resourceId);
+    // count and average per resource for a whole resource page, resources without ratings are absent
+    @Query("SELECT r.resource.id AS resourceId, COUNT(r.id) AS ratingCount, AVG(r.rate) AS ratingAverage " +
+            "FROM Rating r WHERE r.resource.id IN :resourceIds GROUP BY r.resource.id")
+    List<RatingSummaryProjection> summarizeByResourceIdIn(Collection<String> resourceIds);
+
+    @Modifying
+    @Query("DELETE FROM Rating r WHERE r.resource.id IN :resourceIds")
+    int deleteByResourceIdIn(Collection<String> resourceIds);
 }
@@ -2,26 +2,68 @@ package be.library_digital.demo.repository;
 
 import be.library_digital.demo.common.ApprovalStatus;
 import be.library_digital.demo.model.Resource;
+import be.library_digital.demo.repository.projection.ResourceExportProjection;
+import be.library_digital.demo.repository.projection.ResourceFileProjection;
+import be.library_digital.demo.repository.projection.ResourceListProjection;
+import be.library_digital.demo.repository.projection.ResourceOwnerProjection;
+import be.library_digital.demo.repository.projection.ResourceSignatureProjection;
 import be.library_digital.demo.repository.projection.UploaderCountProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResourceRepository extends JpaRepository<Resource, String> {
 
+    // Resource associations are lazy: reads that render or check them go through one of the
+    // fetch plans declared on Resource, so they are joined into the same select
+
     List<Resource> findByCourseId(String courseId);
 
+    @EntityGraph(Resource.GRAPH_LIST)
     List<Resource> findByUploadedBy_Department_Id(Long departmentId);
 
+    @EntityGraph(Resource.GRAPH_LIST)
     List<Resource> findByUploadedBy_Id(String userId);
 
+    @EntityGraph(Resource.GRAPH_LIST)
     List<Resource> findByApprovalStatus(ApprovalStatus status);
 
+    @EntityGraph(Resource.GRAPH_LIST)
+    Optional<Resource> findDetailById(String id);
+
+    @EntityGraph(Resource.GRAPH_BROWSE)
+    @Query("select r from Resource r")
+    List<Resource> findAllForBrowse();
+
+    @EntityGraph(Resource.GRAPH_ACCESS)
+    Optional<Resource> findForAccessById(String id);
+
+    // specializations of the classrooms a department's members uploaded to, without loading the resources
+    @Query("""
+            select distinct s.id from Resource r join r.uploadedBy u join r.classroom c join c.specialization s
+            where u.department.id = :deptId
+            """)
+    List<String> findUploadSpecializationIds(@Param("deptId") Long deptId);
+
+    @EntityGraph(Resource.GRAPH_SUMMARY)
+    @Query("select r from Resource r where r.id in :ids")
+    List<Resource> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+
     List<Resource> findByCourse_Id(String courseId);
 
     List<Resource> findByCourse_IdAndUploadedBy_IdAndCourse_Classroom_Id(String courseId, String lecturerId, String classroomId);
@@ -41,6 +83,7 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
             """)
     List<UploaderCountProjection> findTopUploaders(@Param("deptId") Long deptId, Pageable pageable);
 
+    @EntityGraph(Resource.GRAPH_LIST)
     @Query("""
             select r from Resource r
             where (:deptId is null or r.uploadedBy.department.id = :deptId)
@@ -48,6 +91,7 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
             """)
     List<Resource> findTopByViews(@Param("deptId") Long deptId, Pageable pageable);
 
+    @EntityGraph(Resource.GRAPH_LIST)
     @Query("""
             select r from Resource r
             where (:deptId is null or r.uploadedBy.department.id = :deptId)
@@ -55,15 +99,134 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
             """)
     List<Resource> findTopByDownloads(@Param("deptId") Long deptId, Pageable pageable);
 
-    @Query("""
-            select r from Resource r
-            where (:deptId is null or r.uploadedBy.department.id = :deptId)
+    // list rows: plain columns and foreign ids, no entities and nothing in the persistence context
+    String LIST_ROW = """
+            select r.id as id, r.title as title, r.description as description, r.course.id as courseId,
+                   r.type.id as typeId, r.fileUrl as fileUrl, r.sizeBytes as sizeBytes, r.createdAt as createdAt,
+                   r.approvalStatus as approvalStatus, r.classroom.id as classroomId,
+                   r.views as views, r.downloads as downloads,
+                   u.id as uploaderId, u.fullName as uploaderName, u.email as uploaderEmail
+            from Resource r left join r.uploadedBy u
+            """;
+
+    // keyset page, newest first: the last condition is (created_at, id) < (:afterCreatedAt, :afterId)
+    // written out, so MySQL reads it as a range on the created_at indexes and stops after the page
+    // however deep it is; pass limit + 1 as the page size to learn whether a next page exists
+    @Query(LIST_ROW + """
+            where (:deptId is null or u.department.id = :deptId)
+              and (:uploaderId is null or u.id = :uploaderId)
+              and (:status is null or r.approvalStatus = :status)
+              and (:typeId is null or r.type.id = :typeId)
+              and (:keyword is null or lower(r.title) like :keyword or lower(r.description) like :keyword
+                   or lower(u.fullName) like :keyword or lower(u.email) like :keyword or r.id in :matchedIds)
+              and (:afterCreatedAt is null or r.createdAt < :afterCreatedAt
+                   or (r.createdAt = :afterCreatedAt and r.id < :afterId))
+            order by r.createdAt desc, r.id desc
+            """)
+    List<ResourceListProjection> findListPage(@Param("deptId") Long deptId,
+                                              @Param("uploaderId") String uploaderId,
+                                              @Param("status") ApprovalStatus status,
+                                              @Param("typeId") String typeId,
+                                              @Param("keyword") String keyword,
+                                              @Param("matchedIds") Collection<String> matchedIds,
+                                              @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                              @Param("afterId") String afterId,
+                                              Pageable pageable);
+
+    @Query(LIST_ROW + "where r.id in :ids")
+    List<ResourceListProjection> findListRowsByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query(LIST_ROW + """
+            where (:deptId is null or u.department.id = :deptId)
             order by r.createdAt desc
             """)
-    List<Resource> findRecentUploads(@Param("deptId") Long deptId, Pageable pageable);
+    List<ResourceListProjection> findRecentRows(@Param("deptId") Long deptId, Pageable pageable);
 
     @Query("""
             select coalesce(sum(r.sizeBytes),0) from Resource r
             """)
     Long sumAllSizeBytes();
+
+    @Query("""
+            select r.id as id, r.fileUrl as fileUrl from Resource r
+            where r.fileUrl is not null
+            """)
+    List<ResourceFileProjection> findAllFiles();
+
+    @Query("""
+            select d.id from Resource r join r.uploadedBy u join u.department d
+            where r.id = :id
+            """)
+    Optional<Long> findUploaderDepartmentId(@Param("id") String id);
+
+    @Query("""
+            select r.id as id, d.id as departmentId, r.minhashSignature as minhashSignature
+            from Resource r left join r.uploadedBy u left join u.department d
+            where r.minhashSignature is not null
+            """)
+    List<ResourceSignatureProjection> findAllSignatures();
+
+    // counters are incremented in place: no read-modify-write, no lost updates, one column written
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update Resource r set r.views = coalesce(r.views, 0) + 1
+            where r.id = :id and r.approvalStatus = :status
+            """)
+    int incrementViews(@Param("id") String id, @Param("status") ApprovalStatus requiredStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("update Resource r set r.downloads = coalesce(r.downloads, 0) + 1 where r.id = :id")
+    int incrementDownloads(@Param("id") String id);
+
+    // status transition as compare-and-set on the version read by the caller; 0 rows = lost the race
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update Resource r set r.approvalStatus = :status, r.version = r.version + 1
+            where r.id = :id and r.version = :version
+            """)
+    int updateApprovalStatus(@Param("id") String id, @Param("status") ApprovalStatus status,
+                             @Param("version") Long version);
+
+    // what bulk moderation needs to authorize a set of ids and clean up their files
+    @Query("""
+            select r.id as id, u.id as uploaderId, d.id as departmentId, r.fileUrl as fileUrl
+            from Resource r left join r.uploadedBy u left join u.department d
+            where r.id in :ids
+            """)
+    List<ResourceOwnerProjection> findOwnersByIdIn(@Param("ids") Collection<String> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Resource r set r.approvalStatus = :status, r.version = r.version + 1 where r.id in :ids")
+    int updateApprovalStatusByIdIn(@Param("ids") Collection<String> ids, @Param("status") ApprovalStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Resource r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Transactional
+    @Query("update Resource r set r.minhashSignature = :signature where r.id = :id")
+    int updateMinhashSignature(@Param("id") String id, @Param("signature") byte[] signature);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select r.id as id, r.title as title, t.name as typeName,
+                   co.code as courseCode, co.title as courseTitle, cl.code as classroomCode,
+                   u.email as uploaderEmail, d.code as departmentCode,
+                   r.approvalStatus as approvalStatus, r.sizeBytes as sizeBytes,
+                   r.views as views, r.downloads as downloads,
+                   (select count(ra.id) from Rating ra where ra.resource = r) as ratingCount,
+                   (select avg(ra.rate) from Rating ra where ra.resource = r) as ratingAverage,
+                   (select count(cm.id) from Comment cm where cm.resource = r) as commentCount,
+                   r.createdAt as createdAt
+            from Resource r
+                 left join r.type t left join r.course co left join r.classroom cl
+                 left join r.uploadedBy u left join u.department d
+            where (:deptId is null or d.id = :deptId)
+            order by r.createdAt desc
+            """)
+    Stream<ResourceExportProjection> streamForExport(@Param("deptId") Long deptId);
 }
@@ -1,9 +1,14 @@
 package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.Specialization;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,5 +26,9 @@ public interface SpecializationRepository extends JpaRepository<Specialization,
 
     List<Specialization> findByPrograms_CodeIgnoreCase(String programCode);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     java.util.Optional<Specialization> findByCodeIgnoreCase(String code);
+
+    @Query("SELECT DISTINCT s FROM Specialization s LEFT JOIN FETCH s.programs WHERE LOWER(s.code) IN :codes")
+    List<Specialization> findWithProgramsByLowerCodeIn(Collection<String> codes);
 }
@@ -1,7 +1,10 @@
 package be.library_digital.demo.repository;
 
 import be.library_digital.demo.model.TrainingProgram;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,6 +18,7 @@ public interface TrainingProgramRepository extends JpaRepository<TrainingProgram
 
     boolean existsByNameIgnoreCaseAndIdNot(String name, String id);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     java.util.Optional<TrainingProgram> findByCodeIgnoreCase(String code);
 
     java.util.List<TrainingProgram> findByCodeContainingIgnoreCase(String code);
@@ -1,17 +1,39 @@
 package be.library_digital.demo.repository;
 
+import be.library_digital.demo.common.UserStatus;
+import be.library_digital.demo.common.UserType;
 import be.library_digital.demo.model.User;
+import be.library_digital.demo.repository.projection.PublicUserProjection;
+import be.library_digital.demo.repository.projection.UserAuthorizationProjection;
+import be.library_digital.demo.repository.projection.UserExportProjection;
+import be.library_digital.demo.repository.projection.UserTypeCountProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
 
+    // principal fetch plan: the user is cached and read outside any session (security filter,
+    // background jobs), so everything the principal and its response need is loaded up front
+    @EntityGraph(attributePaths = {"department", "classroom", "classroom.specialization",
+            "classroom.specialization.programs", "classroom.cohort", "classroom.cohort.program",
+            "roles", "roles.role"})
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -22,8 +44,22 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     Optional<User> findTopByUserIdentifierStartingWithOrderByUserIdentifierDesc(String prefix);
 
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    // highest numeric suffix among identifiers matching prefixPattern ("prefix%" escaped with '!',
+    // so the unique index is range-scanned); suffixes that are not all digits are skipped, null when none
+    @Query("SELECT MAX(CAST(SUBSTRING(u.userIdentifier, :suffixStart) AS Long)) FROM User u " +
+            "WHERE u.userIdentifier LIKE :prefixPattern ESCAPE '!' " +
+            "AND FUNCTION('REGEXP_LIKE', SUBSTRING(u.userIdentifier, :suffixStart), '^[0-9]+$') = true")
+    Long findMaxIdentifierSequence(String prefixPattern, int suffixStart);
+
+    @EntityGraph(attributePaths = {"department", "classroom", "classroom.specialization",
+            "classroom.specialization.programs", "classroom.cohort", "classroom.cohort.program",
+            "roles", "roles.role"})
+    // plain equality so the unique email index is used; the column collation is case-insensitive
     @Query(value = "SELECT u FROM User u WHERE u.status='ACTIVE' " +
-            "AND LOWER(u.email) = :username")
+            "AND u.email = :username")
     Optional<User> loadUserByUsername(String username);
 
     @Query(value = "SELECT u FROM User u WHERE u.status='ACTIVE' " +
@@ -33,4 +69,51 @@ public interface UserRepository extends JpaRepository<User, String> {
     Page<User> searchByKeyword(String keyword, Pageable pageable);
 
     Page<User> findByDepartment_Id(Long departmentId, Pageable pageable);
+
+    // public user cards: plain columns, department and classroom resolved from the catalog cache
+    String PUBLIC_USER = "SELECT u.id AS id, u.email AS email, u.fullName AS fullName, " +
+            "u.userIdentifier AS userIdentifier, u.gender AS gender, u.dateOfBirth AS dateOfBirth, " +
+            "u.phone AS phone, u.address AS address, u.type AS type, u.status AS status, " +
+            "u.avatarUrl AS avatarUrl, u.department.id AS departmentId, u.classroom.id AS classroomId, " +
+            "u.createdAt AS createdAt " +
+            "FROM User u ";
+
+    // keyset page, newest first: (createdAt, id) < (:afterCreatedAt, :afterId); no count query
+    @Query(PUBLIC_USER + "WHERE (:departmentId IS NULL OR u.department.id = :departmentId) " +
+            "AND (:afterCreatedAt IS NULL OR u.createdAt < :afterCreatedAt " +
+            "OR (u.createdAt = :afterCreatedAt AND u.id < :afterId)) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<PublicUserProjection> findPublicPage(Long departmentId, LocalDateTime afterCreatedAt, String afterId,
+                                              Pageable pageable);
+
+    @Query(PUBLIC_USER + "WHERE u.id IN :ids")
+    List<PublicUserProjection> findPublicByIdIn(Collection<String> ids);
+
+    // dashboard totals without reading the user list
+    @Query("SELECT u.type AS type, COUNT(u.id) AS count FROM User u " +
+            "WHERE (:departmentId IS NULL OR u.department.id = :departmentId) GROUP BY u.type")
+    List<UserTypeCountProjection> countByType(Long departmentId);
+
+    @Query("SELECT u.status AS status, u.type AS type, d.id AS departmentId, c.id AS classroomId, " +
+            "u.mustChangePassword AS mustChangePassword " +
+            "FROM User u LEFT JOIN u.department d LEFT JOIN u.classroom c WHERE u.id = :id")
+    Optional<UserAuthorizationProjection> findAuthorizationById(String id);
+
+    // fetched from the server in chunks of 1000 rows (cursor fetch, see ExportService), consumed as a stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.userIdentifier AS userIdentifier, u.email AS email, u.fullName AS fullName, " +
+            "u.gender AS gender, u.type AS type, u.status AS status, u.phone AS phone, u.address AS address, " +
+            "u.dateOfBirth AS dateOfBirth, d.code AS departmentCode, c.code AS classroomCode, u.createdAt AS createdAt " +
+            "FROM User u LEFT JOIN u.department d LEFT JOIN u.classroom c " +
+            "WHERE (:type IS NULL OR u.type = :type) AND (:classroomId IS NULL OR c.id = :classroomId) " +
+            "ORDER BY u.userIdentifier")
+    Stream<UserExportProjection> streamForExport(UserType type, String classroomId);
+
+    // lock as a single-row status transition: no read-modify-write over concurrent profile edits;
+    // 0 rows when the user is an admin or already locked
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.status = :locked, u.failedLoginAttempts = :failedAttempts, " +
+            "u.lastFailedLoginDate = :date WHERE u.id = :id AND u.type <> :exemptType AND u.status <> :locked")
+    int lockAccount(String id, UserStatus locked, UserType exemptType, int failedAttempts, LocalDate date);
 }
@@ -0,0 +1,12 @@
+package be.library_digital.demo.repository.projection;
+
+import be.library_digital.demo.common.HistoryAction;
+
+import java.time.LocalDateTime;
+
+public interface HistoryRowProjection {
+    Long getId();
+    HistoryAction getAction();
+    LocalDateTime getCreatedAt();
+    String getResourceId();
+}
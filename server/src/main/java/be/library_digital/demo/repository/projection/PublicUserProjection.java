@@ -0,0 +1,25 @@
+package be.library_digital.demo.repository.projection;
+
+import be.library_digital.demo.common.Gender;
+import be.library_digital.demo.common.UserStatus;
+import be.library_digital.demo.common.UserType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface PublicUserProjection {
+    String getId();
+    String getEmail();
+    String getFullName();
+    String getUserIdentifier();
+    Gender getGender();
+    LocalDate getDateOfBirth();
+    String getPhone();
+    String getAddress();
+    UserType getType();
+    UserStatus getStatus();
+    String getAvatarUrl();
+    Long getDepartmentId();
+    String getClassroomId();
+    LocalDateTime getCreatedAt();
+}
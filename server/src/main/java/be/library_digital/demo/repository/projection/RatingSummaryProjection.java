@@ -0,0 +1,7 @@
+package be.library_digital.demo.repository.projection;
+
+public interface RatingSummaryProjection {
+    String getResourceId();
+    Long getRatingCount();
+    Double getRatingAverage();
+}
@@ -0,0 +1,6 @@
+package be.library_digital.demo.repository.projection;
+
+public interface ResourceCountProjection {
+    String getResourceId();
+    Long getCount();
+}
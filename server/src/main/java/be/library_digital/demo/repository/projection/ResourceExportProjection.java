@@ -0,0 +1,24 @@
+package be.library_digital.demo.repository.projection;
+
+import be.library_digital.demo.common.ApprovalStatus;
+
+import java.time.LocalDateTime;
+
+public interface ResourceExportProjection {
+    String getId();
+    String getTitle();
+    String getTypeName();
+    String getCourseCode();
+    String getCourseTitle();
+    String getClassroomCode();
+    String getUploaderEmail();
+    String getDepartmentCode();
+    ApprovalStatus getApprovalStatus();
+    Long getSizeBytes();
+    Integer getViews();
+    Integer getDownloads();
+    Long getRatingCount();
+    Double getRatingAverage();
+    Long getCommentCount();
+    LocalDateTime getCreatedAt();
+}
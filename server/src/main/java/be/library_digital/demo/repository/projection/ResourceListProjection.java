@@ -0,0 +1,28 @@
+package be.library_digital.demo.repository.projection;
+
+import be.library_digital.demo.common.ApprovalStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a resource list row. Type, classroom and uploader are carried as ids and
+ * resolved from the catalog cache / one batched uploader query.
+ */
+public interface ResourceListProjection {
+    String getId();
+    String getTitle();
+    String getDescription();
+    String getCourseId();
+    String getTypeId();
+    String getFileUrl();
+    Long getSizeBytes();
+    LocalDateTime getCreatedAt();
+    ApprovalStatus getApprovalStatus();
+    String getClassroomId();
+    Integer getViews();
+    Integer getDownloads();
+    String getUploaderId();
+    // for keyword matching before uploaders are loaded
+    String getUploaderName();
+    String getUploaderEmail();
+}
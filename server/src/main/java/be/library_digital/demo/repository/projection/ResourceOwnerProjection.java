@@ -0,0 +1,8 @@
+package be.library_digital.demo.repository.projection;
+
+public interface ResourceOwnerProjection {
+    String getId();
+    String getUploaderId();
+    Long getDepartmentId();
+    String getFileUrl();
+}
@@ -0,0 +1,7 @@
+package be.library_digital.demo.repository.projection;
+
+public interface ResourceSignatureProjection {
+    String getId();
+    Long getDepartmentId();
+    byte[] getMinhashSignature();
+}
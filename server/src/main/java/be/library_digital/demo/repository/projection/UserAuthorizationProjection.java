@@ -0,0 +1,12 @@
+package be.library_digital.demo.repository.projection;
+
+import be.library_digital.demo.common.UserStatus;
+import be.library_digital.demo.common.UserType;
+
+public interface UserAuthorizationProjection {
+    UserStatus getStatus();
+    UserType getType();
+    Long getDepartmentId();
+    String getClassroomId();
+    Boolean getMustChangePassword();
+}
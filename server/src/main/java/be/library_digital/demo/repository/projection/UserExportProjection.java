@@ -0,0 +1,23 @@
+package be.library_digital.demo.repository.projection;
+
+import be.library_digital.demo.common.Gender;
+import be.library_digital.demo.common.UserStatus;
+import be.library_digital.demo.common.UserType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface UserExportProjection {
+    String getUserIdentifier();
+    String getEmail();
+    String getFullName();
+    Gender getGender();
+    UserType getType();
+    UserStatus getStatus();
+    String getPhone();
+    String getAddress();
+    LocalDate getDateOfBirth();
+    String getDepartmentCode();
+    String getClassroomCode();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,8 @@
+package be.library_digital.demo.repository.projection;
+
+import be.library_digital.demo.common.UserType;
+
+public interface UserTypeCountProjection {
+    UserType getType();
+    Long getCount();
+}
@@ -1,5 +1,6 @@
 package be.library_digital.demo.service;
 
+import be.library_digital.demo.common.TokenType;
 import be.library_digital.demo.common.UserStatus;
 import be.library_digital.demo.dto.request.ForgotPasswordRequest;
 import be.library_digital.demo.dto.request.ResetForgotPasswordRequest;
@@ -8,14 +9,20 @@ import be.library_digital.demo.dto.response.LoginResponse;
 import be.library_digital.demo.dto.response.PublicUser;
 import be.library_digital.demo.exception.BadRequestException;
 import be.library_digital.demo.exception.ResourceNotFoundException;
+import be.library_digital.demo.model.BlackListToken;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.repository.BlackListTokenRepository;
 import be.library_digital.demo.repository.UserRepository;
+import be.library_digital.demo.service.revocation.TokenRevocationService;
+import be.library_digital.demo.service.throttle.LoginLockoutService;
+import be.library_digital.demo.service.throttle.LoginThrottle;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -29,6 +36,9 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -45,6 +55,10 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final BlackListTokenRepository blackListTokenRepository;
     private final MailService mailService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
+    private final LoginLockoutService loginLockoutService;
 
     @Value("${password-reset.expiry-minutes:30}")
     private long resetPasswordExpiryMinutes;
@@ -52,24 +66,14 @@ public class AuthenticationService {
     @Value("${password-reset.base-url:http://localhost:5173/reset-password}")
     private String resetPasswordBaseUrl;
 
-    public LoginResponse signIn(SignInRequest request) throws Exception {
+    public LoginResponse signIn(SignInRequest request, String clientIp) throws Exception {
         log.info("Log in account with username {}", request.getEmail());
 
         String email = request.getEmail().trim().toLowerCase();
-        User user = userRepository.findByEmail(email).orElse(null);
-
-        if (user != null && !be.library_digital.demo.common.UserType.ADMIN.equals(user.getType())) {
-            // reset counter if new day
-            if (user.getLastFailedLoginDate() != null && !user.getLastFailedLoginDate().isEqual(java.time.LocalDate.now())) {
-                user.setFailedLoginAttempts(0);
-                user.setLastFailedLoginDate(null);
-                userRepository.save(user);
-            }
-            if (be.library_digital.demo.common.UserStatus.LOCK.equals(user.getStatus())) {
-                throw new BadRequestException("Tài khoản đã bị khóa do đăng nhập sai nhiều lần, vui lòng liên hệ quản trị viên");
-            }
-        }
+        // before any lookup or BCrypt: throttled attempts cost nothing
+        loginThrottle.checkAllowed(email, clientIp);
 
+        User user;
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(email, request.getPassword()));
@@ -78,23 +82,24 @@ public class AuthenticationService {
             log.info("Authorities: {}", authentication.getAuthorities());
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            user = (User) authentication.getPrincipal();
+        } catch (LockedException e) {
+            throw new BadRequestException("Tài khoản đã bị khóa do đăng nhập sai nhiều lần, vui lòng liên hệ quản trị viên");
         } catch (AuthenticationException e){
             log.error("Login failed");
-            handleFailedLogin(user);
+            handleFailedLogin(email, clientIp);
             throw new BadCredentialsException("Username or password is incorrect");
         }
 
-        user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        // success: reset failed attempts
+        loginThrottle.recordSuccess(email);
+        // counters persisted before throttling was in memory
         if (user.getFailedLoginAttempts() != null && user.getFailedLoginAttempts() > 0) {
             user.setFailedLoginAttempts(0);
             user.setLastFailedLoginDate(null);
             userRepository.save(user);
         }
 
-        String accessToken = jwtService.generateAccessToken(user.getId(), request.getEmail(), user.getAuthorities());
+        String accessToken = jwtService.generateAccessToken(user);
 
         return LoginResponse.builder()
                 .accessToken(accessToken)
@@ -206,6 +211,7 @@ public class AuthenticationService {
         user.setPasswordResetExpiry(LocalDateTime.now().plusMinutes(resetPasswordExpiryMinutes));
         user.setMustChangePassword(true);
         userRepository.save(user);
+        principalCache.invalidate(user.getId());
 
         String resetLink = UriComponentsBuilder.fromHttpUrl(resetPasswordBaseUrl)
                 .queryParam("token", token)
@@ -232,28 +238,15 @@ public class AuthenticationService {
         user.setFailedLoginAttempts(0);
         user.setLastFailedLoginDate(null);
         userRepository.save(user);
+        principalCache.invalidate(user.getId());
     }
 
-    private void handleFailedLogin(User user) {
-        if (user == null) {
-            return;
-        }
-        if (be.library_digital.demo.common.UserType.ADMIN.equals(user.getType())) {
-            return; // do not lock admin
-        }
-
-        java.time.LocalDate today = java.time.LocalDate.now();
-        Integer attempts = user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0;
-        if (user.getLastFailedLoginDate() == null || !today.equals(user.getLastFailedLoginDate())) {
-            attempts = 0;
-        }
-        attempts += 1;
-        user.setFailedLoginAttempts(attempts);
-        user.setLastFailedLoginDate(today);
-        if (attempts >= 10) {
-            user.setStatus(be.library_digital.demo.common.UserStatus.LOCK);
+    private void handleFailedLogin(String email, String clientIp) {
+        int failures = loginThrottle.recordFailure(email, clientIp);
+        // persist only when the threshold is crossed, not on every failure
+        if (failures == loginThrottle.getLockThreshold()) {
+            loginLockoutService.lock(email, failures);
         }
-        userRepository.save(user);
     }
 
     private String hash(String value) {
@@ -274,42 +267,45 @@ public class AuthenticationService {
         }
     }
 
-//    @Transactional(rollbackFor = Exception.class)
-//    public void signOut(String accessToken, String refreshToken, User user) {
-//        log.info("Sign out account with username: {}", user.getUsername());
-//        String usernameFromRT = jwtService.extractUsername(refreshToken, TokenType.REFRESH_TOKEN);
-//
-//        if(!Objects.equals(user.getUsername(), usernameFromRT)){
-//            throw new BadRequestException("");
-//        }
-//
-//        BlackListToken blackListRT = BlackListToken.builder()
-//                .id(jwtService.extractTokenId(refreshToken, TokenType.REFRESH_TOKEN))
-//                .token(refreshToken)
-//                .type(TokenType.REFRESH_TOKEN)
-//                .createdAt(LocalDateTime.now())
-//                .expiredAt(jwtService.extractExpiration(refreshToken, TokenType.REFRESH_TOKEN))
-//                .reason("SIGN-OUT")
-//                .build();
-//
-//        BlackListToken blackListAT = BlackListToken.builder()
-//                .id(jwtService.extractTokenId(accessToken, TokenType.ACCESS_TOKEN))
-//                .token(accessToken)
-//                .type(TokenType.ACCESS_TOKEN)
-//                .createdAt(LocalDateTime.now())
-//                .expiredAt(jwtService.extractExpiration(accessToken, TokenType.ACCESS_TOKEN))
-//                .reason("SIGN-OUT")
-//                .build();
-//
-//        blackListTokenRepository.saveAll(List.of(blackListAT, blackListRT));
-//
-//        //clear the authentication from SecurityContextHolder to log out the user
-//        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-//        if (authentication != null) {
-//            SecurityContextHolder.clearContext();
-//            log.info("User {} has been logged out successfully", user.getId());
-//        }
-//    }
+    public void signOut(String accessToken, String refreshToken, User user) {
+        log.info("Sign out account with username: {}", user.getUsername());
+        Claims accessClaims = jwtService.parse(accessToken, TokenType.ACCESS_TOKEN);
+
+        List<BlackListToken> revoked = new ArrayList<>();
+        revoked.add(BlackListToken.builder()
+                .id(accessClaims.getId())
+                // only a digest is kept; the id is what requests are checked against
+                .token(hash(accessToken))
+                .type(TokenType.ACCESS_TOKEN)
+                .createdAt(LocalDateTime.now())
+                .expiredAt(accessClaims.getExpiration())
+                .reason("SIGN-OUT")
+                .build());
+
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            Claims refreshClaims = jwtService.parse(refreshToken, TokenType.REFRESH_TOKEN);
+            if (!Objects.equals(user.getUsername(), refreshClaims.getSubject())) {
+                throw new BadRequestException("Refresh token does not belong to this user");
+            }
+            revoked.add(BlackListToken.builder()
+                    .id(refreshClaims.getId())
+                    .token(hash(refreshToken))
+                    .type(TokenType.REFRESH_TOKEN)
+                    .createdAt(LocalDateTime.now())
+                    .expiredAt(refreshClaims.getExpiration())
+                    .reason("SIGN-OUT")
+                    .build());
+        }
+
+        tokenRevocationService.revoke(revoked);
+
+        //clear the authentication from SecurityContextHolder to log out the user
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            SecurityContextHolder.clearContext();
+            log.info("User {} has been logged out successfully", user.getId());
+        }
+    }
 
 //    public TokenResponse refreshToken(String refreshToken) {
 //        log.info("Get refresh token");
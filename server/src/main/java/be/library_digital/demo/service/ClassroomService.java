@@ -1,6 +1,9 @@
 package be.library_digital.demo.service;
 
+import be.library_digital.demo.dto.request.ClassroomBulkRequest;
 import be.library_digital.demo.dto.request.ClassroomRequest;
+import be.library_digital.demo.common.PageCursor;
+import be.library_digital.demo.dto.response.CursorPage;
 import be.library_digital.demo.dto.response.ClassroomResponse;
 import be.library_digital.demo.exception.BadRequestException;
 import be.library_digital.demo.exception.ResourceNotFoundException;
@@ -12,11 +15,17 @@ import be.library_digital.demo.repository.ClassroomRepository;
 import be.library_digital.demo.repository.CohortRepository;
 import be.library_digital.demo.repository.DepartmentRepository;
 import be.library_digital.demo.repository.SpecializationRepository;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,7 +36,9 @@ public class ClassroomService {
     private final ClassroomRepository classroomRepository;
     private final SpecializationRepository specializationRepository;
     private final CohortRepository cohortRepository;
+    private final CatalogCache catalogCache;
 
+    @Transactional
     public ClassroomResponse create(ClassroomRequest request) {
         String code = request.getCode().trim();
         if (classroomRepository.existsByCodeIgnoreCase(code)) {
@@ -54,10 +65,12 @@ public class ClassroomService {
                 .build();
 
         Classroom saved = classroomRepository.save(classroom);
+        catalogCache.invalidate();
         log.info("Created classroom id={}", saved.getId());
         return ClassroomResponse.fromClassroom(saved);
     }
 
+    @Transactional
     public ClassroomResponse update(String id, ClassroomRequest request) {
         Classroom classroom = classroomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Classroom not found"));
@@ -85,35 +98,141 @@ public class ClassroomService {
         classroom.setCohort(cohort);
 
         Classroom saved = classroomRepository.save(classroom);
+        catalogCache.invalidate();
         log.info("Updated classroom id={}", saved.getId());
         return ClassroomResponse.fromClassroom(saved);
     }
 
+    /**
+     * Creates the items without an id and updates the ones with an id, all in one transaction.
+     * Specializations, cohorts, existing classrooms and code clashes are each looked up with one
+     * query for the whole batch; any invalid item rejects the batch.
+     */
+    @Transactional
+    public List<ClassroomResponse> bulkSave(List<ClassroomBulkRequest.Item> items) {
+        Set<String> codes = new HashSet<>();
+        for (ClassroomBulkRequest.Item item : items) {
+            if (!codes.add(item.getCode().trim().toLowerCase())) {
+                throw new BadRequestException("Duplicate classroom code in request: " + item.getCode().trim());
+            }
+        }
+
+        Map<String, Specialization> specializations = specializationRepository.findWithProgramsByLowerCodeIn(items.stream()
+                        .map(item -> item.getSpecializationCode().trim().toLowerCase())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(sp -> sp.getCode().toLowerCase(), sp -> sp));
+        Map<String, Cohort> cohorts = cohortRepository.findWithProgramByLowerCodeIn(items.stream()
+                        .map(item -> item.getCohortCode().trim().toLowerCase())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(c -> c.getCode().toLowerCase(), c -> c));
+
+        Set<String> ids = items.stream()
+                .map(ClassroomBulkRequest.Item::getId)
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toSet());
+        Map<String, Classroom> existing = ids.isEmpty() ? Map.of()
+                : classroomRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Classroom::getId, c -> c));
+
+        Map<String, String> codeOwners = classroomRepository.findByLowerCodeIn(codes).stream()
+                .collect(Collectors.toMap(c -> c.getCode().toLowerCase(), Classroom::getId));
+
+        List<Classroom> classrooms = new ArrayList<>(items.size());
+        for (ClassroomBulkRequest.Item item : items) {
+            String code = item.getCode().trim();
+            Specialization specialization = specializations.get(item.getSpecializationCode().trim().toLowerCase());
+            if (specialization == null) {
+                throw new ResourceNotFoundException("Specialization not found: " + item.getSpecializationCode().trim());
+            }
+            Cohort cohort = cohorts.get(item.getCohortCode().trim().toLowerCase());
+            if (cohort == null) {
+                throw new ResourceNotFoundException("Cohort not found: " + item.getCohortCode().trim());
+            }
+            if (cohort.getProgram() != null &&
+                    (specialization.getPrograms() == null || specialization.getPrograms().stream()
+                            .noneMatch(program -> program != null && program.getId().equals(cohort.getProgram().getId())))) {
+                throw new BadRequestException("Specialization does not belong to cohort's program: " + code);
+            }
+
+            Classroom classroom;
+            if (item.getId() != null && !item.getId().isBlank()) {
+                classroom = existing.get(item.getId());
+                if (classroom == null) {
+                    throw new ResourceNotFoundException("Classroom not found: " + item.getId());
+                }
+            } else {
+                classroom = new Classroom();
+            }
+
+            String owner = codeOwners.get(code.toLowerCase());
+            if (owner != null && !owner.equals(classroom.getId())) {
+                throw new BadRequestException("Classroom code already exists: " + code);
+            }
+
+            classroom.setCode(code);
+            classroom.setName(item.getName().trim());
+            classroom.setDescription(item.getDescription());
+            classroom.setSpecialization(specialization);
+            classroom.setCohort(cohort);
+            classrooms.add(classroom);
+        }
+
+        List<Classroom> saved = classroomRepository.saveAllAndFlush(classrooms);
+        catalogCache.invalidate();
+        log.info("Bulk saved {} classrooms ({} updated)", saved.size(), existing.size());
+        return saved.stream().map(ClassroomResponse::fromClassroom).collect(Collectors.toList());
+    }
+
     public ClassroomResponse getById(String id) {
-        Classroom classroom = classroomRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Classroom not found"));
-        return ClassroomResponse.fromClassroom(classroom);
+        ClassroomResponse classroom = catalogCache.snapshot().classrooms().byId(id);
+        if (classroom == null) {
+            throw new ResourceNotFoundException("Classroom not found");
+        }
+        return classroom;
+    }
+
+    /**
+     * Classrooms ordered by code, one page after {@code cursor}.
+     */
+    public CursorPage<ClassroomResponse> getAll(String code, String specializationCode, String cohortCode,
+                                                String cursor, int limit) {
+        return CursorPage.slice(filter(code, specializationCode, cohortCode), PageCursor.decode(cursor), limit,
+                ClassroomResponse::getCode);
     }
 
-    public List<ClassroomResponse> getAll(String code, String specializationCode, String cohortCode) {
+    private List<ClassroomResponse> filter(String code, String specializationCode, String cohortCode) {
         String codeFilter = code != null ? code.trim().toLowerCase() : "";
         String specFilter = specializationCode != null ? specializationCode.trim().toLowerCase() : "";
         String cohortFilter = cohortCode != null ? cohortCode.trim().toLowerCase() : "";
 
-        return classroomRepository.findAll().stream()
+        CatalogCache.Table<ClassroomResponse> classrooms = catalogCache.snapshot().classrooms();
+        List<ClassroomResponse> list;
+        if (!cohortFilter.isEmpty()) {
+            list = classrooms.byParent(CatalogCache.Table.COHORT, cohortFilter);
+        } else if (!specFilter.isEmpty()) {
+            list = classrooms.byParent(CatalogCache.Table.SPECIALIZATION, specFilter);
+        } else {
+            list = classrooms.all();
+        }
+        if (codeFilter.isEmpty() && (specFilter.isEmpty() || cohortFilter.isEmpty())) {
+            return list;
+        }
+
+        return list.stream()
                 .filter(c -> codeFilter.isEmpty() || (c.getCode() != null && c.getCode().toLowerCase().contains(codeFilter)))
                 .filter(c -> specFilter.isEmpty() || (c.getSpecialization() != null && c.getSpecialization().getCode() != null
                         && c.getSpecialization().getCode().toLowerCase().equals(specFilter)))
                 .filter(c -> cohortFilter.isEmpty() || (c.getCohort() != null && c.getCohort().getCode() != null
                         && c.getCohort().getCode().toLowerCase().equals(cohortFilter)))
-                .map(ClassroomResponse::fromClassroom)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void delete(String id) {
         Classroom classroom = classroomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Classroom not found"));
         classroomRepository.delete(classroom);
+        catalogCache.invalidate();
         log.info("Deleted classroom id={}", id);
     }
 }
@@ -8,9 +8,11 @@ import be.library_digital.demo.model.Cohort;
 import be.library_digital.demo.model.TrainingProgram;
 import be.library_digital.demo.repository.CohortRepository;
 import be.library_digital.demo.repository.TrainingProgramRepository;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,7 +24,9 @@ public class CohortService {
 
     private final CohortRepository cohortRepository;
     private final TrainingProgramRepository trainingProgramRepository;
+    private final CatalogCache catalogCache;
 
+    @Transactional
     public CohortResponse create(CohortRequest request) {
         String code = request.getCode().trim();
         if (cohortRepository.existsByCodeIgnoreCase(code)) {
@@ -43,10 +47,12 @@ public class CohortService {
                 .build();
 
         Cohort saved = cohortRepository.save(cohort);
+        catalogCache.invalidate();
         log.info("Created cohort id={}", saved.getId());
         return CohortResponse.fromCohort(saved);
     }
 
+    @Transactional
     public CohortResponse update(String id, CohortRequest request) {
         Cohort cohort = cohortRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cohort not found"));
@@ -68,34 +74,44 @@ public class CohortService {
         cohort.setEndYear(request.getEndYear());
 
         Cohort saved = cohortRepository.save(cohort);
+        catalogCache.invalidate();
         log.info("Updated cohort id={}", saved.getId());
         return CohortResponse.fromCohort(saved);
     }
 
     public CohortResponse getById(String id) {
-        Cohort cohort = cohortRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cohort not found"));
-        return CohortResponse.fromCohort(cohort);
+        CohortResponse cohort = catalogCache.snapshot().cohorts().byId(id);
+        if (cohort == null) {
+            throw new ResourceNotFoundException("Cohort not found");
+        }
+        return cohort;
     }
 
     public List<CohortResponse> getAll(String code, String programCode, Integer startYear, Integer endYear) {
         String codeFilter = code != null ? code.trim().toLowerCase() : "";
-        String programCodeFilter = programCode != null ? programCode.trim().toLowerCase() : "";
+        String programCodeFilter = programCode != null ? programCode.trim() : "";
+
+        CatalogCache.Table<CohortResponse> cohorts = catalogCache.snapshot().cohorts();
+        List<CohortResponse> list = programCodeFilter.isEmpty()
+                ? cohorts.all()
+                : cohorts.byParent(CatalogCache.Table.PROGRAM, programCodeFilter);
+        if (codeFilter.isEmpty() && startYear == null && endYear == null) {
+            return list;
+        }
 
-        return cohortRepository.findAll().stream()
+        return list.stream()
                 .filter(c -> codeFilter.isEmpty() || (c.getCode() != null && c.getCode().toLowerCase().contains(codeFilter)))
-                .filter(c -> programCodeFilter.isEmpty() || (c.getProgram() != null && c.getProgram().getCode() != null
-                        && c.getProgram().getCode().toLowerCase().equals(programCodeFilter)))
                 .filter(c -> startYear == null || (c.getStartYear() != null && c.getStartYear() >= startYear))
                 .filter(c -> endYear == null || (c.getEndYear() != null && c.getEndYear() <= endYear))
-                .map(CohortResponse::fromCohort)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void delete(String id) {
         Cohort cohort = cohortRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cohort not found"));
         cohortRepository.delete(cohort);
+        catalogCache.invalidate();
         log.info("Deleted cohort id={}", id);
     }
 
@@ -1,9 +1,11 @@
 package be.library_digital.demo.service;
 
 import be.library_digital.demo.common.ApprovalStatus;
+import be.library_digital.demo.common.PageCursor;
 import be.library_digital.demo.common.UserType;
 import be.library_digital.demo.dto.request.CommentRequest;
 import be.library_digital.demo.dto.response.CommentResponse;
+import be.library_digital.demo.dto.response.CursorPage;
 import be.library_digital.demo.exception.ForbiddenException;
 import be.library_digital.demo.exception.ResourceNotFoundException;
 import be.library_digital.demo.model.Comment;
@@ -13,7 +15,11 @@ import be.library_digital.demo.repository.CommentRepository;
 import be.library_digital.demo.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +29,7 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final ResourceRepository resourceRepository;
 
+    @Transactional
     public CommentResponse create(CommentRequest request, User currentUser) {
         Resource resource = resourceRepository.findById(request.getResourceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
@@ -41,6 +48,20 @@ public class CommentService {
         return CommentResponse.fromComment(saved);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> listByResource(String resourceId, String cursor, int limit) {
+        if (!resourceRepository.existsById(resourceId)) {
+            throw new ResourceNotFoundException("Resource not found");
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        List<Comment> rows = commentRepository.findPageByResourceId(resourceId,
+                after != null ? after.createdAt() : null, after != null ? after.key() : null,
+                PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, c -> PageCursor.encode(c.getCreatedAt(), c.getId()))
+                .map(comments -> comments.stream().map(CommentResponse::fromComment).toList());
+    }
+
+    @Transactional
     public CommentResponse update(String id, CommentRequest request, User currentUser) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
@@ -53,6 +74,7 @@ public class CommentService {
         return CommentResponse.fromComment(saved);
     }
 
+    @Transactional
     public void delete(String id, User currentUser) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
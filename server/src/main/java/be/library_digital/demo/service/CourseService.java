@@ -1,6 +1,9 @@
 package be.library_digital.demo.service;
 
+import be.library_digital.demo.dto.request.CourseBulkRequest;
 import be.library_digital.demo.dto.request.CourseRequest;
+import be.library_digital.demo.common.PageCursor;
+import be.library_digital.demo.dto.response.CursorPage;
 import be.library_digital.demo.dto.response.CourseResponse;
 import be.library_digital.demo.exception.BadRequestException;
 import be.library_digital.demo.exception.ResourceNotFoundException;
@@ -11,11 +14,17 @@ import be.library_digital.demo.model.Department;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.repository.CourseRepository;
 import be.library_digital.demo.repository.DepartmentRepository;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,9 +34,11 @@ public class CourseService {
 
     private final CourseRepository courseRepository;
     private final DepartmentRepository departmentRepository;
+    private final CatalogCache catalogCache;
 
     private static final String MESSAGE_NOT_FOUND = "Course not found";
 
+    @Transactional
     public CourseResponse create(CourseRequest request, User currentUser) {
         if (request.getDepartmentCode() == null || request.getDepartmentCode().isBlank()) {
             throw new BadRequestException("DepartmentCode is required");
@@ -53,10 +64,12 @@ public class CourseService {
         course.setDepartment(department);
 
         Course saved = courseRepository.save(course);
+        catalogCache.invalidate();
         log.info("Created course id={}", saved.getId());
         return CourseResponse.fromCourse(saved);
     }
 
+    @Transactional
     public CourseResponse update(String id, CourseRequest request, User currentUser) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(MESSAGE_NOT_FOUND));
@@ -89,47 +102,137 @@ public class CourseService {
         course.setDepartment(department);
 
         Course saved = courseRepository.save(course);
+        catalogCache.invalidate();
         log.info("Updated course id={}", saved.getId());
         return CourseResponse.fromCourse(saved);
     }
 
+    /**
+     * Creates the items without an id and updates the ones with an id, all in one transaction.
+     * Departments, existing courses and code clashes are each looked up with one query for the
+     * whole batch; any invalid item rejects the batch.
+     */
+    @Transactional
+    public List<CourseResponse> bulkSave(List<CourseBulkRequest.Item> items, User currentUser) {
+        if (currentUser == null || !(UserType.ADMIN.equals(currentUser.getType())
+                || UserType.SUB_ADMIN.equals(currentUser.getType()))) {
+            throw new ForbiddenException("You don't have permission to save courses");
+        }
+
+        Set<String> codes = new HashSet<>();
+        for (CourseBulkRequest.Item item : items) {
+            if (!codes.add(item.getCode().trim().toLowerCase())) {
+                throw new BadRequestException("Duplicate course code in request: " + item.getCode().trim());
+            }
+        }
+
+        Map<String, Department> departments = departmentRepository.findByLowerCodeIn(items.stream()
+                        .map(item -> item.getDepartmentCode().trim().toLowerCase())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(d -> d.getCode().toLowerCase(), d -> d));
+
+        Set<String> ids = items.stream()
+                .map(CourseBulkRequest.Item::getId)
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toSet());
+        Map<String, Course> existing = ids.isEmpty() ? Map.of()
+                : courseRepository.findWithDepartmentByIdIn(ids).stream()
+                        .collect(Collectors.toMap(Course::getId, c -> c));
+
+        Map<String, String> codeOwners = courseRepository.findByLowerCodeIn(codes).stream()
+                .collect(Collectors.toMap(c -> c.getCode().toLowerCase(), Course::getId));
+
+        List<Course> courses = new ArrayList<>(items.size());
+        for (CourseBulkRequest.Item item : items) {
+            String code = item.getCode().trim();
+            Department department = departments.get(item.getDepartmentCode().trim().toLowerCase());
+            if (department == null) {
+                throw new ResourceNotFoundException("Department not found: " + item.getDepartmentCode().trim());
+            }
+
+            Course course;
+            if (item.getId() != null && !item.getId().isBlank()) {
+                course = existing.get(item.getId());
+                if (course == null) {
+                    throw new ResourceNotFoundException(MESSAGE_NOT_FOUND + ": " + item.getId());
+                }
+                enforceSubAdminDepartment(currentUser, course.getDepartment());
+            } else {
+                course = new Course();
+            }
+            enforceSubAdminDepartment(currentUser, department);
+
+            String owner = codeOwners.get(code.toLowerCase());
+            if (owner != null && !owner.equals(course.getId())) {
+                throw new BadRequestException("Course code already exists: " + code);
+            }
+
+            course.setCode(code);
+            course.setTitle(item.getTitle().trim());
+            course.setDepartment(department);
+            courses.add(course);
+        }
+
+        List<Course> saved = courseRepository.saveAllAndFlush(courses);
+        catalogCache.invalidate();
+        log.info("Bulk saved {} courses ({} updated)", saved.size(), existing.size());
+        return saved.stream().map(CourseResponse::fromCourse).collect(Collectors.toList());
+    }
+
+    private void enforceSubAdminDepartment(User currentUser, Department department) {
+        if (UserType.SUB_ADMIN.equals(currentUser.getType())
+                && (currentUser.getDepartment() == null || department == null
+                || !currentUser.getDepartment().getId().equals(department.getId()))) {
+            throw new ForbiddenException("You don't have permission to save courses for this department");
+        }
+    }
+
     public CourseResponse getById(String id, User currentUser) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(MESSAGE_NOT_FOUND));
+        CourseResponse course = catalogCache.snapshot().courses().byId(id);
+        if (course == null) {
+            throw new ResourceNotFoundException(MESSAGE_NOT_FOUND);
+        }
 
         if (!canView(currentUser, course)) {
             throw new ForbiddenException("You don't have permission to view this course");
         }
 
-        return CourseResponse.fromCourse(course);
+        return course;
+    }
+
+    /**
+     * Courses ordered by code, one page after {@code cursor}.
+     */
+    public CursorPage<CourseResponse> getAll(User currentUser, String code, String title, String departmentCode,
+                                             String cursor, int limit) {
+        return CursorPage.slice(filter(currentUser, code, title, departmentCode), PageCursor.decode(cursor), limit,
+                CourseResponse::getCode);
     }
 
-    public List<CourseResponse> getAll(User currentUser, String code, String title, String departmentCode) {
+    private List<CourseResponse> filter(User currentUser, String code, String title, String departmentCode) {
         String codeFilter = code != null ? code.trim().toLowerCase() : "";
         String titleFilter = title != null ? title.trim().toLowerCase() : "";
         String deptFilter = departmentCode != null ? departmentCode.trim().toLowerCase() : "";
 
-        List<Course> courses = courseRepository.findAll();
+        // role-based visibility: ADMIN sees all, SUB_ADMIN and LECTURER their department only
+        if (currentUser == null || currentUser.getType() == null) {
+            return List.of();
+        }
+        CatalogCache.Table<CourseResponse> table = catalogCache.snapshot().courses();
+        List<CourseResponse> courses;
+        if (UserType.ADMIN.equals(currentUser.getType())) {
+            courses = table.all();
+        } else if ((UserType.SUB_ADMIN.equals(currentUser.getType()) || UserType.LECTURER.equals(currentUser.getType()))
+                && currentUser.getDepartment() != null) {
+            courses = table.byParent(CatalogCache.Table.DEPARTMENT, String.valueOf(currentUser.getDepartment().getId()));
+        } else {
+            return List.of();
+        }
+        if (codeFilter.isEmpty() && titleFilter.isEmpty() && deptFilter.isEmpty()) {
+            return courses;
+        }
 
         return courses.stream()
-                .filter(c -> {
-                    // role-based visibility
-                    if (currentUser == null || currentUser.getType() == null) return false;
-                    if (UserType.ADMIN.equals(currentUser.getType())) {
-                        return true;
-                    }
-                    if (UserType.SUB_ADMIN.equals(currentUser.getType())) {
-                        if (currentUser.getDepartment() == null) return false;
-                        return c.getDepartment() != null &&
-                                currentUser.getDepartment().getId().equals(c.getDepartment().getId());
-                    }
-                    if (UserType.LECTURER.equals(currentUser.getType())) {
-                        return c.getDepartment() != null &&
-                                currentUser.getDepartment() != null &&
-                                currentUser.getDepartment().getId().equals(c.getDepartment().getId());
-                    }
-                    return false;
-                })
                 .filter(c -> codeFilter.isEmpty() || (c.getCode() != null && c.getCode().toLowerCase().contains(codeFilter)))
                 .filter(c -> titleFilter.isEmpty() || (c.getTitle() != null && c.getTitle().toLowerCase().contains(titleFilter)))
                 .filter(c -> {
@@ -141,10 +244,10 @@ public class CourseService {
                             c.getDepartment().getCode() != null &&
                             c.getDepartment().getCode().toLowerCase().contains(deptFilter);
                 })
-                .map(CourseResponse::fromCourse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void delete(String id, User currentUser) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(MESSAGE_NOT_FOUND));
@@ -163,10 +266,11 @@ public class CourseService {
         }
 
         courseRepository.delete(course);
+        catalogCache.invalidate();
         log.info("Deleted course id={}", id);
     }
 
-    private boolean canView(User user, Course course) {
+    private boolean canView(User user, CourseResponse course) {
         if (user == null || user.getType() == null || course == null) {
             return false;
         }
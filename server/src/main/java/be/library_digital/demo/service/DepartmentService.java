@@ -6,9 +6,11 @@ import be.library_digital.demo.exception.BadRequestException;
 import be.library_digital.demo.exception.ResourceNotFoundException;
 import be.library_digital.demo.model.Department;
 import be.library_digital.demo.repository.DepartmentRepository;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,9 +21,11 @@ import java.util.stream.Collectors;
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final CatalogCache catalogCache;
     private static final String MESSAGE_NOT_FOUND = "Department not found";
 
 
+    @Transactional
     public DepartmentResponse create(DepartmentRequest request) {
 
         String code = request.getCode().trim();
@@ -42,10 +46,12 @@ public class DepartmentService {
                 .build();
 
         Department saved = departmentRepository.save(dept);
+        catalogCache.invalidate();
         log.info("Created department id={}", saved.getId());
         return DepartmentResponse.fromDepartment(saved);
     }
 
+    @Transactional
     public DepartmentResponse update(Long id, DepartmentRequest request) {
         Department dept = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(MESSAGE_NOT_FOUND));
@@ -66,42 +72,40 @@ public class DepartmentService {
         dept.setDescription(request.getDescription());
 
         Department saved = departmentRepository.save(dept);
+        catalogCache.invalidate();
         log.info("Updated department id={}", saved.getId());
         return DepartmentResponse.fromDepartment(saved);
     }
 
     public DepartmentResponse getById(Long id) {
-        Department dept = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(MESSAGE_NOT_FOUND));
-
-        return DepartmentResponse.fromDepartment(dept);
+        DepartmentResponse dept = catalogCache.snapshot().departments().byId(id);
+        if (dept == null) {
+            throw new ResourceNotFoundException(MESSAGE_NOT_FOUND);
+        }
+        return dept;
     }
 
     public List<DepartmentResponse> getAll(String code, String name) {
-        String codeFilter = code != null ? code.trim() : "";
-        String nameFilter = name != null ? name.trim() : "";
+        String codeFilter = CatalogCache.fold(code);
+        String nameFilter = CatalogCache.fold(name);
 
-        List<Department> departments;
+        List<DepartmentResponse> departments = catalogCache.snapshot().departments().all();
         if (codeFilter.isEmpty() && nameFilter.isEmpty()) {
-            departments = departmentRepository.findAll();
-        } else if (!codeFilter.isEmpty() && nameFilter.isEmpty()) {
-            departments = departmentRepository.findByCodeContainingIgnoreCase(codeFilter);
-        } else if (codeFilter.isEmpty()) { // only name
-            departments = departmentRepository.findByNameContainingIgnoreCase(nameFilter);
-        } else { // both code & name provided -> match both
-            departments = departmentRepository.findByCodeContainingIgnoreCaseAndNameContainingIgnoreCase(codeFilter, nameFilter);
+            return departments;
         }
-
         return departments.stream()
-                .map(DepartmentResponse::fromDepartment)
+                .filter(d -> codeFilter.isEmpty() || CatalogCache.fold(d.getCode()).contains(codeFilter))
+                .filter(d -> nameFilter.isEmpty() || CatalogCache.fold(d.getName()).contains(nameFilter))
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void delete(Long id) {
         Department dept = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(MESSAGE_NOT_FOUND));
 
         departmentRepository.delete(dept);
+        catalogCache.invalidate();
         log.info("Deleted department id={}", id);
     }
 }
@@ -1,139 +1,151 @@
 package be.library_digital.demo.service;
 
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.Graphics2D;
-import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
-import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
-import org.apache.poi.xslf.usermodel.XMLSlideShow;
-import org.apache.poi.xslf.usermodel.XSLFSlide;
-import org.docx4j.Docx4J;
-import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import be.library_digital.demo.service.conversion.ConversionMetrics;
+import be.library_digital.demo.service.conversion.ConversionWorkerPool;
+import be.library_digital.demo.service.conversion.ConvertedFile;
+import be.library_digital.demo.service.conversion.DocumentConverter;
+import be.library_digital.demo.service.conversion.DocumentConverters;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j(topic = "FILE-CONVERSION-SERVICE")
 public class FileConversionService {
 
+    private final ConversionWorkerPool conversionWorkerPool;
+    private final ConversionMetrics conversionMetrics;
+
     @Value("${file.upload-dir:uploads/library-resources}")
     private String uploadDir;
 
     private static final String CACHE_DIR_NAME = "converted_cache";
+    private static final String PARTIAL_SUFFIX = ".part";
     private static final long CACHE_EXPIRY_MINUTES = 60;
 
+    // Concurrent requests for the same file wait on a single conversion
+    private final ConcurrentMap<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
     /**
-     * Get a PDF version of the file.
-     * Use cached version if available and fresh.
-     * Otherwise convert and cache.
+     * Resolve the file to serve inline for {@code originalFile}.
+     * Formats with a registered converter are converted (in an isolated worker process)
+     * and cached; everything else is returned as-is.
      */
-    public Path getConvertedPdf(Path originalFile) throws IOException {
+    public ConvertedFile getViewable(Path originalFile) throws IOException {
         String filename = originalFile.getFileName().toString();
+        String mimeType = DocumentConverters.mimeTypeOf(filename);
+        DocumentConverter converter = DocumentConverters.forMimeType(mimeType);
+
+        if (converter == null) {
+            return new ConvertedFile(originalFile, mimeType != null ? mimeType : probeContentType(originalFile), null);
+        }
+        if (!converter.requiresConversion(originalFile)) {
+            conversionMetrics.passthrough(mimeType);
+            return new ConvertedFile(originalFile, mimeType, null);
+        }
+
         String filenameNoExt = filename.contains(".")
                 ? filename.substring(0, filename.lastIndexOf('.'))
                 : filename;
-        String pdfFilename = filenameNoExt + ".pdf";
+        String cachedFilename = filenameNoExt + "." + converter.targetExtension();
 
         Path cacheDir = Paths.get(uploadDir, CACHE_DIR_NAME).toAbsolutePath().normalize();
         if (!Files.exists(cacheDir)) {
             Files.createDirectories(cacheDir);
         }
 
-        Path cachedPdf = cacheDir.resolve(pdfFilename);
+        Path cachedFile = cacheDir.resolve(cachedFilename);
+        ConvertedFile result = new ConvertedFile(cachedFile, converter.targetMimeType(), converter.targetExtension());
 
         // Check if cache exists and is valid (not empty)
-        if (Files.exists(cachedPdf) && Files.size(cachedPdf) > 0) {
+        if (Files.exists(cachedFile) && Files.size(cachedFile) > 0) {
             // Touch the file to update last modified time so it doesn't get cleaned up soon
-            Files.setLastModifiedTime(cachedPdf, java.nio.file.attribute.FileTime.from(Instant.now()));
-            return cachedPdf;
+            Files.setLastModifiedTime(cachedFile, java.nio.file.attribute.FileTime.from(Instant.now()));
+            conversionMetrics.cacheHit(mimeType);
+            return result;
         }
 
-        log.info("Converting file {} to PDF...", filename);
+        CompletableFuture<Path> conversion = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(cachedFile, conversion);
+        if (existing != null) {
+            awaitConversion(existing);
+            return result;
+        }
+
+        try {
+            convertIntoCache(mimeType, originalFile, cachedFile);
+            conversion.complete(cachedFile);
+            return result;
+        } catch (IOException e) {
+            conversion.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cachedFile, conversion);
+        }
+    }
+
+    private void convertIntoCache(String mimeType, Path originalFile, Path cachedFile) throws IOException {
+        // Write to a partial file first so readers never see a half-written result
+        Path partial = cachedFile.resolveSibling(cachedFile.getFileName() + PARTIAL_SUFFIX);
+        log.info("Converting file {} ({})...", originalFile.getFileName(), mimeType);
+        long start = System.nanoTime();
         try {
-            String lowercaseFilename = filename.toLowerCase();
-            if (lowercaseFilename.endsWith(".docx")) {
-                convertDocxToPdf(originalFile, cachedPdf);
-            } else if (lowercaseFilename.endsWith(".pptx")) {
-                convertPptxToPdf(originalFile, cachedPdf);
-            } else {
-                throw new UnsupportedOperationException("Conversion for this file type is not supported: " + filename);
+            conversionWorkerPool.convert(mimeType, originalFile, partial);
+            if (!Files.exists(partial) || Files.size(partial) == 0) {
+                throw new IOException("Conversion produced an empty file");
             }
-            log.info("Conversion successful: {}", cachedPdf);
-            return cachedPdf;
-        } catch (Exception e) {
-            log.error("Failed to convert file {}", filename, e);
-            // Clean up potentially empty/corrupt file
+            Files.move(partial, cachedFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            conversionMetrics.converted(mimeType, (System.nanoTime() - start) / 1_000_000);
+            log.info("Conversion successful: {}", cachedFile);
+        } catch (IOException e) {
+            conversionMetrics.failed(mimeType);
+            log.error("Failed to convert file {}: {}", originalFile.getFileName(), e.getMessage());
             try {
-                Files.deleteIfExists(cachedPdf);
+                Files.deleteIfExists(partial);
             } catch (IOException deleteEx) {
-                log.warn("Failed to delete corrupt cached file: {}", cachedPdf, deleteEx);
+                log.warn("Failed to delete partial cached file: {}", partial, deleteEx);
             }
-            throw new IOException("Failed to convert file to PDF", e);
+            throw new IOException("Failed to convert file for viewing", e);
         }
     }
 
-    private void convertDocxToPdf(Path source, Path target) throws Exception {
-        try (FileInputStream is = new FileInputStream(source.toFile())) {
-            WordprocessingMLPackage wordMLPackage = WordprocessingMLPackage.load(is);
-            try (FileOutputStream os = new FileOutputStream(target.toFile())) {
-                Docx4J.toPDF(wordMLPackage, os);
-            }
+    private String probeContentType(Path file) {
+        try {
+            return Files.probeContentType(file);
+        } catch (IOException e) {
+            return null;
         }
     }
 
-    private void convertPptxToPdf(Path source, Path target) throws Exception {
-        try (XMLSlideShow ppt = new XMLSlideShow(new FileInputStream(source.toFile()));
-                PDDocument doc = new PDDocument()) {
-
-            Dimension pgsize = ppt.getPageSize();
-            float width = (float) pgsize.getWidth();
-            float height = (float) pgsize.getHeight();
-
-            for (XSLFSlide slide : ppt.getSlides()) {
-                BufferedImage img = new BufferedImage((int) width, (int) height, BufferedImage.TYPE_INT_RGB);
-                Graphics2D graphics = img.createGraphics();
-
-                // Clear background
-                graphics.setPaint(Color.white);
-                graphics.fill(new Rectangle2D.Float(0, 0, width, height));
-
-                // Render slide
-                slide.draw(graphics);
-
-                // Create PDF page
-                PDPage page = new PDPage(new PDRectangle(width, height));
-                doc.addPage(page);
-
-                PDImageXObject pdImage = LosslessFactory.createFromImage(doc, img);
-                try (PDPageContentStream contentStream = new PDPageContentStream(doc, page)) {
-                    contentStream.drawImage(pdImage, 0, 0);
-                }
-
-                graphics.dispose();
+    private Path awaitConversion(CompletableFuture<Path> conversion) throws IOException {
+        try {
+            return conversion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for conversion", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
             }
-
-            doc.save(target.toFile());
+            throw new IOException("Failed to convert file for viewing", e.getCause());
         }
     }
 
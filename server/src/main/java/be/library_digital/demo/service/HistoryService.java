@@ -1,15 +1,25 @@
 package be.library_digital.demo.service;
 
 import be.library_digital.demo.common.HistoryAction;
+import be.library_digital.demo.common.PageCursor;
+import be.library_digital.demo.dto.response.CursorPage;
 import be.library_digital.demo.dto.response.HistoryResponse;
-import be.library_digital.demo.model.History;
+import be.library_digital.demo.dto.response.ResourceResponse;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.repository.HistoryRepository;
+import be.library_digital.demo.repository.ResourceRepository;
+import be.library_digital.demo.repository.projection.HistoryRowProjection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,20 +28,41 @@ import java.util.stream.Collectors;
 public class HistoryService {
 
     private final HistoryRepository historyRepository;
+    private final ResourceRepository resourceRepository;
+    private final ReadModelMapper readModelMapper;
 
-    public List<HistoryResponse> getViewHistory(User currentUser) {
-        return getHistoryByAction(currentUser, HistoryAction.VIEW);
+    @Transactional(readOnly = true)
+    public CursorPage<HistoryResponse> getViewHistory(User currentUser, String cursor, int limit) {
+        return getHistoryByAction(currentUser, HistoryAction.VIEW, cursor, limit);
     }
 
-    public List<HistoryResponse> getDownloadHistory(User currentUser) {
-        return getHistoryByAction(currentUser, HistoryAction.DOWNLOAD);
+    @Transactional(readOnly = true)
+    public CursorPage<HistoryResponse> getDownloadHistory(User currentUser, String cursor, int limit) {
+        return getHistoryByAction(currentUser, HistoryAction.DOWNLOAD, cursor, limit);
     }
 
-    private List<HistoryResponse> getHistoryByAction(User currentUser, HistoryAction action) {
-        List<History> items = historyRepository.findByUser_IdAndActionOrderByCreatedAtDesc(currentUser.getId(), action);
-        log.info("Fetched {} history items for user={} action={}", items.size(), currentUser.getId(), action);
+    private CursorPage<HistoryResponse> getHistoryByAction(User currentUser, HistoryAction action, String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        CursorPage<HistoryRowProjection> page = CursorPage.of(
+                historyRepository.findRowPage(currentUser.getId(), action,
+                        after != null ? after.createdAt() : null, after != null ? after.keyAsLong() : null,
+                        PageRequest.of(0, limit + 1)),
+                limit, row -> PageCursor.encode(row.getCreatedAt(), row.getId()));
+        log.info("Fetched {} history items for user={} action={}", page.getItems().size(), currentUser.getId(), action);
+        return page.map(this::toResponses);
+    }
+
+    private List<HistoryResponse> toResponses(List<HistoryRowProjection> items) {
+        Set<String> resourceIds = items.stream()
+                .map(HistoryRowProjection::getResourceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, ResourceResponse> resources = resourceIds.isEmpty() ? Map.of()
+                : readModelMapper.toResources(resourceRepository.findListRowsByIdIn(resourceIds)).stream()
+                        .collect(Collectors.toMap(ResourceResponse::getId, Function.identity()));
+
         return items.stream()
-                .map(HistoryResponse::fromHistory)
+                .map(item -> HistoryResponse.fromProjection(item, resources.get(item.getResourceId())))
                 .collect(Collectors.toList());
     }
 }
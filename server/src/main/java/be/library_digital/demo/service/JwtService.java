@@ -2,10 +2,12 @@ package be.library_digital.demo.service;
 
 import be.library_digital.demo.common.TokenType;
 import be.library_digital.demo.exception.InvalidDataException;
+import be.library_digital.demo.model.User;
+import be.library_digital.demo.service.revocation.TokenRevocationService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,7 +19,6 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.*;
-import java.util.function.Function;
 
 
 @Service
@@ -25,7 +26,13 @@ import java.util.function.Function;
 @RequiredArgsConstructor
 public class JwtService {
 
-//    private final BlackListTokenRepository blackListTokenRepository;
+    // Scope claims signed into access tokens, read by the stateless filter mode
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_TYPE = "type";
+    public static final String CLAIM_DEPARTMENT_ID = "departmentId";
+    public static final String CLAIM_CLASSROOM_ID = "classroomId";
+
+    private final TokenRevocationService tokenRevocationService;
 
     @Value("${jwt.expiryMinutes}")
     private long EXPIRY_MINUTES;
@@ -39,6 +46,20 @@ public class JwtService {
     @Value("${jwt.refreshKey}")
     private String REFRESH_KEY;
 
+    // Derived once: decoding the secret and building a parser per token showed up on every request.
+    // SecretKey and JwtParser are immutable and thread-safe.
+    private final Map<TokenType, SecretKey> keys = new EnumMap<>(TokenType.class);
+    private final Map<TokenType, JwtParser> parsers = new EnumMap<>(TokenType.class);
+
+    @PostConstruct
+    void init() {
+        for (TokenType type : TokenType.values()) {
+            SecretKey key = getSingingKey(type);
+            keys.put(type, key);
+            parsers.put(type, Jwts.parser().verifyWith(key).build());
+        }
+    }
+
     public String generateAccessToken(String userId, String username, Collection<? extends GrantedAuthority> authorities) {
         log.info("Generate access token for user {} with authorities {}", userId, authorities);
         Map<String, Object> claim = new HashMap<>();
@@ -51,6 +72,28 @@ public class JwtService {
         return generateAccessToken(claim, username);
     }
 
+    /**
+     * Access token that also carries the user's type, department and classroom, so a
+     * principal can be rebuilt from the claims alone.
+     */
+    public String generateAccessToken(User user) {
+        log.info("Generate access token for user {} with authorities {}", user.getId(), user.getAuthorities());
+        Map<String, Object> claim = new HashMap<>();
+        claim.put(CLAIM_USER_ID, user.getId());
+        claim.put("role", user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        if (user.getType() != null) {
+            claim.put(CLAIM_TYPE, user.getType().name());
+        }
+        if (user.getDepartment() != null) {
+            claim.put(CLAIM_DEPARTMENT_ID, user.getDepartment().getId());
+        }
+        if (user.getClassroom() != null) {
+            claim.put(CLAIM_CLASSROOM_ID, user.getClassroom().getId());
+        }
+
+        return generateAccessToken(claim, user.getEmail());
+    }
+
     public String generateRefreshToken(String userId, String username, Collection<? extends GrantedAuthority> authorities) {
         log.info("Generate refresh token for user {} with authorities {}", userId, authorities);
 
@@ -62,66 +105,71 @@ public class JwtService {
         return generateRefreshToken(claim, username);
     }
 
-    public String extractUsername(String token, TokenType type) {
-        return extractClaim(token, type, Claims::getSubject);
-    }
+    /**
+     * Verify and parse a token once; pass the result to the {@code Claims} overloads below
+     * instead of re-parsing the same token for every claim.
+     */
+    public Claims parse(String token, TokenType type) {
+        Claims claims;
+        try {
+            claims = parsers.get(type)
+                    .parseSignedClaims(token)
+                    .getPayload();
 
-    public List<String> extractRole(String token, TokenType type){
-        return extractClaim(token, type, claims -> {
-            Object roles = claims.get("role");
-            if (roles instanceof List<?>) {
-                return ((List<?>) roles).stream()
-                        .filter(String.class::isInstance)
-                        .map(String.class::cast)
-                        .toList();
-            }
-            return Collections.emptyList();
-        });
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Invalid {}: {}", type, e.getMessage());
+            throw new AccessDeniedException("Access denied!, error: "+ e.getMessage());
+        }
+
+        if (tokenRevocationService.isRevoked(claims.getId())) {
+            log.error("Token with id {} is blacklisted", claims.getId());
+            throw new AccessDeniedException(
+                    String.format("Access denied! %s is blacklisted", type.toString())
+            );
+        }
+        return claims;
     }
 
-    public boolean isTokenValid(String token, TokenType type, UserDetails userDetails) {
-        final String username = extractUsername(token, type);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token, type);
+    public String extractUsername(String token, TokenType type) {
+        return extractUsername(parse(token, type));
     }
 
-    public Date extractExpiration(String token, TokenType type) {
-        return extractClaim(token, type, Claims::getExpiration);
+    public String extractUsername(Claims claims) {
+        return claims.getSubject();
     }
 
-    public String extractTokenId(String token, TokenType type){
-        return extractClaim(token, type, Claims::getId);
+    public List<String> extractRole(String token, TokenType type){
+        return extractRole(parse(token, type));
     }
 
-    private boolean isTokenExpired(String token, TokenType type){
-        return extractExpiration(token, type).before(new Date());
+    public List<String> extractRole(Claims claims) {
+        Object roles = claims.get("role");
+        if (roles instanceof List<?>) {
+            return ((List<?>) roles).stream()
+                    .filter(String.class::isInstance)
+                    .map(String.class::cast)
+                    .toList();
+        }
+        return Collections.emptyList();
     }
 
-    private <T> T extractClaim(String token, TokenType type, Function<Claims, T> claimsResolvers){
-        final Claims claims = extractAllClaims(token, type);
-        String tokenId = claims.getId();
-//        if(blackListTokenRepository.existsById(tokenId)){
-//            log.error("Token with id {} is blacklisted", tokenId);
-//            throw new AccessDeniedException(
-//                    String.format("Access denied! %s is blacklisted", type.toString())
-//            );
-//        }
+    public boolean isTokenValid(String token, TokenType type, UserDetails userDetails) {
+        return isTokenValid(parse(token, type), userDetails);
+    }
 
-        return claimsResolvers.apply(claims);
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        // the parser already rejects expired tokens; keep the explicit check for claims built elsewhere
+        return claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
     }
 
-    private Claims extractAllClaims(String token, TokenType type){
-        try {
-            log.info("Extract claims from token {} with type {}", token, type);
-            return Jwts.parser()
-                    .verifyWith(getSingingKey(type))
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+    public Date extractExpiration(String token, TokenType type) {
+        return parse(token, type).getExpiration();
+    }
 
-        } catch (SignatureException | ExpiredJwtException e) {
-            log.error("Invalid JWT Token: {}", token);
-            throw new AccessDeniedException("Access denied!, error: "+ e.getMessage());
-        }
+    public String extractTokenId(String token, TokenType type){
+        return parse(token, type).getId();
     }
 
     private String generateAccessToken(Map<String, Object> claims, String username) {
@@ -133,7 +181,7 @@ public class JwtService {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * EXPIRY_MINUTES))
-                .signWith(getSingingKey(TokenType.ACCESS_TOKEN), SignatureAlgorithm.HS256)
+                .signWith(keys.get(TokenType.ACCESS_TOKEN), Jwts.SIG.HS256)
                 .compact();
     }
 
@@ -146,7 +194,7 @@ public class JwtService {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24 * EXPIRY_DAY))
-                .signWith(getSingingKey(TokenType.REFRESH_TOKEN), SignatureAlgorithm.HS256)
+                .signWith(keys.get(TokenType.REFRESH_TOKEN), Jwts.SIG.HS256)
                 .compact();
     }
 
@@ -167,6 +215,4 @@ public class JwtService {
     private SecretKey getSingingKey(TokenType type) {
         return Keys.hmacShaKeyFor(Decoders.BASE64.decode(getSecretKey(type)));
     }
-
-
 }
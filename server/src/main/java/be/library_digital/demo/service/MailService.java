@@ -62,6 +62,25 @@ public class MailService {
         }
     }
 
+    @Async
+    public void sendInitialPassword(String to, String name, String password) {
+        try {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, StandardCharsets.UTF_8.name());
+
+            helper.setTo(to);
+            helper.setFrom(from);
+            helper.setSubject("Your Library Digital account");
+            helper.setText(buildInitialPasswordHtml(name, to, password), true);
+
+            mailSender.send(mimeMessage);
+            log.info("Sent initial password email to {}", to);
+        } catch (MessagingException | IOException e) {
+            log.error("Failed to send initial password email to {}: {}", to, e.getMessage());
+            throw new RuntimeException("Cannot send initial password email", e);
+        }
+    }
+
     private String buildOtpHtml(String name, String otp, long expiryMinutes) throws IOException {
         String template = new String(new ClassPathResource("templates/otp-email.html").getInputStream().readAllBytes(), StandardCharsets.UTF_8);
         String safeName = name != null && !name.isBlank() ? name : "there";
@@ -81,4 +100,14 @@ public class MailService {
                 .replace("{{resetLink}}", resetLink)
                 .replace("{{expiryMinutes}}", String.valueOf(expiryMinutes));
     }
+
+    private String buildInitialPasswordHtml(String name, String email, String password) throws IOException {
+        String template = new String(new ClassPathResource("templates/initial-password-email.html").getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        String safeName = name != null && !name.isBlank() ? name : "there";
+
+        return template
+                .replace("{{name}}", safeName)
+                .replace("{{email}}", email)
+                .replace("{{password}}", password);
+    }
 }
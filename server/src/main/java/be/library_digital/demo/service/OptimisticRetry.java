@@ -0,0 +1,63 @@
+package be.library_digital.demo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and runs it again when it loses an optimistic
+ * lock race. Every attempt is a new transaction, so it re-reads the row the winner committed
+ * (a retry inside the same REPEATABLE READ transaction would keep seeing the old version).
+ * Callers must not already be in a transaction.
+ *
+ * After {@code max-attempts} the {@link ObjectOptimisticLockingFailureException} is rethrown
+ * and answered with 409 Conflict.
+ */
+@Component
+@Slf4j(topic = "OPTIMISTIC-RETRY")
+public class OptimisticRetry {
+
+    private final TransactionTemplate transaction;
+    private final int maxAttempts;
+    private final long maxBackoffMillis;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           @Value("${optimistic-lock.max-attempts:3}") int maxAttempts,
+                           @Value("${optimistic-lock.max-backoff-millis:50}") long maxBackoffMillis) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> work.get());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} still conflicting after {} attempts: {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                log.debug("{} lost an optimistic lock race (attempt {}), retrying", operation, attempt);
+                backoff();
+            }
+        }
+    }
+
+    private void backoff() {
+        if (maxBackoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxBackoffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package be.library_digital.demo.service;
+
+import be.library_digital.demo.common.Gender;
+import be.library_digital.demo.common.UserStatus;
+import be.library_digital.demo.common.UserType;
+import be.library_digital.demo.model.Classroom;
+import be.library_digital.demo.model.Department;
+import be.library_digital.demo.model.Role;
+import be.library_digital.demo.model.User;
+import be.library_digital.demo.model.UserHasRole;
+import be.library_digital.demo.repository.projection.UserAuthorizationProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals so the request filter does not
+ * hit the database (user + roles + department + classroom) on every request.
+ *
+ * Entries are immutable snapshots; each lookup materializes a fresh detached {@link User},
+ * so request code can never mutate the cached copy. The password hash is not cached:
+ * code that needs it must reload the user.
+ *
+ * Writers that change anything authorization depends on (status, type, roles, department,
+ * password, must-change flag) call {@link #invalidate(String)}; the TTL only bounds how long
+ * changes made outside this application can go unnoticed.
+ *
+ * In stateless mode (see CustomizeRequestFilter) only the small {@link AuthorizationState}
+ * per user is kept, with its own shorter TTL.
+ */
+@Component
+@Slf4j(topic = "PRINCIPAL-CACHE")
+public class PrincipalCache {
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.stateless.recheck-seconds:60}")
+    private long stateTtlSeconds;
+
+    // Access-ordered so the least recently used principal is evicted first
+    private final LinkedHashMap<String, Entry> byEmail = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxSize) {
+                emailById.remove(eldest.getValue().snapshot().id());
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<String, String> emailById = new HashMap<>();
+
+    // Stateless mode: last known status/scope per user id, checked against token claims
+    private final ConcurrentMap<String, StateEntry> states = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation; a load that started before it must not be cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Entry(PrincipalSnapshot snapshot, long expiresAt) {
+    }
+
+    private record StateEntry(AuthorizationState state, long expiresAt) {
+    }
+
+    /**
+     * What a claims-only principal is checked against: a token whose type, department or
+     * classroom no longer match, or whose user is not active, is refused.
+     */
+    public record AuthorizationState(UserStatus status, UserType type, Long departmentId, String classroomId,
+                                     boolean mustChangePassword) {
+
+        public static AuthorizationState of(UserAuthorizationProjection p) {
+            return new AuthorizationState(p.getStatus(), p.getType(), p.getDepartmentId(), p.getClassroomId(),
+                    Boolean.TRUE.equals(p.getMustChangePassword()));
+        }
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Fresh copy of the cached principal, or null when absent or expired.
+     */
+    public User get(String email) {
+        if (email == null || ttlSeconds <= 0) {
+            return null;
+        }
+        String key = email.toLowerCase();
+        synchronized (this) {
+            Entry entry = byEmail.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.nanoTime()) {
+                byEmail.remove(key);
+                emailById.remove(entry.snapshot().id());
+                return null;
+            }
+            return entry.snapshot().toUser();
+        }
+    }
+
+    /**
+     * Cache a principal loaded from the database, unless an invalidation happened since
+     * {@code loadedAt} (the {@link #generation()} read before loading).
+     */
+    public void put(User user, long loadedAt) {
+        if (user == null || user.getId() == null || user.getEmail() == null || ttlSeconds <= 0) {
+            return;
+        }
+        PrincipalSnapshot snapshot = PrincipalSnapshot.of(user);
+        long expiresAt = System.nanoTime() + ttlSeconds * 1_000_000_000L;
+        synchronized (this) {
+            if (generation.get() != loadedAt) {
+                return;
+            }
+            String key = user.getEmail().toLowerCase();
+            String previousEmail = emailById.put(user.getId(), key);
+            if (previousEmail != null && !previousEmail.equals(key)) {
+                byEmail.remove(previousEmail);
+            }
+            byEmail.put(key, new Entry(snapshot, expiresAt));
+        }
+    }
+
+    public AuthorizationState getState(String userId) {
+        StateEntry entry = states.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.nanoTime()) {
+            states.remove(userId, entry);
+            return null;
+        }
+        return entry.state();
+    }
+
+    public void putState(String userId, AuthorizationState state, long loadedAt) {
+        if (userId == null || state == null || stateTtlSeconds <= 0) {
+            return;
+        }
+        if (states.size() >= maxSize) {
+            // entries are cheap to reload; dropping them all keeps the map bounded without LRU bookkeeping
+            states.clear();
+        }
+        synchronized (this) {
+            if (generation.get() != loadedAt) {
+                return;
+            }
+            states.put(userId, new StateEntry(state, System.nanoTime() + stateTtlSeconds * 1_000_000_000L));
+        }
+    }
+
+    /**
+     * Inside a transaction the entry is dropped once it commits, as in CatalogCache: dropped
+     * earlier, a request in between would cache the row from before the change.
+     */
+    public void invalidate(String userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+            return;
+        }
+        evict(userId);
+    }
+
+    private void evict(String userId) {
+        synchronized (this) {
+            generation.incrementAndGet();
+            String email = emailById.remove(userId);
+            if (email != null) {
+                byEmail.remove(email);
+            }
+            states.remove(userId);
+        }
+        log.debug("Invalidated cached principal {}", userId);
+    }
+
+    public void invalidateAll() {
+        synchronized (this) {
+            generation.incrementAndGet();
+            byEmail.clear();
+            emailById.clear();
+            states.clear();
+        }
+    }
+
+    /**
+     * The fields of a user that authentication and authorization read.
+     */
+    record PrincipalSnapshot(String id, String email, String fullName, Gender gender, String userIdentifier,
+                             LocalDate dateOfBirth, String phone, String address, String avatarUrl,
+                             UserType type, UserStatus status, Boolean mustChangePassword,
+                             LocalDateTime createdAt, LocalDateTime updatedAt,
+                             DepartmentSnapshot department, ClassroomSnapshot classroom, List<String> roles) {
+
+        static PrincipalSnapshot of(User user) {
+            List<String> roles = user.getRoles() == null ? List.of() : user.getRoles().stream()
+                    .map(UserHasRole::getRole)
+                    .filter(Objects::nonNull)
+                    .map(Role::getName)
+                    .toList();
+            return new PrincipalSnapshot(user.getId(), user.getEmail(), user.getFullName(), user.getGender(),
+                    user.getUserIdentifier(), user.getDateOfBirth(), user.getPhone(), user.getAddress(),
+                    user.getAvatarUrl(), user.getType(), user.getStatus(), user.getMustChangePassword(),
+                    user.getCreatedAt(), user.getUpdatedAt(),
+                    DepartmentSnapshot.of(user.getDepartment()), ClassroomSnapshot.of(user.getClassroom()), roles);
+        }
+
+        User toUser() {
+            Set<UserHasRole> userRoles = new HashSet<>();
+            for (String role : roles) {
+                userRoles.add(UserHasRole.builder().role(Role.builder().name(role).build()).build());
+            }
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .fullName(fullName)
+                    .gender(gender)
+                    .userIdentifier(userIdentifier)
+                    .dateOfBirth(dateOfBirth)
+                    .phone(phone)
+                    .address(address)
+                    .avatarUrl(avatarUrl)
+                    .type(type)
+                    .status(status)
+                    .mustChangePassword(mustChangePassword)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .department(department != null ? department.toDepartment() : null)
+                    .classroom(classroom != null ? classroom.toClassroom() : null)
+                    .roles(userRoles)
+                    .build();
+        }
+    }
+
+    record DepartmentSnapshot(Long id, String code, String name, String description,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static DepartmentSnapshot of(Department department) {
+            if (department == null) {
+                return null;
+            }
+            return new DepartmentSnapshot(department.getId(), department.getCode(), department.getName(),
+                    department.getDescription(), department.getCreatedAt(), department.getUpdatedAt());
+        }
+
+        Department toDepartment() {
+            return Department.builder()
+                    .id(id)
+                    .code(code)
+                    .name(name)
+                    .description(description)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+
+    record ClassroomSnapshot(String id, String code, String name, String description,
+                             LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static ClassroomSnapshot of(Classroom classroom) {
+            if (classroom == null) {
+                return null;
+            }
+            return new ClassroomSnapshot(classroom.getId(), classroom.getCode(), classroom.getName(),
+                    classroom.getDescription(), classroom.getCreatedAt(), classroom.getUpdatedAt());
+        }
+
+        Classroom toClassroom() {
+            return Classroom.builder()
+                    .id(id)
+                    .code(code)
+                    .name(name)
+                    .description(description)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import be.library_digital.demo.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +23,7 @@ public class RatingService {
     private final RatingRepository ratingRepository;
     private final ResourceRepository resourceRepository;
 
+    @Transactional
     public RatingResponse create(RatingCreateRequest request, User currentUser) {
         Resource resource = resourceRepository.findById(request.getResourceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
@@ -40,6 +42,7 @@ public class RatingService {
         return RatingResponse.fromRating(saved);
     }
 
+    @Transactional
     public RatingResponse update(Long id, RatingCreateRequest request, User currentUser) {
         Rating rating = ratingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Rating not found"));
@@ -52,6 +55,7 @@ public class RatingService {
         return RatingResponse.fromRating(saved);
     }
 
+    @Transactional
     public void delete(Long id, User currentUser) {
         Rating rating = ratingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Rating not found"));
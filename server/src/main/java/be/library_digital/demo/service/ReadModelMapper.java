@@ -0,0 +1,79 @@
+package be.library_digital.demo.service;
+
+import be.library_digital.demo.dto.response.ClassroomResponse;
+import be.library_digital.demo.dto.response.PublicUser;
+import be.library_digital.demo.dto.response.ResourceResponse;
+import be.library_digital.demo.repository.UserRepository;
+import be.library_digital.demo.repository.projection.PublicUserProjection;
+import be.library_digital.demo.repository.projection.ResourceListProjection;
+import be.library_digital.demo.service.catalog.CatalogCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds list responses from projection rows. Departments, classrooms and resource types
+ * come from the catalog snapshot by id; the uploaders of a list of resources are read
+ * with a single query. Nothing here touches managed entities.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadModelMapper {
+
+    private final UserRepository userRepository;
+    private final CatalogCache catalogCache;
+
+    public List<PublicUser> toPublicUsers(List<PublicUserProjection> users) {
+        CatalogCache.Snapshot catalog = catalogCache.snapshot();
+        List<PublicUser> result = new ArrayList<>(users.size());
+        for (PublicUserProjection user : users) {
+            result.add(toPublicUser(user, catalog));
+        }
+        return result;
+    }
+
+    /**
+     * Responses in the order of {@code resources}, without stats.
+     */
+    public List<ResourceResponse> toResources(List<ResourceListProjection> resources) {
+        if (resources.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CatalogCache.Snapshot catalog = catalogCache.snapshot();
+
+        Set<String> uploaderIds = new HashSet<>();
+        for (ResourceListProjection resource : resources) {
+            if (resource.getUploaderId() != null) {
+                uploaderIds.add(resource.getUploaderId());
+            }
+        }
+        Map<String, PublicUser> uploaders = new HashMap<>();
+        if (!uploaderIds.isEmpty()) {
+            for (PublicUserProjection uploader : userRepository.findPublicByIdIn(uploaderIds)) {
+                uploaders.put(uploader.getId(), toPublicUser(uploader, catalog));
+            }
+        }
+
+        List<ResourceResponse> result = new ArrayList<>(resources.size());
+        for (ResourceListProjection resource : resources) {
+            ClassroomResponse classroom = catalog.classrooms().byId(resource.getClassroomId());
+            result.add(ResourceResponse.fromProjection(resource,
+                    catalog.resourceTypes().byId(resource.getTypeId()),
+                    uploaders.get(resource.getUploaderId()),
+                    classroom != null ? classroom.getName() : null));
+        }
+        return result;
+    }
+
+    private PublicUser toPublicUser(PublicUserProjection user, CatalogCache.Snapshot catalog) {
+        return PublicUser.fromProjection(user,
+                catalog.departments().byId(user.getDepartmentId()),
+                catalog.classrooms().byId(user.getClassroomId()));
+    }
+}
@@ -0,0 +1,36 @@
+package be.library_digital.demo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+/**
+ * Removes uploaded files of deleted resources off the request thread. Called after the
+ * deleting transaction commits, so a rollback never leaves rows without their files.
+ */
+@Component
+@Slf4j(topic = "RESOURCE-FILE-CLEANER")
+public class ResourceFileCleaner {
+
+    @Async
+    public void deleteFiles(Collection<String> fileUrls) {
+        int deleted = 0;
+        for (String fileUrl : fileUrls) {
+            Path filePath = Paths.get(fileUrl).toAbsolutePath().normalize();
+            try {
+                if (Files.deleteIfExists(filePath)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete file {}: {}", filePath, e.getMessage());
+            }
+        }
+        log.info("Deleted {} of {} resource files", deleted, fileUrls.size());
+    }
+}
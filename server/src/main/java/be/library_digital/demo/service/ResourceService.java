@@ -3,13 +3,19 @@ package be.library_digital.demo.service;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.stream.Collectors;
 import java.util.Set;
+import java.util.Objects;
 import java.util.Optional;
 
 import be.library_digital.demo.common.ApprovalStatus;
+import be.library_digital.demo.common.PageCursor;
 import be.library_digital.demo.dto.request.ResourceUploadRequest;
+import be.library_digital.demo.dto.response.BulkResultResponse;
+import be.library_digital.demo.dto.response.CursorPage;
 import be.library_digital.demo.dto.response.ResourceResponse;
 import be.library_digital.demo.exception.BadRequestException;
 import be.library_digital.demo.exception.ResourceNotFoundException;
@@ -29,8 +35,10 @@ import be.library_digital.demo.repository.ResourceTypeRepository;
 import be.library_digital.demo.repository.ResourceTypeRepository;
 import be.library_digital.demo.repository.SpecializationRepository;
 import be.library_digital.demo.repository.TrainingProgramRepository;
-import be.library_digital.demo.model.Comment;
-import be.library_digital.demo.model.Rating;
+import be.library_digital.demo.repository.projection.ResourceListProjection;
+import be.library_digital.demo.repository.projection.RatingSummaryProjection;
+import be.library_digital.demo.repository.projection.ResourceCountProjection;
+import be.library_digital.demo.repository.projection.ResourceOwnerProjection;
 import be.library_digital.demo.model.History;
 import be.library_digital.demo.dto.response.CommentResponse;
 import be.library_digital.demo.dto.response.ResourceStats;
@@ -38,8 +46,14 @@ import be.library_digital.demo.dto.response.BreadcrumbItem;
 import be.library_digital.demo.dto.response.FolderNodeResponse;
 import be.library_digital.demo.dto.response.ResourceFolderResponse;
 import be.library_digital.demo.common.HistoryAction;
+import be.library_digital.demo.service.search.FullTextIndex;
+import be.library_digital.demo.service.search.SearchHit;
+import be.library_digital.demo.service.search.TextIndexService;
+import be.library_digital.demo.service.similarity.SimilarityService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -50,6 +64,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -68,6 +84,14 @@ public class ResourceService {
     private final SpecializationRepository specializationRepository;
     private final be.library_digital.demo.repository.ClassroomRepository classroomRepository;
     private final TrainingProgramRepository trainingProgramRepository;
+    private final FullTextIndex fullTextIndex;
+    private final TextIndexService textIndexService;
+    private final SimilarityService similarityService;
+    private final ReadModelMapper readModelMapper;
+    private final ResourceFileCleaner resourceFileCleaner;
+    private final OptimisticRetry optimisticRetry;
+
+    private static final int FULL_TEXT_HIT_LIMIT = 500;
 
     @Value("${file.upload-dir:uploads/library-resources}")
     private String uploadDir;
@@ -128,55 +152,90 @@ public class ResourceService {
         saved.setSizeBytes(file.getSize());
         Resource savedWithFile = resourceRepository.save(saved);
         log.info("Uploaded resource id={}, file={}", savedWithFile.getId(), target);
-        return ResourceResponse.fromResource(savedWithFile);
+        textIndexService.indexAsync(savedWithFile.getId(), savedWithFile.getFileUrl());
+        // no transaction spans the file copy, so the merged copy's associations are not loaded:
+        // read the row back with the detail fetch plan
+        return ResourceResponse.fromResource(resourceRepository.findDetailById(savedWithFile.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found")));
     }
 
+    @Transactional(readOnly = true)
     public ResourceResponse getById(String id) {
-        Resource resource = resourceRepository.findById(id)
+        Resource resource = resourceRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
 
         return toResourceResponseWithStats(resource);
     }
 
-    public List<ResourceResponse> getAll(User currentUser, String typeId, String keyword) {
+    @Transactional(readOnly = true)
+    public CursorPage<ResourceResponse> getAll(User currentUser, String typeId, String keyword, String cursor, int limit) {
         UserType userType = currentUser != null ? currentUser.getType() : null;
-        List<Resource> resources;
+        Long deptId = null;
+        String uploaderId = null;
+        ApprovalStatus status = null;
 
         if (UserType.ADMIN.equals(userType)) {
-            resources = resourceRepository.findAll();
+            // everything
         } else if (UserType.SUB_ADMIN.equals(userType)) {
             if (currentUser.getDepartment() == null) {
                 throw new ForbiddenException("SUB_ADMIN user must belong to a department");
             }
-            resources = resourceRepository.findByUploadedBy_Department_Id(currentUser.getDepartment().getId());
+            deptId = currentUser.getDepartment().getId();
         } else if (UserType.LECTURER.equals(userType)) {
-            resources = resourceRepository.findByUploadedBy_Id(currentUser.getId());
+            uploaderId = currentUser.getId();
         } else {
-            resources = resourceRepository.findByApprovalStatus(ApprovalStatus.APPROVED);
+            status = ApprovalStatus.APPROVED;
         }
 
         String normalizedKeyword = keyword != null ? keyword.trim().toLowerCase() : null;
-
-        return resources.stream()
-                .filter(r -> {
-                    if (typeId == null || typeId.isBlank())
-                        return true;
-                    return r.getType() != null && typeId.equals(r.getType().getId());
-                })
-                .filter(r -> matchesKeyword(r, normalizedKeyword))
-                .map(this::toResourceResponseWithStats)
-                .collect(Collectors.toList());
+        if (normalizedKeyword != null && normalizedKeyword.isEmpty()) {
+            normalizedKeyword = null;
+        }
+        Map<String, SearchHit> bodyHits = normalizedKeyword == null
+                ? Map.of()
+                : fullTextIndex.search(normalizedKeyword, FULL_TEXT_HIT_LIMIT).stream()
+                        .collect(Collectors.toMap(SearchHit::resourceId, h -> h));
+
+        CursorPage<ResourceListProjection> page = findListPage(deptId, uploaderId, status,
+                typeId == null || typeId.isBlank() ? null : typeId, normalizedKeyword, bodyHits.keySet(), cursor, limit);
+
+        CursorPage<ResourceResponse> responses = page.map(this::toResponsesWithStats);
+        for (ResourceResponse response : responses.getItems()) {
+            SearchHit hit = bodyHits.get(response.getId());
+            if (hit != null) {
+                response.setSnippet(fullTextIndex.snippet(hit));
+            }
+        }
+        return responses;
     }
 
-    public List<ResourceResponse> getMyUploads(User currentUser) {
+    @Transactional(readOnly = true)
+    public CursorPage<ResourceResponse> getMyUploads(User currentUser, String cursor, int limit) {
         if (currentUser == null) {
             throw new ForbiddenException("You must be logged in to view your uploads");
         }
-        return resourceRepository.findByUploadedBy_Id(currentUser.getId()).stream()
-                .map(this::toResourceResponseWithStats)
-                .collect(Collectors.toList());
+        return findListPage(null, currentUser.getId(), null, null, null, Set.of(), cursor, limit)
+                .map(this::toResponsesWithStats);
     }
 
+    private CursorPage<ResourceListProjection> findListPage(Long deptId, String uploaderId, ApprovalStatus status,
+                                                            String typeId, String keyword, Set<String> bodyHitIds,
+                                                            String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<ResourceListProjection> rows = resourceRepository.findListPage(deptId, uploaderId, status, typeId,
+                keyword != null ? "%" + escapeLike(keyword) + "%" : null,
+                // "in ()" is not valid SQL; no resource has an empty id
+                bodyHitIds.isEmpty() ? Set.of("") : bodyHitIds,
+                after != null ? after.createdAt() : null, after != null ? after.key() : null,
+                PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, r -> PageCursor.encode(r.getCreatedAt(), r.getId()));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Transactional(readOnly = true)
     public ResourceFolderResponse searchFoldersForLecturer(User currentUser,
             String courseKeyword,
             List<String> programCodes,
@@ -201,7 +260,7 @@ public class ResourceService {
         var typeSet = normalizeSet(typeIds);
         Long deptId = currentUser.getDepartment().getId();
 
-        Map<String, FolderNodeResponse> courseMap = resourceRepository.findAll().stream()
+        Map<String, FolderNodeResponse> courseMap = resourceRepository.findAllForBrowse().stream()
                 .filter(r -> {
                     // must be same department as lecturer (by uploader)
                     return r.getUploadedBy() != null &&
@@ -270,6 +329,7 @@ public class ResourceService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<ResourceResponse> searchForLecturer(User currentUser,
             String courseKeyword,
             List<String> programCodes,
@@ -294,7 +354,7 @@ public class ResourceService {
         var typeSet = normalizeSet(typeIds);
         Long deptId = currentUser.getDepartment().getId();
 
-        return resourceRepository.findAll().stream()
+        return resourceRepository.findAllForBrowse().stream()
                 .filter(r -> {
                     // must be same department as lecturer (by uploader)
                     return r.getUploadedBy() != null &&
@@ -343,10 +403,10 @@ public class ResourceService {
                         (r.getType() != null && r.getType().getId() != null &&
                                 typeSet.contains(r.getType().getId().toLowerCase())))
                 .filter(r -> ApprovalStatus.APPROVED.equals(r.getApprovalStatus()))
-                .map(this::toResourceResponseWithStats)
-                .collect(Collectors.toList());
+                .collect(Collectors.collectingAndThen(Collectors.toList(), this::toResourceResponsesWithStats));
     }
 
+    @Transactional(readOnly = true)
     public ResourceFolderResponse browseFoldersForStudent(User currentUser, String courseTitle) {
         if (currentUser == null || !UserType.STUDENT.equals(currentUser.getType())) {
             throw new ForbiddenException("Only STUDENT can access this");
@@ -359,7 +419,7 @@ public class ResourceService {
         // If courseTitle provided -> Return RESOURCES
         if (courseTitle != null) {
             String titleLower = courseTitle.trim().toLowerCase();
-            List<ResourceResponse> resources = resourceRepository.findAll().stream()
+            List<ResourceResponse> resources = resourceRepository.findAllForBrowse().stream()
                     .filter(r -> ApprovalStatus.APPROVED.equals(r.getApprovalStatus()))
                     .filter(r -> {
                         be.library_digital.demo.model.Classroom cls = getClassroomForResource(r);
@@ -367,8 +427,7 @@ public class ResourceService {
                     })
                     .filter(r -> r.getCourse() != null && r.getCourse().getTitle() != null &&
                             r.getCourse().getTitle().toLowerCase().equals(titleLower))
-                    .map(this::toResourceResponseWithStats)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.collectingAndThen(Collectors.toList(), this::toResourceResponsesWithStats));
 
             return ResourceFolderResponse.builder()
                     .level("RESOURCE")
@@ -379,7 +438,7 @@ public class ResourceService {
         }
 
         // If no courseTitle -> Return COURSES (folders) available for this classroom
-        Map<String, FolderNodeResponse> courseMap = resourceRepository.findAll().stream()
+        Map<String, FolderNodeResponse> courseMap = resourceRepository.findAllForBrowse().stream()
                 .filter(r -> ApprovalStatus.APPROVED.equals(r.getApprovalStatus()))
                 .filter(r -> {
                     be.library_digital.demo.model.Classroom cls = getClassroomForResource(r);
@@ -404,6 +463,7 @@ public class ResourceService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public ResourceFolderResponse searchFoldersForStudent(User currentUser, String courseKeyword) {
         if (currentUser == null || !UserType.STUDENT.equals(currentUser.getType())) {
             throw new ForbiddenException("Only STUDENT can access this");
@@ -414,7 +474,7 @@ public class ResourceService {
         String classroomId = currentUser.getClassroom().getId();
         String keyword = courseKeyword != null ? courseKeyword.trim().toLowerCase() : null;
 
-        Map<String, FolderNodeResponse> courseMap = resourceRepository.findAll().stream()
+        Map<String, FolderNodeResponse> courseMap = resourceRepository.findAllForBrowse().stream()
                 .filter(r -> ApprovalStatus.APPROVED.equals(r.getApprovalStatus()))
                 .filter(r -> {
                     be.library_digital.demo.model.Classroom cls = getClassroomForResource(r);
@@ -445,6 +505,7 @@ public class ResourceService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public ResourceFolderResponse browseFoldersForLecturer(User currentUser,
             String programCode,
             String specializationCode,
@@ -467,7 +528,7 @@ public class ResourceService {
         // Level 6: resources for classroom + lecturer + courseTitle
         if (classroomId != null && lecturerId != null && courseTitle != null) {
             String titleLower = courseTitle.trim().toLowerCase();
-            List<ResourceResponse> resources = resourceRepository.findAll().stream()
+            List<ResourceResponse> resources = resourceRepository.findAllForBrowse().stream()
                     .filter(r -> ApprovalStatus.APPROVED.equals(r.getApprovalStatus()))
                     .filter(r -> r.getClassroom() != null &&
                             classroomId.equals(r.getClassroom().getId()))
@@ -476,8 +537,7 @@ public class ResourceService {
                     .filter(r -> r.getUploadedBy() != null && lecturerId.equals(r.getUploadedBy().getId()))
                     .filter(r -> r.getUploadedBy().getDepartment() != null &&
                             deptId.equals(r.getUploadedBy().getDepartment().getId()))
-                    .map(this::toResourceResponseWithStats)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.collectingAndThen(Collectors.toList(), this::toResourceResponsesWithStats));
             return ResourceFolderResponse.builder()
                     .level("RESOURCE")
                     .resources(resources)
@@ -491,7 +551,7 @@ public class ResourceService {
         // Level 5: classrooms where lecturer taught courses with this title
         if (lecturerId != null && courseTitle != null) {
             String titleLower = courseTitle.trim().toLowerCase();
-            List<FolderNodeResponse> nodes = resourceRepository.findAll().stream()
+            List<FolderNodeResponse> nodes = resourceRepository.findAllForBrowse().stream()
                     .filter(r -> ApprovalStatus.APPROVED.equals(r.getApprovalStatus()))
                     .filter(r -> r.getClassroom() != null)
                     .filter(r -> r.getCourse() != null && r.getCourse().getTitle() != null &&
@@ -522,7 +582,7 @@ public class ResourceService {
         // level 4: lecturers who taught (uploaded) courses with this title
         if (courseTitle != null) {
             String titleLower = courseTitle.trim().toLowerCase();
-            List<FolderNodeResponse> lecturers = resourceRepository.findAll().stream()
+            List<FolderNodeResponse> lecturers = resourceRepository.findAllForBrowse().stream()
                     .filter(r -> ApprovalStatus.APPROVED.equals(r.getApprovalStatus()))
                     .filter(r -> r.getCourse() != null && r.getCourse().getTitle() != null &&
                             r.getCourse().getTitle().toLowerCase().equals(titleLower))
@@ -575,7 +635,7 @@ public class ResourceService {
                             (a, b) -> a));
 
             // Also collect from Resources (robust fallback)
-            resourceRepository.findAll().stream()
+            resourceRepository.findAllForBrowse().stream()
                     .filter(r -> r.getUploadedBy() != null &&
                             r.getUploadedBy().getDepartment() != null &&
                             deptId.equals(r.getUploadedBy().getDepartment().getId()))
@@ -651,33 +711,132 @@ public class ResourceService {
                 .build();
     }
 
+    /**
+     * Writes only the status column, conditioned on the version just read; a concurrent
+     * change makes the attempt start over (re-read, re-authorize) in a new transaction.
+     */
     public ResourceResponse updateApprovalStatus(String resourceId, ApprovalStatus status, User currentUser) {
-        Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+        return optimisticRetry.execute("Approval status of resource " + resourceId, () -> {
+            Resource resource = resourceRepository.findDetailById(resourceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
 
-        enforceAdminOrSubAdminOnSameDepartment(resource, currentUser);
+            enforceAdminOrSubAdminOnSameDepartment(resource, currentUser);
 
-        resource.setApprovalStatus(status);
-        Resource saved = resourceRepository.save(resource);
-        log.info("Updated approval status for resource id={} to {}", resourceId, status);
-        return ResourceResponse.fromResource(saved);
+            if (resourceRepository.updateApprovalStatus(resourceId, status, resource.getVersion()) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Resource.class, resourceId);
+            }
+            log.info("Updated approval status for resource id={} to {}", resourceId, status);
+            // the update cleared the persistence context: read the row back as written
+            return ResourceResponse.fromResource(resourceRepository.findDetailById(resourceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Resource not found")));
+        });
     }
 
-    public ResourceResponse incrementViews(String resourceId, User currentUser) {
-        Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+    /**
+     * Sets the approval status of many resources with one UPDATE. Every id must exist and be
+     * moderated by {@code currentUser} (ADMIN any, SUB_ADMIN own department), otherwise
+     * nothing changes.
+     */
+    @Transactional
+    public BulkResultResponse bulkUpdateApprovalStatus(Collection<String> ids, ApprovalStatus status, User currentUser) {
+        Set<String> resourceIds = new LinkedHashSet<>(ids);
+        List<ResourceOwnerProjection> owners = loadOwners(resourceIds);
+        enforceBulkModeration(owners, currentUser, false);
+
+        int updated = resourceRepository.updateApprovalStatusByIdIn(resourceIds, status);
+        log.info("Bulk updated approval status of {} resources to {}", updated, status);
+        return BulkResultResponse.builder()
+                .requested(resourceIds.size())
+                .affected(updated)
+                .build();
+    }
 
-        if (!ApprovalStatus.APPROVED.equals(resource.getApprovalStatus())) {
-            throw new ForbiddenException("Resource is not approved");
+    /**
+     * Deletes many resources and their comments, ratings and history with four statements in
+     * one transaction, under the same rules as {@link #delete}. Files and search index entries
+     * are removed once the transaction has committed.
+     */
+    @Transactional
+    public BulkResultResponse bulkDelete(Collection<String> ids, User currentUser) {
+        Set<String> resourceIds = new LinkedHashSet<>(ids);
+        List<ResourceOwnerProjection> owners = loadOwners(resourceIds);
+        enforceBulkModeration(owners, currentUser, true);
+
+        deleteResourceRelations(resourceIds);
+        int deleted = resourceRepository.deleteByIdIn(resourceIds);
+        List<String> fileUrls = owners.stream()
+                .map(ResourceOwnerProjection::getFileUrl)
+                .filter(fileUrl -> fileUrl != null && !fileUrl.isBlank())
+                .toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                resourceIds.forEach(textIndexService::remove);
+                resourceIds.forEach(similarityService::remove);
+                resourceFileCleaner.deleteFiles(fileUrls);
+            }
+        });
+        log.info("Bulk deleted {} resources", deleted);
+        return BulkResultResponse.builder()
+                .requested(resourceIds.size())
+                .affected(deleted)
+                .build();
+    }
+
+    private List<ResourceOwnerProjection> loadOwners(Set<String> resourceIds) {
+        List<ResourceOwnerProjection> owners = resourceRepository.findOwnersByIdIn(resourceIds);
+        if (owners.size() < resourceIds.size()) {
+            Set<String> missing = new LinkedHashSet<>(resourceIds);
+            owners.forEach(owner -> missing.remove(owner.getId()));
+            throw new ResourceNotFoundException("Resources not found: " + String.join(", ", missing));
         }
+        return owners;
+    }
 
-        Integer currentViews = resource.getViews() != null ? resource.getViews() : 0;
-        resource.setViews(currentViews + 1);
+    // all-or-nothing: one resource outside the caller's reach rejects the whole request
+    private void enforceBulkModeration(List<ResourceOwnerProjection> owners, User currentUser, boolean allowOwnUploads) {
+        if (currentUser == null || currentUser.getType() == null) {
+            throw new ForbiddenException("You don't have permission to perform this action");
+        }
+        UserType userType = currentUser.getType();
+        if (UserType.ADMIN.equals(userType)) {
+            return;
+        }
 
-        Resource saved = resourceRepository.save(resource);
-        saveHistory(currentUser, saved, HistoryAction.VIEW);
-        log.info("Incremented views for resource id={} to {}", resourceId, saved.getViews());
-        return ResourceResponse.fromResource(saved);
+        long denied;
+        if (UserType.SUB_ADMIN.equals(userType)) {
+            Long departmentId = currentUser.getDepartment() != null ? currentUser.getDepartment().getId() : null;
+            denied = owners.stream()
+                    .filter(owner -> departmentId == null || !departmentId.equals(owner.getDepartmentId()))
+                    .count();
+        } else if (UserType.LECTURER.equals(userType) && allowOwnUploads) {
+            denied = owners.stream()
+                    .filter(owner -> !currentUser.getId().equals(owner.getUploaderId()))
+                    .count();
+        } else {
+            throw new ForbiddenException("You don't have permission to perform this action");
+        }
+
+        if (denied > 0) {
+            throw new ForbiddenException("You don't have permission to perform this action on "
+                    + denied + " of the resources");
+        }
+    }
+
+    @Transactional
+    public ResourceResponse incrementViews(String resourceId, User currentUser) {
+        if (resourceRepository.incrementViews(resourceId, ApprovalStatus.APPROVED) == 0) {
+            // no row matched: either missing or not approved
+            resourceRepository.findById(resourceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+            throw new ForbiddenException("Resource is not approved");
+        }
+
+        Resource resource = resourceRepository.findDetailById(resourceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+        saveHistory(currentUser, resource, HistoryAction.VIEW);
+        log.info("Incremented views for resource id={} to {}", resourceId, resource.getViews());
+        return ResourceResponse.fromResource(resource);
     }
 
     public be.library_digital.demo.dto.response.ResourceDownloadResponse downloadResourceFile(String resourceId,
@@ -686,7 +845,7 @@ public class ResourceService {
             throw new ForbiddenException("You don't have permission to download this resource");
         }
 
-        Resource resource = resourceRepository.findById(resourceId)
+        Resource resource = resourceRepository.findForAccessById(resourceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
 
         enforceDepartmentAccess(resource, currentUser);
@@ -696,10 +855,8 @@ public class ResourceService {
             throw new ResourceNotFoundException("File not found");
         }
 
-        Integer currentDownloads = resource.getDownloads() != null ? resource.getDownloads() : 0;
-        resource.setDownloads(currentDownloads + 1);
-        resourceRepository.saveAndFlush(resource);
-        log.info("Incremented downloads for resource id={} to {}", resourceId, resource.getDownloads());
+        resourceRepository.incrementDownloads(resourceId);
+        log.info("Incremented downloads for resource id={}", resourceId);
 
         saveHistory(currentUser, resource, HistoryAction.DOWNLOAD);
 
@@ -725,7 +882,7 @@ public class ResourceService {
             throw new ForbiddenException("You don't have permission to view this resource");
         }
 
-        Resource resource = resourceRepository.findById(resourceId)
+        Resource resource = resourceRepository.findForAccessById(resourceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
 
         enforceDepartmentAccess(resource, currentUser);
@@ -772,36 +929,18 @@ public class ResourceService {
             }
         }
 
-        deleteResourceRelations(resourceId);
+        deleteResourceRelations(Set.of(resourceId));
         resourceRepository.delete(resource);
+        textIndexService.remove(resourceId);
+        similarityService.remove(resourceId);
         log.info("Deleted resource id={}", resourceId);
     }
 
-    protected void deleteResourceRelations(String resourceId) {
-        // Remove dependent rows to avoid FK constraint errors
-        commentRepository.deleteByResource_Id(resourceId);
-        ratingRepository.deleteByResource_Id(resourceId);
-        historyRepository.deleteByResource_Id(resourceId);
-    }
-
-    private boolean matchesKeyword(Resource resource, String keyword) {
-        if (keyword == null || keyword.isEmpty()) {
-            return true;
-        }
-
-        String title = resource.getTitle() != null ? resource.getTitle().toLowerCase() : "";
-        String description = resource.getDescription() != null ? resource.getDescription().toLowerCase() : "";
-        String uploaderName = resource.getUploadedBy() != null && resource.getUploadedBy().getFullName() != null
-                ? resource.getUploadedBy().getFullName().toLowerCase()
-                : "";
-        String uploaderEmail = resource.getUploadedBy() != null && resource.getUploadedBy().getEmail() != null
-                ? resource.getUploadedBy().getEmail().toLowerCase()
-                : "";
-
-        return title.contains(keyword) ||
-                description.contains(keyword) ||
-                uploaderName.contains(keyword) ||
-                uploaderEmail.contains(keyword);
+    protected void deleteResourceRelations(Collection<String> resourceIds) {
+        // Remove dependent rows to avoid FK constraint errors, one statement per table
+        commentRepository.deleteByResourceIdIn(resourceIds);
+        ratingRepository.deleteByResourceIdIn(resourceIds);
+        historyRepository.deleteByResourceIdIn(resourceIds);
     }
 
     private ResourceResponse toResourceResponseWithStats(Resource resource) {
@@ -809,31 +948,67 @@ public class ResourceService {
         if (response == null || resource == null) {
             return response;
         }
+        return withStats(List.of(withCounters(response, resource.getViews(), resource.getDownloads()))).get(0);
+    }
 
-        List<Comment> comments = commentRepository.findByResource_IdOrderByCreatedAtDesc(resource.getId());
-        List<Rating> ratings = ratingRepository.findByResource_Id(resource.getId());
-        long downloadCount = resource.getDownloads() != null ? resource.getDownloads().longValue() : 0L;
-        if (resource.getId() != null) {
-            downloadCount = Math.max(downloadCount,
-                    historyRepository.countByResource_IdAndAction(resource.getId(), HistoryAction.DOWNLOAD));
-        }
-
-        ResourceStats stats = ResourceStats.builder()
-                .views(resource.getViews() != null ? resource.getViews().longValue() : 0L)
-                .downloads(downloadCount)
-                .comments(comments.stream().map(CommentResponse::fromComment).collect(Collectors.toList()))
-                .ratingCount(ratings.size())
-                .ratingAverage(ratings.isEmpty() ? 0D
-                        : ratings.stream()
-                                .mapToInt(Rating::getRate)
-                                .average()
-                                .orElse(0D))
-                .build();
+    private List<ResourceResponse> toResourceResponsesWithStats(List<Resource> resources) {
+        return withStats(resources.stream()
+                .map(r -> withCounters(ResourceResponse.fromResource(r), r.getViews(), r.getDownloads()))
+                .collect(Collectors.toList()));
+    }
 
-        response.setStats(stats);
+    private List<ResourceResponse> toResponsesWithStats(List<ResourceListProjection> resources) {
+        List<ResourceResponse> responses = readModelMapper.toResources(resources);
+        for (int i = 0; i < responses.size(); i++) {
+            ResourceListProjection resource = resources.get(i);
+            withCounters(responses.get(i), resource.getViews(), resource.getDownloads());
+        }
+        return withStats(responses);
+    }
+
+    private static ResourceResponse withCounters(ResourceResponse response, Integer views, Integer downloads) {
+        response.setStats(ResourceStats.builder()
+                .views(views != null ? views.longValue() : 0L)
+                .downloads(downloads != null ? downloads.longValue() : 0L)
+                .comments(new ArrayList<>())
+                .ratingCount(0)
+                .ratingAverage(0D)
+                .build());
         return response;
     }
 
+    // comments, ratings and download history of the whole list in three statements, whatever its size
+    private List<ResourceResponse> withStats(List<ResourceResponse> responses) {
+        Set<String> ids = responses.stream()
+                .map(ResourceResponse::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return responses;
+        }
+        Map<String, List<CommentResponse>> comments = commentRepository.findByResourceIdIn(ids)
+                .stream()
+                .collect(Collectors.groupingBy(c -> c.getResource().getId(),
+                        Collectors.mapping(CommentResponse::fromComment, Collectors.toList())));
+        Map<String, RatingSummaryProjection> ratings = ratingRepository.summarizeByResourceIdIn(ids).stream()
+                .collect(Collectors.toMap(RatingSummaryProjection::getResourceId, r -> r));
+        Map<String, Long> downloads = historyRepository.countByResourceIdInAndAction(ids, HistoryAction.DOWNLOAD)
+                .stream()
+                .collect(Collectors.toMap(ResourceCountProjection::getResourceId, ResourceCountProjection::getCount));
+
+        for (ResourceResponse response : responses) {
+            ResourceStats stats = response.getStats();
+            stats.setDownloads(Math.max(stats.getDownloads(), downloads.getOrDefault(response.getId(), 0L)));
+            stats.setComments(comments.getOrDefault(response.getId(), new ArrayList<>()));
+            RatingSummaryProjection rating = ratings.get(response.getId());
+            if (rating != null) {
+                stats.setRatingCount(rating.getRatingCount().intValue());
+                stats.setRatingAverage(rating.getRatingAverage() != null ? rating.getRatingAverage() : 0D);
+            }
+        }
+        return responses;
+    }
+
     private void saveHistory(User user, Resource resource, HistoryAction action) {
         if (user == null || resource == null) {
             return;
@@ -934,14 +1109,7 @@ public class ResourceService {
         // Also include specializations from resources uploaded by this department users
         // This ensures that if a resource was uploaded to a Classroom, that hierarchy
         // appears even if Course definition is incomplete
-        resourceRepository.findAll().stream()
-                .filter(r -> r.getUploadedBy() != null &&
-                        r.getUploadedBy().getDepartment() != null &&
-                        deptId.equals(r.getUploadedBy().getDepartment().getId()))
-                .filter(r -> r.getClassroom() != null &&
-                        r.getClassroom().getSpecialization() != null)
-                .map(r -> r.getClassroom().getSpecialization().getId())
-                .forEach(specIds::add);
+        specIds.addAll(resourceRepository.findUploadSpecializationIds(deptId));
 
         return specIds;
     }
@@ -6,12 +6,13 @@ import be.library_digital.demo.exception.BadRequestException;
 import be.library_digital.demo.exception.ResourceNotFoundException;
 import be.library_digital.demo.model.ResourceTypeEntity;
 import be.library_digital.demo.repository.ResourceTypeRepository;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,7 +20,9 @@ import java.util.stream.Collectors;
 public class ResourceTypeService {
 
     private final ResourceTypeRepository resourceTypeRepository;
+    private final CatalogCache catalogCache;
 
+    @Transactional
     public ResourceTypeResponse create(ResourceTypeRequest request) {
         String code = request.getCode().trim();
         String name = request.getName().trim();
@@ -38,10 +41,12 @@ public class ResourceTypeService {
                 .build();
 
         ResourceTypeEntity saved = resourceTypeRepository.save(entity);
+        catalogCache.invalidate();
         log.info("Created resource type id={}", saved.getId());
         return ResourceTypeResponse.fromEntity(saved);
     }
 
+    @Transactional
     public ResourceTypeResponse update(String id, ResourceTypeRequest request) {
         ResourceTypeEntity entity = resourceTypeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource type not found"));
@@ -61,26 +66,29 @@ public class ResourceTypeService {
         entity.setDescription(request.getDescription());
 
         ResourceTypeEntity saved = resourceTypeRepository.save(entity);
+        catalogCache.invalidate();
         log.info("Updated resource type id={}", saved.getId());
         return ResourceTypeResponse.fromEntity(saved);
     }
 
     public ResourceTypeResponse getById(String id) {
-        ResourceTypeEntity entity = resourceTypeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Resource type not found"));
-        return ResourceTypeResponse.fromEntity(entity);
+        ResourceTypeResponse type = catalogCache.snapshot().resourceTypes().byId(id);
+        if (type == null) {
+            throw new ResourceNotFoundException("Resource type not found");
+        }
+        return type;
     }
 
     public List<ResourceTypeResponse> getAll() {
-        return resourceTypeRepository.findAll().stream()
-                .map(ResourceTypeResponse::fromEntity)
-                .collect(Collectors.toList());
+        return catalogCache.snapshot().resourceTypes().all();
     }
 
+    @Transactional
     public void delete(String id) {
         ResourceTypeEntity entity = resourceTypeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource type not found"));
         resourceTypeRepository.delete(entity);
+        catalogCache.invalidate();
         log.info("Deleted resource type id={}", id);
     }
 }
@@ -11,9 +11,11 @@ import be.library_digital.demo.model.User;
 import be.library_digital.demo.model.TrainingProgram;
 import be.library_digital.demo.repository.SpecializationRepository;
 import be.library_digital.demo.repository.TrainingProgramRepository;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -27,7 +29,9 @@ public class SpecializationService {
 
     private final SpecializationRepository specializationRepository;
     private final TrainingProgramRepository trainingProgramRepository;
+    private final CatalogCache catalogCache;
 
+    @Transactional
     public SpecializationResponse create(SpecializationRequest request) {
         String code = request.getCode().trim();
         String name = request.getName().trim();
@@ -49,10 +53,12 @@ public class SpecializationService {
                 .build();
 
         Specialization saved = specializationRepository.save(specialization);
+        catalogCache.invalidate();
         log.info("Created specialization id={}", saved.getId());
         return SpecializationResponse.fromSpecialization(saved);
     }
 
+    @Transactional
     public SpecializationResponse update(String id, SpecializationRequest request) {
         Specialization specialization = specializationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Specialization not found"));
@@ -75,43 +81,54 @@ public class SpecializationService {
         specialization.setPrograms(programs);
 
         Specialization saved = specializationRepository.save(specialization);
+        catalogCache.invalidate();
         log.info("Updated specialization id={}", saved.getId());
         return SpecializationResponse.fromSpecialization(saved);
     }
 
     public SpecializationResponse getById(String id, User currentUser) {
-        Specialization specialization = specializationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Specialization not found"));
-        enforceViewPermission(currentUser, specialization);
-        return SpecializationResponse.fromSpecialization(specialization);
+        SpecializationResponse specialization = catalogCache.snapshot().specializations().byId(id);
+        if (specialization == null) {
+            throw new ResourceNotFoundException("Specialization not found");
+        }
+        enforceViewPermission(currentUser);
+        return specialization;
     }
 
     public List<SpecializationResponse> getAll(User currentUser, String programId, String programCode, String code, String name) {
+        if (!canView(currentUser)) {
+            return List.of();
+        }
         String programIdFilter = programId != null ? programId.trim() : "";
-        String programCodeFilter = programCode != null ? programCode.trim().toLowerCase() : "";
+        String programCodeFilter = programCode != null ? programCode.trim() : "";
         String codeFilter = code != null ? code.trim().toLowerCase() : "";
         String nameFilter = name != null ? name.trim().toLowerCase() : "";
 
-        List<Specialization> list = specializationRepository.findAll();
+        CatalogCache.Table<SpecializationResponse> specializations = catalogCache.snapshot().specializations();
+        List<SpecializationResponse> list = programCodeFilter.isEmpty()
+                ? specializations.all()
+                : specializations.byParent(CatalogCache.Table.PROGRAM, programCodeFilter);
+        if (programIdFilter.isEmpty() && codeFilter.isEmpty() && nameFilter.isEmpty()) {
+            return list;
+        }
 
         return list.stream()
-                .filter(sp -> canView(currentUser, sp))
                 .filter(sp -> programIdFilter.isEmpty() || hasProgramId(sp, programIdFilter))
-                .filter(sp -> programCodeFilter.isEmpty() || hasProgramCode(sp, programCodeFilter))
                 .filter(sp -> codeFilter.isEmpty() || (sp.getCode() != null && sp.getCode().toLowerCase().contains(codeFilter)))
                 .filter(sp -> nameFilter.isEmpty() || (sp.getName() != null && sp.getName().toLowerCase().contains(nameFilter)))
-                .map(SpecializationResponse::fromSpecialization)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void delete(String id) {
         Specialization specialization = specializationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Specialization not found"));
         specializationRepository.delete(specialization);
+        catalogCache.invalidate();
         log.info("Deleted specialization id={}", id);
     }
 
-    private void enforceViewPermission(User user, Specialization sp) {
+    private void enforceViewPermission(User user) {
         if (user == null || user.getType() == null) {
             throw new ForbiddenException("You don't have permission to view this specialization");
         }
@@ -124,9 +141,9 @@ public class SpecializationService {
         throw new ForbiddenException("You don't have permission to view this specialization");
     }
 
-    private boolean canView(User user, Specialization sp) {
+    private boolean canView(User user) {
         try {
-            enforceViewPermission(user, sp);
+            enforceViewPermission(user);
             return true;
         } catch (Exception e) {
             return false;
@@ -157,21 +174,11 @@ public class SpecializationService {
         return programs;
     }
 
-    private boolean hasProgramId(Specialization specialization, String programId) {
+    private boolean hasProgramId(SpecializationResponse specialization, String programId) {
         if (specialization == null || specialization.getPrograms() == null) {
             return false;
         }
         return specialization.getPrograms().stream()
                 .anyMatch(program -> program != null && programId.equals(program.getId()));
     }
-
-    private boolean hasProgramCode(Specialization specialization, String programCode) {
-        if (specialization == null || specialization.getPrograms() == null) {
-            return false;
-        }
-        return specialization.getPrograms().stream()
-                .anyMatch(program -> program != null
-                        && program.getCode() != null
-                        && program.getCode().equalsIgnoreCase(programCode));
-    }
 }
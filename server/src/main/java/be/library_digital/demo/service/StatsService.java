@@ -8,14 +8,19 @@ import be.library_digital.demo.exception.ForbiddenException;
 import be.library_digital.demo.model.Resource;
 import be.library_digital.demo.model.User;
 import be.library_digital.demo.repository.ResourceRepository;
+import be.library_digital.demo.repository.UserRepository;
 import be.library_digital.demo.repository.projection.UploaderCountProjection;
+import be.library_digital.demo.repository.projection.UserTypeCountProjection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +29,8 @@ import java.util.stream.Collectors;
 public class StatsService {
 
     private final ResourceRepository resourceRepository;
+    private final UserRepository userRepository;
+    private final ReadModelMapper readModelMapper;
 
     private Long resolveDeptIdForSubAdmin(User currentUser) {
         if (currentUser == null || currentUser.getType() == null) {
@@ -41,12 +48,14 @@ public class StatsService {
         throw new ForbiddenException("You don't have permission");
     }
 
+    @Transactional(readOnly = true)
     public List<TopUploaderResponse> topUploaders(User currentUser, int limit) {
         Long deptId = resolveDeptIdForSubAdmin(currentUser);
         List<UploaderCountProjection> items = resourceRepository.findTopUploaders(deptId, PageRequest.of(0, limit));
         return items.stream().map(TopUploaderResponse::fromProjection).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<TopResourceResponse> topResources(User currentUser, String sort, int limit) {
         Long deptId = resolveDeptIdForSubAdmin(currentUser);
         List<Resource> resources;
@@ -69,13 +78,31 @@ public class StatsService {
         return resources.stream().map(TopResourceResponse::fromResource).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ResourceResponse> recentUploads(User currentUser, int limit) {
         Long deptId = resolveDeptIdForSubAdmin(currentUser);
-        return resourceRepository.findRecentUploads(deptId, PageRequest.of(0, limit)).stream()
-                .map(ResourceResponse::fromResource)
-                .collect(Collectors.toList());
+        return readModelMapper.toResources(resourceRepository.findRecentRows(deptId, PageRequest.of(0, limit)));
     }
 
+    /**
+     * Number of users per type, every type present (0 when none).
+     */
+    @Transactional(readOnly = true)
+    public Map<UserType, Long> userCounts(User currentUser) {
+        Long deptId = resolveDeptIdForSubAdmin(currentUser);
+        Map<UserType, Long> counts = new EnumMap<>(UserType.class);
+        for (UserType type : UserType.values()) {
+            counts.put(type, 0L);
+        }
+        for (UserTypeCountProjection row : userRepository.countByType(deptId)) {
+            if (row.getType() != null) {
+                counts.put(row.getType(), row.getCount());
+            }
+        }
+        return counts;
+    }
+
+    @Transactional(readOnly = true)
     public Long storageUsage(User currentUser) {
         if (currentUser == null || !UserType.ADMIN.equals(currentUser.getType())) {
             throw new ForbiddenException("Only ADMIN can view storage usage");
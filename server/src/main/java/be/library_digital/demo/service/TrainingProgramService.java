@@ -6,9 +6,11 @@ import be.library_digital.demo.exception.BadRequestException;
 import be.library_digital.demo.exception.ResourceNotFoundException;
 import be.library_digital.demo.model.TrainingProgram;
 import be.library_digital.demo.repository.TrainingProgramRepository;
+import be.library_digital.demo.service.catalog.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,7 +21,9 @@ import java.util.stream.Collectors;
 public class TrainingProgramService {
 
     private final TrainingProgramRepository trainingProgramRepository;
+    private final CatalogCache catalogCache;
 
+    @Transactional
     public TrainingProgramResponse create(TrainingProgramRequest request) {
         String code = request.getCode().trim();
         String name = request.getName().trim();
@@ -38,10 +42,12 @@ public class TrainingProgramService {
                 .build();
 
         TrainingProgram saved = trainingProgramRepository.save(program);
+        catalogCache.invalidate();
         log.info("Created training program id={}", saved.getId());
         return TrainingProgramResponse.fromProgram(saved);
     }
 
+    @Transactional
     public TrainingProgramResponse update(String id, TrainingProgramRequest request) {
         TrainingProgram program = trainingProgramRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Training program not found"));
@@ -61,40 +67,39 @@ public class TrainingProgramService {
         program.setDescription(request.getDescription());
 
         TrainingProgram saved = trainingProgramRepository.save(program);
+        catalogCache.invalidate();
         log.info("Updated training program id={}", saved.getId());
         return TrainingProgramResponse.fromProgram(saved);
     }
 
     public TrainingProgramResponse getById(String id) {
-        TrainingProgram program = trainingProgramRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Training program not found"));
-        return TrainingProgramResponse.fromProgram(program);
+        TrainingProgramResponse program = catalogCache.snapshot().programs().byId(id);
+        if (program == null) {
+            throw new ResourceNotFoundException("Training program not found");
+        }
+        return program;
     }
 
     public List<TrainingProgramResponse> getAll(String code, String name) {
-        String codeFilter = code != null ? code.trim() : "";
-        String nameFilter = name != null ? name.trim() : "";
+        String codeFilter = CatalogCache.fold(code);
+        String nameFilter = CatalogCache.fold(name);
 
-        List<TrainingProgram> programs;
+        List<TrainingProgramResponse> programs = catalogCache.snapshot().programs().all();
         if (codeFilter.isEmpty() && nameFilter.isEmpty()) {
-            programs = trainingProgramRepository.findAll();
-        } else if (!codeFilter.isEmpty() && nameFilter.isEmpty()) {
-            programs = trainingProgramRepository.findByCodeContainingIgnoreCase(codeFilter);
-        } else if (codeFilter.isEmpty()) {
-            programs = trainingProgramRepository.findByNameContainingIgnoreCase(nameFilter);
-        } else {
-            programs = trainingProgramRepository.findByCodeContainingIgnoreCaseAndNameContainingIgnoreCase(codeFilter, nameFilter);
+            return programs;
         }
-
         return programs.stream()
-                .map(TrainingProgramResponse::fromProgram)
+                .filter(p -> codeFilter.isEmpty() || CatalogCache.fold(p.getCode()).contains(codeFilter))
+                .filter(p -> nameFilter.isEmpty() || CatalogCache.fold(p.getName()).contains(nameFilter))
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void delete(String id) {
         TrainingProgram program = trainingProgramRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Training program not found"));
         trainingProgramRepository.delete(program);
+        catalogCache.invalidate();
         log.info("Deleted training program id={}", id);
     }
 }
@@ -1,12 +1,14 @@
 package be.library_digital.demo.service;
 
 import be.library_digital.demo.common.Gender;
+import be.library_digital.demo.common.PageCursor;
 import be.library_digital.demo.common.UserType;
 import be.library_digital.demo.common.UserStatus;
 import be.library_digital.demo.dto.request.ChangePasswordRequest;
 import be.library_digital.demo.dto.request.CreateUserRequest;
 import be.library_digital.demo.dto.request.ResetPasswordRequest;
 import be.library_digital.demo.dto.request.UpdateUserRequest;
+import be.library_digital.demo.dto.response.CursorPage;
 import be.library_digital.demo.dto.response.PublicUser;
 import be.library_digital.demo.exception.BadRequestException;
 import be.library_digital.demo.exception.ForbiddenException;
@@ -21,9 +23,13 @@ import be.library_digital.demo.repository.DepartmentRepository;
 import be.library_digital.demo.repository.RoleRepository;
 import be.library_digital.demo.repository.UserHasRoleRepository;
 import be.library_digital.demo.repository.UserRepository;
+import be.library_digital.demo.repository.projection.PublicUserProjection;
+import be.library_digital.demo.service.imports.ImportProgress;
+import be.library_digital.demo.service.imports.PasswordHasher;
+import be.library_digital.demo.service.imports.XlsxRowReader;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -32,6 +38,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
@@ -42,11 +49,18 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -60,10 +74,19 @@ public class UserManagementService {
     private final ClassroomRepository classroomRepository;
     private final RoleRepository roleRepository;
     private final UserHasRoleRepository userHasRoleRepository;
+    private final PrincipalCache principalCache;
+    private final PasswordHasher passwordHasher;
+    private final MailService mailService;
+    private final EntityManager entityManager;
+    private final ReadModelMapper readModelMapper;
 
     @Value("${file.avatar-upload-dir:uploads/avatars}")
     private String avatarUploadDir;
 
+    @Value("${import.batch-size:500}")
+    private int importBatchSize;
+
+    @Transactional
     public PublicUser createUser(CreateUserRequest request, User currentUser) {
         Role adminRole = roleRepository.findByName("ADMIN").orElseThrow();
         Role subAdminRole = roleRepository.findByName("SUB_ADMIN").orElseThrow();
@@ -101,7 +124,9 @@ public class UserManagementService {
             if (currentUser.getDepartment() == null) {
                 throw new ForbiddenException("SUB_ADMIN must belong to a department");
             }
-            dept = currentUser.getDepartment();
+            // the principal may be built from token claims and only carry the id
+            dept = departmentRepository.findById(currentUser.getDepartment().getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Department not found"));
         } else if (isAdmin) {
             // ADMIN creating SUB_ADMIN/LECTURER must have department provided
             if (UserType.SUB_ADMIN.equals(type) || UserType.LECTURER.equals(type)) {
@@ -176,6 +201,7 @@ public class UserManagementService {
         return PublicUser.fromUser(saved);
     }
 
+    @Transactional(readOnly = true)
     public PublicUser getProfile(User currentUser) {
         if (currentUser == null) {
             throw new ForbiddenException("You must be logged in to view profile");
@@ -185,28 +211,33 @@ public class UserManagementService {
         return PublicUser.fromUser(fresh);
     }
 
-    public List<PublicUser> listUsers(User currentUser, int page, int size) {
+    @Transactional(readOnly = true)
+    public CursorPage<PublicUser> listUsers(User currentUser, String cursor, int limit) {
         if (currentUser == null || currentUser.getType() == null) {
             throw new ForbiddenException("You don't have permission to view users");
         }
 
-        PageRequest pageable = PageRequest.of(page, size);
-        List<User> users;
-
+        Long departmentId;
         if (UserType.ADMIN.equals(currentUser.getType())) {
-            users = userRepository.findAll(pageable).getContent();
+            departmentId = null;
         } else if (UserType.SUB_ADMIN.equals(currentUser.getType()) || UserType.LECTURER.equals(currentUser.getType())) {
             if (currentUser.getDepartment() == null) {
                 throw new ForbiddenException("You don't have permission to view users without a department");
             }
-            users = userRepository.findByDepartment_Id(currentUser.getDepartment().getId(), pageable).getContent();
+            departmentId = currentUser.getDepartment().getId();
         } else {
             throw new ForbiddenException("You don't have permission to view users");
         }
 
-        return users.stream().map(PublicUser::fromUser).collect(Collectors.toList());
+        PageCursor after = PageCursor.decode(cursor);
+        List<PublicUserProjection> users = userRepository.findPublicPage(departmentId,
+                after != null ? after.createdAt() : null, after != null ? after.key() : null,
+                PageRequest.of(0, limit + 1));
+        return CursorPage.of(users, limit, u -> PageCursor.encode(u.getCreatedAt(), u.getId()))
+                .map(readModelMapper::toPublicUsers);
     }
 
+    @Transactional
     public PublicUser updateUser(String userId, UpdateUserRequest request, User currentUser) {
         if (request == null) {
             throw new BadRequestException("Request body must not be null");
@@ -233,10 +264,12 @@ public class UserManagementService {
         }
 
         User saved = userRepository.save(target);
+        principalCache.invalidate(saved.getId());
         log.info("User {} updated by {}", saved.getId(), currentUser != null ? currentUser.getId() : "SYSTEM");
         return PublicUser.fromUser(saved);
     }
 
+    @Transactional
     public PublicUser updateAvatar(String userId, MultipartFile avatar, User currentUser) throws IOException {
         if (avatar == null || avatar.isEmpty()) {
             throw new BadRequestException("Avatar file must not be empty");
@@ -273,27 +306,35 @@ public class UserManagementService {
 
         target.setAvatarUrl(targetPath.toString());
         User saved = userRepository.save(target);
+        principalCache.invalidate(saved.getId());
         log.info("Updated avatar for user {} by {}", saved.getId(), currentUser != null ? currentUser.getId() : "SYSTEM");
         return PublicUser.fromUser(saved);
     }
 
+    @Transactional
     public void changeOwnPassword(User currentUser, ChangePasswordRequest request) {
         if (currentUser == null) {
             throw new ForbiddenException("You don't have permission to change password");
         }
 
-        if (!passwordEncoder.matches(request.getCurrentPassword(), currentUser.getPassword())) {
+        // The principal may come from the cache, which does not hold the password hash
+        User user = userRepository.findById(currentUser.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
             throw new BadRequestException("Old password is incorrect");
         }
 
-        currentUser.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        if(currentUser.getMustChangePassword().equals(Boolean.TRUE)) {
-            currentUser.setMustChangePassword(false);
+        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        if (Boolean.TRUE.equals(user.getMustChangePassword())) {
+            user.setMustChangePassword(false);
         }
-        userRepository.save(currentUser);
-        log.info("User {} changed password", currentUser.getId());
+        userRepository.save(user);
+        principalCache.invalidate(user.getId());
+        log.info("User {} changed password", user.getId());
     }
 
+    @Transactional
     public void resetPassword(String userId, ResetPasswordRequest request, User currentUser) {
         if (currentUser == null || currentUser.getType() == null) {
             throw new ForbiddenException("You don't have permission to reset passwords");
@@ -315,9 +356,11 @@ public class UserManagementService {
 
         target.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(target);
+        principalCache.invalidate(target.getId());
         log.info("Admin {} reset password for user {}", currentUser.getId(), userId);
     }
 
+    @Transactional
     public void deleteUser(String userId, User currentUser) {
         if (currentUser == null || currentUser.getType() == null) {
             throw new ForbiddenException("You don't have permission to delete users");
@@ -341,18 +384,54 @@ public class UserManagementService {
         }
 
         userRepository.delete(target);
+        principalCache.invalidate(target.getId());
         log.info("User {} deleted by {}", target.getId(), currentUser.getId());
     }
 
-    public int importUsers(MultipartFile file, User currentUser) {
+    public int importUsers(MultipartFile file, User currentUser, boolean deferHashing) {
+        checkCanImport(file, currentUser, "users");
+        return importSynchronously(file, path -> importUsers(path, deferHashing, ImportProgress.LOGGING));
+    }
+
+    public int importStudents(MultipartFile file, User currentUser, boolean deferHashing) {
+        checkCanImport(file, currentUser, "students");
+        return importSynchronously(file, path -> importStudents(path, deferHashing, ImportProgress.LOGGING));
+    }
+
+    public void checkCanImport(MultipartFile file, User currentUser, String what) {
         if (currentUser == null || !UserType.ADMIN.equals(currentUser.getType())) {
-            throw new ForbiddenException("Only ADMIN can import users");
+            throw new ForbiddenException("Only ADMIN can import " + what);
         }
 
         if (file == null || file.isEmpty()) {
             throw new BadRequestException("File must not be empty");
         }
+    }
 
+    private int importSynchronously(MultipartFile file, Function<Path, Integer> importer) {
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("import-", ".xlsx");
+            file.transferTo(spooled);
+            return importer.apply(spooled);
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read Excel file");
+        } finally {
+            if (spooled != null) {
+                try {
+                    Files.deleteIfExists(spooled);
+                } catch (IOException e) {
+                    log.warn("Failed to delete spooled import {}: {}", spooled, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Import users from an .xlsx file already checked by {@link #checkCanImport}; rejected
+     * rows and per-batch counts go to {@code progress}. Returns the number of users created.
+     */
+    public int importUsers(Path file, boolean deferHashing, ImportProgress progress) {
         Role adminRole = roleRepository.findByName("ADMIN")
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found: ADMIN"));
         Role subAdminRole = roleRepository.findByName("SUB_ADMIN")
@@ -366,212 +445,244 @@ public class UserManagementService {
         roleByType.put(UserType.LECTURER, lecturerRole);
 
         Map<String, Integer> prefixCounters = new HashMap<>();
-        List<User> toSave = new ArrayList<>();
-
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            boolean isHeader = true;
-            for (Row row : sheet) {
-                if (isHeader) { // skip header row
-                    isHeader = false;
-                    continue;
-                }
-                if (row == null || isRowEmpty(row)) {
-                    continue;
-                }
-                String email = getStringCell(row, 0);
-                String rawPassword = getStringCell(row, 1);
-                String genderStr = getStringCell(row, 2);
-                String fullName = getStringCell(row, 3);
-                String userTypeStr = getStringCell(row, 4);
-                String departmentCode = getStringCell(row, 5);
-
-                if (email == null || email.isEmpty() || rawPassword == null || rawPassword.isEmpty() ||
-                        userTypeStr == null || userTypeStr.isEmpty()) {
-                    log.warn("Skipping row {} due to missing required fields", row.getRowNum());
-                    continue;
-                }
+        Map<String, Optional<Department>> departmentsByCode = new HashMap<>();
+        Set<String> seenEmails = new HashSet<>();
+        ImportChunk chunk = new ImportChunk(user -> roleByType.get(user.getType()), deferHashing, progress);
 
-                String emailLower = email.toLowerCase();
-                if (userRepository.existsByEmail(emailLower)) {
-                    log.warn("Skipping existing user with email {}", email);
-                    continue;
+        try {
+            XlsxRowReader.readInBatches(file, importBatchSize, rows -> {
+                Set<String> existingEmails = findExistingEmails(rows, 0);
+                resolveCodes(rows, 5, departmentsByCode, departmentRepository::findByLowerCodeIn, Department::getCode);
+                for (XlsxRowReader.ImportRow row : rows) {
+                    importUserRow(row, existingEmails, seenEmails, departmentsByCode, roleByType, prefixCounters,
+                            chunk, deferHashing, progress);
                 }
+                progress.processed(rows.size());
+            });
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read Excel file");
+        }
 
-                UserType userType = parseUserType(userTypeStr);
-                Department department = null;
-                if (departmentCode != null && !departmentCode.isEmpty()) {
-                    department = departmentRepository.findByCodeIgnoreCase(departmentCode)
-                            .orElse(null);
-                    if (department == null) {
-                        log.warn("Skipping row {} due to missing department with code {}", row.getRowNum(), departmentCode);
-                        continue;
-                    }
-                }
+        int imported = chunk.flush();
+        log.info("Imported {} users via Excel", imported);
+        return imported;
+    }
 
-                if ((UserType.SUB_ADMIN.equals(userType) || UserType.LECTURER.equals(userType)) && department == null) {
-                    log.warn("Skipping row {} due to missing department for {}", row.getRowNum(), userType);
-                    continue;
-                }
+    private void importUserRow(XlsxRowReader.ImportRow row, Set<String> existingEmails, Set<String> seenEmails,
+                               Map<String, Optional<Department>> departmentsByCode, Map<UserType, Role> roleByType,
+                               Map<String, Integer> prefixCounters, ImportChunk chunk, boolean deferHashing,
+                               ImportProgress progress) {
+        String email = row.get(0);
+        String rawPassword = row.get(1);
+        String genderStr = row.get(2);
+        String fullName = row.get(3);
+        String userTypeStr = row.get(4);
+        String departmentCode = row.get(5);
 
-                if (!roleByType.containsKey(userType)) {
-                    log.warn("Skipping row {} due to unsupported user type {}", row.getRowNum(), userType);
-                    continue;
-                }
+        if (email == null || email.isEmpty() || (!deferHashing && (rawPassword == null || rawPassword.isEmpty())) ||
+                userTypeStr == null || userTypeStr.isEmpty()) {
+            reject(progress, row, email, "Missing required fields");
+            return;
+        }
 
-                User user = new User();
-                user.setEmail(emailLower);
-                user.setPassword(passwordEncoder.encode(rawPassword));
-                user.setUserIdentifier(generateUserIdentifier(userType, department, prefixCounters));
-                user.setFullName(fullName);
-                user.setGender(parseGender(genderStr));
-                user.setType(userType);
-                user.setStatus(UserStatus.ACTIVE);
-                user.setDateOfBirth(LocalDate.now());
-                user.setMustChangePassword(true);
-                user.setFailedLoginAttempts(0);
-                user.setLastFailedLoginDate(null);
-
-                if (department != null) {
-                    user.setDepartment(department);
-                }
+        String emailLower = email.toLowerCase();
+        if (!seenEmails.add(emailLower)) {
+            reject(progress, row, email, "Duplicate email in file");
+            return;
+        }
+        if (existingEmails.contains(emailLower)) {
+            reject(progress, row, email, "Email already exists");
+            return;
+        }
 
-                toSave.add(user);
+        UserType userType;
+        try {
+            userType = parseUserType(userTypeStr);
+        } catch (BadRequestException e) {
+            reject(progress, row, email, e.getMessage());
+            return;
+        }
+        Department department = null;
+        if (departmentCode != null && !departmentCode.isEmpty()) {
+            department = departmentsByCode.getOrDefault(departmentCode.toLowerCase(), Optional.empty())
+                    .orElse(null);
+            if (department == null) {
+                reject(progress, row, email, "Department not found: " + departmentCode);
+                return;
             }
-        } catch (IOException e) {
-            throw new BadRequestException("Failed to read Excel file");
         }
 
-        if (toSave.isEmpty()) {
-            return 0;
+        if ((UserType.SUB_ADMIN.equals(userType) || UserType.LECTURER.equals(userType)) && department == null) {
+            reject(progress, row, email, "Department is required for " + userType);
+            return;
         }
 
-        userRepository.saveAll(toSave);
-
-        List<UserHasRole> rolesToSave = new ArrayList<>();
-        for (User user : toSave) {
-            Role role = roleByType.get(user.getType());
-            if (role == null) {
-                log.warn("Skipping role assignment for user {}", user.getEmail());
-                continue;
-            }
-            rolesToSave.add(UserHasRole.builder()
-                    .role(role)
-                    .user(user)
-                    .build());
+        if (!roleByType.containsKey(userType)) {
+            reject(progress, row, email, "Unsupported user type " + userType);
+            return;
         }
-        userHasRoleRepository.saveAll(rolesToSave);
 
-        log.info("Imported {} users via Excel", toSave.size());
-        return toSave.size();
-    }
+        User user = new User();
+        user.setEmail(emailLower);
+        user.setUserIdentifier(generateUserIdentifier(userType, department, prefixCounters));
+        user.setFullName(fullName);
+        user.setGender(parseGender(genderStr));
+        user.setType(userType);
+        user.setStatus(UserStatus.ACTIVE);
+        user.setDateOfBirth(LocalDate.now());
+        user.setMustChangePassword(true);
+        user.setFailedLoginAttempts(0);
+        user.setLastFailedLoginDate(null);
 
-    public int importStudents(MultipartFile file, User currentUser) {
-        if (currentUser == null || !UserType.ADMIN.equals(currentUser.getType())) {
-            throw new ForbiddenException("Only ADMIN can import students");
+        if (department != null) {
+            user.setDepartment(department);
         }
 
-        if (file == null || file.isEmpty()) {
-            throw new BadRequestException("File must not be empty");
-        }
+        chunk.add(user, rawPassword);
+    }
 
+    /**
+     * Import students from an .xlsx file already checked by {@link #checkCanImport}; rejected
+     * rows and per-batch counts go to {@code progress}. Returns the number of students created.
+     */
+    public int importStudents(Path file, boolean deferHashing, ImportProgress progress) {
         Role studentRole = roleRepository.findByName("STUDENT")
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found: STUDENT"));
         Map<String, Integer> prefixCounters = new HashMap<>();
-        List<User> toSave = new ArrayList<>();
-
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            boolean isHeader = true;
-            for (Row row : sheet) {
-                if (isHeader) {
-                    isHeader = false;
-                    continue;
-                }
-                if (row == null || isRowEmpty(row)) {
-                    continue;
-                }
+        Map<String, Optional<Classroom>> classroomsByCode = new HashMap<>();
+        Set<String> seenEmails = new HashSet<>();
+        ImportChunk chunk = new ImportChunk(user -> studentRole, deferHashing, progress);
 
-                String email = getStringCell(row, 0);
-                String rawPassword = getStringCell(row, 1);
-                String fullName = getStringCell(row, 2);
-                String birthYearStr = getStringCell(row, 3);
-                String address = getStringCell(row, 4);
-                String phone = getStringCell(row, 5);
-                String classroomCode = getStringCell(row, 6);
-                String statusStr = getStringCell(row, 7);
-
-                if (email == null || email.isEmpty() || rawPassword == null || rawPassword.isEmpty()
-                        || fullName == null || fullName.isEmpty()
-                        || birthYearStr == null || birthYearStr.isEmpty()
-                        || classroomCode == null || classroomCode.isEmpty()) {
-                    log.warn("Skipping row {} due to missing required fields", row.getRowNum());
-                    continue;
+        try {
+            XlsxRowReader.readInBatches(file, importBatchSize, rows -> {
+                Set<String> existingEmails = findExistingEmails(rows, 0);
+                resolveCodes(rows, 6, classroomsByCode, classroomRepository::findByLowerCodeIn, Classroom::getCode);
+                for (XlsxRowReader.ImportRow row : rows) {
+                    importStudentRow(row, existingEmails, seenEmails, classroomsByCode, prefixCounters, chunk,
+                            deferHashing, progress);
                 }
+                progress.processed(rows.size());
+            });
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read Excel file");
+        }
 
-                String emailLower = email.toLowerCase();
-                if (userRepository.existsByEmail(emailLower)) {
-                    log.warn("Skipping existing user with email {}", emailLower);
-                    continue;
-                }
+        int imported = chunk.flush();
+        log.info("Imported {} students via Excel", imported);
+        return imported;
+    }
 
-                Integer birthYear = parseYear(birthYearStr);
-                if (birthYear == null) {
-                    log.warn("Skipping row {} due to invalid birthYear {}", row.getRowNum(), birthYearStr);
-                    continue;
-                }
+    private void importStudentRow(XlsxRowReader.ImportRow row, Set<String> existingEmails, Set<String> seenEmails,
+                                  Map<String, Optional<Classroom>> classroomsByCode,
+                                  Map<String, Integer> prefixCounters, ImportChunk chunk, boolean deferHashing,
+                                  ImportProgress progress) {
+        String email = row.get(0);
+        String rawPassword = row.get(1);
+        String fullName = row.get(2);
+        String birthYearStr = row.get(3);
+        String address = row.get(4);
+        String phone = row.get(5);
+        String classroomCode = row.get(6);
+        String statusStr = row.get(7);
 
-                Classroom classroom = classroomRepository.findByCodeIgnoreCase(classroomCode.trim())
-                        .orElse(null);
-                if (classroom == null) {
-                    log.warn("Skipping row {} due to missing classroom with code {}", row.getRowNum(), classroomCode);
-                    continue;
-                }
+        if (email == null || email.isEmpty() || (!deferHashing && (rawPassword == null || rawPassword.isEmpty()))
+                || fullName == null || fullName.isEmpty()
+                || birthYearStr == null || birthYearStr.isEmpty()
+                || classroomCode == null || classroomCode.isEmpty()) {
+            reject(progress, row, email, "Missing required fields");
+            return;
+        }
 
-                Integer startYear = classroom.getCohort() != null ? classroom.getCohort().getStartYear() : null;
-                if (startYear == null) {
-                    log.warn("Skipping row {} due to missing cohort start year for classroom {}", row.getRowNum(), classroomCode);
-                    continue;
-                }
+        String emailLower = email.toLowerCase();
+        if (!seenEmails.add(emailLower)) {
+            reject(progress, row, email, "Duplicate email in file");
+            return;
+        }
+        if (existingEmails.contains(emailLower)) {
+            reject(progress, row, email, "Email already exists");
+            return;
+        }
 
-                User user = new User();
-                user.setEmail(emailLower);
-                user.setPassword(passwordEncoder.encode(rawPassword));
-                user.setFullName(fullName);
-                user.setDateOfBirth(LocalDate.of(birthYear, 1, 1));
-                user.setAddress(address);
-                user.setPhone(phone);
-                user.setType(UserType.STUDENT);
-                UserStatus status = parseUserStatus(statusStr);
-                user.setStatus(status != null ? status : UserStatus.ACTIVE);
-                user.setUserIdentifier(generateStudentIdentifier(startYear, prefixCounters));
-                user.setClassroom(classroom);
-                user.setMustChangePassword(true);
-                user.setFailedLoginAttempts(0);
-                user.setLastFailedLoginDate(null);
-                toSave.add(user);
-            }
-        } catch (IOException e) {
-            throw new BadRequestException("Failed to read Excel file");
+        Integer birthYear = parseYear(birthYearStr);
+        if (birthYear == null) {
+            reject(progress, row, email, "Invalid birthYear: " + birthYearStr);
+            return;
         }
 
-        if (toSave.isEmpty()) {
-            return 0;
+        Classroom classroom = classroomsByCode.getOrDefault(classroomCode.toLowerCase(), Optional.empty())
+                .orElse(null);
+        if (classroom == null) {
+            reject(progress, row, email, "Classroom not found: " + classroomCode);
+            return;
         }
 
-        userRepository.saveAll(toSave);
+        Integer startYear = classroom.getCohort() != null ? classroom.getCohort().getStartYear() : null;
+        if (startYear == null) {
+            reject(progress, row, email, "Classroom " + classroomCode + " has no cohort start year");
+            return;
+        }
 
-        List<UserHasRole> rolesToSave = new ArrayList<>();
-        for (User user : toSave) {
-            rolesToSave.add(UserHasRole.builder()
-                    .role(studentRole)
-                    .user(user)
-                    .build());
+        User user = new User();
+        user.setEmail(emailLower);
+        user.setFullName(fullName);
+        user.setDateOfBirth(LocalDate.of(birthYear, 1, 1));
+        user.setAddress(address);
+        user.setPhone(phone);
+        user.setType(UserType.STUDENT);
+        UserStatus status = parseUserStatus(statusStr);
+        user.setStatus(status != null ? status : UserStatus.ACTIVE);
+        user.setUserIdentifier(generateStudentIdentifier(startYear, prefixCounters));
+        user.setClassroom(classroom);
+        user.setMustChangePassword(true);
+        user.setFailedLoginAttempts(0);
+        user.setLastFailedLoginDate(null);
+        chunk.add(user, rawPassword);
+    }
+
+    private void reject(ImportProgress progress, XlsxRowReader.ImportRow row, String email, String reason) {
+        progress.rejected(row.rowNum() + 1, email, reason);
+    }
+
+    /**
+     * Lowercased emails in {@code column} of the batch that already belong to a user, with one
+     * IN query for the whole batch.
+     */
+    private Set<String> findExistingEmails(List<XlsxRowReader.ImportRow> rows, int column) {
+        Set<String> emails = new HashSet<>();
+        for (XlsxRowReader.ImportRow row : rows) {
+            String email = row.get(column);
+            if (email != null && !email.isEmpty()) {
+                emails.add(email.toLowerCase());
+            }
+        }
+        if (emails.isEmpty()) {
+            return Set.of();
         }
-        userHasRoleRepository.saveAll(rolesToSave);
+        return userRepository.findExistingEmails(emails).stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+    }
 
-        log.info("Imported {} students via Excel", toSave.size());
-        return toSave.size();
+    /**
+     * Load the codes in {@code column} of the batch that this import has not looked up yet,
+     * with one IN query; codes without a match are remembered as empty.
+     */
+    private <T> void resolveCodes(List<XlsxRowReader.ImportRow> rows, int column, Map<String, Optional<T>> byCode,
+                                  Function<Collection<String>, List<T>> loader, Function<T, String> codeOf) {
+        Set<String> missing = new HashSet<>();
+        for (XlsxRowReader.ImportRow row : rows) {
+            String code = row.get(column);
+            if (code != null && !code.isEmpty() && !byCode.containsKey(code.toLowerCase())) {
+                missing.add(code.toLowerCase());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (T entity : loader.apply(missing)) {
+            byCode.put(codeOf.apply(entity).toLowerCase(), Optional.of(entity));
+        }
+        missing.forEach(code -> byCode.putIfAbsent(code, Optional.empty()));
     }
 
     public byte[] generateUserImportTemplate() {
@@ -624,17 +735,9 @@ public class UserManagementService {
 
     private String generateUserIdentifier(UserType userType, Department department, Map<String, Integer> prefixCounters) {
         String prefix = buildUserIdentifierPrefix(userType, department);
-        int nextSequence = prefixCounters.computeIfAbsent(prefix, this::loadNextSequenceForPrefix);
-
-        String identifier;
-        int current = nextSequence;
-        do {
-            identifier = prefix + String.format("%03d", current);
-            current++;
-        } while (userRepository.existsByUserIdentifier(identifier));
-
-        prefixCounters.put(prefix, current);
-        return identifier;
+        int sequence = prefixCounters.computeIfAbsent(prefix, this::loadNextSequenceForPrefix);
+        prefixCounters.put(prefix, sequence + 1);
+        return prefix + String.format("%03d", sequence);
     }
 
     private String generateStudentIdentifier(Integer startYear, Map<String, Integer> prefixCounters) {
@@ -642,21 +745,14 @@ public class UserManagementService {
             throw new BadRequestException("Start year is required for student identifier");
         }
         String prefix = String.valueOf(startYear);
-        int nextSequence = prefixCounters != null
+        int sequence = prefixCounters != null
                 ? prefixCounters.computeIfAbsent(prefix, this::loadNextSequenceForPrefix)
                 : loadNextSequenceForPrefix(prefix);
 
-        String identifier;
-        int current = nextSequence;
-        do {
-            identifier = prefix + String.format("%04d", current);
-            current++;
-        } while (userRepository.existsByUserIdentifier(identifier));
-
         if (prefixCounters != null) {
-            prefixCounters.put(prefix, current);
+            prefixCounters.put(prefix, sequence + 1);
         }
-        return identifier;
+        return prefix + String.format("%04d", sequence);
     }
 
     private String buildUserIdentifierPrefix(UserType userType, Department department) {
@@ -678,28 +774,20 @@ public class UserManagementService {
         }
     }
 
+    /**
+     * First sequence number after every identifier already using {@code prefix}. One query per
+     * prefix; an import then hands out the following numbers from its counters without further
+     * existence checks. The maximum is taken in SQL over the numeric suffix, so "GV1000" counts as
+     * after "GV999"; the prefix is escaped because "SUB_ADMIN" contains a LIKE wildcard.
+     */
     private int loadNextSequenceForPrefix(String prefix) {
-        Optional<User> lastUser = userRepository.findTopByUserIdentifierStartingWithOrderByUserIdentifierDesc(prefix);
-        if (lastUser.isPresent()) {
-            String identifier = lastUser.get().getUserIdentifier();
-            if (identifier != null && identifier.length() > prefix.length()) {
-                String suffix = identifier.substring(prefix.length());
-                int current = parseSequenceSuffix(suffix);
-                return current + 1;
-            }
-        }
-        return 1;
+        Long max = userRepository.findMaxIdentifierSequence(escapeLike(prefix) + "%", prefix.length() + 1);
+        return max != null ? max.intValue() + 1 : 1;
     }
 
-    private int parseSequenceSuffix(String value) {
-        if (value == null || value.isEmpty()) {
-            return 0;
-        }
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return 0;
-        }
+    // explicit '!' escape: the H2 dialect renders LIKE without a default escape character
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
 
     private Integer parseYear(String value) {
@@ -859,6 +947,88 @@ public class UserManagementService {
         }
     }
 
+    /**
+     * Accepted import rows not yet written. Written with saveAll every {@code import.batch-size}
+     * rows, after which the persistence context is cleared, so memory stays flat however
+     * large the file is. Earlier chunks stay committed if a later one fails.
+     */
+    private final class ImportChunk {
+
+        private final Function<User, Role> roleOf;
+        private final boolean deferHashing;
+        private final ImportProgress progress;
+        private final List<User> users = new ArrayList<>();
+        // hashed in the background while the following rows are read; same order as users
+        private final List<CompletableFuture<String>> passwords = new ArrayList<>();
+        private final Map<User, String> generatedPasswords = new LinkedHashMap<>();
+        private int written;
+
+        ImportChunk(Function<User, Role> roleOf, boolean deferHashing, ImportProgress progress) {
+            this.roleOf = roleOf;
+            this.deferHashing = deferHashing;
+            this.progress = progress;
+        }
+
+        void add(User user, String rawPassword) {
+            boolean generated = rawPassword == null || rawPassword.isEmpty();
+            if (generated) {
+                rawPassword = passwordHasher.generateOneTimePassword();
+                generatedPasswords.put(user, rawPassword);
+            }
+            // only generated passwords get the cheap one-time hash; passwords from the file get BCrypt
+            passwords.add(passwordHasher.hash(rawPassword, deferHashing && generated));
+            users.add(user);
+            if (users.size() >= importBatchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Write pending rows; returns the number of users written so far.
+         */
+        int flush() {
+            if (users.isEmpty()) {
+                return written;
+            }
+            try {
+                for (int i = 0; i < users.size(); i++) {
+                    users.get(i).setPassword(passwords.get(i).join());
+                }
+            } catch (CompletionException e) {
+                log.error("Password hashing failed during import: {}", e.getMessage());
+                throw new IllegalStateException("Password hashing failed", e.getCause());
+            }
+
+            userRepository.saveAll(users);
+
+            List<UserHasRole> rolesToSave = new ArrayList<>();
+            for (User user : users) {
+                Role role = roleOf.apply(user);
+                if (role == null) {
+                    log.warn("Skipping role assignment for user {}", user.getEmail());
+                    continue;
+                }
+                rolesToSave.add(UserHasRole.builder()
+                        .role(role)
+                        .user(user)
+                        .build());
+            }
+            userHasRoleRepository.saveAll(rolesToSave);
+
+            generatedPasswords.forEach((user, password) ->
+                    mailService.sendInitialPassword(user.getEmail(), user.getFullName(), password));
+
+            written += users.size();
+            progress.inserted(users.size());
+            log.info("Import chunk written: {} users ({} so far)", users.size(), written);
+            users.clear();
+            passwords.clear();
+            generatedPasswords.clear();
+            entityManager.clear();
+            return written;
+        }
+    }
+
     private void ensureNoAdminEscalation(User target, UpdateUserRequest request) {
         if (UserType.ADMIN.equals(target.getType())) {
             throw new ForbiddenException("Cannot modify ADMIN user");
@@ -907,22 +1077,4 @@ public class UserManagementService {
             throw new BadRequestException("Invalid userType: " + value);
         }
     }
-
-    private String getStringCell(Row row, int index) {
-        Cell cell = row.getCell(index);
-        if (cell == null) return null;
-        return new org.apache.poi.ss.usermodel.DataFormatter().formatCellValue(cell).trim();
-    }
-
-    private boolean isRowEmpty(Row row) {
-        if (row == null) return true;
-        int lastCell = row.getLastCellNum();
-        for (int i = 0; i < lastCell; i++) {
-            String value = getStringCell(row, i);
-            if (value != null && !value.isEmpty()) {
-                return false;
-            }
-        }
-        return true;
-    }
 }
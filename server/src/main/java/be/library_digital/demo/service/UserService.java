@@ -1,11 +1,14 @@
 package be.library_digital.demo.service;
 
 import be.library_digital.demo.model.User;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
-public interface UserService extends UserDetailsService{
+public interface UserService extends UserDetailsService, UserDetailsPasswordService {
 
     UserDetailsService userDetailsService();
 
     User getByUsername(String userName);
+
+    PrincipalCache.AuthorizationState getAuthorizationState(String userId);
 }
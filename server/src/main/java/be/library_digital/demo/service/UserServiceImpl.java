@@ -18,6 +18,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetailsService userDetailsService() {
@@ -36,4 +37,36 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmail(userName)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return userRepository.findByEmail(user.getUsername())
+                .map(existing -> {
+                    existing.setPassword(newPassword);
+                    User saved = userRepository.save(existing);
+                    log.info("Upgraded password hash of user {}", saved.getId());
+                    return (UserDetails) saved;
+                })
+                .orElse(user);
+    }
+
+    /**
+     * Current status and scope of a user, or null when it no longer exists.
+     * Cached briefly; evicted together with the cached principal.
+     */
+    @Override
+    public PrincipalCache.AuthorizationState getAuthorizationState(String userId) {
+        PrincipalCache.AuthorizationState state = principalCache.getState(userId);
+        if (state != null) {
+            return state;
+        }
+        long generation = principalCache.generation();
+        state = userRepository.findAuthorizationById(userId)
+                .map(PrincipalCache.AuthorizationState::of)
+                .orElse(null);
+        if (state != null) {
+            principalCache.putState(userId, state, generation);
+        }
+        return state;
+    }
 }
@@ -0,0 +1,285 @@
+package be.library_digital.demo.service.catalog;
+
+import be.library_digital.demo.dto.response.ClassroomResponse;
+import be.library_digital.demo.dto.response.CohortResponse;
+import be.library_digital.demo.dto.response.CourseResponse;
+import be.library_digital.demo.dto.response.DepartmentResponse;
+import be.library_digital.demo.dto.response.ResourceTypeResponse;
+import be.library_digital.demo.dto.response.SpecializationResponse;
+import be.library_digital.demo.dto.response.TrainingProgramResponse;
+import be.library_digital.demo.repository.ClassroomRepository;
+import be.library_digital.demo.repository.CohortRepository;
+import be.library_digital.demo.repository.CourseRepository;
+import be.library_digital.demo.repository.DepartmentRepository;
+import be.library_digital.demo.repository.ResourceTypeRepository;
+import be.library_digital.demo.repository.SpecializationRepository;
+import be.library_digital.demo.repository.TrainingProgramRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Snapshot of the academic catalog (departments, training programs, specializations,
+ * cohorts, classrooms, resource types, courses) as ready-made response objects, with
+ * indexes by id, code and parent code.
+ *
+ * Every create/update/delete in the catalog services calls {@link #invalidate()}, which
+ * bumps a single version; the next read rebuilds the whole snapshot (it is small, and
+ * responses embed each other, e.g. a classroom its cohort and program). Reads of an
+ * up-to-date snapshot take no lock and allocate nothing. The snapshot is also refreshed
+ * after {@code catalog.refresh-seconds}, to pick up changes made by other instances.
+ *
+ * Response objects in a snapshot are shared between requests and must not be modified.
+ */
+@Component
+@Slf4j(topic = "CATALOG-CACHE")
+public class CatalogCache {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final DepartmentRepository departmentRepository;
+    private final TrainingProgramRepository trainingProgramRepository;
+    private final SpecializationRepository specializationRepository;
+    private final CohortRepository cohortRepository;
+    private final ClassroomRepository classroomRepository;
+    private final ResourceTypeRepository resourceTypeRepository;
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${catalog.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    // versions restart with the process: the boot id keeps ETags of different runs apart
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile Snapshot snapshot;
+
+    public CatalogCache(DepartmentRepository departmentRepository,
+                        TrainingProgramRepository trainingProgramRepository,
+                        SpecializationRepository specializationRepository,
+                        CohortRepository cohortRepository,
+                        ClassroomRepository classroomRepository,
+                        ResourceTypeRepository resourceTypeRepository,
+                        CourseRepository courseRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.departmentRepository = departmentRepository;
+        this.trainingProgramRepository = trainingProgramRepository;
+        this.specializationRepository = specializationRepository;
+        this.cohortRepository = cohortRepository;
+        this.classroomRepository = classroomRepository;
+        this.resourceTypeRepository = resourceTypeRepository;
+        this.courseRepository = courseRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // never joins a caller's transaction: a snapshot loaded right after a change must come
+        // from the primary, not from the replica a read-only service method may be using
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Called on every change to catalog data. Inside a transaction the version is bumped once
+     * it commits: bumped earlier, a read in between would rebuild the snapshot from the rows
+     * before the change and keep serving it under the new version.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+            return;
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Entity tag for responses built from the catalog. Read it before the data: a tag older
+     * than the body only costs the client a refetch, a newer one would pin a stale body.
+     * {@code scope} distinguishes responses that also depend on the caller.
+     */
+    public String etag(String scope) {
+        return "\"" + bootId + "-" + version.get() + (scope != null ? "-" + scope : "") + "\"";
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version.get() && !current.isExpired(refreshSeconds)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && current.version() == version.get() && !current.isExpired(refreshSeconds)) {
+                return current;
+            }
+            if (current != null && current.version() == version.get()) {
+                version.incrementAndGet(); // expired: the data may have changed elsewhere
+            }
+            // a change committed while loading bumps the version again, so this snapshot is
+            // simply rebuilt on the next read
+            long loading = version.get();
+            Snapshot loaded = readOnlyTransaction.execute(status -> load(loading));
+            snapshot = loaded;
+            return loaded;
+        }
+    }
+
+    private Snapshot load(long loadingVersion) {
+        long start = System.nanoTime();
+        Table<DepartmentResponse> departments = new Table<>(
+                departmentRepository.findAll().stream().map(DepartmentResponse::fromDepartment).toList(),
+                DepartmentResponse::getId, DepartmentResponse::getCode);
+
+        Table<TrainingProgramResponse> programs = new Table<>(
+                trainingProgramRepository.findAll().stream().map(TrainingProgramResponse::fromProgram).toList(),
+                TrainingProgramResponse::getId, TrainingProgramResponse::getCode);
+
+        Table<SpecializationResponse> specializations = new Table<>(
+                specializationRepository.findAll().stream().map(SpecializationResponse::fromSpecialization).toList(),
+                SpecializationResponse::getId, SpecializationResponse::getCode)
+                .indexBy(Table.PROGRAM, sp -> sp.getPrograms() == null ? List.of()
+                        : sp.getPrograms().stream().map(TrainingProgramResponse::getCode).toList());
+
+        Table<CohortResponse> cohorts = new Table<>(
+                cohortRepository.findAll().stream().map(CohortResponse::fromCohort).toList(),
+                CohortResponse::getId, CohortResponse::getCode)
+                .indexBy(Table.PROGRAM, c -> c.getProgram() == null ? List.of() : List.of(c.getProgram().getCode()));
+
+        Table<ClassroomResponse> classrooms = new Table<>(
+                classroomRepository.findAll().stream().map(ClassroomResponse::fromClassroom).toList(),
+                ClassroomResponse::getId, ClassroomResponse::getCode)
+                .indexBy(Table.SPECIALIZATION, c -> c.getSpecialization() == null ? List.of()
+                        : List.of(c.getSpecialization().getCode()))
+                .indexBy(Table.COHORT, c -> c.getCohort() == null ? List.of() : List.of(c.getCohort().getCode()));
+
+        Table<ResourceTypeResponse> resourceTypes = new Table<>(
+                resourceTypeRepository.findAll().stream().map(ResourceTypeResponse::fromEntity).toList(),
+                ResourceTypeResponse::getId, ResourceTypeResponse::getCode);
+
+        Table<CourseResponse> courses = new Table<>(
+                courseRepository.findAll().stream().map(CourseResponse::fromCourse).toList(),
+                CourseResponse::getId, CourseResponse::getCode)
+                .indexBy(Table.DEPARTMENT, c -> c.getDepartment() == null || c.getDepartment().getId() == null
+                        ? List.of() : List.of(String.valueOf(c.getDepartment().getId())));
+
+        Snapshot loaded = new Snapshot(loadingVersion, System.nanoTime(), departments, programs, specializations,
+                cohorts, classrooms, resourceTypes, courses);
+        log.info("Catalog snapshot v{} loaded in {} ms", loadingVersion, (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    /**
+     * Lowercased, with diacritics removed, for "contains" filters that should behave like
+     * the database's accent-insensitive collation ("khoa" finds "Khóa").
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd').replace('Đ', 'D').toLowerCase();
+    }
+
+    public record Snapshot(long version,
+                           long loadedAtNanos,
+                           Table<DepartmentResponse> departments,
+                           Table<TrainingProgramResponse> programs,
+                           Table<SpecializationResponse> specializations,
+                           Table<CohortResponse> cohorts,
+                           Table<ClassroomResponse> classrooms,
+                           Table<ResourceTypeResponse> resourceTypes,
+                           Table<CourseResponse> courses) {
+
+        boolean isExpired(long refreshSeconds) {
+            return refreshSeconds > 0 && System.nanoTime() - loadedAtNanos > refreshSeconds * 1_000_000_000L;
+        }
+    }
+
+    /**
+     * Immutable rows of one catalog type, ordered by code; codes and parent keys are matched
+     * case-insensitively.
+     */
+    public static final class Table<T> {
+
+        public static final String PROGRAM = "program";
+        public static final String SPECIALIZATION = "specialization";
+        public static final String COHORT = "cohort";
+        public static final String DEPARTMENT = "department";
+
+        private final List<T> all;
+        private final Map<Object, T> byId;
+        private final Map<String, T> byCode;
+        private final Map<String, Map<String, List<T>>> byParent = new HashMap<>();
+
+        Table(List<T> rows, Function<T, Object> id, Function<T, String> code) {
+            // ordered by code, so every list (and parent index) can be cursor-paged by code
+            List<T> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparing(code, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+            this.all = Collections.unmodifiableList(sorted);
+            Map<Object, T> ids = new HashMap<>();
+            Map<String, T> codes = new HashMap<>();
+            for (T row : sorted) {
+                ids.put(id.apply(row), row);
+                String value = code.apply(row);
+                if (value != null) {
+                    codes.put(value.toLowerCase(), row);
+                }
+            }
+            this.byId = Map.copyOf(ids);
+            this.byCode = Map.copyOf(codes);
+        }
+
+        // only called while the snapshot is being built, before it is published
+        Table<T> indexBy(String parent, Function<T, Collection<String>> parentCodes) {
+            Map<String, List<T>> index = new HashMap<>();
+            for (T row : all) {
+                for (String parentCode : parentCodes.apply(row)) {
+                    if (parentCode != null) {
+                        index.computeIfAbsent(parentCode.toLowerCase(), k -> new ArrayList<>()).add(row);
+                    }
+                }
+            }
+            index.replaceAll((k, rows) -> List.copyOf(rows));
+            byParent.put(parent, Map.copyOf(index));
+            return this;
+        }
+
+        public List<T> all() {
+            return all;
+        }
+
+        public T byId(Object id) {
+            return id == null ? null : byId.get(id);
+        }
+
+        public T byCode(String code) {
+            return code == null ? null : byCode.get(code.trim().toLowerCase());
+        }
+
+        public List<T> byParent(String parent, String parentCode) {
+            Map<String, List<T>> index = byParent.get(parent);
+            if (index == null) {
+                throw new IllegalArgumentException("No index by " + parent);
+            }
+            return parentCode == null ? List.of() : index.getOrDefault(parentCode.trim().toLowerCase(), List.of());
+        }
+    }
+}
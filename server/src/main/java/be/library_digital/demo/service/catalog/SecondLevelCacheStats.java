@@ -0,0 +1,62 @@
+package be.library_digital.demo.service.catalog;
+
+import be.library_digital.demo.dto.response.CacheStatsResponse;
+import be.library_digital.demo.exception.BadRequestException;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hibernate second-level and query cache counters since startup. Every hit is a row read the
+ * database did not have to serve.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStats {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Totals first ("second-level", "query"), then one row per cache region. Fails while Hibernate
+     * statistics are off (the default), rather than reporting zeros.
+     */
+    public List<CacheStatsResponse> snapshot() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new BadRequestException("Hibernate statistics are disabled; start with HIBERNATE_STATISTICS=true");
+        }
+        List<CacheStatsResponse> result = new ArrayList<>();
+        result.add(row("second-level", statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        result.add(row("query", statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        for (String region : regions) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                result.add(row(region, regionStats.getHitCount(), regionStats.getMissCount(), regionStats.getPutCount()));
+            }
+        }
+        return result;
+    }
+
+    private static CacheStatsResponse row(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return CacheStatsResponse.builder()
+                .region(region)
+                .hits(hits)
+                .misses(misses)
+                .puts(puts)
+                .hitRatio(lookups == 0 ? null : (double) hits / lookups)
+                .build();
+    }
+}
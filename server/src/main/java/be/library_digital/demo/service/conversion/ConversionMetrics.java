@@ -0,0 +1,68 @@
+package be.library_digital.demo.service.conversion;
+
+import be.library_digital.demo.dto.response.ConversionStatsResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per source-MIME-type counters shared by every converter.
+ */
+@Component
+public class ConversionMetrics {
+
+    private final ConcurrentMap<String, Counters> byMimeType = new ConcurrentHashMap<>();
+
+    public void cacheHit(String mimeType) {
+        counters(mimeType).cacheHits.increment();
+    }
+
+    public void passthrough(String mimeType) {
+        counters(mimeType).passthrough.increment();
+    }
+
+    public void converted(String mimeType, long millis) {
+        Counters c = counters(mimeType);
+        c.conversions.increment();
+        c.conversionMillis.add(millis);
+    }
+
+    public void failed(String mimeType) {
+        counters(mimeType).failures.increment();
+    }
+
+    public List<ConversionStatsResponse> snapshot() {
+        return byMimeType.entrySet().stream()
+                .map(e -> {
+                    Counters c = e.getValue();
+                    long conversions = c.conversions.sum();
+                    long millis = c.conversionMillis.sum();
+                    return ConversionStatsResponse.builder()
+                            .mimeType(e.getKey())
+                            .cacheHits(c.cacheHits.sum())
+                            .passthrough(c.passthrough.sum())
+                            .conversions(conversions)
+                            .failures(c.failures.sum())
+                            .averageConversionMillis(conversions == 0 ? 0 : millis / conversions)
+                            .build();
+                })
+                .sorted(Comparator.comparing(ConversionStatsResponse::getMimeType))
+                .toList();
+    }
+
+    private Counters counters(String mimeType) {
+        return byMimeType.computeIfAbsent(mimeType, k -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder passthrough = new LongAdder();
+        private final LongAdder conversions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder conversionMillis = new LongAdder();
+    }
+}
@@ -0,0 +1,79 @@
+package be.library_digital.demo.service.conversion;
+
+import be.library_digital.demo.service.search.TextExtractor;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.FileDescriptor;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Entry point of a conversion worker process.
+ *
+ * Protocol (one line per message, UTF-8, tab separated):
+ * <pre>
+ *   request : jobId \t CONVERT \t sourceMimeType \t sourcePath \t targetPath
+ *             jobId \t EXTRACT \t maxChars \t sourcePath \t targetPath
+ *   response: jobId \t OK
+ *             jobId \t ERR \t message
+ * </pre>
+ * CONVERT writes the PDF to targetPath; EXTRACT writes the document's plain text (UTF-8, at
+ * most maxChars, empty when there is none) for the full-text index.
+ * The worker handles one job at a time and exits when stdin is closed.
+ */
+public final class ConversionWorkerMain {
+
+    public static final String READY = "READY";
+    public static final String OK = "OK";
+    public static final String ERR = "ERR";
+    public static final String CONVERT = "CONVERT";
+    public static final String EXTRACT = "EXTRACT";
+
+    private ConversionWorkerMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Keep stdout reserved for the protocol; library logging goes to stderr.
+        PrintStream protocol = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+        System.setProperty("java.awt.headless", "true");
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        protocol.println(READY);
+
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] parts = line.split("\t", -1);
+            if (parts.length != 5) {
+                protocol.println((parts.length > 0 ? parts[0] : "") + "\t" + ERR + "\tMalformed request");
+                continue;
+            }
+            String jobId = parts[0];
+            try {
+                Path source = Paths.get(parts[3]);
+                Path target = Paths.get(parts[4]);
+                if (CONVERT.equals(parts[1])) {
+                    DocumentConverters.convert(parts[2], source, target);
+                } else if (EXTRACT.equals(parts[1])) {
+                    String text = TextExtractor.extract(source, Integer.parseInt(parts[2]));
+                    Files.writeString(target, text != null ? text : "", StandardCharsets.UTF_8);
+                } else {
+                    throw new IllegalArgumentException("Unknown operation " + parts[1]);
+                }
+                protocol.println(jobId + "\t" + OK);
+            } catch (Throwable e) {
+                String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+                protocol.println(jobId + "\t" + ERR + "\t" + message.replaceAll("[\\t\\r\\n]+", " "));
+                if (e instanceof OutOfMemoryError) {
+                    // The heap is in an unknown state; let the pool respawn a fresh worker.
+                    System.exit(3);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package be.library_digital.demo.service.conversion;
+
+import be.library_digital.demo.config.ConversionProperties;
+import be.library_digital.demo.service.search.TextExtractor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of child JVMs that run document conversions and text extraction for the search index.
+ *
+ * Each worker has its own heap (-Xmx) so a pathological document can at worst kill
+ * its worker, never the API process. Jobs that exceed the configured timeout get
+ * their worker killed; a fresh worker is spawned on the next acquire.
+ *
+ * Conversions for viewers and background text extraction take permits from separate
+ * semaphores ({@code workers} and {@code extraction-workers}), so a long indexing backlog
+ * never leaves a viewer waiting for a worker.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j(topic = "CONVERSION-WORKER-POOL")
+public class ConversionWorkerPool {
+
+    private static final String SPRING_BOOT_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+    private static final String EOF = "\u0000EOF";
+
+    private final ConversionProperties properties;
+
+    private final BlockingQueue<Worker> idleWorkers = new LinkedBlockingQueue<>();
+    private final AtomicLong jobSequence = new AtomicLong();
+    private final AtomicInteger workerSequence = new AtomicInteger();
+    private Semaphore slots;
+    private Semaphore extractionSlots;
+    private volatile boolean shuttingDown;
+
+    @PostConstruct
+    void start() {
+        slots = new Semaphore(Math.max(1, properties.getWorkers()), true);
+        extractionSlots = new Semaphore(Math.max(1, properties.getExtractionWorkers()), true);
+        if (!properties.isIsolated()) {
+            return;
+        }
+        // Best-effort prewarm; missing workers are spawned lazily on acquire
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            try {
+                idleWorkers.offer(spawn());
+            } catch (IOException e) {
+                log.warn("Failed to prewarm conversion worker: {}", e.getMessage());
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shuttingDown = true;
+        Worker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.destroy();
+        }
+    }
+
+    /**
+     * Convert {@code source} into {@code target} using a worker process.
+     * Throws IOException on timeout, worker crash or conversion failure.
+     */
+    public void convert(String mimeType, Path source, Path target) throws IOException {
+        if (!properties.isIsolated()) {
+            convertInProcess(mimeType, source, target);
+            return;
+        }
+        try {
+            if (!slots.tryAcquire(properties.getAcquireTimeoutSeconds(), TimeUnit.SECONDS)) {
+                throw new IOException("Conversion service is busy, please try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a conversion worker", e);
+        }
+        try {
+            run(ConversionWorkerMain.CONVERT, mimeType, source, target, "Conversion");
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Plain text of {@code source}, at most {@code maxChars}, extracted in a worker process
+     * (same parsers as the converters). Returns null when the format has no extractor.
+     * Waits for one of the extraction permits as long as it takes: callers are background
+     * indexing threads. Throws IOException on timeout, worker crash or extraction failure.
+     */
+    public String extractText(Path source, int maxChars) throws IOException {
+        if (!TextExtractor.supports(source.getFileName().toString())) {
+            return null;
+        }
+        if (!properties.isIsolated()) {
+            return extractInProcess(source, maxChars);
+        }
+        try {
+            extractionSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an extraction worker", e);
+        }
+        Path target = null;
+        try {
+            target = Files.createTempFile("extract-", ".txt");
+            run(ConversionWorkerMain.EXTRACT, String.valueOf(maxChars), source, target, "Text extraction");
+            // written by the worker, already cut to maxChars
+            return Files.readString(target, StandardCharsets.UTF_8);
+        } finally {
+            extractionSlots.release();
+            if (target != null) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
+    // the caller holds a permit from slots or extractionSlots
+    private void run(String operation, String argument, Path source, Path target, String label) throws IOException {
+        Worker worker = null;
+        boolean reusable = false;
+        try {
+            worker = idleWorkers.poll();
+            if (worker == null || !worker.isAlive()) {
+                if (worker != null) {
+                    worker.destroy();
+                }
+                worker = spawn();
+            }
+
+            String jobId = String.valueOf(jobSequence.incrementAndGet());
+            worker.send(jobId + "\t" + operation + "\t" + argument + "\t" + source.toAbsolutePath()
+                    + "\t" + target.toAbsolutePath());
+
+            String response = worker.responses.poll(properties.getJobTimeoutSeconds(), TimeUnit.SECONDS);
+            if (response == null) {
+                log.warn("{} of {} exceeded {}s, killing worker {}", label, source.getFileName(),
+                        properties.getJobTimeoutSeconds(), worker.name);
+                throw new IOException(label + " timed out after " + properties.getJobTimeoutSeconds() + " seconds");
+            }
+            if (EOF.equals(response)) {
+                throw new IOException("Conversion worker exited unexpectedly (exit code " + worker.exitCode() + ")");
+            }
+
+            String[] parts = response.split("\t", 3);
+            if (parts.length < 2 || !jobId.equals(parts[0])) {
+                throw new IOException("Conversion worker protocol error");
+            }
+            reusable = true;
+            if (!ConversionWorkerMain.OK.equals(parts[1])) {
+                throw new IOException(label + " failed: " + (parts.length > 2 ? parts[2] : "unknown error"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + label.toLowerCase() + " result", e);
+        } finally {
+            if (worker != null) {
+                if (reusable && worker.isAlive() && !shuttingDown) {
+                    idleWorkers.offer(worker);
+                } else {
+                    worker.destroy();
+                }
+            }
+        }
+    }
+
+    private void convertInProcess(String mimeType, Path source, Path target) throws IOException {
+        try {
+            DocumentConverters.convert(mimeType, source, target);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Conversion failed: " + e.getMessage(), e);
+        }
+    }
+
+    private String extractInProcess(Path source, int maxChars) throws IOException {
+        try {
+            return TextExtractor.extract(source, maxChars);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Text extraction failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Worker spawn() throws IOException {
+        String name = "conversion-worker-" + workerSequence.incrementAndGet();
+        ProcessBuilder builder = new ProcessBuilder(buildCommand());
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        Process process = builder.start();
+        Worker worker = new Worker(name, process);
+
+        try {
+            String ready = worker.responses.poll(properties.getAcquireTimeoutSeconds(), TimeUnit.SECONDS);
+            if (!ConversionWorkerMain.READY.equals(ready)) {
+                worker.destroy();
+                throw new IOException("Conversion worker failed to start");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.destroy();
+            throw new IOException("Interrupted while starting conversion worker", e);
+        }
+        log.info("Started {} (pid={})", name, process.pid());
+        return worker;
+    }
+
+    private List<String> buildCommand() {
+        String javaCommand = properties.getJavaCommand() != null && !properties.getJavaCommand().isBlank()
+                ? properties.getJavaCommand()
+                : Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+
+        List<String> command = new ArrayList<>();
+        command.add(javaCommand);
+        command.add("-Xmx" + properties.getWorkerMaxHeap());
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-Djava.awt.headless=true");
+        command.add("-cp");
+        command.add(classPath);
+        if (isExecutableJar(classPath)) {
+            // Packaged with spring-boot-maven-plugin: classes live under BOOT-INF
+            command.add("-Dloader.main=" + ConversionWorkerMain.class.getName());
+            command.add(SPRING_BOOT_LAUNCHER);
+        } else {
+            command.add(ConversionWorkerMain.class.getName());
+        }
+        return command;
+    }
+
+    private boolean isExecutableJar(String classPath) {
+        return classPath != null && !classPath.contains(File.pathSeparator) && classPath.endsWith(".jar");
+    }
+
+    private static final class Worker {
+        private final String name;
+        private final Process process;
+        private final BufferedWriter stdin;
+        private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+
+        private Worker(String name, Process process) {
+            this.name = name;
+            this.process = process;
+            this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+            Thread reader = new Thread(this::readResponses, name + "-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private void readResponses() {
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    responses.offer(line);
+                }
+            } catch (IOException ignored) {
+                // stream closed because the process died or was killed
+            }
+            responses.offer(EOF);
+        }
+
+        private void send(String line) throws IOException {
+            stdin.write(line);
+            stdin.newLine();
+            stdin.flush();
+        }
+
+        private boolean isAlive() {
+            return process.isAlive();
+        }
+
+        private String exitCode() {
+            return process.isAlive() ? "running" : String.valueOf(process.exitValue());
+        }
+
+        private void destroy() {
+            try {
+                stdin.close();
+            } catch (IOException ignored) {
+            }
+            process.destroyForcibly();
+        }
+    }
+}
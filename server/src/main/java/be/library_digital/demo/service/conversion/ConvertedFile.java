@@ -0,0 +1,13 @@
+package be.library_digital.demo.service.conversion;
+
+import java.nio.file.Path;
+
+/**
+ * File to serve for an inline view: either the converted cache entry or the original.
+ *
+ * @param path        file on disk
+ * @param contentType MIME type of {@code path}, null when unknown
+ * @param extension   extension (without dot) the download filename should carry, null to keep the original
+ */
+public record ConvertedFile(Path path, String contentType, String extension) {
+}
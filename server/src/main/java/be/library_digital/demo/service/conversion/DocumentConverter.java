@@ -0,0 +1,32 @@
+package be.library_digital.demo.service.conversion;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Converts one family of source formats into a browser-viewable file.
+ *
+ * Implementations must be stateless and free of Spring dependencies: they are looked up
+ * through {@link DocumentConverters} both in the API JVM and inside {@link ConversionWorkerMain}.
+ */
+public interface DocumentConverter {
+
+    /** MIME types this converter accepts. */
+    Set<String> sourceMimeTypes();
+
+    /** MIME type of the produced file. */
+    String targetMimeType();
+
+    /** File extension (without dot) of the produced file. */
+    String targetExtension();
+
+    /**
+     * Whether the source actually needs converting. When false the original file is
+     * served as-is (e.g. images that are already small enough).
+     */
+    default boolean requiresConversion(Path source) {
+        return true;
+    }
+
+    void convert(Path source, Path target) throws Exception;
+}
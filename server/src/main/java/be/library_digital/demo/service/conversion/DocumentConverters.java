@@ -0,0 +1,82 @@
+package be.library_digital.demo.service.conversion;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registry of {@link DocumentConverter}s keyed by source MIME type.
+ *
+ * Plain (non-Spring) on purpose so the same lookup runs inside the API JVM and inside
+ * {@link ConversionWorkerMain}; the MIME type is what travels over the worker protocol.
+ * To support a new format, add its converter to {@link #CONVERTERS} and its extension
+ * to {@link #MIME_BY_EXTENSION}.
+ */
+public final class DocumentConverters {
+
+    private static final List<DocumentConverter> CONVERTERS = List.of(
+            new DocxConverter(),
+            new WordDocConverter(),
+            new SlideShowConverter(),
+            new SpreadsheetConverter(),
+            new ImageConverter());
+
+    // Files.probeContentType is platform dependent (often null in containers), so
+    // resolve by extension ourselves.
+    private static final Map<String, String> MIME_BY_EXTENSION = Map.ofEntries(
+            Map.entry("docx", MimeTypes.DOCX),
+            Map.entry("doc", MimeTypes.DOC),
+            Map.entry("pptx", MimeTypes.PPTX),
+            Map.entry("ppt", MimeTypes.PPT),
+            Map.entry("xlsx", MimeTypes.XLSX),
+            Map.entry("xls", MimeTypes.XLS),
+            Map.entry("jpg", MimeTypes.JPEG),
+            Map.entry("jpeg", MimeTypes.JPEG),
+            Map.entry("png", MimeTypes.PNG),
+            Map.entry("gif", MimeTypes.GIF),
+            Map.entry("bmp", MimeTypes.BMP));
+
+    private static final Map<String, DocumentConverter> BY_MIME_TYPE = new LinkedHashMap<>();
+
+    static {
+        for (DocumentConverter converter : CONVERTERS) {
+            for (String mimeType : converter.sourceMimeTypes()) {
+                DocumentConverter previous = BY_MIME_TYPE.put(mimeType, converter);
+                if (previous != null) {
+                    throw new IllegalStateException("Duplicate converter for " + mimeType);
+                }
+            }
+        }
+    }
+
+    private DocumentConverters() {
+    }
+
+    /**
+     * Resolve the MIME type for a filename from its extension, or null when unknown.
+     */
+    public static String mimeTypeOf(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return null;
+        }
+        String ext = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return MIME_BY_EXTENSION.get(ext);
+    }
+
+    /**
+     * Converter registered for the MIME type, or null when the type is not supported.
+     */
+    public static DocumentConverter forMimeType(String mimeType) {
+        return mimeType == null ? null : BY_MIME_TYPE.get(mimeType);
+    }
+
+    public static void convert(String mimeType, Path source, Path target) throws Exception {
+        DocumentConverter converter = forMimeType(mimeType);
+        if (converter == null) {
+            throw new UnsupportedOperationException("Conversion for this file type is not supported: " + mimeType);
+        }
+        converter.convert(source, target);
+    }
+}
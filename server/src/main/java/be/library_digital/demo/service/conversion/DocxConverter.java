@@ -0,0 +1,40 @@
+package be.library_digital.demo.service.conversion;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.docx4j.Docx4J;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+
+/**
+ * DOCX -> PDF through docx4j (keeps layout and formatting).
+ */
+final class DocxConverter implements DocumentConverter {
+
+    @Override
+    public Set<String> sourceMimeTypes() {
+        return Set.of(MimeTypes.DOCX);
+    }
+
+    @Override
+    public String targetMimeType() {
+        return MimeTypes.PDF;
+    }
+
+    @Override
+    public String targetExtension() {
+        return "pdf";
+    }
+
+    @Override
+    public void convert(Path source, Path target) throws Exception {
+        try (FileInputStream is = new FileInputStream(source.toFile())) {
+            WordprocessingMLPackage wordMLPackage = WordprocessingMLPackage.load(is);
+            try (FileOutputStream os = new FileOutputStream(target.toFile())) {
+                Docx4J.toPDF(wordMLPackage, os);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package be.library_digital.demo.service.conversion;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Large images -> downscaled JPEG preview. Small images are served untouched.
+ *
+ * Decoding uses source subsampling, so a 100-megapixel photo never has to be fully
+ * materialized in memory before it is scaled down.
+ */
+final class ImageConverter implements DocumentConverter {
+
+    private static final int MAX_DIMENSION = 2048;
+    private static final long MAX_BYTES = 2L * 1024 * 1024;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    @Override
+    public Set<String> sourceMimeTypes() {
+        return Set.of(MimeTypes.JPEG, MimeTypes.PNG, MimeTypes.GIF, MimeTypes.BMP);
+    }
+
+    @Override
+    public String targetMimeType() {
+        return MimeTypes.JPEG;
+    }
+
+    @Override
+    public String targetExtension() {
+        return "jpg";
+    }
+
+    @Override
+    public boolean requiresConversion(Path source) {
+        try {
+            if (Files.size(source) > MAX_BYTES) {
+                return true;
+            }
+            int[] size = dimensions(source);
+            return size != null && Math.max(size[0], size[1]) > MAX_DIMENSION;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void convert(Path source, Path target) throws Exception {
+        BufferedImage decoded;
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            ImageReader reader = readerFor(in);
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                // Integer subsampling gets close to the target size cheaply; the final
+                // resize below does the precise (and smooth) scaling.
+                int step = Math.max(1, Math.max(width, height) / MAX_DIMENSION);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        BufferedImage scaled = scaleToJpegCompatible(decoded);
+        writeJpeg(scaled, target);
+    }
+
+    private BufferedImage scaleToJpegCompatible(BufferedImage image) {
+        double ratio = Math.min(1.0, (double) MAX_DIMENSION / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = out.createGraphics();
+        try {
+            // JPEG has no alpha channel; flatten transparent pixels onto white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return out;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private int[] dimensions(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            ImageReader reader = readerFor(in);
+            try {
+                reader.setInput(in, true, true);
+                return new int[] { reader.getWidth(0), reader.getHeight(0) };
+            } finally {
+                reader.dispose();
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ImageReader readerFor(ImageInputStream in) throws IOException {
+        if (in == null) {
+            throw new IOException("Cannot open image");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            throw new IllegalArgumentException("Unsupported image format");
+        }
+        return readers.next();
+    }
+}
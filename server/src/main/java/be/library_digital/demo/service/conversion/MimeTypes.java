@@ -0,0 +1,19 @@
+package be.library_digital.demo.service.conversion;
+
+public final class MimeTypes {
+
+    public static final String PDF = "application/pdf";
+    public static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    public static final String DOC = "application/msword";
+    public static final String PPTX = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+    public static final String PPT = "application/vnd.ms-powerpoint";
+    public static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    public static final String XLS = "application/vnd.ms-excel";
+    public static final String JPEG = "image/jpeg";
+    public static final String PNG = "image/png";
+    public static final String GIF = "image/gif";
+    public static final String BMP = "image/bmp";
+
+    private MimeTypes() {
+    }
+}
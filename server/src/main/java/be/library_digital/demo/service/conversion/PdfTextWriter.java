@@ -0,0 +1,233 @@
+package be.library_digital.demo.service.conversion;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * Minimal paginating text writer used by the converters that only keep text content
+ * (legacy DOC, spreadsheets).
+ *
+ * A Unicode TrueType font is needed for Vietnamese text; it is taken from the
+ * {@code conversion.font} system property or a few well-known system locations. Without one
+ * we fall back to Helvetica and strip diacritics, which is readable but lossy.
+ */
+final class PdfTextWriter implements Closeable {
+
+    private static final String[] FONT_CANDIDATES = {
+            "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf",
+            "/usr/share/fonts/dejavu/DejaVuSans.ttf",
+            "/usr/share/fonts/TTF/DejaVuSans.ttf",
+            "/usr/share/fonts/truetype/liberation/LiberationSans-Regular.ttf",
+            "C:/Windows/Fonts/arial.ttf",
+            "/Library/Fonts/Arial Unicode.ttf"
+    };
+
+    private static final float MARGIN = 36f;
+
+    private final PDDocument document;
+    private final PDRectangle pageSize;
+    private final PDFont font;
+    private final boolean unicodeFont;
+    private final float fontSize;
+    private final float leading;
+
+    private PDPageContentStream content;
+    private float cursorY;
+
+    PdfTextWriter(PDDocument document, PDRectangle pageSize, float fontSize) throws IOException {
+        this.document = document;
+        this.pageSize = pageSize;
+        this.fontSize = fontSize;
+        this.leading = fontSize * 1.35f;
+
+        File fontFile = resolveFontFile();
+        if (fontFile != null) {
+            this.font = PDType0Font.load(document, fontFile);
+            this.unicodeFont = true;
+        } else {
+            this.font = PDType1Font.HELVETICA;
+            this.unicodeFont = false;
+        }
+    }
+
+    float usableWidth() {
+        return pageSize.getWidth() - 2 * MARGIN;
+    }
+
+    float textWidth(String text) throws IOException {
+        return font.getStringWidth(sanitize(text)) / 1000f * fontSize;
+    }
+
+    /** Start a new page and write a heading line on it. */
+    void heading(String text) throws IOException {
+        newPage();
+        writeLine(text, MARGIN);
+        cursorY -= leading / 2;
+    }
+
+    /** Write a paragraph, wrapping at the page width. */
+    void paragraph(String text) throws IOException {
+        if (text == null || text.isBlank()) {
+            blankLine();
+            return;
+        }
+        for (String line : wrap(text.strip(), usableWidth())) {
+            writeLine(line, MARGIN);
+        }
+    }
+
+    void blankLine() throws IOException {
+        ensureSpace();
+        cursorY -= leading;
+    }
+
+    /** Write one table row; each cell is clipped to its column width. */
+    void row(List<String> cells, float[] columnWidths) throws IOException {
+        ensureSpace();
+        float x = MARGIN;
+        for (int i = 0; i < cells.size() && i < columnWidths.length; i++) {
+            String cell = clip(cells.get(i), columnWidths[i] - 4f);
+            if (!cell.isEmpty()) {
+                showText(cell, x, cursorY);
+            }
+            x += columnWidths[i];
+        }
+        cursorY -= leading;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (content != null) {
+            content.close();
+            content = null;
+        }
+    }
+
+    private void writeLine(String text, float x) throws IOException {
+        ensureSpace();
+        if (!text.isEmpty()) {
+            showText(text, x, cursorY);
+        }
+        cursorY -= leading;
+    }
+
+    private void showText(String text, float x, float y) throws IOException {
+        content.beginText();
+        content.setFont(font, fontSize);
+        content.newLineAtOffset(x, y);
+        content.showText(sanitize(text));
+        content.endText();
+    }
+
+    private void ensureSpace() throws IOException {
+        if (content == null || cursorY < MARGIN + leading) {
+            newPage();
+        }
+    }
+
+    private void newPage() throws IOException {
+        close();
+        PDPage page = new PDPage(pageSize);
+        document.addPage(page);
+        content = new PDPageContentStream(document, page);
+        cursorY = pageSize.getHeight() - MARGIN - fontSize;
+    }
+
+    private List<String> wrap(String text, float width) throws IOException {
+        List<String> lines = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String word : text.split("\\s+")) {
+            String candidate = current.isEmpty() ? word : current + " " + word;
+            if (textWidth(candidate) <= width) {
+                current.setLength(0);
+                current.append(candidate);
+                continue;
+            }
+            if (!current.isEmpty()) {
+                lines.add(current.toString());
+                current.setLength(0);
+            }
+            // A single word longer than the line is hard-broken
+            String rest = word;
+            while (textWidth(rest) > width && rest.length() > 1) {
+                String head = clip(rest, width);
+                if (head.isEmpty()) {
+                    head = rest.substring(0, 1);
+                }
+                lines.add(head);
+                rest = rest.substring(head.length());
+            }
+            current.append(rest);
+        }
+        if (!current.isEmpty()) {
+            lines.add(current.toString());
+        }
+        return lines;
+    }
+
+    private String clip(String text, float width) throws IOException {
+        if (text == null) {
+            return "";
+        }
+        String value = text.replaceAll("[\\r\\n\\t]+", " ");
+        // No glyph is narrower than ~1/4 em, so anything past this can never fit
+        int maxChars = (int) (width / (fontSize * 0.25f)) + 1;
+        if (value.length() > maxChars) {
+            value = value.substring(0, maxChars);
+        }
+        if (textWidth(value) <= width) {
+            return value;
+        }
+        int end = value.length();
+        while (end > 0 && textWidth(value.substring(0, end)) > width) {
+            end--;
+        }
+        return value.substring(0, end);
+    }
+
+    private String sanitize(String text) {
+        String value = text.replaceAll("[\\p{Cntrl}]", " ");
+        if (unicodeFont) {
+            return value;
+        }
+        // Helvetica only covers WinAnsi; drop diacritics and anything else outside ASCII
+        String stripped = Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        StringBuilder sb = new StringBuilder(stripped.length());
+        for (char c : stripped.toCharArray()) {
+            sb.append(c >= 0x20 && c < 0x7F ? c : '?');
+        }
+        return sb.toString();
+    }
+
+    private static File resolveFontFile() {
+        String configured = System.getProperty("conversion.font");
+        if (configured != null && !configured.isBlank()) {
+            File file = new File(configured);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        for (String candidate : FONT_CANDIDATES) {
+            File file = new File(candidate);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package be.library_digital.demo.service.conversion;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.poi.sl.usermodel.Slide;
+import org.apache.poi.sl.usermodel.SlideShow;
+import org.apache.poi.sl.usermodel.SlideShowFactory;
+
+/**
+ * PPTX and legacy PPT -> PDF. Each slide is rendered to an image and placed on its own page.
+ * POI's common slideshow API covers both formats (PPT through poi-scratchpad).
+ *
+ * The registry uses the default render settings (1x, lossless); other settings exist so the
+ * benchmark module can measure their cost.
+ */
+public final class SlideShowConverter implements DocumentConverter {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final float scale;
+    private final boolean lossless;
+
+    public SlideShowConverter() {
+        this(1.0f, true);
+    }
+
+    /**
+     * @param scale    slide image resolution relative to the page size in points
+     * @param lossless embed slides as Flate (PNG-like) images; false uses JPEG
+     */
+    public SlideShowConverter(float scale, boolean lossless) {
+        this.scale = scale;
+        this.lossless = lossless;
+    }
+
+    @Override
+    public Set<String> sourceMimeTypes() {
+        return Set.of(MimeTypes.PPTX, MimeTypes.PPT);
+    }
+
+    @Override
+    public String targetMimeType() {
+        return MimeTypes.PDF;
+    }
+
+    @Override
+    public String targetExtension() {
+        return "pdf";
+    }
+
+    @Override
+    public void convert(Path source, Path target) throws Exception {
+        try (SlideShow<?, ?> ppt = SlideShowFactory.create(source.toFile(), null, true);
+                PDDocument doc = new PDDocument()) {
+
+            Dimension pgsize = ppt.getPageSize();
+            float width = (float) pgsize.getWidth();
+            float height = (float) pgsize.getHeight();
+
+            for (Slide<?, ?> slide : ppt.getSlides()) {
+                BufferedImage img = new BufferedImage(Math.round(width * scale), Math.round(height * scale),
+                        BufferedImage.TYPE_INT_RGB);
+                Graphics2D graphics = img.createGraphics();
+                graphics.scale(scale, scale);
+
+                // Clear background
+                graphics.setPaint(Color.white);
+                graphics.fill(new Rectangle2D.Float(0, 0, width, height));
+
+                // Render slide
+                slide.draw(graphics);
+
+                // Create PDF page
+                PDPage page = new PDPage(new PDRectangle(width, height));
+                doc.addPage(page);
+
+                PDImageXObject pdImage = lossless
+                        ? LosslessFactory.createFromImage(doc, img)
+                        : JPEGFactory.createFromImage(doc, img, JPEG_QUALITY);
+                try (PDPageContentStream contentStream = new PDPageContentStream(doc, page)) {
+                    contentStream.drawImage(pdImage, 0, 0, width, height);
+                }
+
+                graphics.dispose();
+            }
+
+            doc.save(target.toFile());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package be.library_digital.demo.service.conversion;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+/**
+ * XLSX/XLS -> PDF. Every sheet starts on a new landscape page and is laid out as a plain
+ * grid of formatted cell values (no styling, charts or images).
+ */
+final class SpreadsheetConverter implements DocumentConverter {
+
+    private static final int MAX_ROWS_PER_SHEET = 5000;
+    private static final int MAX_COLUMNS = 30;
+    private static final int WIDTH_SAMPLE_ROWS = 200;
+    private static final float FONT_SIZE = 8f;
+    private static final float MIN_COLUMN_WIDTH = 30f;
+    private static final PDRectangle LANDSCAPE_A4 = new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth());
+
+    @Override
+    public Set<String> sourceMimeTypes() {
+        return Set.of(MimeTypes.XLSX, MimeTypes.XLS);
+    }
+
+    @Override
+    public String targetMimeType() {
+        return MimeTypes.PDF;
+    }
+
+    @Override
+    public String targetExtension() {
+        return "pdf";
+    }
+
+    @Override
+    public void convert(Path source, Path target) throws Exception {
+        try (Workbook workbook = WorkbookFactory.create(source.toFile(), null, true);
+                PDDocument doc = new PDDocument()) {
+
+            DataFormatter formatter = new DataFormatter();
+            FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+
+            try (PdfTextWriter writer = new PdfTextWriter(doc, LANDSCAPE_A4, FONT_SIZE)) {
+                for (Sheet sheet : workbook) {
+                    writer.heading("Sheet: " + sheet.getSheetName());
+
+                    int columns = Math.min(MAX_COLUMNS, columnCount(sheet));
+                    if (columns == 0) {
+                        writer.paragraph("(empty)");
+                        continue;
+                    }
+                    float[] widths = columnWidths(sheet, columns, formatter, evaluator, writer);
+
+                    int written = 0;
+                    for (Row row : sheet) {
+                        if (written >= MAX_ROWS_PER_SHEET) {
+                            writer.paragraph("... truncated after " + MAX_ROWS_PER_SHEET + " rows");
+                            break;
+                        }
+                        writer.row(cellValues(row, columns, formatter, evaluator), widths);
+                        written++;
+                    }
+                }
+            }
+
+            doc.save(target.toFile());
+        }
+    }
+
+    private int columnCount(Sheet sheet) {
+        int max = 0;
+        int sampled = 0;
+        for (Row row : sheet) {
+            max = Math.max(max, row.getLastCellNum());
+            if (++sampled >= WIDTH_SAMPLE_ROWS) {
+                break;
+            }
+        }
+        return max;
+    }
+
+    private float[] columnWidths(Sheet sheet, int columns, DataFormatter formatter,
+            FormulaEvaluator evaluator, PdfTextWriter writer) throws Exception {
+        float maxColumn = writer.usableWidth() / 3f;
+        float[] widths = new float[columns];
+        int sampled = 0;
+        for (Row row : sheet) {
+            List<String> values = cellValues(row, columns, formatter, evaluator);
+            for (int i = 0; i < columns; i++) {
+                float w = Math.min(maxColumn, writer.textWidth(values.get(i)) + 6f);
+                widths[i] = Math.max(widths[i], w);
+            }
+            if (++sampled >= WIDTH_SAMPLE_ROWS) {
+                break;
+            }
+        }
+
+        float total = 0f;
+        for (int i = 0; i < columns; i++) {
+            widths[i] = Math.max(MIN_COLUMN_WIDTH, widths[i]);
+            total += widths[i];
+        }
+        if (total > writer.usableWidth()) {
+            float scale = writer.usableWidth() / total;
+            for (int i = 0; i < columns; i++) {
+                widths[i] *= scale;
+            }
+        }
+        return widths;
+    }
+
+    private List<String> cellValues(Row row, int columns, DataFormatter formatter, FormulaEvaluator evaluator) {
+        List<String> values = new ArrayList<>(columns);
+        for (int i = 0; i < columns; i++) {
+            Cell cell = row.getCell(i);
+            values.add(cell == null ? "" : format(cell, formatter, evaluator));
+        }
+        return values;
+    }
+
+    private String format(Cell cell, DataFormatter formatter, FormulaEvaluator evaluator) {
+        try {
+            return formatter.formatCellValue(cell, evaluator);
+        } catch (RuntimeException e) {
+            // External references or unsupported functions: show the raw value instead
+            return formatter.formatCellValue(cell);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package be.library_digital.demo.service.conversion;
+
+import java.io.FileInputStream;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+
+/**
+ * Legacy DOC (Word 97-2003) -> PDF. HWPF has no layout engine, so only the paragraph
+ * text is kept; good enough for an inline preview.
+ */
+final class WordDocConverter implements DocumentConverter {
+
+    private static final float FONT_SIZE = 11f;
+
+    @Override
+    public Set<String> sourceMimeTypes() {
+        return Set.of(MimeTypes.DOC);
+    }
+
+    @Override
+    public String targetMimeType() {
+        return MimeTypes.PDF;
+    }
+
+    @Override
+    public String targetExtension() {
+        return "pdf";
+    }
+
+    @Override
+    public void convert(Path source, Path target) throws Exception {
+        try (FileInputStream is = new FileInputStream(source.toFile());
+                WordExtractor extractor = new WordExtractor(is);
+                PDDocument doc = new PDDocument()) {
+
+            try (PdfTextWriter writer = new PdfTextWriter(doc, PDRectangle.A4, FONT_SIZE)) {
+                String[] paragraphs = extractor.getParagraphText();
+                if (paragraphs.length == 0) {
+                    writer.paragraph("(empty document)");
+                }
+                for (String paragraph : paragraphs) {
+                    writer.paragraph(WordExtractor.stripFields(paragraph));
+                }
+            }
+
+            doc.save(target.toFile());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package be.library_digital.demo.service.export;
+
+import be.library_digital.demo.common.ExportFormat;
+import be.library_digital.demo.common.UserType;
+import be.library_digital.demo.exception.ForbiddenException;
+import be.library_digital.demo.exception.ResourceNotFoundException;
+import be.library_digital.demo.model.User;
+import be.library_digital.demo.repository.ClassroomRepository;
+import be.library_digital.demo.repository.ResourceRepository;
+import be.library_digital.demo.repository.UserRepository;
+import be.library_digital.demo.repository.projection.ResourceExportProjection;
+import be.library_digital.demo.repository.projection.UserExportProjection;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Bulk exports for admins. Rows are read as projections through a streamed query (fetched
+ * from the database in chunks, nothing kept in the persistence context) and written out
+ * one by one, so memory stays flat whatever the row count. On MySQL the chunks come from a
+ * server-side cursor, switched on for the export's connection only ({@link #withCursorFetch}).
+ *
+ * The write methods run from the response body after the request thread has returned:
+ * check permissions and parameters with {@link #checkCanExport} / {@link #checkClassroom}
+ * first, while an error can still become a proper status code.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j(topic = "EXPORT-SERVICE")
+public class ExportService {
+
+    private final UserRepository userRepository;
+    private final ClassroomRepository classroomRepository;
+    private final ResourceRepository resourceRepository;
+    private final EntityManager entityManager;
+
+    // SXSSF rows kept in memory before older ones are flushed to disk
+    @Value("${export.xlsx-window:200}")
+    private int xlsxWindow;
+
+    public void checkCanExport(User currentUser) {
+        if (currentUser == null || !UserType.ADMIN.equals(currentUser.getType())) {
+            throw new ForbiddenException("Only ADMIN can export data");
+        }
+    }
+
+    public void checkClassroom(String classroomId) {
+        if (classroomId != null && !classroomRepository.existsById(classroomId)) {
+            throw new ResourceNotFoundException("Classroom not found");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUsers(UserType type, ExportFormat format, OutputStream out) throws IOException {
+        withCursorFetch(() -> writeUsers(type, format, out));
+    }
+
+    private void writeUsers(UserType type, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<UserExportProjection> rows = userRepository.streamForExport(type, null);
+             ExportWriter writer = ExportWriter.open(format, out, "Users", xlsxWindow)) {
+            writer.row("userIdentifier", "email", "fullName", "gender", "userType", "status",
+                    "phone", "dateOfBirth", "departmentCode", "createdAt");
+            int count = 0;
+            for (Iterator<UserExportProjection> it = rows.iterator(); it.hasNext(); count++) {
+                UserExportProjection u = it.next();
+                writer.row(u.getUserIdentifier(), u.getEmail(), u.getFullName(), u.getGender(), u.getType(),
+                        u.getStatus(), u.getPhone(), u.getDateOfBirth(), u.getDepartmentCode(), u.getCreatedAt());
+            }
+            log.info("Exported {} users as {}", count, format);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportStudents(String classroomId, ExportFormat format, OutputStream out) throws IOException {
+        withCursorFetch(() -> writeStudents(classroomId, format, out));
+    }
+
+    private void writeStudents(String classroomId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<UserExportProjection> rows = userRepository.streamForExport(UserType.STUDENT, classroomId);
+             ExportWriter writer = ExportWriter.open(format, out, "Students", xlsxWindow)) {
+            writer.row("userIdentifier", "email", "fullName", "dateOfBirth", "address", "phone",
+                    "classroomCode", "status", "createdAt");
+            int count = 0;
+            for (Iterator<UserExportProjection> it = rows.iterator(); it.hasNext(); count++) {
+                UserExportProjection u = it.next();
+                writer.row(u.getUserIdentifier(), u.getEmail(), u.getFullName(), u.getDateOfBirth(), u.getAddress(),
+                        u.getPhone(), u.getClassroomCode(), u.getStatus(), u.getCreatedAt());
+            }
+            log.info("Exported {} students (classroom {}) as {}", count, classroomId, format);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportResources(Long departmentId, ExportFormat format, OutputStream out) throws IOException {
+        withCursorFetch(() -> writeResources(departmentId, format, out));
+    }
+
+    private void writeResources(Long departmentId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ResourceExportProjection> rows = resourceRepository.streamForExport(departmentId);
+             ExportWriter writer = ExportWriter.open(format, out, "Resources", xlsxWindow)) {
+            writer.row("id", "title", "type", "courseCode", "courseTitle", "classroomCode", "uploaderEmail",
+                    "departmentCode", "approvalStatus", "sizeBytes", "views", "downloads",
+                    "ratingCount", "ratingAverage", "commentCount", "createdAt");
+            int count = 0;
+            for (Iterator<ResourceExportProjection> it = rows.iterator(); it.hasNext(); count++) {
+                ResourceExportProjection r = it.next();
+                writer.row(r.getId(), r.getTitle(), r.getTypeName(), r.getCourseCode(), r.getCourseTitle(),
+                        r.getClassroomCode(), r.getUploaderEmail(), r.getDepartmentCode(), r.getApprovalStatus(),
+                        r.getSizeBytes(), r.getViews(), r.getDownloads(),
+                        r.getRatingCount(), r.getRatingAverage(), r.getCommentCount(), r.getCreatedAt());
+            }
+            log.info("Exported {} resources as {}", count, format);
+        }
+    }
+
+    /**
+     * Run {@code export} with Connector/J cursor fetch enabled on the transaction's connection:
+     * statements prepared meanwhile read their rows in fetch-size chunks from a server-side
+     * cursor instead of the whole result at once. The settings are restored before the
+     * connection goes back to the pool, so other queries keep client-side result sets.
+     * Other drivers (H2 in the local profiles) honour the fetch size as is.
+     */
+    private void withCursorFetch(Export export) throws IOException {
+        JdbcConnection mysql = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                connection.isWrapperFor(JdbcConnection.class) ? connection.unwrap(JdbcConnection.class) : null);
+        if (mysql == null) {
+            export.run();
+            return;
+        }
+        PropertySet properties = mysql.getPropertySet();
+        // cursor fetch only applies to server-side prepared statements
+        RuntimeProperty<Boolean> cursorFetch = properties.getBooleanProperty(PropertyKey.useCursorFetch);
+        RuntimeProperty<Boolean> serverPrepare = properties.getBooleanProperty(PropertyKey.useServerPrepStmts);
+        boolean previousCursorFetch = cursorFetch.getValue();
+        boolean previousServerPrepare = serverPrepare.getValue();
+        cursorFetch.setValue(true);
+        serverPrepare.setValue(true);
+        try {
+            export.run();
+        } finally {
+            cursorFetch.setValue(previousCursorFetch);
+            serverPrepare.setValue(previousServerPrepare);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,130 @@
+package be.library_digital.demo.service.export;
+
+import be.library_digital.demo.common.ExportFormat;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a header and rows to an XLSX or CSV stream, one row at a time.
+ *
+ * XLSX goes through {@link SXSSFWorkbook}: only the last {@code window} rows stay in
+ * memory, older ones are flushed to a compressed temp file until {@link #close()} writes
+ * the workbook out. CSV is written straight through, UTF-8 with a BOM so Excel picks the
+ * encoding of Vietnamese names correctly.
+ */
+public abstract class ExportWriter implements AutoCloseable {
+
+    public static ExportWriter open(ExportFormat format, OutputStream out, String sheetName, int window) {
+        return format == ExportFormat.CSV ? new Csv(out) : new Xlsx(out, sheetName, window);
+    }
+
+    public static String contentType(ExportFormat format) {
+        return format == ExportFormat.CSV
+                ? "text/csv; charset=UTF-8"
+                : "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+
+    public static String extension(ExportFormat format) {
+        return format == ExportFormat.CSV ? ".csv" : ".xlsx";
+    }
+
+    public abstract void row(Object... values) throws IOException;
+
+    @Override
+    public abstract void close() throws IOException;
+
+    private static final class Xlsx extends ExportWriter {
+
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final SXSSFSheet sheet;
+        private int rowNum;
+
+        Xlsx(OutputStream out, String sheetName, int window) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(window);
+            this.workbook.setCompressTempFiles(true);
+            this.sheet = workbook.createSheet(sheetName);
+        }
+
+        @Override
+        public void row(Object... values) {
+            Row row = sheet.createRow(rowNum++);
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                if (value instanceof Number number) {
+                    cell.setCellValue(number.doubleValue());
+                } else {
+                    cell.setCellValue(value.toString());
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.write(out);
+            } finally {
+                workbook.dispose();
+                workbook.close();
+            }
+        }
+    }
+
+    private static final class Csv extends ExportWriter {
+
+        private final Writer writer;
+        private boolean started;
+
+        Csv(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            if (!started) {
+                writer.write('\uFEFF');
+                started = true;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (!(value instanceof Number) && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text; // keep spreadsheet apps from evaluating user-entered text
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package be.library_digital.demo.service.imports;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A background import and its live counters. Rejected rows are appended to a CSV report
+ * on disk (row, email, reason) rather than kept in memory.
+ *
+ * Counters are written by the job thread and read by pollers, hence atomics/volatiles.
+ */
+@Getter
+@Slf4j(topic = "IMPORT-JOB")
+public class ImportJob implements ImportProgress {
+
+    public enum Kind { USERS, STUDENTS }
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Kind kind;
+    private final String ownerId;
+    private final Path upload;
+    private final Path report;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger processed = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger inserted = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    // notified after each batch and once more when the job ends
+    @Getter(AccessLevel.NONE)
+    private final Consumer<ImportJob> onProgress;
+    @Getter(AccessLevel.NONE)
+    private BufferedWriter reportWriter;
+
+    ImportJob(Kind kind, String ownerId, Path upload, Path report, Consumer<ImportJob> onProgress) {
+        this.kind = kind;
+        this.ownerId = ownerId;
+        this.upload = upload;
+        this.report = report;
+        this.onProgress = onProgress;
+    }
+
+    public int getProcessed() {
+        return processed.get();
+    }
+
+    public int getInserted() {
+        return inserted.get();
+    }
+
+    public int getRejected() {
+        return rejected.get();
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void start() throws IOException {
+        reportWriter = Files.newBufferedWriter(report, StandardCharsets.UTF_8);
+        reportWriter.write("row,email,reason");
+        reportWriter.newLine();
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+        onProgress.accept(this);
+    }
+
+    void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    @Override
+    public void rejected(int rowNum, String email, String reason) {
+        rejected.incrementAndGet();
+        try {
+            reportWriter.write(rowNum + "," + csv(email) + "," + csv(reason));
+            reportWriter.newLine();
+        } catch (IOException e) {
+            log.warn("Failed to write rejection of row {} for import {}: {}", rowNum, id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void processed(int rows) {
+        processed.addAndGet(rows);
+        try {
+            reportWriter.flush(); // so a download while running sees the rejections so far
+        } catch (IOException e) {
+            log.warn("Failed to flush rejection report of import {}: {}", id, e.getMessage());
+        }
+        onProgress.accept(this);
+    }
+
+    @Override
+    public void inserted(int users) {
+        inserted.addAndGet(users);
+    }
+
+    private void finish(Status finalStatus, String message) {
+        if (reportWriter != null) {
+            try {
+                reportWriter.close();
+            } catch (IOException e) {
+                log.warn("Failed to close rejection report of import {}: {}", id, e.getMessage());
+            }
+        }
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+        onProgress.accept(this);
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // neutralise formula injection when the report is opened in Excel
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,231 @@
+package be.library_digital.demo.service.imports;
+
+import be.library_digital.demo.dto.response.ImportJobResponse;
+import be.library_digital.demo.exception.BadRequestException;
+import be.library_digital.demo.exception.ResourceNotFoundException;
+import be.library_digital.demo.exception.TooManyRequestsException;
+import be.library_digital.demo.model.User;
+import be.library_digital.demo.service.UserManagementService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs Excel imports in the background and tracks them by job id.
+ *
+ * The upload is copied to a temp file before the request returns (the multipart file is
+ * gone afterwards). Jobs run on a small fixed pool with a bounded queue; when both are full
+ * a new import is refused with 429 instead of tying up request threads. Finished jobs and
+ * their rejection reports are kept for {@code import.job-retention-minutes}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j(topic = "IMPORT-JOB-SERVICE")
+public class ImportJobService {
+
+    private final UserManagementService userManagementService;
+
+    @Value("${import.job-threads:2}")
+    private int jobThreads;
+
+    @Value("${import.job-queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${import.job-retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${import.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        int threads = Math.max(1, jobThreads);
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "import-job-" + sequence.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        jobs.values().forEach(this::deleteFiles);
+    }
+
+    public ImportJobResponse submit(ImportJob.Kind kind, MultipartFile file, User currentUser, boolean deferHashing) {
+        userManagementService.checkCanImport(file, currentUser, kind == ImportJob.Kind.USERS ? "users" : "students");
+
+        Path upload = null;
+        Path report = null;
+        try {
+            upload = Files.createTempFile("import-job-", ".xlsx");
+            file.transferTo(upload);
+            report = Files.createTempFile("import-rejections-", ".csv");
+        } catch (IOException e) {
+            deleteQuietly(upload);
+            deleteQuietly(report);
+            throw new BadRequestException("Failed to read Excel file");
+        }
+
+        ImportJob job = new ImportJob(kind, currentUser.getId(), upload, report, this::publish);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, deferHashing));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            deleteFiles(job);
+            throw new TooManyRequestsException("Hệ thống đang xử lý quá nhiều lượt import, vui lòng thử lại sau", 30);
+        }
+        log.info("Import job {} ({}) queued by {}", job.getId(), kind, currentUser.getId());
+        return toResponse(job);
+    }
+
+    public ImportJobResponse getJob(String jobId, User currentUser) {
+        return toResponse(find(jobId, currentUser));
+    }
+
+    /**
+     * Progress events for a job: the current state right away, then one "progress" event per
+     * processed batch and a final "done" event, after which the stream is closed.
+     */
+    public SseEmitter subscribe(String jobId, User currentUser) {
+        ImportJob job = find(jobId, currentUser);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        List<SseEmitter> listeners = emitters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        listeners.add(emitter);
+        emitter.onCompletion(() -> listeners.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> listeners.remove(emitter));
+        send(emitter, job);
+        return emitter;
+    }
+
+    public FileSystemResource getRejectionReport(String jobId, User currentUser) {
+        return new FileSystemResource(find(jobId, currentUser).getReport());
+    }
+
+    @Scheduled(fixedDelayString = "${import.job-purge-interval-ms:300000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getFinishedAt().isAfter(cutoff)) {
+                return false;
+            }
+            deleteFiles(job);
+            emitters.remove(job.getId());
+            return true;
+        });
+    }
+
+    private void run(ImportJob job, boolean deferHashing) {
+        try {
+            job.start();
+            int imported = job.getKind() == ImportJob.Kind.USERS
+                    ? userManagementService.importUsers(job.getUpload(), deferHashing, job)
+                    : userManagementService.importStudents(job.getUpload(), deferHashing, job);
+            job.complete();
+            log.info("Import job {} finished: {} imported, {} rejected", job.getId(), imported, job.getRejected());
+        } catch (Exception e) {
+            log.error("Import job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(job.getUpload());
+        }
+    }
+
+    private ImportJob find(String jobId, User currentUser) {
+        ImportJob job = jobs.get(jobId);
+        // other admins' jobs are reported as missing rather than forbidden
+        if (job == null || currentUser == null || !job.getOwnerId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job;
+    }
+
+    private void publish(ImportJob job) {
+        List<SseEmitter> listeners = emitters.get(job.getId());
+        if (listeners == null) {
+            return;
+        }
+        listeners.forEach(emitter -> send(emitter, job));
+        if (job.isFinished()) {
+            emitters.remove(job.getId());
+        }
+    }
+
+    private void send(SseEmitter emitter, ImportJob job) {
+        boolean finished = job.isFinished();
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(finished ? "done" : "progress")
+                    .data(toResponse(job)));
+            if (finished) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client went away or the stream already ended
+            emitter.completeWithError(e);
+        }
+    }
+
+    private ImportJobResponse toResponse(ImportJob job) {
+        return ImportJobResponse.builder()
+                .id(job.getId())
+                .kind(job.getKind().name())
+                .status(job.getStatus().name())
+                .processed(job.getProcessed())
+                .inserted(job.getInserted())
+                .rejected(job.getRejected())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private void deleteFiles(ImportJob job) {
+        deleteQuietly(job.getUpload());
+        deleteQuietly(job.getReport());
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package be.library_digital.demo.service.imports;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives the outcome of an import as it runs: rejected rows one by one, processed and
+ * inserted counts per batch.
+ */
+public interface ImportProgress {
+
+    /** For synchronous imports: rejections only go to the log. */
+    ImportProgress LOGGING = new Logging();
+
+    /**
+     * @param rowNum 1-based sheet row, as shown in Excel
+     */
+    void rejected(int rowNum, String email, String reason);
+
+    void processed(int rows);
+
+    void inserted(int users);
+
+    @Slf4j(topic = "IMPORT")
+    final class Logging implements ImportProgress {
+
+        @Override
+        public void rejected(int rowNum, String email, String reason) {
+            log.warn("Skipping row {} ({}): {}", rowNum, email, reason);
+        }
+
+        @Override
+        public void processed(int rows) {
+        }
+
+        @Override
+        public void inserted(int users) {
+        }
+    }
+}
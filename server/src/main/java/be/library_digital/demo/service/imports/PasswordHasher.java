@@ -0,0 +1,76 @@
+package be.library_digital.demo.service.imports;
+
+import be.library_digital.demo.config.OneTimePasswordEncoder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes imported passwords on a bounded pool sized to the CPU, so BCrypt for row N runs
+ * while rows N+1.. are still being read and validated.
+ *
+ * The queue is bounded and overflow runs on the submitting thread, which throttles
+ * the reader to the hashing rate instead of buffering a whole file of pending hashes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j(topic = "PASSWORD-HASHER")
+public class PasswordHasher {
+
+    public static final int ONE_TIME_PASSWORD_LENGTH = 10;
+
+    private final PasswordEncoder passwordEncoder;
+
+    // 0 = one thread per available core
+    @Value("${import.hash-threads:0}")
+    private int hashThreads;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 32),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + sequence.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("Password hashing pool: {} threads", threads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hash of {@code rawPassword}: BCrypt on the pool, or, for a password from
+     * {@link #generateOneTimePassword()} ({@code oneTime}), a cheap one-time hash that is
+     * upgraded to BCrypt at first sign-in and expires if never used. Passwords chosen by an
+     * admin always get BCrypt.
+     */
+    public CompletableFuture<String> hash(String rawPassword, boolean oneTime) {
+        if (oneTime) {
+            return CompletableFuture.completedFuture(OneTimePasswordEncoder.encodeOneTime(rawPassword));
+        }
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), executor);
+    }
+
+    public String generateOneTimePassword() {
+        return OneTimePasswordEncoder.generate(ONE_TIME_PASSWORD_LENGTH);
+    }
+}
@@ -0,0 +1,151 @@
+package be.library_digital.demo.service.imports;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams the rows of the first sheet of an .xlsx file through SAX (POI's XSSF event model)
+ * instead of building the workbook in memory; only the current row is held.
+ *
+ * Cell values are formatted the way Excel displays them (same as {@link DataFormatter} on
+ * the usermodel), formulas yield their cached result.
+ */
+public final class XlsxRowReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(ImportRow row);
+    }
+
+    /**
+     * One sheet row; {@link #get(int)} is null for a missing cell, otherwise trimmed text.
+     */
+    public record ImportRow(int rowNum, List<String> cells) {
+
+        public String get(int index) {
+            return index < cells.size() ? cells.get(index) : null;
+        }
+
+        public boolean isEmpty() {
+            for (String cell : cells) {
+                if (cell != null && !cell.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private XlsxRowReader() {
+    }
+
+    /**
+     * Feed every row after the header row to {@code handler}, in sheet order. Takes a file
+     * rather than a stream: the zip directory is at its end, so entries are read randomly.
+     */
+    public static void read(Path file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                        new RowCollector(handler), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid xlsx file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Like {@link #read}, but skips empty rows and hands the others over in batches of up to
+     * {@code batchSize}, so a caller can resolve a whole batch's lookups with one query each.
+     */
+    public static void readInBatches(Path file, int batchSize, Consumer<List<ImportRow>> handler)
+            throws IOException {
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        read(file, row -> {
+            if (row.isEmpty()) {
+                return;
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                handler.accept(List.copyOf(batch));
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            handler.accept(List.copyOf(batch));
+        }
+    }
+
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        private int nextColumn;
+
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            this.nextColumn = 0;
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0) {
+                return; // header
+            }
+            handler.row(new ImportRow(rowNum, Collections.unmodifiableList(new ArrayList<>(cells))));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // empty cells are not reported; the reference tells which column this is
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            String value = formattedValue != null ? formattedValue.trim() : "";
+            if (column < cells.size()) {
+                cells.set(column, value);
+            } else {
+                cells.add(value);
+            }
+            nextColumn = column + 1;
+        }
+    }
+}
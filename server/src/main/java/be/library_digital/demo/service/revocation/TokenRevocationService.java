@@ -0,0 +1,119 @@
+package be.library_digital.demo.service.revocation;
+
+import be.library_digital.demo.model.BlackListToken;
+import be.library_digital.demo.repository.BlackListTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Revoked token ids (JTIs), checked on every authenticated request.
+ *
+ * Two tiers: a Bloom filter of all unexpired revoked JTIs answers the common "not revoked"
+ * case from memory; only its (rare) positive answers are confirmed against
+ * {@code blacklist_tokens}. The filter is rebuilt from the table at startup and every
+ * {@code revocation.rebuild-interval-ms}, which also purges expired rows and, with several
+ * instances, picks up revocations made by the others.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j(topic = "TOKEN-REVOCATION-SERVICE")
+public class TokenRevocationService {
+
+    private final BlackListTokenRepository blackListTokenRepository;
+
+    @Value("${revocation.expected-tokens:100000}")
+    private long expectedTokens;
+
+    @Value("${revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // Guards swapping the filter; revocations made while a rebuild reads the table are replayed into it
+    private final Object rebuildLock = new Object();
+    private Set<String> revokedDuringRebuild;
+
+    // Confirmed revocations (jti -> expiry millis), so a replayed revoked token costs one query at most
+    private final ConcurrentMap<String, Long> confirmed = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedTokens, falsePositiveRate);
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        if (confirmed.containsKey(tokenId)) {
+            return true;
+        }
+        Optional<BlackListToken> token = blackListTokenRepository.findById(tokenId);
+        if (token.isEmpty()) {
+            log.debug("Bloom filter false positive for token {}", tokenId);
+            return false;
+        }
+        confirmed.put(tokenId, token.get().getExpiredAt().getTime());
+        return true;
+    }
+
+    public void revoke(List<BlackListToken> tokens) {
+        blackListTokenRepository.saveAll(tokens);
+        synchronized (rebuildLock) {
+            for (BlackListToken token : tokens) {
+                filter.add(token.getId());
+                if (revokedDuringRebuild != null) {
+                    revokedDuringRebuild.add(token.getId());
+                }
+            }
+        }
+        log.info("Revoked {} token(s)", tokens.size());
+    }
+
+    /**
+     * Purge expired rows and rebuild the filter from the remaining ones; a Bloom filter
+     * cannot forget entries, so this is also how expired JTIs leave it.
+     */
+    @Scheduled(fixedDelayString = "${revocation.rebuild-interval-ms:600000}",
+            initialDelayString = "${revocation.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            revokedDuringRebuild = ConcurrentHashMap.newKeySet();
+        }
+        try {
+            Date now = new Date();
+            int purged = blackListTokenRepository.deleteExpiredTokens(now);
+            List<String> ids = blackListTokenRepository.findUnexpiredIds(now);
+
+            // keep headroom so the false-positive rate holds until the next rebuild
+            BloomFilter next = new BloomFilter(Math.max(expectedTokens, ids.size() * 2L), falsePositiveRate);
+            ids.forEach(next::add);
+            synchronized (rebuildLock) {
+                revokedDuringRebuild.forEach(next::add);
+                filter = next;
+            }
+            confirmed.values().removeIf(expiresAt -> expiresAt < now.getTime());
+            log.info("Revocation filter rebuilt: {} revoked tokens, {} expired purged, {} KB",
+                    ids.size(), purged, next.sizeInBytes() / 1024);
+        } catch (Exception e) {
+            // keep serving the current filter; it only errs on the side of extra lookups
+            log.error("Failed to rebuild revocation filter: {}", e.getMessage());
+        } finally {
+            synchronized (rebuildLock) {
+                revokedDuringRebuild = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package be.library_digital.demo.service.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * On-disk inverted index over extracted document text.
+ *
+ * Layout under {@code search.index-dir}:
+ * <pre>
+ *   docs/&lt;id&gt;.txt      stored text (snippets are cut from it)
+ *   segments/&lt;id&gt;.seg  per-resource segment written right after extraction
+ *   main.idx            merged postings of all segments folded so far
+ * </pre>
+ * New resources only write their own small segment. A scheduled merge folds pending
+ * segments into a new main.idx (write-then-rename) and drops postings of deleted
+ * resources. Queries read the in-memory main snapshot plus the pending segments.
+ */
+@Component
+@Slf4j(topic = "FULL-TEXT-INDEX")
+public class FullTextIndex {
+
+    private static final int MAGIC = 0x4C494458; // "LIDX"
+    private static final int VERSION = 1;
+    private static final int SNIPPET_RADIUS = 90;
+    private static final Posting[] NO_POSTINGS = new Posting[0];
+
+    @Value("${search.index-dir:uploads/search_index}")
+    private String indexDir;
+
+    @Value("${search.merge-threshold:200}")
+    private int mergeThreshold;
+
+    private Path docsDir;
+    private Path segmentsDir;
+    private Path mainFile;
+
+    private volatile MainSnapshot main = MainSnapshot.EMPTY;
+    private final ConcurrentMap<String, Map<String, Posting>> pending = new ConcurrentHashMap<>();
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+    private final Object mergeLock = new Object();
+
+    record Posting(String resourceId, int tf, int firstOffset) {
+    }
+
+    private record MainSnapshot(Map<String, Posting[]> postings, Set<String> docs) {
+        static final MainSnapshot EMPTY = new MainSnapshot(Map.of(), Set.of());
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Path root = Paths.get(indexDir).toAbsolutePath().normalize();
+        docsDir = root.resolve("docs");
+        segmentsDir = root.resolve("segments");
+        mainFile = root.resolve("main.idx");
+        Files.createDirectories(docsDir);
+        Files.createDirectories(segmentsDir);
+
+        // Stored text is removed on delete, so it is the source of truth for live docs
+        Set<String> live = new HashSet<>();
+        try (Stream<Path> files = Files.list(docsDir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(".txt"))
+                    .forEach(name -> live.add(name.substring(0, name.length() - 4)));
+        }
+
+        if (Files.exists(mainFile)) {
+            try {
+                main = readMain(live);
+            } catch (IOException e) {
+                log.error("Cannot read {}, segments will be re-merged: {}", mainFile, e.getMessage());
+            }
+        }
+
+        try (Stream<Path> files = Files.list(segmentsDir)) {
+            for (Path segment : files.filter(p -> p.toString().endsWith(".seg")).toList()) {
+                try {
+                    SegmentData data = readSegment(segment);
+                    if (live.contains(data.resourceId())) {
+                        pending.put(data.resourceId(), data.postings());
+                    } else {
+                        Files.deleteIfExists(segment);
+                    }
+                } catch (IOException e) {
+                    log.warn("Dropping unreadable segment {}: {}", segment, e.getMessage());
+                    Files.deleteIfExists(segment);
+                }
+            }
+        }
+        log.info("Full-text index loaded: {} merged docs, {} pending segments", main.docs().size(), pending.size());
+    }
+
+    public boolean contains(String resourceId) {
+        return pending.containsKey(resourceId) || (main.docs().contains(resourceId) && !deleted.contains(resourceId));
+    }
+
+    /**
+     * Index (or re-index) the text of a resource: stores the text and writes its segment.
+     */
+    public void add(String resourceId, String text) throws IOException {
+        Map<String, Posting> postings = new HashMap<>();
+        for (Tokenizer.Token token : Tokenizer.tokens(text)) {
+            Posting p = postings.get(token.term());
+            postings.put(token.term(), p == null
+                    ? new Posting(resourceId, 1, token.offset())
+                    : new Posting(resourceId, p.tf() + 1, p.firstOffset()));
+        }
+
+        writeAtomically(docsDir.resolve(resourceId + ".txt"), text.getBytes(StandardCharsets.UTF_8));
+        writeSegment(resourceId, postings);
+
+        pending.put(resourceId, postings);
+        deleted.remove(resourceId);
+
+        if (pending.size() >= mergeThreshold) {
+            merge();
+        }
+    }
+
+    public void remove(String resourceId) {
+        deleted.add(resourceId);
+        pending.remove(resourceId);
+        try {
+            Files.deleteIfExists(segmentsDir.resolve(resourceId + ".seg"));
+            Files.deleteIfExists(docsDir.resolve(resourceId + ".txt"));
+        } catch (IOException e) {
+            log.warn("Failed to delete index files of resource {}: {}", resourceId, e.getMessage());
+        }
+    }
+
+    /**
+     * Resources whose text contains every term of the query, best first.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> terms = Tokenizer.terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        MainSnapshot snapshot = main;
+        int docCount = Math.max(1, snapshot.docs().size() + pending.size());
+        Map<String, double[]> scores = new HashMap<>(); // id -> {score, matchedTerms, firstOffset}
+
+        for (String term : terms) {
+            List<Posting> matches = new ArrayList<>();
+            for (Posting p : snapshot.postings().getOrDefault(term, NO_POSTINGS)) {
+                // pending holds the newer version of a re-indexed resource
+                if (!deleted.contains(p.resourceId()) && !pending.containsKey(p.resourceId())) {
+                    matches.add(p);
+                }
+            }
+            for (Map<String, Posting> doc : pending.values()) {
+                Posting p = doc.get(term);
+                if (p != null) {
+                    matches.add(p);
+                }
+            }
+
+            double idf = Math.log(1.0 + (double) docCount / Math.max(1, matches.size()));
+            for (Posting p : matches) {
+                double[] acc = scores.computeIfAbsent(p.resourceId(), k -> new double[] { 0, 0, p.firstOffset() });
+                acc[0] += (1.0 + Math.log(p.tf())) * idf;
+                acc[1] += 1;
+            }
+        }
+
+        int required = terms.size();
+        return scores.entrySet().stream()
+                .filter(e -> e.getValue()[1] >= required)
+                .map(e -> new SearchHit(e.getKey(), e.getValue()[0], (int) e.getValue()[2]))
+                .sorted((a, b) -> Double.compare(b.score(), a.score()))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Stored (extracted) text of a resource, or null when it was never indexed.
+     */
+    public String storedText(String resourceId) {
+        try {
+            return Files.readString(docsDir.resolve(resourceId + ".txt"), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Text around the hit, whitespace-collapsed, or null when the stored text is gone.
+     */
+    public String snippet(SearchHit hit) {
+        Path file = docsDir.resolve(hit.resourceId() + ".txt");
+        try {
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+            int start = Math.max(0, hit.firstOffset() - SNIPPET_RADIUS);
+            int end = Math.min(text.length(), hit.firstOffset() + SNIPPET_RADIUS);
+            // don't cut words in half
+            while (start > 0 && !Character.isWhitespace(text.charAt(start - 1)) && hit.firstOffset() - start < SNIPPET_RADIUS + 20) {
+                start--;
+            }
+            while (end < text.length() && !Character.isWhitespace(text.charAt(end)) && end - hit.firstOffset() < SNIPPET_RADIUS + 20) {
+                end++;
+            }
+            String body = text.substring(start, end).replaceAll("\\s+", " ").trim();
+            return (start > 0 ? "…" : "") + body + (end < text.length() ? "…" : "");
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fold pending segments into main.idx and drop deleted resources.
+     */
+    @Scheduled(fixedDelayString = "${search.merge-interval-ms:60000}")
+    public void merge() {
+        synchronized (mergeLock) {
+            if (pending.isEmpty() && deleted.isEmpty()) {
+                return;
+            }
+            Map<String, Map<String, Posting>> pendingSnapshot = new HashMap<>(pending);
+            Set<String> deletedSnapshot = new HashSet<>(deleted);
+            MainSnapshot current = main;
+
+            Map<String, List<Posting>> merged = new HashMap<>();
+            Set<String> docs = new HashSet<>();
+            for (Map.Entry<String, Posting[]> entry : current.postings().entrySet()) {
+                for (Posting p : entry.getValue()) {
+                    if (!deletedSnapshot.contains(p.resourceId()) && !pendingSnapshot.containsKey(p.resourceId())) {
+                        merged.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(p);
+                        docs.add(p.resourceId());
+                    }
+                }
+            }
+            for (Map.Entry<String, Map<String, Posting>> doc : pendingSnapshot.entrySet()) {
+                docs.add(doc.getKey());
+                for (Map.Entry<String, Posting> entry : doc.getValue().entrySet()) {
+                    merged.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
+                }
+            }
+
+            Map<String, Posting[]> postings = new HashMap<>(merged.size() * 2);
+            merged.forEach((term, list) -> postings.put(term, list.toArray(new Posting[0])));
+            MainSnapshot next = new MainSnapshot(Collections.unmodifiableMap(postings), Collections.unmodifiableSet(docs));
+
+            try {
+                writeMain(next);
+            } catch (IOException e) {
+                log.error("Index merge failed, keeping pending segments: {}", e.getMessage());
+                return;
+            }
+
+            main = next;
+            for (Map.Entry<String, Map<String, Posting>> doc : pendingSnapshot.entrySet()) {
+                // only drop the segment if it wasn't replaced while we were merging
+                if (pending.remove(doc.getKey(), doc.getValue())) {
+                    try {
+                        Files.deleteIfExists(segmentsDir.resolve(doc.getKey() + ".seg"));
+                    } catch (IOException e) {
+                        log.warn("Failed to delete merged segment {}: {}", doc.getKey(), e.getMessage());
+                    }
+                }
+            }
+            deleted.removeAll(deletedSnapshot);
+            log.info("Merged {} segments into main index ({} docs, {} terms)",
+                    pendingSnapshot.size(), docs.size(), postings.size());
+        }
+    }
+
+    // ---- file formats ----
+
+    private record SegmentData(String resourceId, Map<String, Posting> postings) {
+    }
+
+    private void writeSegment(String resourceId, Map<String, Posting> postings) throws IOException {
+        Path target = segmentsDir.resolve(resourceId + ".seg");
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(resourceId);
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Posting> entry : postings.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().tf());
+                out.writeInt(entry.getValue().firstOffset());
+            }
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private SegmentData readSegment(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            checkHeader(in, file);
+            String resourceId = in.readUTF();
+            int count = in.readInt();
+            Map<String, Posting> postings = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String term = in.readUTF();
+                postings.put(term, new Posting(resourceId, in.readInt(), in.readInt()));
+            }
+            return new SegmentData(resourceId, postings);
+        }
+    }
+
+    private void writeMain(MainSnapshot snapshot) throws IOException {
+        List<String> docList = new ArrayList<>(snapshot.docs());
+        Map<String, Integer> docIndex = new HashMap<>(docList.size() * 2);
+        for (int i = 0; i < docList.size(); i++) {
+            docIndex.put(docList.get(i), i);
+        }
+
+        Path tmp = mainFile.resolveSibling("main.idx.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(docList.size());
+            for (String id : docList) {
+                out.writeUTF(id);
+            }
+            out.writeInt(snapshot.postings().size());
+            for (Map.Entry<String, Posting[]> entry : snapshot.postings().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                for (Posting p : entry.getValue()) {
+                    out.writeInt(docIndex.get(p.resourceId()));
+                    out.writeInt(p.tf());
+                    out.writeInt(p.firstOffset());
+                }
+            }
+        }
+        Files.move(tmp, mainFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private MainSnapshot readMain(Set<String> live) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(mainFile), 1 << 16))) {
+            checkHeader(in, mainFile);
+            int docCount = in.readInt();
+            String[] docList = new String[docCount];
+            Set<String> docs = new HashSet<>();
+            for (int i = 0; i < docCount; i++) {
+                docList[i] = in.readUTF();
+                if (live.contains(docList[i])) {
+                    docs.add(docList[i]);
+                }
+            }
+
+            int termCount = in.readInt();
+            Map<String, Posting[]> postings = new HashMap<>(termCount * 2);
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                int size = in.readInt();
+                List<Posting> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    String id = docList[in.readInt()];
+                    int tf = in.readInt();
+                    int offset = in.readInt();
+                    if (docs.contains(id)) {
+                        list.add(new Posting(id, tf, offset));
+                    }
+                }
+                if (!list.isEmpty()) {
+                    postings.put(term, list.toArray(new Posting[0]));
+                }
+            }
+            return new MainSnapshot(Collections.unmodifiableMap(postings), Collections.unmodifiableSet(docs));
+        }
+    }
+
+    private void checkHeader(DataInputStream in, Path file) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Unsupported index file format: " + file.getFileName());
+        }
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(tmp, content);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
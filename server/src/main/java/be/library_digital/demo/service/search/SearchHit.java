@@ -0,0 +1,11 @@
+package be.library_digital.demo.service.search;
+
+/**
+ * A body-text match.
+ *
+ * @param resourceId  matched resource
+ * @param score       tf-idf score summed over the query terms
+ * @param firstOffset character offset of the first query term in the stored text
+ */
+public record SearchHit(String resourceId, double score, int firstOffset) {
+}
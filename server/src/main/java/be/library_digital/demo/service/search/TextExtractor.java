@@ -0,0 +1,100 @@
+package be.library_digital.demo.service.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.extractor.ExtractorFactory;
+import org.apache.poi.extractor.POITextExtractor;
+
+/**
+ * Plain-text extraction for indexing: PDF through PDFBox, Office formats (OOXML and the
+ * legacy binary ones through poi-scratchpad) through POI's ExtractorFactory.
+ *
+ * Runs inside a conversion worker process (see {@code ConversionWorkerPool#extractText}),
+ * like the converters that use the same parsers.
+ */
+public final class TextExtractor {
+
+    private static final Set<String> OFFICE_EXTENSIONS = Set.of("docx", "doc", "pptx", "ppt", "xlsx", "xls");
+    private static final Set<String> TEXT_EXTENSIONS = Set.of("txt", "md", "csv");
+    private static final int MAX_PDF_PAGES = 1000;
+
+    private TextExtractor() {
+    }
+
+    public static boolean supports(String filename) {
+        String ext = extension(filename);
+        return "pdf".equals(ext) || OFFICE_EXTENSIONS.contains(ext) || TEXT_EXTENSIONS.contains(ext);
+    }
+
+    /**
+     * Extract the text of {@code file}, truncated to {@code maxChars}. Returns null when the
+     * format is not supported.
+     */
+    public static String extract(Path file, int maxChars) throws IOException {
+        String ext = extension(file.getFileName().toString());
+        String text;
+        if ("pdf".equals(ext)) {
+            text = extractPdf(file.toFile());
+        } else if (OFFICE_EXTENSIONS.contains(ext)) {
+            text = extractOffice(file.toFile());
+        } else if (TEXT_EXTENSIONS.contains(ext)) {
+            return readText(file, maxChars);
+        } else {
+            return null;
+        }
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    private static String extractPdf(File file) throws IOException {
+        // Spill to temp files instead of holding the whole parsed document on the heap
+        try (PDDocument document = PDDocument.load(file, MemoryUsageSetting.setupTempFileOnly())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setEndPage(Math.min(document.getNumberOfPages(), MAX_PDF_PAGES));
+            return stripper.getText(document);
+        }
+    }
+
+    // reads no more than maxChars; bytes that aren't valid UTF-8 become U+FFFD instead of failing
+    private static String readText(Path file, int maxChars) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), decoder)) {
+            char[] buffer = new char[Math.min(maxChars, 8192)];
+            StringBuilder text = new StringBuilder();
+            int read;
+            while (text.length() < maxChars
+                    && (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars - text.length()))) != -1) {
+                text.append(buffer, 0, read);
+            }
+            return text.toString();
+        }
+    }
+
+    private static String extractOffice(File file) throws IOException {
+        try (POITextExtractor extractor = ExtractorFactory.createExtractor(file)) {
+            return extractor.getText();
+        }
+    }
+
+    private static String extension(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,146 @@
+package be.library_digital.demo.service.search;
+
+import be.library_digital.demo.repository.ResourceRepository;
+import be.library_digital.demo.repository.projection.ResourceFileProjection;
+import be.library_digital.demo.service.conversion.ConversionWorkerPool;
+import be.library_digital.demo.service.similarity.SimilarityService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts text from uploaded files off the request thread and feeds {@link FullTextIndex}
+ * and the near-duplicate signatures. The parsing itself runs in the conversion worker
+ * processes, so a hostile document can't exhaust the API heap.
+ *
+ * Uses its own small executor rather than a shared TaskExecutor bean so extraction can
+ * never starve mail sending (and vice versa).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j(topic = "TEXT-INDEX-SERVICE")
+public class TextIndexService {
+
+    private static final int MAX_QUEUED = 1000;
+
+    private final FullTextIndex fullTextIndex;
+    private final ResourceRepository resourceRepository;
+    private final SimilarityService similarityService;
+    private final ConversionWorkerPool conversionWorkerPool;
+
+    @Value("${search.max-text-chars:500000}")
+    private int maxTextChars;
+
+    @Value("${search.max-file-bytes:104857600}")
+    private long maxFileBytes;
+
+    private final AtomicInteger threadSequence = new AtomicInteger();
+    private final ExecutorService executor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_QUEUED),
+            r -> {
+                Thread t = new Thread(r, "text-index-" + threadSequence.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            });
+
+    /**
+     * Queue a resource file for extraction; returns immediately.
+     */
+    public void indexAsync(String resourceId, String fileUrl) {
+        if (resourceId == null || fileUrl == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> index(resourceId, Paths.get(fileUrl)));
+        } catch (RejectedExecutionException e) {
+            // picked up again by the backfill on next start
+            log.warn("Text index queue full, skipping resource {}", resourceId);
+        }
+    }
+
+    public void remove(String resourceId) {
+        fullTextIndex.remove(resourceId);
+    }
+
+    /**
+     * Index resources uploaded before full-text search existed (or whose extraction was lost).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            // One task for the whole backlog so it doesn't flood the queue; the second
+            // worker thread keeps new uploads flowing meanwhile.
+            executor.execute(() -> {
+                int indexed = 0;
+                for (ResourceFileProjection file : resourceRepository.findAllFiles()) {
+                    if (!fullTextIndex.contains(file.getId()) && TextExtractor.supports(file.getFileUrl())) {
+                        index(file.getId(), Paths.get(file.getFileUrl()));
+                        indexed++;
+                    } else if (!similarityService.hasSignature(file.getId())) {
+                        // indexed before signatures existed: reuse the stored text
+                        String text = fullTextIndex.storedText(file.getId());
+                        if (text != null) {
+                            recordSignature(file.getId(), text);
+                        }
+                    }
+                }
+                if (indexed > 0) {
+                    log.info("Backfilled full-text index for {} resources", indexed);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not schedule full-text backfill: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void index(String resourceId, Path file) {
+        try {
+            if (!Files.isRegularFile(file) || !TextExtractor.supports(file.getFileName().toString())) {
+                return;
+            }
+            if (Files.size(file) > maxFileBytes) {
+                log.info("Skipping full-text extraction of {} ({} bytes)", resourceId, Files.size(file));
+                return;
+            }
+            long start = System.nanoTime();
+            String text = conversionWorkerPool.extractText(file, maxTextChars);
+            if (text == null || text.isBlank()) {
+                return;
+            }
+            fullTextIndex.add(resourceId, text);
+            recordSignature(resourceId, text);
+            log.info("Indexed resource {} ({} chars) in {} ms", resourceId, text.length(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Full-text extraction failed for resource {}: {}", resourceId, e.toString());
+        }
+    }
+
+    private void recordSignature(String resourceId, String text) {
+        try {
+            similarityService.record(resourceId, text);
+        } catch (Exception e) {
+            log.warn("Failed to record MinHash signature for resource {}: {}", resourceId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package be.library_digital.demo.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into lowercase, diacritic-free terms so "Thuật toán" and "thuat toan" match.
+ *
+ * Folding is done per character (not on the whole string) so token offsets still point
+ * into the original text, which is what snippets are cut from.
+ */
+public final class Tokenizer {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 40;
+
+    // Folded form of the BMP range that covers Latin + Vietnamese; computed once
+    private static final int TABLE_SIZE = 0x2000;
+    private static final char[] FOLD_TABLE = new char[TABLE_SIZE];
+
+    static {
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            FOLD_TABLE[c] = computeFold((char) c);
+        }
+    }
+
+    private Tokenizer() {
+    }
+
+    public record Token(String term, int offset) {
+    }
+
+    public static List<Token> tokens(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder term = new StringBuilder(MAX_TERM_LENGTH);
+        int start = -1;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (start < 0) {
+                    start = i;
+                }
+                if (term.length() < MAX_TERM_LENGTH) {
+                    term.append(fold(c));
+                }
+            } else if (start >= 0) {
+                if (term.length() >= MIN_TERM_LENGTH) {
+                    tokens.add(new Token(term.toString(), start));
+                }
+                term.setLength(0);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /** Distinct terms of a query, in order of appearance. */
+    public static Set<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (Token token : tokens(query)) {
+            terms.add(token.term());
+        }
+        return terms;
+    }
+
+    static char fold(char c) {
+        return c < TABLE_SIZE ? FOLD_TABLE[c] : Character.toLowerCase(c);
+    }
+
+    private static char computeFold(char c) {
+        if (c == 'đ' || c == 'Đ') {
+            return 'd';
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        return Character.toLowerCase(decomposed.charAt(0));
+    }
+}
@@ -0,0 +1,129 @@
+package be.library_digital.demo.service.similarity;
+
+import be.library_digital.demo.service.search.Tokenizer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles, plus the LSH banding used to find candidates.
+ *
+ * 128 hashes split into 16 bands of 8 rows: two documents land in a common bucket with
+ * probability ~0.5 at Jaccard 0.7 and ~0.9 at 0.8, so near-copies are caught while
+ * unrelated material rarely collides. Candidates are then verified on the full signature.
+ */
+public final class MinHash {
+
+    public static final int NUM_HASHES = 128;
+    public static final int BANDS = 16;
+    public static final int ROWS = NUM_HASHES / BANDS;
+    public static final int SIGNATURE_BYTES = NUM_HASHES * Integer.BYTES;
+
+    static final int SHINGLE_SIZE = 5;
+
+    // Fixed seed: stored signatures must stay comparable across restarts
+    private static final long[] A = new long[NUM_HASHES];
+    private static final long[] B = new long[NUM_HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6C69627261727931L);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            A[i] = random.nextLong() | 1L;
+            B[i] = random.nextLong();
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * Signature of the text, or null when it is too short to compare meaningfully.
+     */
+    public static int[] signature(String text) {
+        List<Tokenizer.Token> tokens = Tokenizer.tokens(text);
+        int count = tokens.size() - SHINGLE_SIZE + 1;
+        if (count <= 0) {
+            return null;
+        }
+
+        int[] termHashes = new int[tokens.size()];
+        for (int i = 0; i < termHashes.length; i++) {
+            termHashes[i] = tokens.get(i).term().hashCode();
+        }
+
+        long[] shingles = new long[count];
+        for (int i = 0; i < count; i++) {
+            long h = 0;
+            for (int j = 0; j < SHINGLE_SIZE; j++) {
+                h = h * 0x9E3779B97F4A7C15L + termHashes[i + j];
+            }
+            shingles[i] = mix64(h);
+        }
+        // Sorting lets us skip repeated shingles without a hash set
+        Arrays.sort(shingles);
+
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int i = 0; i < shingles.length; i++) {
+            if (i > 0 && shingles[i] == shingles[i - 1]) {
+                continue;
+            }
+            long s = shingles[i];
+            for (int j = 0; j < NUM_HASHES; j++) {
+                int h = (int) ((A[j] * s + B[j]) >>> 33);
+                if (h < signature[j]) {
+                    signature[j] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** Estimated Jaccard similarity of the underlying shingle sets. */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    /** Bucket key of one band, scoped to a department. */
+    static long bandKey(long departmentId, int band, int[] signature) {
+        long h = departmentId * 0x9E3779B97F4A7C15L + band;
+        for (int i = band * ROWS, end = i + ROWS; i < end; i++) {
+            h = h * 0xC2B2AE3D27D4EB4FL + signature[i];
+        }
+        return mix64(h);
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SIGNATURE_BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[NUM_HASHES];
+        for (int i = 0; i < NUM_HASHES; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,123 @@
+package be.library_digital.demo.service.similarity;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory LSH bucket index of resource signatures, partitioned by department.
+ *
+ * A lookup touches {@link MinHash#BANDS} buckets and verifies the few candidates found
+ * there, so its cost does not grow with the number of indexed resources.
+ */
+@Component
+public class SimilarityIndex {
+
+    // Resources whose uploader has no department share this partition
+    private static final long NO_DEPARTMENT = -1L;
+
+    private final ConcurrentMap<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(long departmentId, int[] signature) {
+    }
+
+    public record Match(String resourceId, double similarity) {
+    }
+
+    public record Pair(String first, String second, double similarity) {
+    }
+
+    public boolean contains(String resourceId) {
+        return entries.containsKey(resourceId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void put(String resourceId, Long departmentId, int[] signature) {
+        remove(resourceId);
+        Entry entry = new Entry(departmentId != null ? departmentId : NO_DEPARTMENT, signature);
+        entries.put(resourceId, entry);
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            buckets.computeIfAbsent(MinHash.bandKey(entry.departmentId(), band, signature),
+                    k -> ConcurrentHashMap.newKeySet()).add(resourceId);
+        }
+    }
+
+    public void remove(String resourceId) {
+        Entry entry = entries.remove(resourceId);
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            buckets.computeIfPresent(MinHash.bandKey(entry.departmentId(), band, entry.signature()), (k, ids) -> {
+                ids.remove(resourceId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Resources in the same department whose estimated similarity is at least {@code threshold}.
+     */
+    public List<Match> similarTo(String resourceId, double threshold) {
+        Entry entry = entries.get(resourceId);
+        if (entry == null) {
+            return List.of();
+        }
+        List<Match> matches = new ArrayList<>();
+        for (String candidate : candidates(resourceId, entry)) {
+            Entry other = entries.get(candidate);
+            if (other == null) {
+                continue;
+            }
+            double similarity = MinHash.similarity(entry.signature(), other.signature());
+            if (similarity >= threshold) {
+                matches.add(new Match(candidate, similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed());
+        return matches;
+    }
+
+    /**
+     * All near-duplicate pairs, optionally limited to one department (null = all).
+     */
+    public List<Pair> duplicatePairs(Long departmentId, double threshold) {
+        List<Pair> pairs = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (departmentId != null && e.getValue().departmentId() != departmentId) {
+                continue;
+            }
+            for (Match match : similarTo(e.getKey(), threshold)) {
+                // report each pair once
+                if (e.getKey().compareTo(match.resourceId()) < 0) {
+                    pairs.add(new Pair(e.getKey(), match.resourceId(), match.similarity()));
+                }
+            }
+        }
+        pairs.sort(Comparator.comparingDouble(Pair::similarity).reversed());
+        return pairs;
+    }
+
+    private Set<String> candidates(String resourceId, Entry entry) {
+        Set<String> candidates = new HashSet<>();
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            Set<String> bucket = buckets.get(MinHash.bandKey(entry.departmentId(), band, entry.signature()));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(resourceId);
+        return candidates;
+    }
+}
@@ -0,0 +1,158 @@
+package be.library_digital.demo.service.similarity;
+
+import be.library_digital.demo.common.UserType;
+import be.library_digital.demo.dto.response.DuplicatePairResponse;
+import be.library_digital.demo.dto.response.SimilarResourceResponse;
+import be.library_digital.demo.exception.ForbiddenException;
+import be.library_digital.demo.exception.ResourceNotFoundException;
+import be.library_digital.demo.model.Resource;
+import be.library_digital.demo.model.User;
+import be.library_digital.demo.repository.ResourceRepository;
+import be.library_digital.demo.repository.projection.ResourceSignatureProjection;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j(topic = "SIMILARITY-SERVICE")
+public class SimilarityService {
+
+    private final SimilarityIndex similarityIndex;
+    private final ResourceRepository resourceRepository;
+
+    @Value("${similarity.threshold:0.8}")
+    private double threshold;
+
+    @PostConstruct
+    void load() {
+        int loaded = 0;
+        for (ResourceSignatureProjection p : resourceRepository.findAllSignatures()) {
+            int[] signature = MinHash.fromBytes(p.getMinhashSignature());
+            if (signature != null) {
+                similarityIndex.put(p.getId(), p.getDepartmentId(), signature);
+                loaded++;
+            }
+        }
+        log.info("Loaded {} MinHash signatures", loaded);
+    }
+
+    public boolean hasSignature(String resourceId) {
+        return similarityIndex.contains(resourceId);
+    }
+
+    /**
+     * Compute, persist and index the signature of a resource's extracted text.
+     * Called from the text extraction stage, never on the request thread.
+     */
+    public void record(String resourceId, String text) {
+        int[] signature = MinHash.signature(text);
+        if (signature == null) {
+            return;
+        }
+        if (resourceRepository.updateMinhashSignature(resourceId, MinHash.toBytes(signature)) == 0) {
+            // deleted while its text was being extracted
+            return;
+        }
+        Long departmentId = resourceRepository.findUploaderDepartmentId(resourceId).orElse(null);
+        similarityIndex.put(resourceId, departmentId, signature);
+
+        List<SimilarityIndex.Match> matches = similarityIndex.similarTo(resourceId, threshold);
+        if (!matches.isEmpty()) {
+            log.info("Resource {} looks like a near-duplicate of {} ({} matches)", resourceId,
+                    matches.get(0).resourceId(), matches.size());
+        }
+    }
+
+    public void remove(String resourceId) {
+        similarityIndex.remove(resourceId);
+    }
+
+    /**
+     * Near-duplicates of a resource within its department.
+     */
+    public List<SimilarResourceResponse> similarTo(String resourceId, User currentUser) {
+        Resource resource = resourceRepository.findForAccessById(resourceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+        enforceDepartmentAccess(resource, currentUser);
+
+        List<SimilarityIndex.Match> matches = similarityIndex.similarTo(resourceId, threshold);
+        Map<String, Resource> resources = loadResources(matches.stream()
+                .map(SimilarityIndex.Match::resourceId)
+                .collect(Collectors.toSet()));
+
+        return matches.stream()
+                .filter(m -> resources.containsKey(m.resourceId()))
+                .map(m -> SimilarResourceResponse.fromResource(resources.get(m.resourceId()), m.similarity()))
+                .toList();
+    }
+
+    /**
+     * Near-duplicate pairs. SUB_ADMIN: own department; ADMIN: given department or all.
+     */
+    public List<DuplicatePairResponse> duplicateReport(User currentUser, Long departmentId) {
+        Long scope;
+        if (UserType.ADMIN.equals(currentUser.getType())) {
+            scope = departmentId;
+        } else if (UserType.SUB_ADMIN.equals(currentUser.getType())) {
+            if (currentUser.getDepartment() == null) {
+                throw new ForbiddenException("SUB_ADMIN user must belong to a department");
+            }
+            scope = currentUser.getDepartment().getId();
+        } else {
+            throw new ForbiddenException("You don't have permission to view the duplicate report");
+        }
+
+        List<SimilarityIndex.Pair> pairs = similarityIndex.duplicatePairs(scope, threshold);
+        Set<String> ids = new HashSet<>();
+        for (SimilarityIndex.Pair pair : pairs) {
+            ids.add(pair.first());
+            ids.add(pair.second());
+        }
+        Map<String, Resource> resources = loadResources(ids);
+
+        return pairs.stream()
+                .filter(p -> resources.containsKey(p.first()) && resources.containsKey(p.second()))
+                .map(p -> DuplicatePairResponse.builder()
+                        .first(SimilarResourceResponse.fromResource(resources.get(p.first()), null))
+                        .second(SimilarResourceResponse.fromResource(resources.get(p.second()), null))
+                        .similarity(p.similarity())
+                        .build())
+                .toList();
+    }
+
+    private Map<String, Resource> loadResources(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return resourceRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+    }
+
+    private void enforceDepartmentAccess(Resource resource, User currentUser) {
+        if (currentUser == null || currentUser.getType() == null) {
+            throw new ForbiddenException("You don't have permission to view this resource");
+        }
+        if (UserType.ADMIN.equals(currentUser.getType())) {
+            return;
+        }
+        if ((UserType.SUB_ADMIN.equals(currentUser.getType()) || UserType.LECTURER.equals(currentUser.getType()))
+                && resource.getUploadedBy() != null
+                && resource.getUploadedBy().getDepartment() != null
+                && currentUser.getDepartment() != null
+                && Objects.equals(currentUser.getDepartment().getId(), resource.getUploadedBy().getDepartment().getId())) {
+            return;
+        }
+        throw new ForbiddenException("You don't have permission to view this resource");
+    }
+}
@@ -0,0 +1,42 @@
+package be.library_digital.demo.service.throttle;
+
+import be.library_digital.demo.common.UserStatus;
+import be.library_digital.demo.common.UserType;
+import be.library_digital.demo.repository.UserRepository;
+import be.library_digital.demo.service.PrincipalCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Persists an account lock once {@link LoginThrottle} sees the failure threshold crossed.
+ * Runs off the request thread: the failed sign-in response never waits for the write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j(topic = "LOGIN-LOCKOUT-SERVICE")
+public class LoginLockoutService {
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    @Async
+    public void lock(String email, int failedAttempts) {
+        try {
+            userRepository.findByEmail(email).ifPresent(user -> {
+                // do not lock admin; the update re-checks both conditions on the current row
+                if (userRepository.lockAccount(user.getId(), UserStatus.LOCK, UserType.ADMIN,
+                        failedAttempts, LocalDate.now()) == 0) {
+                    return;
+                }
+                principalCache.invalidate(user.getId());
+                log.warn("Locked user {} after {} failed sign-in attempts", user.getId(), failedAttempts);
+            });
+        } catch (Exception e) {
+            log.error("Failed to lock user {}: {}", email, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package be.library_digital.demo.service.throttle;
+
+import be.library_digital.demo.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory sliding-window counters of failed sign-ins, per email and per client IP.
+ *
+ * Checked before the user is loaded or BCrypt runs, so password spraying costs neither
+ * database writes nor hashing once a key is throttled. Keys live in lock-striped,
+ * LRU-bounded maps; each key keeps the timestamps of its last few failures only.
+ *
+ * Counters are per instance and reset on restart; the persisted account lock (after
+ * {@code login-throttle.lock-threshold} failures) is what survives.
+ *
+ * The per-IP limit is off unless {@code login-throttle.ip.enabled} is set: behind a proxy
+ * without forwarded-header resolution, or a campus NAT, every student shares one address.
+ */
+@Component
+@Slf4j(topic = "LOGIN-THROTTLE")
+public class LoginThrottle {
+
+    private static final int STRIPES = 64;
+
+    @Value("${login-throttle.email.max-failures:5}")
+    private int emailMaxFailures;
+
+    @Value("${login-throttle.email.window-seconds:900}")
+    private long emailWindowSeconds;
+
+    @Value("${login-throttle.ip.enabled:false}")
+    private boolean ipEnabled;
+
+    @Value("${login-throttle.ip.max-failures:30}")
+    private int ipMaxFailures;
+
+    @Value("${login-throttle.ip.window-seconds:300}")
+    private long ipWindowSeconds;
+
+    @Value("${login-throttle.lock-threshold:10}")
+    private int lockThreshold;
+
+    @Value("${login-throttle.lock-window-seconds:86400}")
+    private long lockWindowSeconds;
+
+    @Value("${login-throttle.max-keys:100000}")
+    private int maxKeys;
+
+    private Stripe[] stripes;
+
+    @PostConstruct
+    void init() {
+        int perStripe = Math.max(16, maxKeys / STRIPES);
+        stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * Reject the attempt if the email or the IP has too many recent failures.
+     */
+    public void checkAllowed(String email, String ip) {
+        long now = now();
+        long retryAfter = Math.max(
+                retryAfter(emailKey(email), emailMaxFailures, emailWindowSeconds, now),
+                retryAfter(ipKey(ip), ipMaxFailures, ipWindowSeconds, now));
+        if (retryAfter > 0) {
+            log.warn("Sign-in throttled for {} from {}", email, ip);
+            throw new TooManyRequestsException(
+                    "Bạn đã đăng nhập sai quá nhiều lần, vui lòng thử lại sau " + retryAfter + " giây", retryAfter);
+        }
+    }
+
+    /**
+     * Record a failed attempt; returns the email's failures within the lock window.
+     */
+    public int recordFailure(String email, String ip) {
+        long now = now();
+        record(ipKey(ip), ipMaxFailures, ipWindowSeconds, now);
+        return record(emailKey(email), Math.max(emailMaxFailures, lockThreshold),
+                Math.max(emailWindowSeconds, lockWindowSeconds), now, lockWindowSeconds);
+    }
+
+    public void recordSuccess(String email) {
+        String key = emailKey(email);
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.windows.remove(key);
+        }
+    }
+
+    public int getLockThreshold() {
+        return lockThreshold;
+    }
+
+    private long retryAfter(String key, int maxFailures, long windowSeconds, long now) {
+        if (key == null) {
+            return 0;
+        }
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                return 0;
+            }
+            long since = now - windowSeconds * 1000;
+            if (window.countSince(since) < maxFailures) {
+                return 0;
+            }
+            // allowed again once the oldest of the last maxFailures failures leaves the window
+            long oldest = window.nthNewest(maxFailures);
+            return Math.max(1, (oldest + windowSeconds * 1000 - now + 999) / 1000);
+        }
+    }
+
+    private void record(String key, int capacity, long horizonSeconds, long now) {
+        record(key, capacity, horizonSeconds, now, horizonSeconds);
+    }
+
+    private int record(String key, int capacity, long horizonSeconds, long now, long countSeconds) {
+        if (key == null) {
+            return 0;
+        }
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(key);
+            if (window == null || window.capacity() != capacity) {
+                window = new Window(capacity);
+                stripe.windows.put(key, window);
+            }
+            window.add(now, now - horizonSeconds * 1000);
+            return window.countSince(now - countSeconds * 1000);
+        }
+    }
+
+    private Stripe stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? null : "e:" + email;
+    }
+
+    private String ipKey(String ip) {
+        return ip == null || !ipEnabled ? null : "i:" + ip;
+    }
+
+    private static long now() {
+        return System.nanoTime() / 1_000_000;
+    }
+
+    private static final class Stripe {
+        final LinkedHashMap<String, Window> windows;
+
+        Stripe(int maxEntries) {
+            windows = new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    /**
+     * Ring buffer of the most recent failure times (ms), oldest first.
+     */
+    private static final class Window {
+        private final long[] times;
+        private int start;
+        private int size;
+
+        Window(int capacity) {
+            times = new long[Math.max(1, capacity)];
+        }
+
+        int capacity() {
+            return times.length;
+        }
+
+        void add(long now, long horizon) {
+            while (size > 0 && times[start] < horizon) {
+                start = (start + 1) % times.length;
+                size--;
+            }
+            if (size == times.length) {
+                start = (start + 1) % times.length;
+                size--;
+            }
+            times[(start + size) % times.length] = now;
+            size++;
+        }
+
+        int countSince(long since) {
+            int count = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                if (times[(start + i) % times.length] < since) {
+                    break;
+                }
+                count++;
+            }
+            return count;
+        }
+
+        /** n-th most recent failure time (1 = newest). */
+        long nthNewest(int n) {
+            int i = Math.max(0, size - n);
+            return times[(start + i) % times.length];
+        }
+    }
+}
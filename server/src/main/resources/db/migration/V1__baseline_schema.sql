@@ -0,0 +1,221 @@
+-- Schema as previously generated by hibernate.ddl-auto=update. Databases created that way
+-- are baselined at version 1 (spring.flyway.baseline-on-migrate), so this script only runs
+-- on empty databases. Enum columns are plain VARCHAR so new values need no ALTER.
+
+CREATE TABLE department (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    code        VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_department_code UNIQUE (code)
+) ENGINE = InnoDB;
+
+CREATE TABLE training_programs (
+    id          VARCHAR(255) NOT NULL,
+    code        VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_training_programs_code UNIQUE (code),
+    CONSTRAINT uk_training_programs_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE specializations (
+    id          VARCHAR(255) NOT NULL,
+    code        VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_specializations_code UNIQUE (code),
+    CONSTRAINT uk_specializations_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE specialization_programs (
+    specialization_id VARCHAR(255) NOT NULL,
+    program_id        VARCHAR(255) NOT NULL,
+    PRIMARY KEY (specialization_id, program_id),
+    CONSTRAINT fk_specialization_programs_specialization FOREIGN KEY (specialization_id) REFERENCES specializations (id),
+    CONSTRAINT fk_specialization_programs_program FOREIGN KEY (program_id) REFERENCES training_programs (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cohorts (
+    id          VARCHAR(255) NOT NULL,
+    code        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    program_id  VARCHAR(255) NOT NULL,
+    start_year  INT          NOT NULL,
+    end_year    INT          NOT NULL,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cohorts_code UNIQUE (code),
+    CONSTRAINT fk_cohorts_program FOREIGN KEY (program_id) REFERENCES training_programs (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE classrooms (
+    id                VARCHAR(255) NOT NULL,
+    code              VARCHAR(255) NOT NULL,
+    name              VARCHAR(255) NOT NULL,
+    specialization_id VARCHAR(255),
+    cohort_id         VARCHAR(255),
+    description       VARCHAR(255),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_classrooms_code UNIQUE (code),
+    CONSTRAINT fk_classrooms_specialization FOREIGN KEY (specialization_id) REFERENCES specializations (id),
+    CONSTRAINT fk_classrooms_cohort FOREIGN KEY (cohort_id) REFERENCES cohorts (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE resource_types (
+    id          VARCHAR(255) NOT NULL,
+    code        VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_resource_types_code UNIQUE (code),
+    CONSTRAINT uk_resource_types_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE `user` (
+    id                     VARCHAR(255) NOT NULL,
+    full_name              VARCHAR(255) NOT NULL,
+    gender                 VARCHAR(32),
+    user_identifier        VARCHAR(255),
+    date_of_birth          DATE         NOT NULL,
+    phone                  VARCHAR(255),
+    address                VARCHAR(255),
+    email                  VARCHAR(255) NOT NULL,
+    avatar_url             VARCHAR(255),
+    created_at             DATETIME(6)  NOT NULL,
+    updated_at             DATETIME(6)  NOT NULL,
+    password               VARCHAR(255) NOT NULL,
+    type                   VARCHAR(32),
+    status                 VARCHAR(32),
+    mfa_session_id         VARCHAR(255),
+    mfa_code               VARCHAR(255),
+    mfa_session_expiry     DATETIME(6),
+    must_change_password   BIT,
+    password_reset_token   VARCHAR(255),
+    password_reset_expiry  DATETIME(6),
+    failed_login_attempts  INT,
+    last_failed_login_date DATE,
+    department_id          BIGINT,
+    classroom_id           VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_email UNIQUE (email),
+    CONSTRAINT uk_user_user_identifier UNIQUE (user_identifier),
+    CONSTRAINT fk_user_department FOREIGN KEY (department_id) REFERENCES department (id),
+    CONSTRAINT fk_user_classroom FOREIGN KEY (classroom_id) REFERENCES classrooms (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE tbl_role (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tbl_role_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_has_role (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    user_id    VARCHAR(255),
+    role_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_user_has_role_user FOREIGN KEY (user_id) REFERENCES `user` (id),
+    CONSTRAINT fk_user_has_role_role FOREIGN KEY (role_id) REFERENCES tbl_role (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE courses (
+    id            VARCHAR(255) NOT NULL,
+    code          VARCHAR(255) NOT NULL,
+    title         VARCHAR(255) NOT NULL,
+    department_id BIGINT,
+    classroom_id  VARCHAR(255),
+    instructor_id VARCHAR(255),
+    created_at    DATETIME(6),
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_courses_code UNIQUE (code),
+    CONSTRAINT fk_courses_department FOREIGN KEY (department_id) REFERENCES department (id),
+    CONSTRAINT fk_courses_classroom FOREIGN KEY (classroom_id) REFERENCES classrooms (id),
+    CONSTRAINT fk_courses_instructor FOREIGN KEY (instructor_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE resources (
+    id                VARCHAR(255) NOT NULL,
+    title             VARCHAR(255) NOT NULL,
+    description       VARCHAR(255),
+    course_id         VARCHAR(255),
+    classroom_id      VARCHAR(255),
+    type_id           VARCHAR(255),
+    file_url          VARCHAR(255),
+    size_byte         BIGINT,
+    created_at        DATETIME(6),
+    uploaded_by       VARCHAR(255),
+    approval_status   VARCHAR(32),
+    views             INT,
+    downloads         INT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_resources_course FOREIGN KEY (course_id) REFERENCES courses (id),
+    CONSTRAINT fk_resources_classroom FOREIGN KEY (classroom_id) REFERENCES classrooms (id),
+    CONSTRAINT fk_resources_type FOREIGN KEY (type_id) REFERENCES resource_types (id),
+    CONSTRAINT fk_resources_uploaded_by FOREIGN KEY (uploaded_by) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE comments (
+    id          VARCHAR(255) NOT NULL,
+    content     VARCHAR(255),
+    resource_id VARCHAR(255),
+    author_id   VARCHAR(255),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_comments_resource FOREIGN KEY (resource_id) REFERENCES resources (id),
+    CONSTRAINT fk_comments_author FOREIGN KEY (author_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ratings (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    rate        INT    NOT NULL,
+    resource_id VARCHAR(255),
+    rater       VARCHAR(255),
+    created_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ratings_resource FOREIGN KEY (resource_id) REFERENCES resources (id),
+    CONSTRAINT fk_ratings_rater FOREIGN KEY (rater) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE history (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    action      VARCHAR(32),
+    user_id     VARCHAR(255),
+    resource_id VARCHAR(255),
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_history_user FOREIGN KEY (user_id) REFERENCES `user` (id),
+    CONSTRAINT fk_history_resource FOREIGN KEY (resource_id) REFERENCES resources (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE blacklist_tokens (
+    id         VARCHAR(255) NOT NULL,
+    token      VARCHAR(255) NOT NULL,
+    token_type VARCHAR(32)  NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    expired_at DATETIME(6)  NOT NULL,
+    reason     VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,4 @@
+-- MinHash signature of the extracted text, for near-duplicate detection (SimilarityService).
+-- Added after the baseline: databases created by ddl-auto=update are baselined at V1 and get it here.
+
+ALTER TABLE resources ADD COLUMN minhash_signature VARBINARY(512);
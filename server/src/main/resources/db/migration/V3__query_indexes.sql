@@ -0,0 +1,26 @@
+-- Indexes for the filters and sort orders the repositories actually use.
+-- InnoDB already indexes every foreign key column on its own; a composite index that starts
+-- with the same column takes over that role, so the single-column ones below only exist
+-- where no composite covers the column.
+
+-- moderation queue and per-uploader lists: approval_status = ? [and uploaded_by = ?]
+CREATE INDEX idx_resources_status_uploader ON resources (approval_status, uploaded_by);
+-- "recent uploads" and list ordering
+CREATE INDEX idx_resources_created_at ON resources (created_at);
+CREATE INDEX idx_resources_classroom ON resources (classroom_id);
+CREATE INDEX idx_resources_course ON resources (course_id);
+
+-- a user's viewed/downloaded history, newest first
+CREATE INDEX idx_history_user_action_created ON history (user_id, action, created_at);
+-- view/download counts per resource
+CREATE INDEX idx_history_resource_action ON history (resource_id, action);
+
+-- comments of a resource, newest first
+CREATE INDEX idx_comments_resource_created ON comments (resource_id, created_at);
+CREATE INDEX idx_ratings_resource ON ratings (resource_id);
+
+-- reset-password links look the user up by token
+CREATE INDEX idx_user_password_reset_token ON `user` (password_reset_token);
+
+-- revocation filter rebuild and expired-token cleanup are range scans on expired_at
+CREATE INDEX idx_blacklist_tokens_expired_at ON blacklist_tokens (expired_at);
@@ -0,0 +1,11 @@
+-- Keyset pagination seeks on (created_at, id) after the equality filters. InnoDB appends the
+-- primary key to every secondary index, so these cover the id tiebreaker as well.
+
+-- "my uploads": uploaded_by = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_resources_uploader_created ON resources (uploaded_by, created_at);
+-- approved-only browsing (students): approval_status = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_resources_status_created ON resources (approval_status, created_at);
+
+-- user directory, newest first, whole school or one department
+CREATE INDEX idx_user_created_at ON `user` (created_at);
+CREATE INDEX idx_user_department_created ON `user` (department_id, created_at);
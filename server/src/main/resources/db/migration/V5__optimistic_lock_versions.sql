@@ -0,0 +1,13 @@
+-- Optimistic locking: JPA @Version column on every entity that is edited through the API.
+-- Existing rows start at version 0.
+
+ALTER TABLE resources ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE ratings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE courses ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE classrooms ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE department ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE training_programs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE specializations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE cohorts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE resource_types ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,138 @@
+package be.library_digital.demo.controller;
+
+import be.library_digital.demo.repository.UserRepository;
+import be.library_digital.demo.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements prepared per request on the read endpoints, from Hibernate statistics. Each endpoint
+ * is called once to warm the principal and catalog caches, then counted on a second call: the
+ * count must not depend on the page size, so a fetch plan that falls back to lazy loading per row
+ * (N+1) fails here instead of in production.
+ *
+ * Runs on the in-memory H2 database of the test profile, filled by PerfDataGenerator.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"perf", "test"})
+class ListQueryCountTest {
+
+    private static final String ADMIN = "admin@stu.t08.vn";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void resourceList() throws Exception {
+        // page, uploader cards, then comments, ratings and download counts for the whole page
+        assertQueries(ADMIN, "/resource?limit=100", 5);
+        assertQueries(null, "/resource?limit=100", 5);
+    }
+
+    @Test
+    void resourceDetail() throws Exception {
+        String id = jdbcTemplate.queryForObject("SELECT id FROM resources ORDER BY id LIMIT 1", String.class);
+        // detail fetch plan, comments, ratings, download count
+        assertQueries(ADMIN, "/resource/" + id, 4);
+    }
+
+    @Test
+    void myUploads() throws Exception {
+        assertQueries(uploadingLecturer(), "/resource/my-uploads?limit=100", 5);
+    }
+
+    @Test
+    void browse() throws Exception {
+        assertQueries(uploadingLecturer(), "/resource/browse", 3);
+    }
+
+    @Test
+    void users() throws Exception {
+        // departments and classrooms come from the catalog cache
+        assertQueries(ADMIN, "/users?limit=100", 1);
+    }
+
+    @Test
+    void userCounts() throws Exception {
+        // one grouped count, no user rows
+        assertQueries(ADMIN, "/stats/user-counts", 1);
+    }
+
+    @Test
+    void comments() throws Exception {
+        String resourceId = jdbcTemplate.queryForObject(
+                "SELECT resource_id FROM comments GROUP BY resource_id ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+        // resource check, page with the authors' cards
+        assertQueries(ADMIN, "/comment?limit=100&resourceId=" + resourceId, 2);
+    }
+
+    @Test
+    void history() throws Exception {
+        String email = jdbcTemplate.queryForObject("SELECT u.email FROM history h JOIN `user` u ON u.id = h.user_id " +
+                "GROUP BY u.email ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+        // history rows, their resources, the uploaders' cards
+        assertQueries(email, "/history/views?limit=100", 3);
+        assertQueries(email, "/history/downloads?limit=100", 3);
+    }
+
+    @Test
+    void catalog() throws Exception {
+        // served from the catalog snapshot
+        assertQueries(ADMIN, "/course?limit=100", 0);
+        assertQueries(ADMIN, "/classroom?limit=100", 0);
+    }
+
+    private String uploadingLecturer() {
+        return jdbcTemplate.queryForObject("SELECT u.email FROM resources r JOIN `user` u ON u.id = r.uploaded_by " +
+                "WHERE u.type = 'LECTURER' GROUP BY u.email ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+    }
+
+    private void assertQueries(String email, String url, long expected) throws Exception {
+        String token = email != null ? jwtService.generateAccessToken(userRepository.findByEmail(email).orElseThrow()) : null;
+        perform(token, url);
+        statistics.clear();
+        perform(token, url);
+        assertThat(statistics.getPrepareStatementCount()).as("statements for GET %s", url).isEqualTo(expected);
+    }
+
+    private void perform(String token, String url) throws Exception {
+        var request = get(url);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        mockMvc.perform(request).andExpect(status().isOk());
+    }
+}
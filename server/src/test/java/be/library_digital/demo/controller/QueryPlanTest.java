@@ -0,0 +1,100 @@
+package be.library_digital.demo.controller;
+
+import be.library_digital.demo.config.ExplainAuditInspector;
+import be.library_digital.demo.repository.UserRepository;
+import be.library_digital.demo.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Access paths of the queries behind sign-in and the read endpoints: with the explain-audit
+ * profile every distinct SELECT is EXPLAINed on the embedded H2 database (MySQL mode, schema
+ * from the Flyway migrations), and none may read a table of min-rows or more in full.
+ * Keyword searches (LIKE '%...%') scan by nature and are left out, and so are the deeper browse
+ * levels, which still filter the whole resource set in memory.
+ */
+@SpringBootTest(properties = "explain-audit.min-rows=100")
+@AutoConfigureMockMvc
+@ActiveProfiles({"perf", "test", "explain-audit"})
+class QueryPlanTest {
+
+    private static final String ADMIN = "admin@stu.t08.vn";
+
+    // whole-table reads by design, at startup: the full-text backfill walks every stored file and
+    // the similarity index loads every MinHash signature
+    private static final List<String> WHOLE_TABLE_JOBS = List.of(
+            "where r1_0.file_url is not null",
+            "where r1_0.minhash_signature is not null");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExplainAuditInspector explainAuditInspector;
+
+    @Test
+    void noFullScans() throws Exception {
+        mockMvc.perform(post("/auth/sign-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + ADMIN + "\",\"password\":\"123456789\"}"))
+                .andExpect(status().isOk());
+
+        String resourceId = jdbcTemplate.queryForObject(
+                "SELECT resource_id FROM comments GROUP BY resource_id ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+        String lecturer = jdbcTemplate.queryForObject("SELECT u.email FROM resources r JOIN `user` u ON u.id = r.uploaded_by " +
+                "WHERE u.type = 'LECTURER' GROUP BY u.email ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+        String student = jdbcTemplate.queryForObject("SELECT u.email FROM history h JOIN `user` u ON u.id = h.user_id " +
+                "WHERE u.type = 'STUDENT' GROUP BY u.email ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+
+        perform(null, "/resource");
+        perform(ADMIN, "/resource");
+        perform(ADMIN, "/resource/" + resourceId);
+        perform(ADMIN, "/comment?resourceId=" + resourceId);
+        perform(ADMIN, "/users");
+        perform(ADMIN, "/course");
+        perform(ADMIN, "/classroom");
+        perform(lecturer, "/resource");
+        perform(lecturer, "/resource/my-uploads");
+        perform(lecturer, "/resource/browse");
+        perform(student, "/users/me");
+        perform(student, "/resource");
+        perform(student, "/history/views");
+        perform(student, "/history/downloads");
+
+        Map<String, List<String>> findings = explainAuditInspector.findings();
+        findings.keySet().removeIf(sql -> WHOLE_TABLE_JOBS.stream().anyMatch(sql::endsWith));
+        assertThat(findings).isEmpty();
+    }
+
+    private void perform(String email, String url) throws Exception {
+        var request = get(url);
+        if (email != null) {
+            String token = jwtService.generateAccessToken(userRepository.findByEmail(email).orElseThrow());
+            request.header("Authorization", "Bearer " + token);
+        }
+        mockMvc.perform(request).andExpect(status().isOk());
+    }
+}